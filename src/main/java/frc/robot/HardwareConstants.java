@@ -11,6 +11,7 @@ import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Voltage;
 import frc.lib.AllianceFlipUtil;
+import frc.robot.util.SignalRatePolicy.Rates;
 
 public class HardwareConstants {
 
@@ -51,6 +52,152 @@ public class HardwareConstants {
     public static int INTAKE_PIVOT_ENCODER_ID = 44;
   }
 
+  /** Bandwidth budget checked by {@link frc.robot.util.CANBusDiagnostics}. */
+  public static class CanBudget {
+    // Fraction of bus bandwidth we allow ourselves; the rest is headroom for bursts and retries
+    public static final double MAX_UTILIZATION = 0.6;
+
+    // How often the live bus status is read and logged
+    public static final double STATUS_PERIOD_SECONDS = 1.0;
+  }
+
+  /**
+   * Status signal rate tiers for {@link frc.robot.util.SignalRatePolicy}. Disabled rates only need
+   * to keep the dashboard alive and catch a device falling off the bus.
+   */
+  public static class SignalRates {
+    // Shot-critical feedback (flywheel velocity and currents, drive velocity); sampled fresher
+    // than the 50 Hz loop so each loop sees data less than 10 ms old
+    public static final Rates FAST = new Rates(100.0, 10.0);
+
+    // Signals a control loop or command reads every loop
+    public static final Rates CONTROL = new Rates(50.0, 10.0);
+
+    // Follower motor telemetry, only logged
+    public static final Rates TELEMETRY = new Rates(50.0, 4.0);
+
+    // Temperatures and closed-loop error
+    public static final Rates DIAGNOSTIC = new Rates(10.0, 4.0);
+  }
+
+  /** Deadbands for {@link frc.robot.util.ControlWriteFilter}. */
+  public static class ControlDedup {
+    // An unchanged request is still sent again this often
+    public static final double REFRESH_PERIOD_SECONDS = 0.25;
+
+    // Open-loop output, in volts or amps depending on the request
+    public static final double OUTPUT_DEADBAND = 0.01;
+
+    // Mechanism rotations per second (0.05 RPS = 3 RPM)
+    public static final double VELOCITY_DEADBAND_RPS = 0.05;
+
+    // Mechanism rotations (1e-4 rot = 0.036 degrees)
+    public static final double POSITION_DEADBAND_ROTATIONS = 1e-4;
+  }
+
+  /** Rate for {@link frc.robot.util.MechanismSampleThread}. */
+  public static class MechanismSampling {
+    // Matches the fastest SignalRates tier, so shot-critical signals are never sampled late
+    public static final double FREQUENCY_HZ = 100.0;
+  }
+
+  /** Brownout prevention thresholds for {@link frc.robot.util.PowerManager}. */
+  public static class PowerManagement {
+    // Lowest battery voltage we plan for; the roboRIO browns out at 6.75 V, so keep some margin
+    public static final double MIN_VOLTAGE = 7.5;
+
+    // How far ahead the current trend is extrapolated when predicting sag
+    public static final double LOOKAHEAD_SECONDS = 0.1;
+
+    // Limits only start coming back once the prediction has this much current to spare
+    public static final double RESTORE_MARGIN_AMPS = 15.0;
+
+    // Per-motor supply limits rise back toward nominal at this rate (A/s)
+    public static final double RESTORE_RATE_AMPS_PER_SEC = 40.0;
+
+    // Smaller limit changes are not sent to the motors
+    public static final double LIMIT_STEP_AMPS = 2.0;
+
+    // Per-motor supply limits are never shed below these
+    public static final double INTAKE_MIN_SUPPLY_AMPS = 10.0;
+    public static final double FLYWHEEL_MIN_SUPPLY_AMPS = 20.0;
+    public static final double DRIVE_MIN_SUPPLY_AMPS = 25.0;
+  }
+
+  /** Battery model and match energy budget for {@link frc.robot.util.BatteryEstimator}. */
+  public static class BatteryEstimation {
+    // Weight kept by old samples each loop; 0.995 remembers roughly the last 4 seconds
+    public static final double FORGETTING_FACTOR = 0.995;
+
+    // Starting point of the fit: a charged battery behind typical wiring
+    public static final double INITIAL_OPEN_CIRCUIT_VOLTS = 12.6;
+    public static final double INITIAL_RESISTANCE_OHMS = 0.02;
+
+    // Fitted resistance is kept within these bounds
+    public static final double MIN_RESISTANCE_OHMS = 0.005;
+    public static final double MAX_RESISTANCE_OHMS = 0.1;
+
+    // Starting and largest uncertainty (variance) of each parameter. The cap stops forgetting from
+    // growing it without bound while the current barely changes.
+    public static final double MAX_VOLTS_VARIANCE = 1.0;
+    public static final double MAX_RESISTANCE_VARIANCE = 1e-3;
+
+    // Resting voltage of an empty and a full battery, for the state-of-charge estimate
+    public static final double EMPTY_VOLTS = 11.8;
+    public static final double FULL_VOLTS = 12.7;
+
+    // Length of a match (20 s auto + 140 s teleop)
+    public static final double MATCH_SECONDS = 160.0;
+
+    // Energy a healthy battery can give over a match without sagging into brownouts
+    public static final double MATCH_ENERGY_BUDGET_WATT_HOURS = 60.0;
+  }
+
+  /** Motor thermal model and stator limit derating for {@link frc.robot.util.MotorThermalModel}. */
+  public static class ThermalDerating {
+    // Temperature rise per second per amp² of stator current, before calibration (Kraken X60)
+    public static final double HEATING_COEFFICIENT = 1.25e-4;
+    public static final double MIN_HEATING_COEFFICIENT = 2.5e-5;
+    public static final double MAX_HEATING_COEFFICIENT = 1e-3;
+
+    // Air temperature the motors cool toward; a cooler first reading after boot replaces it
+    public static final double AMBIENT_CELSIUS = 30.0;
+
+    // Fraction of the excess over ambient lost per second (a ~5 minute time constant)
+    public static final double COOLING_RATE = 1.0 / 300.0;
+
+    // How hard the estimate is pulled toward the temperature reading, per second
+    public static final double OBSERVER_GAIN = 0.2;
+
+    // How fast the heating coefficient follows the prediction error (per °C per second)
+    public static final double ADAPTATION_RATE = 0.01;
+
+    // The heating coefficient is only adapted at currents well above this
+    public static final double ADAPTATION_REFERENCE_AMPS = 20.0;
+
+    // Time constant of the current average that time-to-limit is predicted from
+    public static final double CURRENT_FILTER_SECONDS = 2.0;
+
+    // Temperature we derate to stay under, below where the Talon's own protection starts
+    public static final double LIMIT_CELSIUS = 90.0;
+
+    // Derating begins when the limit is predicted to be this close, and deepens as it nears
+    public static final double DERATE_HORIZON_SECONDS = 30.0;
+
+    // A derated limit only starts coming back once every motor is this far under LIMIT_CELSIUS
+    public static final double RELEASE_MARGIN_CELSIUS = 5.0;
+
+    // Derated stator limits rise back toward nominal at this rate (A/s)
+    public static final double RESTORE_RATE_AMPS_PER_SEC = 2.0;
+
+    // Smaller limit changes are not sent to the motors
+    public static final double LIMIT_STEP_AMPS = 2.0;
+
+    // Stator limits are never derated below these
+    public static final double FLYWHEEL_MIN_STATOR_AMPS = 30.0;
+    public static final double DRIVE_MIN_STATOR_AMPS = 50.0;
+  }
+
   public static class CompConstants {
     // Subsystems that run at a constant voltage: transport, roller
     public static class Voltages {
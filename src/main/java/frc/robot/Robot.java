@@ -16,9 +16,18 @@ import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import frc.lib.AllianceFlipUtil;
 import frc.robot.subsystems.drive.DriveConstants;
+import frc.robot.util.BatteryEstimator;
 import frc.robot.util.BatteryLogger;
+import frc.robot.util.CANBusDiagnostics;
+import frc.robot.util.CANConfigPipeline;
+import frc.robot.util.CANSignalRegistry;
+import frc.robot.util.ControlWriteFilter;
 import frc.robot.util.Elastic;
 import frc.robot.util.HubShiftUtil;
+import frc.robot.util.MechanismSampleThread;
+import frc.robot.util.PowerManager;
+import frc.robot.util.SignalRatePolicy;
+import frc.robot.util.ThrottledOutput;
 import org.littletonrobotics.junction.AutoLogOutputManager;
 import org.littletonrobotics.junction.LogFileUtil;
 import org.littletonrobotics.junction.LoggedRobot;
@@ -36,14 +45,27 @@ import org.littletonrobotics.junction.wpilog.WPILOGWriter;
 public class Robot extends LoggedRobot {
   private Command autonomousCommand;
   private RobotContainer robotContainer;
+  private CANBusDiagnostics canBusDiagnostics;
 
-  /** Shared battery/energy logger — subsystems call {@code reportCurrentUsage()} each loop. */
+  /** Shared battery/energy logger — subsystems register a channel and report to it each loop. */
   public static final BatteryLogger batteryLogger = new BatteryLogger();
 
+  /** Fits the battery's resistance and open-circuit voltage; tracks match energy use. */
+  public static final BatteryEstimator batteryEstimator = new BatteryEstimator();
+
+  /** Lowers registered subsystems' supply current limits when a brownout is predicted. */
+  public static final PowerManager powerManager = new PowerManager(batteryEstimator);
+
   // Field2d widget to display the robot's current pose on the dashboard.
   // This is updated every loop so the drive team can always see where the robot thinks it is.
   private final Field2d fieldMap = new Field2d();
 
+  // Values that rarely change, recorded only when they do
+  private final ThrottledOutput driverPresetOutput = ThrottledOutput.onChange("driverPreset");
+  private final ThrottledOutput hubShiftOutput = ThrottledOutput.onChange("RobotState/HubShift");
+  private final ThrottledOutput firstActiveAllianceOutput =
+      ThrottledOutput.onChange("RobotState/firstActiveAlliancer");
+
   public Robot() {
     // Record metadata
     Logger.recordMetadata("ProjectName", BuildConstants.MAVEN_NAME);
@@ -94,6 +116,15 @@ public class Robot extends LoggedRobot {
     // and put our autonomous chooser on the dashboard.
     robotContainer = new RobotContainer();
 
+    // Device configs queued by the IO constructors have been applying in the background
+    CANConfigPipeline.awaitAll();
+
+    // Every mechanism IO has registered its signals; sample them in the background from here on
+    MechanismSampleThread.getInstance().start();
+
+    // After RobotContainer so every IO has registered its status signals
+    canBusDiagnostics = new CANBusDiagnostics();
+
     // Publish the robot pose Field2d to the dashboard so we can see where the robot is
     SmartDashboard.putData("Robot Pose Field Map", fieldMap);
     SmartDashboard.putString(
@@ -117,6 +148,9 @@ public class Robot extends LoggedRobot {
     // timing (see the template project documentation for details)
     // Threads.setCurrentThreadPriority(true, 99);
 
+    // One batched CAN refresh per bus for every IO's status signals, before subsystems read them
+    CANSignalRegistry.refreshAll();
+
     // Runs the Scheduler. This is responsible for polling buttons, adding
     // newly-scheduled commands, running already-scheduled commands, removing
     // finished or interrupted commands, and running subsystem periodic() methods.
@@ -125,10 +159,21 @@ public class Robot extends LoggedRobot {
     CommandScheduler.getInstance().run();
 
     // Update battery logger with voltage and RIO current, then log after scheduler
-    batteryLogger.setBatteryVoltage(RobotController.getBatteryVoltage());
+    double batteryVolts = RobotController.getBatteryVoltage();
+    batteryLogger.setBatteryVoltage(batteryVolts);
     batteryLogger.setRioCurrent(RobotController.getInputCurrent());
     batteryLogger.periodicAfterScheduler();
 
+    // Refit the battery model, then shed load ahead of a brownout
+    double totalAmps = batteryLogger.getTotalCurrent();
+    batteryEstimator.update(batteryVolts, totalAmps, batteryLogger.getTotalEnergy());
+    powerManager.update(totalAmps);
+
+    // Bus utilization and error counters (throttled internally)
+    canBusDiagnostics.periodic();
+    ControlWriteFilter.logCounters();
+    MechanismSampleThread.getInstance().logStatus();
+
     // Refresh the cached alliance color once per loop so that AllianceFlipUtil.shouldFlip()
     // doesn't call DriverStation.getAlliance() (which creates an Optional) 20-30+ times per cycle.
     AllianceFlipUtil.refresh();
@@ -161,12 +206,15 @@ public class Robot extends LoggedRobot {
       HardwareConstants.TuningConstants.DEMO_MODE = HardwareConstants.TuningConstants.demo;
     }
 
-    Logger.recordOutput("driverPreset", DriveConstants.rotationExponent);
+    driverPresetOutput.record(DriveConstants.rotationExponent);
   }
 
   /** This function is called once when the robot is disabled. */
   @Override
-  public void disabledInit() {}
+  public void disabledInit() {
+    // Nothing closes a loop while disabled; drop status signals to their disabled rates
+    SignalRatePolicy.setEnabled(false);
+  }
 
   /** This function is called periodically when disabled. */
   @Override
@@ -180,6 +228,8 @@ public class Robot extends LoggedRobot {
   /** This autonomous runs the autonomous command selected by your {@link RobotContainer} class. */
   @Override
   public void autonomousInit() {
+    SignalRatePolicy.setEnabled(true);
+    batteryEstimator.startMatch();
     autonomousCommand = robotContainer.getAutonomousCommand();
 
     // schedule the autonomous command (example)
@@ -200,6 +250,9 @@ public class Robot extends LoggedRobot {
   /** This function is called once when teleop is enabled. */
   @Override
   public void teleopInit() {
+    SignalRatePolicy.setEnabled(true);
+    batteryEstimator.startTeleop();
+
     // This makes sure that the autonomous stops running when
     // teleop starts running. If you want the autonomous to
     // continue until interrupted by another command, remove
@@ -238,8 +291,8 @@ public class Robot extends LoggedRobot {
     SmartDashboard.putBoolean("Spun Up To Shoot?", robotContainer.isFlywheelSpunUp());
     SmartDashboard.putBoolean("Wheels X-ed?", robotContainer.isDriveXed());
 
-    Logger.recordOutput("RobotState/HubShift", HubShiftUtil.getShiftedShiftInfo().active());
-    Logger.recordOutput("RobotState/firstActiveAlliancer", HubShiftUtil.getFirstActiveAlliance());
+    hubShiftOutput.record(HubShiftUtil.getShiftedShiftInfo().active());
+    firstActiveAllianceOutput.record(HubShiftUtil.getFirstActiveAlliance());
     Logger.recordOutput(
         "RobotState/timeRemainingInShift", HubShiftUtil.getShiftedShiftInfo().remainingTime());
   }
@@ -247,6 +300,8 @@ public class Robot extends LoggedRobot {
   /** This function is called once when test mode is enabled. */
   @Override
   public void testInit() {
+    SignalRatePolicy.setEnabled(true);
+
     // Cancels all running commands at the start of test mode.
     CommandScheduler.getInstance().cancelAll();
   }
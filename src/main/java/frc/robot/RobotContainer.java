@@ -18,7 +18,7 @@ import com.pathplanner.lib.events.EventTrigger;
 import com.pathplanner.lib.path.PathPlannerPath;
 import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.math.geometry.Pose2d;
-import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.units.measure.Distance;
 import edu.wpi.first.wpilibj.smartdashboard.Field2d;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
@@ -42,12 +42,12 @@ import frc.robot.subsystems.drive.GyroIOPigeon2;
 import frc.robot.subsystems.drive.ModuleIO;
 import frc.robot.subsystems.drive.ModuleIOSim;
 import frc.robot.subsystems.drive.ModuleIOTalonFX;
+import frc.robot.subsystems.flywheel.FeedRateController;
 import frc.robot.subsystems.flywheel.Flywheel;
 import frc.robot.subsystems.flywheel.io.FlywheelIO;
 import frc.robot.subsystems.flywheel.io.FlywheelIOPhoenix6;
 import frc.robot.subsystems.flywheel.io.FlywheelIOSim;
 import frc.robot.subsystems.hood.Hood;
-import frc.robot.subsystems.hood.HoodPosCalculator;
 import frc.robot.subsystems.hood.io.HoodIO;
 import frc.robot.subsystems.hood.io.HoodIOReal;
 import frc.robot.subsystems.hood.io.HoodIOSim;
@@ -99,6 +99,9 @@ public class RobotContainer {
   private final intakeRoller intakeRoller;
   private final Transport transport;
 
+  // Scales the feed path to the flywheel's recovery; shared by every hub/pass feed binding
+  private final FeedRateController feedRateController;
+
   // Publishes articulated component poses for the AdvantageScope 3D robot model
   private final RobotModelVisualizer robotModelVisualizer;
 
@@ -238,6 +241,8 @@ public class RobotContainer {
     // This keeps Flywheel and Hood decoupled — the supplier is the only link.
     flywheel.setHoodAngleSupplier(hood::getPosition);
 
+    feedRateController = new FeedRateController(flywheel);
+
     // 3D robot model component poses for AdvantageScope (Robot_Omega articulated model).
     // Suppliers only — no subsystem cross-references. Updated from Robot.robotPeriodic().
     robotModelVisualizer =
@@ -330,7 +335,14 @@ public class RobotContainer {
                 drive, () -> 0, () -> 0, () -> RobotState.getInstance().getAngleToAllianceHub())
             .alongWith(
                 ShootSequences.autoShootToHub(
-                    flywheel, prestage, hood, upperFeeder, lowerFeeder, transport, intakePivot)));
+                    flywheel,
+                    prestage,
+                    hood,
+                    upperFeeder,
+                    lowerFeeder,
+                    transport,
+                    intakePivot,
+                    feedRateController)));
 
     // Stop all subsystems after shooting
     NamedCommands.registerCommand(
@@ -484,12 +496,7 @@ public class RobotContainer {
                 drive,
                 () -> -Triggers.getInstance().thrustmaster.getY() * .5,
                 () -> -Triggers.getInstance().thrustmaster.getX() * .5,
-                () ->
-                    RobotState.getInstance()
-                        .getAngleToTarget(
-                            new Translation2d(
-                                RobotState.getInstance().getPassTarget().getX(),
-                                RobotState.getInstance().getPassTarget().getY()))));
+                () -> RobotState.getInstance().getShotSolution().getPassAngle()));
 
     // Align for trench when trench button pressed - zone logic temporarily disabled
     Triggers.getInstance()
@@ -523,8 +530,10 @@ public class RobotContainer {
         .whileTrue(
             FlywheelCommands.setVelocityForHub(flywheel)
                 .alongWith(
-                    PrestageCommands.setPrestageVelocity(
-                        prestage, HardwareConstants.CompConstants.Velocities.prestageVelocity)))
+                    PrestageCommands.setPrestageVelocityRateControlled(
+                        prestage,
+                        HardwareConstants.CompConstants.Velocities.prestageVelocity,
+                        feedRateController)))
         .onFalse(FlywheelCommands.stop(flywheel))
         .onFalse(PrestageCommands.stop(prestage));
 
@@ -564,15 +573,8 @@ public class RobotContainer {
                 Commands.waitUntil(
                         flywheel.isFlywheelSpunUp.and(Triggers.getInstance().isAlignedLooser))
                     .withTimeout(HardwareConstants.CompConstants.Waits.spinUpTimeOut),
-                FeederCommands.setUpperFeederVelocity(
-                        upperFeeder, HardwareConstants.CompConstants.Velocities.feederVelocity)
-                    .alongWith(
-                        FeederCommands.setLowerFeederVelocity(
-                            lowerFeeder, HardwareConstants.CompConstants.Velocities.feederVelocity))
-                    .alongWith(
-                        TransportCommands.setTransportVelocity(
-                            transport,
-                            HardwareConstants.CompConstants.Velocities.transportVelocity))))
+                ShootSequences.feedRateControlled(
+                    flywheel, upperFeeder, lowerFeeder, transport, feedRateController)))
         .onFalse(FeederCommands.stopLower(lowerFeeder))
         .onFalse(FeederCommands.stopUpper(upperFeeder))
         .onFalse(TransportCommands.stop(transport));
@@ -799,7 +801,14 @@ public class RobotContainer {
                 drive,
                 () -> Triggers.getInstance().simXSupplier(),
                 () -> Triggers.getInstance().simYSupplier(),
-                () -> RobotState.getInstance().getAngleToAllianceHub()));
+                // Aim at the velocity-compensated virtual target so heading matches the
+                // shoot-on-the-move flywheel and hood setpoints
+                () ->
+                    Rotation2d.fromRadians(
+                        RobotState.getInstance()
+                            .getShotSolution()
+                            .getMovingHubShot()
+                            .getHeadingRadians())));
 
     // If shooting when near a hardstop spot (trench and eventually tower), go to the hardstop spot
     // and shoot
@@ -824,12 +833,7 @@ public class RobotContainer {
                 drive,
                 () -> Triggers.getInstance().simXSupplier(),
                 () -> Triggers.getInstance().simYSupplier(),
-                () ->
-                    RobotState.getInstance()
-                        .getAngleToTarget(
-                            new Translation2d(
-                                RobotState.getInstance().getPassTarget().getX(),
-                                RobotState.getInstance().getPassTarget().getY()))));
+                () -> RobotState.getInstance().getShotSolution().getPassAngle()));
 
     // X wheels when shoot button is pressed and we're shooting and we're lined up and
     // auto-x hasn't been manually overriden, or when x button is pressed
@@ -871,23 +875,15 @@ public class RobotContainer {
         .and(Triggers.getInstance().isShootClear)
         .and(() -> !HardwareConstants.TuningConstants.TUNING_MODE)
         .whileTrue(
-            FlywheelCommands.shootOnTheMove(
-                    flywheel, HoodPosCalculator.getInstance().getHoodPosForHub().magnitude())
+            FlywheelCommands.shootOnTheMove(flywheel)
                 .alongWith(
-                    PrestageCommands.setPrestageVelocity(
-                        prestage, HardwareConstants.CompConstants.Velocities.prestageVelocity)))
+                    PrestageCommands.setPrestageVelocityRateControlled(
+                        prestage,
+                        HardwareConstants.CompConstants.Velocities.prestageVelocity,
+                        feedRateController)))
         .onFalse(FlywheelCommands.stop(flywheel))
         .onFalse(PrestageCommands.stop(prestage));
 
-    // // Run dynamic shoot sequence - same constraints as normal shoot, but different trigger
-    // Triggers.getInstance()
-    //     .simShootOnTheMove()
-    //     .and(Triggers.getInstance().isShootClear)
-    //     .and(() -> !HardwareConstants.TuningConstants.TUNING_MODE)
-    //     .whileTrue(
-    //         FlywheelCommands.shootOnTheMove(
-    //             flywheel, HoodPosCalculator.getInstance().getHoodPosForHub().magnitude()));
-
     // Set passing velocity if shoot button is pressed but we're not in our alliance zone and tuning
     // false,
     // or if pass button is pressed
@@ -913,16 +909,10 @@ public class RobotContainer {
         .simShootButton()
         .and(Triggers.getInstance().isShootClear)
         .and(() -> !HardwareConstants.TuningConstants.TUNING_MODE)
-        .and(Triggers.getInstance().isAlignedForCurrentShot)
+        .and(Triggers.getInstance().isAlignedForMovingShot)
         .whileTrue(
-            FeederCommands.setUpperFeederVelocity(
-                    upperFeeder, HardwareConstants.CompConstants.Velocities.feederVelocity)
-                .alongWith(
-                    FeederCommands.setLowerFeederVelocity(
-                        lowerFeeder, HardwareConstants.CompConstants.Velocities.feederVelocity))
-                .alongWith(
-                    TransportCommands.setTransportVelocity(
-                        transport, HardwareConstants.CompConstants.Velocities.transportVelocity)))
+            ShootSequences.feedRateControlled(
+                flywheel, upperFeeder, lowerFeeder, transport, feedRateController))
         .onFalse(FeederCommands.stopLower(lowerFeeder))
         .onFalse(FeederCommands.stopUpper(upperFeeder))
         .onFalse(TransportCommands.stop(transport));
@@ -936,14 +926,8 @@ public class RobotContainer {
         .and(() -> !HardwareConstants.TuningConstants.TUNING_MODE)
         .and(Triggers.getInstance().isAlignedForCurrentShot)
         .whileTrue(
-            FeederCommands.setUpperFeederVelocity(
-                    upperFeeder, HardwareConstants.CompConstants.Velocities.feederVelocity)
-                .alongWith(
-                    FeederCommands.setLowerFeederVelocity(
-                        lowerFeeder, HardwareConstants.CompConstants.Velocities.feederVelocity))
-                .alongWith(
-                    TransportCommands.setTransportVelocity(
-                        transport, HardwareConstants.CompConstants.Velocities.transportVelocity)))
+            ShootSequences.feedRateControlled(
+                flywheel, upperFeeder, lowerFeeder, transport, feedRateController))
         .onFalse(FeederCommands.stopLower(lowerFeeder))
         .onFalse(FeederCommands.stopUpper(upperFeeder))
         .onFalse(TransportCommands.stop(transport));
@@ -993,7 +977,7 @@ public class RobotContainer {
             intakeRollerCommands.setVoltageAfterWait(
                 intakeRoller,
                 HardwareConstants.CompConstants.Voltages.intakeRollerAgitateVoltage,
-                Triggers.getInstance().isAlignedForCurrentShot))
+                Triggers.getInstance().isAlignedForMovingShot))
         .onFalse(intakeRollerCommands.stopIntakeRoller(intakeRoller));
 
     // INTAKE PIVOT
@@ -1033,7 +1017,7 @@ public class RobotContainer {
             () ->
                 !(Triggers.getInstance().isShootSafeZone.getAsBoolean()
                     && !Triggers.getInstance().isShootSafeTime.getAsBoolean()))
-        .and(Triggers.getInstance().isAlignedForCurrentShot)
+        .and(Triggers.getInstance().isAlignedForMovingShot)
         .whileTrue(IntakePivotCommands.compressPivot(intakePivot))
         .onFalse(
             IntakePivotCommands.setPivotPosition(
@@ -1045,7 +1029,7 @@ public class RobotContainer {
     (Triggers.getInstance().simShootButton().or(Triggers.getInstance().simShootFromTowerButton()))
         .and(Triggers.getInstance().isShootClear)
         .and(() -> !HardwareConstants.TuningConstants.TUNING_MODE)
-        .whileTrue(HoodCommands.setHoodPosForHub(hood));
+        .whileTrue(HoodCommands.setHoodPosForMovingHubShot(hood));
 
     // Set pos for passing if shoot to hub button is pressed but we're not in our alliance zone, or
     // if pass button is presssed
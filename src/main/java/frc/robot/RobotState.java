@@ -10,11 +10,13 @@ import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
 import edu.wpi.first.math.kinematics.SwerveModuleState;
 import edu.wpi.first.units.measure.Distance;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import frc.lib.AllianceFlipUtil;
 import frc.lib.FieldConstants;
 import frc.robot.subsystems.drive.Drive;
 import java.util.function.Supplier;
 import org.littletonrobotics.junction.AutoLogOutput;
+import org.littletonrobotics.junction.Logger;
 
 /**
  * Centralized robot state container that tracks the robot's position and velocity on the field.
@@ -102,6 +104,12 @@ public class RobotState {
     // Kinematics is still needed for velocity calculations (toChassisSpeeds).
     // Drive.getModuleTranslations() reads from TunerConstants — the single source of truth.
     kinematics = new SwerveDriveKinematics(Drive.getModuleTranslations());
+
+    // The scheduler polls the button loop after every subsystem periodic() (so after odometry and
+    // vision) and before any command runs. RobotState is created in Robot's constructor, before
+    // RobotContainer binds any triggers, so this runs ahead of every trigger condition. It only
+    // computes the solution if nothing has read it yet this loop.
+    CommandScheduler.getInstance().getDefaultButtonLoop().bind(this::getShotSolution);
   }
 
   /**
@@ -116,6 +124,37 @@ public class RobotState {
     this.poseSupplier = poseSupplier;
   }
 
+  // ==================== SHOT SOLUTION ====================
+
+  /** Shooter geometry for the current loop. See {@link ShotSolution}. */
+  private final ShotSolution shotSolution = new ShotSolution();
+
+  /** Logger timestamp of the loop the shot solution was last computed for. */
+  private long shotSolutionTimestamp = Long.MIN_VALUE;
+
+  /** Recomputes the shot solution from the current pose estimate and velocity. */
+  private void updateShotSolution() {
+    ChassisSpeeds fieldVelocity = getFieldRelativeVelocity();
+    shotSolution.update(
+        getEstimatedPose(), fieldVelocity.vxMetersPerSecond, fieldVelocity.vyMetersPerSecond);
+    shotSolutionTimestamp = Logger.getTimestamp();
+  }
+
+  /**
+   * Returns this loop's shot solution.
+   *
+   * <p>Computed once per loop, on the first read. Normally that is the button-loop hook registered
+   * in the constructor, after odometry and vision and before any trigger or command. If a
+   * subsystem's {@code periodic()} reads it earlier, it is computed from the pose at that point
+   * instead. Either way every read in the loop sees the same snapshot.
+   */
+  public ShotSolution getShotSolution() {
+    if (shotSolutionTimestamp != Logger.getTimestamp()) {
+      updateShotSolution();
+    }
+    return shotSolution;
+  }
+
   // ==================== POSE GETTERS ====================
 
   /**
@@ -194,7 +233,7 @@ public class RobotState {
   @AutoLogOutput(key = "RobotState/HubRelativeVelocity")
   public ChassisSpeeds getHubRelativeVelocity() {
     ChassisSpeeds robotRelative = getRobotRelativeVelocity();
-    return ChassisSpeeds.fromRobotRelativeSpeeds(robotRelative, getAngleToAllianceHub());
+    return ChassisSpeeds.fromRobotRelativeSpeeds(robotRelative, getShotSolution().getHubAngle());
   }
 
   // ==================== DISTANCE CALCULATIONS ====================
@@ -215,9 +254,17 @@ public class RobotState {
    */
   @AutoLogOutput(key = "RobotState/DistanceToAllianceHub_m")
   public Distance getDistanceToAllianceHub() {
-    Translation3d hubTarget = getAllianceHubTarget();
     // CPU FIX: removed redundant Logger.recordOutput — @AutoLogOutput already logs the return value
-    return getDistanceToPoint(hubTarget.toTranslation2d());
+    return Meters.of(getShotSolution().getHubDistanceMeters());
+  }
+
+  /**
+   * Hub distance the flywheel setpoint is computed for: the current distance extrapolated by the
+   * flywheel setpoint lead. Compare with DistanceToAllianceHub_m to check the lead in a log.
+   */
+  @AutoLogOutput(key = "RobotState/PredictedHubDistance_m")
+  public double getPredictedHubDistanceMeters() {
+    return getShotSolution().getHubFlywheelDistanceMeters();
   }
 
   // REMOVED: getDistanceToOpposingHub() — was never called from any other code and was
@@ -245,9 +292,9 @@ public class RobotState {
    * @return The alliance hub target position
    */
   public Translation3d getAllianceHubTarget() {
-    // FieldConstants.Hub.topCenterPoint is defined from blue alliance perspective
-    // AllianceFlipUtil.apply() flips it if we're on red alliance
-    return AllianceFlipUtil.apply(FieldConstants.Hub.topCenterPoint);
+    // FieldConstants.Hub.topCenterPoint is defined from blue alliance perspective and flipped once
+    // per loop in ShotSolution if we're on red alliance
+    return getShotSolution().getHubTarget();
   }
 
   // REMOVED: getOpposingHubTarget() — only caller was getDistanceToOpposingHub(), which was
@@ -289,20 +336,9 @@ public class RobotState {
    */
   @AutoLogOutput(key = "RobotState/AngleToAllianceHub")
   public Rotation2d getAngleToAllianceHub() {
-    // Get current robot position
-    Pose2d currentPose = getEstimatedPose();
-
-    // Get alliance hub target (2D position on the field)
-    Translation3d hubTarget3d = getAllianceHubTarget();
-    Translation2d hubTarget2d = hubTarget3d.toTranslation2d();
-
-    // Calculate the vector from robot to hub
-    Translation2d robotToHub = hubTarget2d.minus(currentPose.getTranslation());
-
-    // Calculate the angle using atan2
-    // This gives us the direction we need to face to point at the hub
-    // Add 180° because the shooter faces the back of the robot
-    return new Rotation2d(robotToHub.getX(), robotToHub.getY()).plus(Rotation2d.kPi);
+    // atan2 of the robot-to-hub vector, plus 180° because the shooter faces the back of the
+    // robot. Computed once per loop in ShotSolution.
+    return getShotSolution().getHubAngle();
   }
 
   // Gets angle to any target
@@ -347,20 +383,14 @@ public class RobotState {
    */
   @AutoLogOutput(key = "RobotState/IsAlignedToHub")
   public boolean isAlignedToHub() {
-    // Calculate the error between our current heading and the desired hub-facing angle.
-    // Rotation2d.minus() handles wrap-around automatically (e.g., 179° - (-179°) = 2°, not 358°).
-    double errorDegrees =
-        Math.abs(getAngleToAllianceHub().minus(getEstimatedPose().getRotation()).getDegrees());
-    return errorDegrees < HardwareConstants.CompConstants.Thresholds.hubAlignmentToleranceDegrees;
+    // The heading error is wrapped to ±180° (e.g., 179° - (-179°) = 2°, not 358°)
+    return getShotSolution().isAlignedToHub();
   }
 
   // Uses a different tolerance. Helpful for quitting aligned while shooting - we can have a looser
   // threshold.
   public boolean isAlignedToHubLoose() {
-    double errorDegrees =
-        Math.abs(getAngleToAllianceHub().minus(getEstimatedPose().getRotation()).getDegrees());
-    return errorDegrees
-        < HardwareConstants.CompConstants.Thresholds.hubLooseAlignmentToleranceDegrees;
+    return getShotSolution().isAlignedToHubLoose();
   }
 
   /**
@@ -374,46 +404,18 @@ public class RobotState {
    */
   @AutoLogOutput(key = "RobotState/IsAlignedToPass")
   public boolean isAlignedToPass() {
-    Translation2d passTarget2d = new Translation2d(getPassTarget().getX(), getPassTarget().getY());
-    double errorDegrees =
-        Math.abs(
-            getAngleToTarget(passTarget2d).minus(getEstimatedPose().getRotation()).getDegrees());
-    return errorDegrees < HardwareConstants.CompConstants.Thresholds.passAlignmentToleranceDegrees;
+    return getShotSolution().isAlignedToPass();
   }
 
   public boolean isAlignedToPassLoose() {
-    Translation2d passTarget2d = new Translation2d(getPassTarget().getX(), getPassTarget().getY());
-    double errorDegrees =
-        Math.abs(
-            getAngleToTarget(passTarget2d).minus(getEstimatedPose().getRotation()).getDegrees());
-    return errorDegrees
-        < HardwareConstants.CompConstants.Thresholds.passLooseAlignmentToleranceDegrees;
+    return getShotSolution().isAlignedToPassLoose();
   }
 
   // Finds pass target based on position
-  // CPU FIX: replaced DriverStation.getAlliance() (creates Optional every call) with cached
-  // AllianceFlipUtil.shouldFlip(). Also replaced RobotState.getInstance() self-call with
-  // direct getEstimatedPose() since we're already inside the singleton.
+  // CPU FIX: the target is picked once per loop in ShotSolution from prebuilt constants instead of
+  // allocating a new Translation3d on every call.
   public Translation3d getPassTarget() {
-    Translation3d passTarget;
-    double poseY = getEstimatedPose().getY();
-    // shouldFlip() returns true for Red alliance (cached per-loop in AllianceFlipUtil.refresh())
-    if (AllianceFlipUtil.shouldFlip()) {
-      // Red alliance
-      if (poseY > (FieldConstants.fieldWidth / 2)) {
-        passTarget = new Translation3d(Meters.of(12).magnitude(), Meters.of(6.1).magnitude(), 0);
-      } else {
-        passTarget = new Translation3d(Meters.of(12).magnitude(), Meters.of(2.3).magnitude(), 0);
-      }
-    } else {
-      // Blue alliance (or unknown — defaults to blue)
-      if (poseY < (FieldConstants.fieldWidth / 2)) {
-        passTarget = new Translation3d(Meters.of(4.5).magnitude(), Meters.of(2.3).magnitude(), 0);
-      } else {
-        passTarget = new Translation3d(Meters.of(4.5).magnitude(), Meters.of(6.1).magnitude(), 0);
-      }
-    }
-    return passTarget;
+    return getShotSolution().getPassTarget();
   }
 
   // REMOVED: getShootAngleForZoneAndTime() and getShootAngleForZone()
@@ -426,19 +428,9 @@ public class RobotState {
 
   // Returns a "broad" zone - alliance zone, alliance trench, neutral, opposing trench, opposing
   // zone
+  // CPU FIX: computed once per loop in ShotSolution
   public HardwareConstants.Zones.broadZone getBroadZone() {
-    double poseX = AllianceFlipUtil.applyX(getEstimatedPose().getX());
-    if (poseX < FieldConstants.LinesVertical.allianceZone) {
-      return HardwareConstants.Zones.broadZone.ALLIANCE_ZONE;
-    } else if (poseX < FieldConstants.LinesVertical.neutralZoneNear) {
-      return HardwareConstants.Zones.broadZone.ALLIANCE_TRENCH;
-    } else if (poseX < FieldConstants.LinesVertical.neutralZoneFar) {
-      return HardwareConstants.Zones.broadZone.NEUTRAL;
-    } else if (poseX < FieldConstants.LinesVertical.oppAllianceZone) {
-      return HardwareConstants.Zones.broadZone.OPPOSING_TRENCH;
-    } else {
-      return HardwareConstants.Zones.broadZone.OPPOSING_ZONE;
-    }
+    return getShotSolution().getBroadZone();
   }
 
   // Returns a "specific" zone - alliance/opposing tower/trench/bump near/far
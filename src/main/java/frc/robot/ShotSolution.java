@@ -0,0 +1,275 @@
+package frc.robot;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.geometry.Translation3d;
+import frc.lib.AllianceFlipUtil;
+import frc.lib.FieldConstants;
+import frc.robot.subsystems.flywheel.FlywheelConstants;
+import frc.robot.subsystems.flywheel.ShotCalculator;
+import frc.robot.subsystems.flywheel.ShotCalculator.MovingShot;
+import frc.robot.subsystems.hood.HoodConstants;
+import frc.robot.subsystems.hood.HoodPosCalculator;
+
+/**
+ * Everything the shooter needs to know about the current robot pose, computed once per loop.
+ *
+ * <p>Before this existed, hub distance, hub angle, pass target, flywheel RPM and hood angle were
+ * each recomputed by every consumer — {@code Flywheel.setSpeedForHub()}, {@code
+ * Hood.setHoodPosForHub()}, the alignment triggers, {@code RobotState.isAlignedToHub()} and the
+ * {@code @AutoLogOutput} getters — and each recomputation re-read the pose supplier and re-flipped
+ * the field constants. Now {@link RobotState} computes this object once per loop, normally after
+ * Drive and Vision have updated the pose estimate and before any trigger or command runs, and every
+ * consumer in the loop reads the same snapshot.
+ *
+ * <p>Flywheel and hood setpoints lead the pose: they are looked up at the distance the robot will
+ * be at after {@link FlywheelConstants.Software#SETPOINT_LEAD_SECONDS} / {@link
+ * HoodConstants.SoftwareConstants#SETPOINT_LEAD_SECONDS}, extrapolating the measured field
+ * velocity, so the mechanisms are already there when the robot arrives instead of chasing the
+ * distance as it drives into range. Distances, angles and alignment use the current pose.
+ *
+ * <p>Only {@link RobotState} updates the solution; everyone else reads it through {@link
+ * RobotState#getShotSolution()}.
+ */
+public class ShotSolution {
+  // Pass targets are fixed field points — build them once instead of every call
+  private static final Translation3d BLUE_PASS_TARGET_RIGHT = new Translation3d(4.5, 2.3, 0);
+  private static final Translation3d BLUE_PASS_TARGET_LEFT = new Translation3d(4.5, 6.1, 0);
+  private static final Translation3d RED_PASS_TARGET_LEFT = new Translation3d(12, 6.1, 0);
+  private static final Translation3d RED_PASS_TARGET_RIGHT = new Translation3d(12, 2.3, 0);
+
+  private Pose2d robotPose = Pose2d.kZero;
+  private HardwareConstants.Zones.broadZone broadZone =
+      HardwareConstants.Zones.broadZone.ALLIANCE_ZONE;
+
+  private Translation3d hubTarget = FieldConstants.Hub.topCenterPoint;
+  private double hubDistanceMeters = 0.0;
+  private Rotation2d hubAngle = Rotation2d.kZero;
+  private double hubHeadingErrorDegrees = 0.0;
+  private double hubFlywheelDistanceMeters = 0.0;
+  private double hubFlywheelRpm = 0.0;
+  private double hubHoodDistanceMeters = 0.0;
+  private double hubHoodDegrees = 0.0;
+  private final MovingShot movingHubShot = new MovingShot();
+  private double movingHubHeadingErrorDegrees = 0.0;
+
+  private Translation3d passTarget = BLUE_PASS_TARGET_RIGHT;
+  private double passDistanceMeters = 0.0;
+  private Rotation2d passAngle = Rotation2d.kZero;
+  private double passHeadingErrorDegrees = 0.0;
+  private double passFlywheelDistanceMeters = 0.0;
+  private double passFlywheelRpm = 0.0;
+  private double passHoodDistanceMeters = 0.0;
+  private double passHoodDegrees = 0.0;
+
+  /**
+   * Recomputes every field from the given pose and field-relative velocity. Called by {@link
+   * RobotState} once per loop.
+   */
+  void update(Pose2d pose, double fieldVx, double fieldVy) {
+    robotPose = pose;
+    double robotX = pose.getX();
+    double robotY = pose.getY();
+    double headingRadians = pose.getRotation().getRadians();
+
+    // Where the robot will be when each mechanism has had time to reach its new setpoint
+    double flywheelLeadX = fieldVx * FlywheelConstants.Software.SETPOINT_LEAD_SECONDS;
+    double flywheelLeadY = fieldVy * FlywheelConstants.Software.SETPOINT_LEAD_SECONDS;
+    double hoodLeadX = fieldVx * HoodConstants.SoftwareConstants.SETPOINT_LEAD_SECONDS;
+    double hoodLeadY = fieldVy * HoodConstants.SoftwareConstants.SETPOINT_LEAD_SECONDS;
+
+    // Zone
+    double flippedX = AllianceFlipUtil.applyX(robotX);
+    if (flippedX < FieldConstants.LinesVertical.allianceZone) {
+      broadZone = HardwareConstants.Zones.broadZone.ALLIANCE_ZONE;
+    } else if (flippedX < FieldConstants.LinesVertical.neutralZoneNear) {
+      broadZone = HardwareConstants.Zones.broadZone.ALLIANCE_TRENCH;
+    } else if (flippedX < FieldConstants.LinesVertical.neutralZoneFar) {
+      broadZone = HardwareConstants.Zones.broadZone.NEUTRAL;
+    } else if (flippedX < FieldConstants.LinesVertical.oppAllianceZone) {
+      broadZone = HardwareConstants.Zones.broadZone.OPPOSING_TRENCH;
+    } else {
+      broadZone = HardwareConstants.Zones.broadZone.OPPOSING_ZONE;
+    }
+
+    // Hub
+    hubTarget = AllianceFlipUtil.apply(FieldConstants.Hub.topCenterPoint);
+    double hubDx = hubTarget.getX() - robotX;
+    double hubDy = hubTarget.getY() - robotY;
+    hubDistanceMeters = Math.hypot(hubDx, hubDy);
+    // Add 180° because the shooter faces the back of the robot
+    hubAngle = new Rotation2d(hubDx, hubDy).plus(Rotation2d.kPi);
+    hubHeadingErrorDegrees =
+        Math.abs(Math.toDegrees(MathUtil.angleModulus(hubAngle.getRadians() - headingRadians)));
+    hubFlywheelDistanceMeters = Math.hypot(hubDx - flywheelLeadX, hubDy - flywheelLeadY);
+    hubFlywheelRpm =
+        ShotCalculator.getInstance().getFlywheelRpmForDistance(hubFlywheelDistanceMeters);
+    hubHoodDistanceMeters = Math.hypot(hubDx - hoodLeadX, hubDy - hoodLeadY);
+    hubHoodDegrees =
+        HoodPosCalculator.getInstance().getHoodDegreesForDistance(hubHoodDistanceMeters);
+    // The moving shot is solved for the instant of release, so it uses the current pose
+    ShotCalculator.getInstance()
+        .solveMovingShot(
+            robotX, robotY, fieldVx, fieldVy, hubTarget.getX(), hubTarget.getY(), movingHubShot);
+    movingHubHeadingErrorDegrees =
+        Math.abs(
+            Math.toDegrees(
+                MathUtil.angleModulus(movingHubShot.getHeadingRadians() - headingRadians)));
+
+    // Pass target depends on alliance and which half of the field we're on
+    if (AllianceFlipUtil.shouldFlip()) {
+      passTarget =
+          robotY > FieldConstants.fieldWidth / 2 ? RED_PASS_TARGET_LEFT : RED_PASS_TARGET_RIGHT;
+    } else {
+      passTarget =
+          robotY < FieldConstants.fieldWidth / 2 ? BLUE_PASS_TARGET_RIGHT : BLUE_PASS_TARGET_LEFT;
+    }
+    double passDx = passTarget.getX() - robotX;
+    double passDy = passTarget.getY() - robotY;
+    passDistanceMeters = Math.hypot(passDx, passDy);
+    passAngle = new Rotation2d(passDx, passDy).plus(Rotation2d.kPi);
+    passHeadingErrorDegrees =
+        Math.abs(Math.toDegrees(MathUtil.angleModulus(passAngle.getRadians() - headingRadians)));
+    passFlywheelDistanceMeters = Math.hypot(passDx - flywheelLeadX, passDy - flywheelLeadY);
+    passFlywheelRpm =
+        ShotCalculator.getInstance().getFlywheelRpmForPassDistance(passFlywheelDistanceMeters);
+    passHoodDistanceMeters = Math.hypot(passDx - hoodLeadX, passDy - hoodLeadY);
+    passHoodDegrees =
+        HoodPosCalculator.getInstance().getHoodDegreesForPassDistance(passHoodDistanceMeters);
+  }
+
+  /** The pose this solution was computed from. */
+  public Pose2d getRobotPose() {
+    return robotPose;
+  }
+
+  public HardwareConstants.Zones.broadZone getBroadZone() {
+    return broadZone;
+  }
+
+  /** True when the robot is in its alliance zone, where it shoots at the hub instead of passing. */
+  public boolean isHubShot() {
+    return broadZone == HardwareConstants.Zones.broadZone.ALLIANCE_ZONE;
+  }
+
+  // ==================== HUB ====================
+
+  public Translation3d getHubTarget() {
+    return hubTarget;
+  }
+
+  public double getHubDistanceMeters() {
+    return hubDistanceMeters;
+  }
+
+  /** Heading the robot should face so the rear-facing shooter points at the hub. */
+  public Rotation2d getHubAngle() {
+    return hubAngle;
+  }
+
+  public double getHubHeadingErrorDegrees() {
+    return hubHeadingErrorDegrees;
+  }
+
+  /** Predicted hub distance the flywheel RPM was looked up at. */
+  public double getHubFlywheelDistanceMeters() {
+    return hubFlywheelDistanceMeters;
+  }
+
+  /** Predicted hub distance the hood angle was looked up at. */
+  public double getHubHoodDistanceMeters() {
+    return hubHoodDistanceMeters;
+  }
+
+  public double getHubFlywheelRpm() {
+    return hubFlywheelRpm;
+  }
+
+  public double getHubHoodDegrees() {
+    return hubHoodDegrees;
+  }
+
+  /**
+   * Hub shot compensated for robot velocity: RPM, hood and heading aimed at the virtual target. The
+   * same as the stationary hub values when the robot is stopped.
+   */
+  public MovingShot getMovingHubShot() {
+    return movingHubShot;
+  }
+
+  /** Heading error against {@link #getMovingHubShot()}'s heading rather than the real hub. */
+  public double getMovingHubHeadingErrorDegrees() {
+    return movingHubHeadingErrorDegrees;
+  }
+
+  public boolean isAlignedToHub() {
+    return hubHeadingErrorDegrees
+        < HardwareConstants.CompConstants.Thresholds.hubAlignmentToleranceDegrees;
+  }
+
+  public boolean isAlignedToHubLoose() {
+    return hubHeadingErrorDegrees
+        < HardwareConstants.CompConstants.Thresholds.hubLooseAlignmentToleranceDegrees;
+  }
+
+  /**
+   * Aligned to the velocity-compensated hub shot. While the robot moves its heading differs from
+   * {@link #getHubAngle()}, so shooting on the move gates on this instead of {@link
+   * #isAlignedToHub()}.
+   */
+  public boolean isAlignedToMovingHubShot() {
+    return movingHubHeadingErrorDegrees
+        < HardwareConstants.CompConstants.Thresholds.hubAlignmentToleranceDegrees;
+  }
+
+  // ==================== PASS ====================
+
+  public Translation3d getPassTarget() {
+    return passTarget;
+  }
+
+  public Translation2d getPassTarget2d() {
+    return passTarget.toTranslation2d();
+  }
+
+  public double getPassDistanceMeters() {
+    return passDistanceMeters;
+  }
+
+  /** Heading the robot should face so the rear-facing shooter points at the pass target. */
+  public Rotation2d getPassAngle() {
+    return passAngle;
+  }
+
+  public double getPassHeadingErrorDegrees() {
+    return passHeadingErrorDegrees;
+  }
+
+  public double getPassFlywheelDistanceMeters() {
+    return passFlywheelDistanceMeters;
+  }
+
+  public double getPassHoodDistanceMeters() {
+    return passHoodDistanceMeters;
+  }
+
+  public double getPassFlywheelRpm() {
+    return passFlywheelRpm;
+  }
+
+  public double getPassHoodDegrees() {
+    return passHoodDegrees;
+  }
+
+  public boolean isAlignedToPass() {
+    return passHeadingErrorDegrees
+        < HardwareConstants.CompConstants.Thresholds.passAlignmentToleranceDegrees;
+  }
+
+  public boolean isAlignedToPassLoose() {
+    return passHeadingErrorDegrees
+        < HardwareConstants.CompConstants.Thresholds.passLooseAlignmentToleranceDegrees;
+  }
+}
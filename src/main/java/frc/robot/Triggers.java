@@ -180,10 +180,7 @@ public class Triggers {
   public final LoggedTrigger isShootSafeZone =
       new LoggedTrigger(
           "isShootSafeZone",
-          () -> {
-            HardwareConstants.Zones.broadZone currentZone = RobotState.getInstance().getBroadZone();
-            return (currentZone == HardwareConstants.Zones.broadZone.ALLIANCE_ZONE);
-          });
+          () -> RobotState.getInstance().getShotSolution().isHubShot());
 
   // Returns true if robot is able to score fuel at the current match time, or if timer is disabled,
   // or if demo mode is on
@@ -204,12 +201,20 @@ public class Triggers {
       new LoggedTrigger(
               "isAlignedForCurrentShot",
               () -> {
-                if (RobotState.getInstance().getBroadZone()
-                    == HardwareConstants.Zones.broadZone.ALLIANCE_ZONE) {
-                  return RobotState.getInstance().isAlignedToHub();
-                } else {
-                  return RobotState.getInstance().isAlignedToPass();
-                }
+                // Zone and alignment both come from this loop's shot solution
+                ShotSolution shot = RobotState.getInstance().getShotSolution();
+                return shot.isHubShot() ? shot.isAlignedToHub() : shot.isAlignedToPass();
+              })
+          .debounce(0.3, DebounceType.kRising);
+
+  // Same as isAlignedForCurrentShot, but hub shots check the velocity-compensated heading the
+  // robot steers to while shooting on the move
+  public final LoggedTrigger isAlignedForMovingShot =
+      new LoggedTrigger(
+              "isAlignedForMovingShot",
+              () -> {
+                ShotSolution shot = RobotState.getInstance().getShotSolution();
+                return shot.isHubShot() ? shot.isAlignedToMovingHubShot() : shot.isAlignedToPass();
               })
           .debounce(0.3, DebounceType.kRising);
 
@@ -217,11 +222,7 @@ public class Triggers {
       new LoggedTrigger(
           "isAlignedLooser",
           () -> {
-            if (RobotState.getInstance().getBroadZone()
-                == HardwareConstants.Zones.broadZone.ALLIANCE_ZONE) {
-              return RobotState.getInstance().isAlignedToHubLoose();
-            } else {
-              return RobotState.getInstance().isAlignedToPassLoose();
-            }
+            ShotSolution shot = RobotState.getInstance().getShotSolution();
+            return shot.isHubShot() ? shot.isAlignedToHubLoose() : shot.isAlignedToPassLoose();
           });
 }
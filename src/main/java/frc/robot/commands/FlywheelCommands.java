@@ -162,7 +162,16 @@ public class FlywheelCommands {
         .withName("FlywheelStop");
   }
 
-  public static Command shootOnTheMove(Flywheel flywheel, double hoodRadians) {
-    return Commands.run(() -> flywheel.shootDynamic(hoodRadians));
+  /**
+   * Continuously sets the flywheel for a velocity-compensated hub shot. Pair with {@link
+   * HoodCommands#setHoodPosForMovingHubShot} and a drive command aimed at the moving-shot heading
+   * so all three use the same solution.
+   *
+   * @param flywheel The flywheel subsystem
+   * @return Command that tracks the moving-shot RPM until interrupted
+   */
+  public static Command shootOnTheMove(Flywheel flywheel) {
+    return Commands.run(() -> flywheel.shootDynamic(), flywheel)
+        .withName("FlywheelShootOnTheMove");
   }
 }
@@ -28,6 +28,15 @@ public class HoodCommands {
         .withName("HoodPosForHub");
   }
 
+  /**
+   * Continuously tracks the hood angle for a velocity-compensated hub shot. Stows on end, like
+   * {@link #setHoodPosForHub}.
+   */
+  public static Command setHoodPosForMovingHubShot(Hood hood) {
+    return Commands.runEnd(() -> hood.setHoodPosForMovingHubShot(), () -> hood.stowHood(), hood)
+        .withName("HoodPosForMovingHubShot");
+  }
+
   public static Command setPosForPassing(Hood hood) {
     return Commands.run(() -> hood.setHoodPosForPass(), hood);
   }
@@ -8,6 +8,7 @@ import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
 import frc.robot.HardwareConstants;
+import frc.robot.subsystems.flywheel.FeedRateController;
 import frc.robot.subsystems.prestage.Prestage;
 
 public class PrestageCommands {
@@ -30,6 +31,17 @@ public class PrestageCommands {
         .withName("PrestageVelocity");
   }
 
+  /** Runs the prestage at the given velocity scaled by {@link FeedRateController}. */
+  public static Command setPrestageVelocityRateControlled(
+      Prestage prestage, AngularVelocity prestageVelo, FeedRateController feedRateController) {
+    return Commands.run(
+            () ->
+                prestage.setPrestageVelocity(
+                    prestageVelo.times(feedRateController.getPrestageScale())),
+            prestage)
+        .withName("PrestageVelocityRateControlled");
+  }
+
   public static Command prestageIdle(Prestage prestage) {
     return Commands.run(
             () ->
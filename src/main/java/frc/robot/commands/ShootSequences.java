@@ -4,6 +4,7 @@ import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
 import edu.wpi.first.wpilibj2.command.WaitCommand;
 import frc.robot.HardwareConstants;
+import frc.robot.subsystems.flywheel.FeedRateController;
 import frc.robot.subsystems.flywheel.Flywheel;
 import frc.robot.subsystems.hood.Hood;
 import frc.robot.subsystems.intakePivot.IntakePivot;
@@ -23,29 +24,59 @@ public class ShootSequences {
       UpperFeeder upperFeeder,
       LowerFeeder lowerFeeder,
       Transport transport,
-      IntakePivot intakePivot) {
+      IntakePivot intakePivot,
+      FeedRateController feedRateController) {
     return Commands.parallel(
             Commands.runOnce(() -> Logger.recordOutput("RobotState/shooting", true)),
             Commands.parallel(
                 FlywheelCommands.setVelocityForHub(flywheel),
-                PrestageCommands.setPrestageVelocity(
-                    prestage, HardwareConstants.CompConstants.Velocities.prestageVelocity),
+                PrestageCommands.setPrestageVelocityRateControlled(
+                    prestage,
+                    HardwareConstants.CompConstants.Velocities.prestageVelocity,
+                    feedRateController),
                 HoodCommands.setHoodPosForHub(hood)),
             Commands.sequence(
                 Commands.waitUntil(flywheel.isFlywheelSpunUp)
                     .withTimeout(HardwareConstants.CompConstants.Waits.spinUpTimeOut),
                 Commands.parallel(
-                    FeederCommands.setLowerFeederVelocity(
-                        lowerFeeder, HardwareConstants.CompConstants.Velocities.feederVelocity),
-                    FeederCommands.setUpperFeederVelocity(
-                        upperFeeder, HardwareConstants.CompConstants.Velocities.feederVelocity),
-                    TransportCommands.setTransportVelocity(
-                        transport, HardwareConstants.CompConstants.Velocities.transportVelocity),
+                    feedRateControlled(
+                        flywheel, upperFeeder, lowerFeeder, transport, feedRateController),
                     IntakePivotCommands.autoPivotCompress(intakePivot))))
         // .withInterruptBehavior(InterruptionBehavior.kCancelIncoming)
         .withName("ShootToHub");
   }
 
+  /**
+   * Runs the feeders and transport at their normal shooting speeds scaled by {@link
+   * FeedRateController#getFeedScale()}, so balls reach the flywheel only as fast as it recovers.
+   * Runs until interrupted; stop the subsystems afterwards as usual.
+   *
+   * <p>The applied scale is also passed to the flywheel, which doesn't need to be required: only
+   * the sim uses it, to load the flywheel with virtual balls.
+   */
+  public static Command feedRateControlled(
+      Flywheel flywheel,
+      UpperFeeder upperFeeder,
+      LowerFeeder lowerFeeder,
+      Transport transport,
+      FeedRateController feedRateController) {
+    return Commands.run(
+            () -> {
+              double scale = feedRateController.getFeedScale();
+              upperFeeder.setUpperFeederVelocity(
+                  HardwareConstants.CompConstants.Velocities.feederVelocity.times(scale));
+              lowerFeeder.setLowerFeederVelocity(
+                  HardwareConstants.CompConstants.Velocities.feederVelocity.times(scale));
+              transport.setTransportVelocity(
+                  HardwareConstants.CompConstants.Velocities.transportVelocity.times(scale));
+              flywheel.setFeedScale(scale);
+            },
+            upperFeeder,
+            lowerFeeder,
+            transport)
+        .withName("FeedRateControlled");
+  }
+
   public static Command shootEndBehavior(
       Flywheel flywheel,
       Prestage prestage,
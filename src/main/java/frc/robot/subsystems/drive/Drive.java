@@ -42,10 +42,15 @@ import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import edu.wpi.first.wpilibj2.command.sysid.SysIdRoutine;
 import frc.robot.Constants;
 import frc.robot.Constants.Mode;
+import frc.robot.HardwareConstants.PowerManagement;
+import frc.robot.HardwareConstants.ThermalDerating;
 import frc.robot.Robot;
 import frc.robot.RobotState;
 import frc.robot.generated.TunerConstants;
 import frc.robot.util.LocalADStarAK;
+import frc.robot.util.LogKeys;
+import frc.robot.util.MotorThermalModel;
+import frc.robot.util.PowerManager;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import org.littletonrobotics.junction.AutoLogOutput;
@@ -90,6 +95,14 @@ public class Drive extends SubsystemBase {
   private final GyroIO gyroIO;
   private final GyroIOInputsAutoLogged gyroInputs = new GyroIOInputsAutoLogged();
   private final Module[] modules = new Module[4]; // FL, FR, BL, BR
+  private final int[] driveBatteryChannels = new int[4];
+  private final int[] turnBatteryChannels = new int[4];
+
+  // Drive motor thermal model, fed from the module inputs each loop
+  private final MotorThermalModel driveThermal;
+  private final double[] driveStatorAmps = new double[4];
+  private final double[] driveTempCelsius = new double[4];
+
   private final SysIdRoutine sysId;
   private final Alert gyroDisconnectedAlert =
       new Alert("Disconnected gyro, using kinematics as fallback.", AlertType.kError);
@@ -117,6 +130,31 @@ public class Drive extends SubsystemBase {
     modules[1] = new Module(frModuleIO, 1, TunerConstants.FrontRight);
     modules[2] = new Module(blModuleIO, 2, TunerConstants.BackLeft);
     modules[3] = new Module(brModuleIO, 3, TunerConstants.BackRight);
+    String[] driveChannelKeys = LogKeys.indexed("Drive/Module", 4, "-Drive");
+    String[] turnChannelKeys = LogKeys.indexed("Drive/Module", 4, "-Turn");
+    for (int i = 0; i < 4; i++) {
+      driveBatteryChannels[i] = Robot.batteryLogger.registerChannel(driveChannelKeys[i], true);
+      turnBatteryChannels[i] = Robot.batteryLogger.registerChannel(turnChannelKeys[i], true);
+    }
+
+    // Drive motors only, and only after everything else has been shed
+    Robot.powerManager.register(
+        "Drive",
+        PowerManager.Priority.DRIVE,
+        4,
+        TunerConstants.FrontLeft.DriveMotorInitialConfigs.CurrentLimits.SupplyCurrentLimit,
+        PowerManagement.DRIVE_MIN_SUPPLY_AMPS,
+        this::getDriveSupplyCurrentAmps,
+        this::setDriveSupplyCurrentLimit);
+
+    // Long defensive pushes heat the drive motors; one limit keeps all four wheels matched
+    driveThermal =
+        new MotorThermalModel(
+            "Drive",
+            4,
+            TunerConstants.FrontLeft.SlipCurrent,
+            ThermalDerating.DRIVE_MIN_STATOR_AMPS,
+            this::setDriveStatorCurrentLimit);
 
     // Usage reporting for swerve template
     HAL.report(tResourceType.kResourceType_RobotDrive, tInstances.kRobotDriveSwerve_AdvantageKit);
@@ -223,14 +261,21 @@ public class Drive extends SubsystemBase {
 
     RobotState.getInstance().updateModuleStates(getModuleStates());
 
-    // Report current usage to the battery logger for each swerve module
+    // Report supply current to the battery logger for each swerve module
     for (int i = 0; i < 4; i++) {
       Robot.batteryLogger.reportCurrentUsage(
-          "Drive/Module" + i + "-Drive", true, modules[i].getDriveCurrentAmps());
+          driveBatteryChannels[i], modules[i].getDriveSupplyCurrentAmps());
       Robot.batteryLogger.reportCurrentUsage(
-          "Drive/Module" + i + "-Turn", true, modules[i].getTurnCurrentAmps());
+          turnBatteryChannels[i], modules[i].getTurnSupplyCurrentAmps());
     }
 
+    // Derate the drive motors' stator limit before any of them overheats
+    for (int i = 0; i < 4; i++) {
+      driveStatorAmps[i] = modules[i].getDriveCurrentAmps();
+      driveTempCelsius[i] = modules[i].getDriveTempCelsius();
+    }
+    driveThermal.update(driveStatorAmps, driveTempCelsius);
+
     // Update gyro alert
     gyroDisconnectedAlert.set(!gyroInputs.connected && Constants.currentMode != Mode.SIM);
   }
@@ -303,6 +348,29 @@ public class Drive extends SubsystemBase {
     return run(() -> runCharacterization(0.0)).withTimeout(1.0).andThen(sysId.dynamic(direction));
   }
 
+  /** Returns the summed supply current of the four drive motors, in amps. */
+  private double getDriveSupplyCurrentAmps() {
+    double total = 0.0;
+    for (int i = 0; i < 4; i++) {
+      total += Math.abs(modules[i].getDriveSupplyCurrentAmps());
+    }
+    return total;
+  }
+
+  /** Sets every drive motor's stator current limit, in amps. */
+  private void setDriveStatorCurrentLimit(double amps) {
+    for (int i = 0; i < 4; i++) {
+      modules[i].setDriveStatorCurrentLimit(amps);
+    }
+  }
+
+  /** Sets every drive motor's supply current limit, in amps. */
+  private void setDriveSupplyCurrentLimit(double amps) {
+    for (int i = 0; i < 4; i++) {
+      modules[i].setDriveSupplyCurrentLimit(amps);
+    }
+  }
+
   /** Returns the module states (turn angles and drive velocities) for all of the modules. */
   @AutoLogOutput(key = "SwerveStates/Measured")
   private SwerveModuleState[] getModuleStates() {
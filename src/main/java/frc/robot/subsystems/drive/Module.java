@@ -16,12 +16,13 @@ import edu.wpi.first.math.kinematics.SwerveModuleState;
 import edu.wpi.first.math.util.Units;
 import edu.wpi.first.wpilibj.Alert;
 import edu.wpi.first.wpilibj.Alert.AlertType;
+import frc.robot.util.LogKeys;
 import org.littletonrobotics.junction.Logger;
 
 public class Module {
   private final ModuleIO io;
   private final ModuleIOInputsAutoLogged inputs = new ModuleIOInputsAutoLogged();
-  private final int index;
+  private final String inputsKey;
   private final SwerveModuleConstants<
           TalonFXConfiguration, TalonFXConfiguration, CANcoderConfiguration>
       constants;
@@ -37,7 +38,7 @@ public class Module {
       SwerveModuleConstants<TalonFXConfiguration, TalonFXConfiguration, CANcoderConfiguration>
           constants) {
     this.io = io;
-    this.index = index;
+    inputsKey = LogKeys.of("Drive", "Module" + index);
     this.constants = constants;
     driveDisconnectedAlert =
         new Alert(
@@ -54,7 +55,7 @@ public class Module {
 
   public void periodic() {
     io.updateInputs(inputs);
-    Logger.processInputs("Drive/Module" + Integer.toString(index), inputs);
+    Logger.processInputs(inputsKey, inputs);
 
     // Calculate positions for odometry
     int sampleCount = inputs.odometryTimestamps.length; // All signals are sampled together
@@ -88,6 +89,16 @@ public class Module {
     io.setTurnPosition(Rotation2d.kZero);
   }
 
+  /** Changes the drive motor's supply current limit, in amps. */
+  public void setDriveSupplyCurrentLimit(double amps) {
+    io.setDriveSupplyCurrentLimit(amps);
+  }
+
+  /** Changes the drive motor's stator current limit, in amps. */
+  public void setDriveStatorCurrentLimit(double amps) {
+    io.setDriveStatorCurrentLimit(amps);
+  }
+
   /** Disables all outputs to motors. */
   public void stop() {
     io.setDriveOpenLoop(0.0);
@@ -139,13 +150,23 @@ public class Module {
     return Units.radiansToRotations(inputs.driveVelocityRadPerSec);
   }
 
-  /** Returns the drive motor supply current in amps. */
+  /** Returns the drive motor stator current in amps. */
   public double getDriveCurrentAmps() {
     return inputs.driveCurrentAmps;
   }
 
+  /** Returns the drive motor supply current in amps. */
+  public double getDriveSupplyCurrentAmps() {
+    return inputs.driveSupplyCurrentAmps;
+  }
+
+  /** Returns the drive motor temperature in degrees Celsius. */
+  public double getDriveTempCelsius() {
+    return inputs.driveTempCelsius;
+  }
+
   /** Returns the turn motor supply current in amps. */
-  public double getTurnCurrentAmps() {
-    return inputs.turnCurrentAmps;
+  public double getTurnSupplyCurrentAmps() {
+    return inputs.turnSupplyCurrentAmps;
   }
 }
@@ -18,6 +18,8 @@ public interface ModuleIO {
     public double driveVelocityRadPerSec = 0.0;
     public double driveAppliedVolts = 0.0;
     public double driveCurrentAmps = 0.0;
+    public double driveSupplyCurrentAmps = 0.0;
+    public double driveTempCelsius = 0.0;
 
     public boolean turnConnected = false;
     public boolean turnEncoderConnected = false;
@@ -26,6 +28,7 @@ public interface ModuleIO {
     public double turnVelocityRadPerSec = 0.0;
     public double turnAppliedVolts = 0.0;
     public double turnCurrentAmps = 0.0;
+    public double turnSupplyCurrentAmps = 0.0;
 
     public double[] odometryTimestamps = new double[] {};
     public double[] odometryDrivePositionsRad = new double[] {};
@@ -46,4 +49,10 @@ public interface ModuleIO {
 
   /** Run the turn motor to the specified rotation. */
   public default void setTurnPosition(Rotation2d rotation) {}
+
+  /** Change the drive motor's supply current limit, in amps. */
+  public default void setDriveSupplyCurrentLimit(double amps) {}
+
+  /** Change the drive motor's stator current limit, in amps. */
+  public default void setDriveStatorCurrentLimit(double amps) {}
 }
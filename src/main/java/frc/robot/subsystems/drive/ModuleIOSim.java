@@ -94,6 +94,9 @@ public class ModuleIOSim implements ModuleIO {
     inputs.driveVelocityRadPerSec = driveSim.getAngularVelocityRadPerSec();
     inputs.driveAppliedVolts = driveAppliedVolts;
     inputs.driveCurrentAmps = Math.abs(driveSim.getCurrentDrawAmps());
+    // The battery only supplies the duty-cycle fraction of the stator current
+    inputs.driveSupplyCurrentAmps =
+        inputs.driveCurrentAmps * Math.abs(MathUtil.clamp(driveAppliedVolts, -12.0, 12.0)) / 12.0;
 
     // Update turn inputs
     inputs.turnConnected = true;
@@ -103,6 +106,8 @@ public class ModuleIOSim implements ModuleIO {
     inputs.turnVelocityRadPerSec = turnSim.getAngularVelocityRadPerSec();
     inputs.turnAppliedVolts = turnAppliedVolts;
     inputs.turnCurrentAmps = Math.abs(turnSim.getCurrentDrawAmps());
+    inputs.turnSupplyCurrentAmps =
+        inputs.turnCurrentAmps * Math.abs(MathUtil.clamp(turnAppliedVolts, -12.0, 12.0)) / 12.0;
 
     // Update odometry inputs (50Hz because high-frequency odometry in sim doesn't
     // matter)
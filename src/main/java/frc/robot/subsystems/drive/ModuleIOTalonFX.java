@@ -33,8 +33,16 @@ import edu.wpi.first.math.util.Units;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Current;
+import edu.wpi.first.units.measure.Temperature;
 import edu.wpi.first.units.measure.Voltage;
+import frc.robot.HardwareConstants.ControlDedup;
+import frc.robot.HardwareConstants.SignalRates;
 import frc.robot.generated.TunerConstants;
+import frc.robot.util.CANConfigPipeline;
+import frc.robot.util.CANSignalRegistry;
+import frc.robot.util.ControlWriteFilter;
+import frc.robot.util.CurrentLimiter;
+import frc.robot.util.SignalRatePolicy;
 import java.util.Queue;
 
 /**
@@ -65,6 +73,13 @@ public class ModuleIOTalonFX implements ModuleIO {
   private final VelocityTorqueCurrentFOC velocityTorqueCurrentRequest =
       new VelocityTorqueCurrentFOC(0.0);
 
+  // Skip setControl calls that repeat the last request (see ControlWriteFilter)
+  private final ControlWriteFilter driveControl;
+  private final ControlWriteFilter turnControl;
+
+  // Runtime drive current limit changes (PowerManager, thermal derating)
+  private final CurrentLimiter driveCurrentLimiter;
+
   // Timestamp inputs from Phoenix thread
   private final Queue<Double> timestampQueue;
 
@@ -74,6 +89,8 @@ public class ModuleIOTalonFX implements ModuleIO {
   private final StatusSignal<AngularVelocity> driveVelocity;
   private final StatusSignal<Voltage> driveAppliedVolts;
   private final StatusSignal<Current> driveCurrent;
+  private final StatusSignal<Current> driveSupplyCurrent;
+  private final StatusSignal<Temperature> driveTemp;
 
   // Inputs from turn motor
   private final StatusSignal<Angle> turnAbsolutePosition;
@@ -82,6 +99,7 @@ public class ModuleIOTalonFX implements ModuleIO {
   private final StatusSignal<AngularVelocity> turnVelocity;
   private final StatusSignal<Voltage> turnAppliedVolts;
   private final StatusSignal<Current> turnCurrent;
+  private final StatusSignal<Current> turnSupplyCurrent;
 
   // Connection debouncers
   private final Debouncer driveConnectedDebounce =
@@ -97,10 +115,12 @@ public class ModuleIOTalonFX implements ModuleIO {
     this.constants = constants;
     driveTalon = new TalonFX(constants.DriveMotorId, TunerConstants.kCANBus);
     turnTalon = new TalonFX(constants.SteerMotorId, TunerConstants.kCANBus);
+    driveControl = new ControlWriteFilter("Module" + constants.DriveMotorId + "/Drive", driveTalon);
+    turnControl = new ControlWriteFilter("Module" + constants.DriveMotorId + "/Turn", turnTalon);
     cancoder = new CANcoder(constants.EncoderId, TunerConstants.kCANBus);
 
     // Configure drive motor
-    var driveConfig = constants.DriveMotorInitialConfigs;
+    var driveConfig = copyConfig(constants.DriveMotorInitialConfigs, TalonFXConfiguration::new);
     driveConfig.MotorOutput.NeutralMode = NeutralModeValue.Brake;
     driveConfig.Slot0 = constants.DriveMotorGains;
     driveConfig.Feedback.SensorToMechanismRatio = constants.DriveMotorGearRatio;
@@ -112,7 +132,12 @@ public class ModuleIOTalonFX implements ModuleIO {
         constants.DriveMotorInverted
             ? InvertedValue.Clockwise_Positive
             : InvertedValue.CounterClockwise_Positive;
-    tryUntilOk(5, () -> driveTalon.getConfigurator().apply(driveConfig, 0.25));
+    CANConfigPipeline.apply(
+        "Module" + constants.DriveMotorId + "/Drive",
+        TunerConstants.kCANBus,
+        driveTalon,
+        driveConfig);
+    driveCurrentLimiter = new CurrentLimiter(driveTalon, driveConfig.CurrentLimits);
     tryUntilOk(5, () -> driveTalon.setPosition(0.0, 0.25));
 
     // Configure turn motor
@@ -139,16 +164,22 @@ public class ModuleIOTalonFX implements ModuleIO {
         constants.SteerMotorInverted
             ? InvertedValue.Clockwise_Positive
             : InvertedValue.CounterClockwise_Positive;
-    tryUntilOk(5, () -> turnTalon.getConfigurator().apply(turnConfig, 0.25));
+    CANConfigPipeline.apply(
+        "Module" + constants.DriveMotorId + "/Turn", TunerConstants.kCANBus, turnTalon, turnConfig);
 
     // Configure CANCoder
-    CANcoderConfiguration cancoderConfig = constants.EncoderInitialConfigs;
+    CANcoderConfiguration cancoderConfig =
+        copyConfig(constants.EncoderInitialConfigs, CANcoderConfiguration::new);
     cancoderConfig.MagnetSensor.MagnetOffset = constants.EncoderOffset;
     cancoderConfig.MagnetSensor.SensorDirection =
         constants.EncoderInverted
             ? SensorDirectionValue.Clockwise_Positive
             : SensorDirectionValue.CounterClockwise_Positive;
-    cancoder.getConfigurator().apply(cancoderConfig);
+    CANConfigPipeline.apply(
+        "Module" + constants.DriveMotorId + "/Encoder",
+        TunerConstants.kCANBus,
+        cancoder,
+        cancoderConfig);
 
     // Create timestamp queue
     timestampQueue = PhoenixOdometryThread.getInstance().makeTimestampQueue();
@@ -159,6 +190,8 @@ public class ModuleIOTalonFX implements ModuleIO {
     driveVelocity = driveTalon.getVelocity();
     driveAppliedVolts = driveTalon.getMotorVoltage();
     driveCurrent = driveTalon.getStatorCurrent();
+    driveSupplyCurrent = driveTalon.getSupplyCurrent();
+    driveTemp = driveTalon.getDeviceTemp();
 
     // Create turn status signals
     turnAbsolutePosition = cancoder.getAbsolutePosition();
@@ -167,46 +200,73 @@ public class ModuleIOTalonFX implements ModuleIO {
     turnVelocity = turnTalon.getVelocity();
     turnAppliedVolts = turnTalon.getMotorVoltage();
     turnCurrent = turnTalon.getStatorCurrent();
+    turnSupplyCurrent = turnTalon.getSupplyCurrent();
 
     // Configure periodic frames
     BaseStatusSignal.setUpdateFrequencyForAll(
         Drive.ODOMETRY_FREQUENCY, drivePosition, turnPosition);
-    BaseStatusSignal.setUpdateFrequencyForAll(
-        50.0,
-        driveVelocity,
+    // The CANcoder feeds the turn motor directly, so its rate stays fixed
+    turnAbsolutePosition.setUpdateFrequency(50.0);
+    SignalRatePolicy.configure(SignalRates.FAST, driveVelocity);
+    SignalRatePolicy.configure(
+        SignalRates.CONTROL,
         driveAppliedVolts,
         driveCurrent,
-        turnAbsolutePosition,
+        driveSupplyCurrent,
         turnVelocity,
         turnAppliedVolts,
-        turnCurrent);
+        turnCurrent,
+        turnSupplyCurrent);
+    SignalRatePolicy.configure(SignalRates.DIAGNOSTIC, driveTemp);
     ParentDevice.optimizeBusUtilizationForAll(driveTalon, turnTalon);
+
+    // Refreshed once per loop with the rest of the drive bus (see CANSignalRegistry). The
+    // odometry thread keeps refreshing its own clones of the position signals.
+    CANSignalRegistry.register(
+        "Module" + constants.DriveMotorId,
+        TunerConstants.kCANBus,
+        drivePosition,
+        driveVelocity,
+        driveAppliedVolts,
+        driveCurrent,
+        driveSupplyCurrent,
+        driveTemp,
+        turnPosition,
+        turnVelocity,
+        turnAppliedVolts,
+        turnCurrent,
+        turnSupplyCurrent,
+        turnAbsolutePosition);
   }
 
   @Override
   public void updateInputs(ModuleIOInputs inputs) {
-    // Refresh all signals
-    var driveStatus =
-        BaseStatusSignal.refreshAll(drivePosition, driveVelocity, driveAppliedVolts, driveCurrent);
-    var turnStatus =
-        BaseStatusSignal.refreshAll(turnPosition, turnVelocity, turnAppliedVolts, turnCurrent);
-    var turnEncoderStatus = BaseStatusSignal.refreshAll(turnAbsolutePosition);
 
     // Update drive inputs
-    inputs.driveConnected = driveConnectedDebounce.calculate(driveStatus.isOK());
+    // Signals are refreshed once per loop by CANSignalRegistry; check each device's own status
+    inputs.driveConnected =
+        driveConnectedDebounce.calculate(
+            BaseStatusSignal.isAllGood(
+                drivePosition, driveVelocity, driveAppliedVolts, driveCurrent));
     inputs.drivePositionRad = Units.rotationsToRadians(drivePosition.getValueAsDouble());
     inputs.driveVelocityRadPerSec = Units.rotationsToRadians(driveVelocity.getValueAsDouble());
     inputs.driveAppliedVolts = driveAppliedVolts.getValueAsDouble();
     inputs.driveCurrentAmps = driveCurrent.getValueAsDouble();
+    inputs.driveSupplyCurrentAmps = driveSupplyCurrent.getValueAsDouble();
+    inputs.driveTempCelsius = driveTemp.getValueAsDouble();
 
     // Update turn inputs
-    inputs.turnConnected = turnConnectedDebounce.calculate(turnStatus.isOK());
-    inputs.turnEncoderConnected = turnEncoderConnectedDebounce.calculate(turnEncoderStatus.isOK());
+    inputs.turnConnected =
+        turnConnectedDebounce.calculate(
+            BaseStatusSignal.isAllGood(turnPosition, turnVelocity, turnAppliedVolts, turnCurrent));
+    inputs.turnEncoderConnected =
+        turnEncoderConnectedDebounce.calculate(BaseStatusSignal.isAllGood(turnAbsolutePosition));
     inputs.turnAbsolutePosition = Rotation2d.fromRotations(turnAbsolutePosition.getValueAsDouble());
     inputs.turnPosition = Rotation2d.fromRotations(turnPosition.getValueAsDouble());
     inputs.turnVelocityRadPerSec = Units.rotationsToRadians(turnVelocity.getValueAsDouble());
     inputs.turnAppliedVolts = turnAppliedVolts.getValueAsDouble();
     inputs.turnCurrentAmps = turnCurrent.getValueAsDouble();
+    inputs.turnSupplyCurrentAmps = turnSupplyCurrent.getValueAsDouble();
 
     // Update odometry inputs
     inputs.odometryTimestamps =
@@ -226,39 +286,57 @@ public class ModuleIOTalonFX implements ModuleIO {
 
   @Override
   public void setDriveOpenLoop(double output) {
-    driveTalon.setControl(
+    driveControl.setControl(
         switch (constants.DriveMotorClosedLoopOutput) {
           case Voltage -> voltageRequest.withOutput(output);
           case TorqueCurrentFOC -> torqueCurrentRequest.withOutput(output);
-        });
+        },
+        output,
+        ControlDedup.OUTPUT_DEADBAND);
   }
 
   @Override
   public void setTurnOpenLoop(double output) {
-    turnTalon.setControl(
+    turnControl.setControl(
         switch (constants.SteerMotorClosedLoopOutput) {
           case Voltage -> voltageRequest.withOutput(output);
           case TorqueCurrentFOC -> torqueCurrentRequest.withOutput(output);
-        });
+        },
+        output,
+        ControlDedup.OUTPUT_DEADBAND);
   }
 
   @Override
   public void setDriveVelocity(double velocityRadPerSec) {
     double velocityRotPerSec = Units.radiansToRotations(velocityRadPerSec);
-    driveTalon.setControl(
+    driveControl.setControl(
         switch (constants.DriveMotorClosedLoopOutput) {
           case Voltage -> velocityVoltageRequest.withVelocity(velocityRotPerSec);
           case TorqueCurrentFOC -> velocityTorqueCurrentRequest.withVelocity(velocityRotPerSec);
-        });
+        },
+        velocityRotPerSec,
+        ControlDedup.VELOCITY_DEADBAND_RPS);
   }
 
   @Override
   public void setTurnPosition(Rotation2d rotation) {
-    turnTalon.setControl(
+    double rotations = rotation.getRotations();
+    turnControl.setControl(
         switch (constants.SteerMotorClosedLoopOutput) {
-          case Voltage -> positionVoltageRequest.withPosition(rotation.getRotations());
-          case TorqueCurrentFOC -> positionTorqueCurrentRequest.withPosition(
-              rotation.getRotations());
-        });
+          case Voltage -> positionVoltageRequest.withPosition(rotations);
+          case TorqueCurrentFOC -> positionTorqueCurrentRequest.withPosition(rotations);
+        },
+        rotations,
+        ControlDedup.POSITION_DEADBAND_ROTATIONS);
+  }
+
+  @Override
+  public void setDriveSupplyCurrentLimit(double amps) {
+    driveCurrentLimiter.setSupplyCurrentLimit(amps);
+  }
+
+  @Override
+  public void setDriveStatorCurrentLimit(double amps) {
+    driveCurrentLimiter.setStatorCurrentLimit(amps);
   }
 }
@@ -0,0 +1,375 @@
+package frc.robot.subsystems.flywheel;
+
+import static edu.wpi.first.math.util.Units.inchesToMeters;
+import static edu.wpi.first.units.Units.RPM;
+
+import edu.wpi.first.math.interpolation.InterpolatingDoubleTreeMap;
+import frc.lib.FieldConstants;
+import frc.robot.Constants;
+import frc.robot.subsystems.flywheel.FlywheelConstants.TrajectoryVisualization;
+import frc.robot.subsystems.hood.HoodConstants;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Desktop tool that fits a drag-aware projectile model to the measured hub shots and writes dense
+ * RPM and time-of-flight tables to the deploy directory ({@link ShotTableFile}).
+ *
+ * <p><b>Model:</b> the fuel leaves the shooter exit ({@link
+ * TrajectoryVisualization#LAUNCH_HEIGHT_METERS}, {@link
+ * TrajectoryVisualization#SHOOTER_EXIT_X_METERS} toward the hub) at
+ *
+ * <pre>
+ *   speed = RPM × 2π/60 × DRUM_RADIUS × fudge
+ *   angle = angleAtZeroHood + degreesPerHoodDegree × hood
+ * </pre>
+ *
+ * and flies under gravity and quadratic air drag (sphere, {@link #DRAG_COEFFICIENT}). A shot
+ * "scores" when it comes down through the hub opening height at the hub center distance.
+ *
+ * <p><b>Fit:</b> {@code fudge} (starting from {@link
+ * TrajectoryVisualization#VELOCITY_FUDGE_FACTOR}), {@code angleAtZeroHood} and {@code
+ * degreesPerHoodDegree} are fitted with Nelder–Mead to the paired {@link
+ * FlywheelConstants.DistanceMap#SPEED_POINTS} / {@link HoodConstants.HoodMap#ANGLE_POINTS},
+ * minimizing the squared miss distance.
+ *
+ * <p><b>Tables:</b> at every {@link FlywheelConstants.DistanceMap#LUT_STEP_METERS} between the
+ * first and last measured distance, the hood follows the measured hood schedule, the model solves
+ * the RPM that lands the shot, and the model's residual at the measured points is interpolated back
+ * in so the table passes exactly through every measured shot. The model only shapes the curve
+ * between points. Time of flight comes from the model trajectory. The hood schedule itself is not
+ * written: between measured points it is only the linear interpolation {@link
+ * HoodConstants.HoodMap#ANGLE_LUT} already does.
+ *
+ * <p>Usage (writes {@code src/main/deploy/shot_tables/hub_shot_table.csv} unless a path is given):
+ *
+ * <pre>
+ * ./gradlew generateShotTables
+ * ./gradlew generateShotTables --args="build/hub_shot_table.csv"
+ * </pre>
+ *
+ * Re-run after changing the measured points and commit the CSV with them.
+ */
+public class BallisticTableGenerator {
+  // FUEL: 5.91 in foam ball, about 0.5 lb
+  private static final double FUEL_DIAMETER_METERS = inchesToMeters(5.91);
+  private static final double FUEL_MASS_KG = 0.215;
+  private static final double DRAG_COEFFICIENT = 0.47; // smooth sphere
+  private static final double AIR_DENSITY_KG_PER_M3 = 1.2;
+  private static final double GRAVITY = 9.81;
+
+  /** Integration step for the trajectory (seconds). */
+  private static final double SIM_DT = 0.001;
+
+  /** Give up on a trajectory that hasn't come back down through the target height by now. */
+  private static final double MAX_FLIGHT_SECONDS = 4.0;
+
+  // Drag acceleration = DRAG_K × |v| × v
+  private static final double DRAG_K =
+      0.5
+          * AIR_DENSITY_KG_PER_M3
+          * DRAG_COEFFICIENT
+          * Math.PI
+          * FUEL_DIAMETER_METERS
+          * FUEL_DIAMETER_METERS
+          / 4.0
+          / FUEL_MASS_KG;
+
+  /** Fitted launch model. */
+  private record Model(double fudge, double angleAtZeroHoodDeg, double degreesPerHoodDegree) {
+    double launchSpeed(double rpm) {
+      return rpm / 60.0 * 2.0 * Math.PI * TrajectoryVisualization.DRUM_RADIUS_METERS * fudge;
+    }
+
+    double launchAngleRadians(double hoodDegrees) {
+      return Math.toRadians(angleAtZeroHoodDeg + degreesPerHoodDegree * hoodDegrees);
+    }
+  }
+
+  /** Where and when a trajectory comes down through the target height. */
+  private record Crossing(double rangeMeters, double timeSeconds) {}
+
+  private final double launchHeight = TrajectoryVisualization.LAUNCH_HEIGHT_METERS;
+  private final double targetHeight = FieldConstants.Hub.height;
+
+  public static void main(String[] args) throws IOException {
+    // Load constants from the source tree rather than the RIO deploy directory
+    Constants.disableHAL = true;
+    Path output =
+        args.length > 0
+            ? Path.of(args[0])
+            : ShotTableFile.resolveDeployPath(ShotTableFile.HUB_TABLE_PATH);
+    new BallisticTableGenerator().run(output);
+  }
+
+  private void run(Path output) throws IOException {
+    double[][] speedPoints = FlywheelConstants.DistanceMap.SPEED_POINTS;
+    double[][] anglePoints = HoodConstants.HoodMap.ANGLE_POINTS;
+    if (speedPoints.length != anglePoints.length) {
+      throw new IllegalStateException("SPEED_POINTS and ANGLE_POINTS must have the same distances");
+    }
+    int pointCount = speedPoints.length;
+    double[] distances = new double[pointCount];
+    double[] rpms = new double[pointCount];
+    double[] hoods = new double[pointCount];
+    for (int i = 0; i < pointCount; i++) {
+      if (speedPoints[i][0] != anglePoints[i][0]) {
+        throw new IllegalStateException(
+            "SPEED_POINTS and ANGLE_POINTS differ at index "
+                + i
+                + ": "
+                + speedPoints[i][0]
+                + " in vs "
+                + anglePoints[i][0]
+                + " in");
+      }
+      distances[i] = inchesToMeters(speedPoints[i][0]);
+      rpms[i] = speedPoints[i][1];
+      hoods[i] = anglePoints[i][1];
+    }
+
+    // ---- Fit ----
+    ToDoubleFunction<double[]> cost =
+        p -> {
+          if (!(p[0] > 0.0)) {
+            return Double.MAX_VALUE;
+          }
+          Model model = new Model(p[0], p[1], p[2]);
+          double sum = 0.0;
+          for (int i = 0; i < pointCount; i++) {
+            double miss = missMeters(model, rpms[i], hoods[i], distances[i]);
+            sum += miss * miss;
+          }
+          return sum;
+        };
+    double[] best = null;
+    double bestCost = Double.MAX_VALUE;
+    // The hood-to-launch-angle mapping isn't known, so start from several guesses
+    for (double angleGuess : new double[] {45.0, 55.0, 65.0, 75.0}) {
+      for (double slopeGuess : new double[] {-2.0, -1.0, 1.0}) {
+        double[] start = {TrajectoryVisualization.VELOCITY_FUDGE_FACTOR, angleGuess, slopeGuess};
+        double[] result = nelderMead(cost, start, new double[] {0.2, 5.0, 0.5}, 800);
+        double resultCost = cost.applyAsDouble(result);
+        if (resultCost < bestCost) {
+          bestCost = resultCost;
+          best = result;
+        }
+      }
+    }
+    Model model = new Model(best[0], best[1], best[2]);
+    double rmsMiss = Math.sqrt(bestCost / pointCount);
+
+    System.out.printf(
+        Locale.ROOT,
+        "Fit: fudge=%.4f angle=%.2f%+.3f*hood deg, drag Cd=%.2f, RMS miss %.3f m%n",
+        model.fudge(),
+        model.angleAtZeroHoodDeg(),
+        model.degreesPerHoodDegree(),
+        DRAG_COEFFICIENT,
+        rmsMiss);
+    System.out.println("  dist_m   rpm    hood   model_rpm  miss_m   tof_s");
+
+    // Model RPM at each measured point; the difference is interpolated back into the table
+    InterpolatingDoubleTreeMap rpmCorrection = new InterpolatingDoubleTreeMap();
+    for (int i = 0; i < pointCount; i++) {
+      double modelRpm = solveRpm(model, hoods[i], distances[i]);
+      rpmCorrection.put(distances[i], rpms[i] - modelRpm);
+      Crossing crossing = fly(model, rpms[i], hoods[i]);
+      System.out.printf(
+          Locale.ROOT,
+          "  %6.3f  %6.0f  %5.2f  %8.0f  %+7.3f  %5.3f%n",
+          distances[i],
+          rpms[i],
+          hoods[i],
+          modelRpm,
+          missMeters(model, rpms[i], hoods[i], distances[i]),
+          crossing != null ? crossing.timeSeconds() : Double.NaN);
+    }
+
+    // ---- Tables ----
+    double minDistance = distances[0];
+    double maxDistance = distances[pointCount - 1];
+    int intervals =
+        (int)
+            Math.ceil((maxDistance - minDistance) / FlywheelConstants.DistanceMap.LUT_STEP_METERS);
+    double step = (maxDistance - minDistance) / intervals;
+    double minRpm = FlywheelConstants.Limits.MIN_SPEED.in(RPM);
+    double maxRpm = FlywheelConstants.Limits.MAX_SPEED.in(RPM);
+
+    double[] tableRpm = new double[intervals + 1];
+    double[] tableTof = new double[intervals + 1];
+    for (int i = 0; i <= intervals; i++) {
+      double distance = i == intervals ? maxDistance : minDistance + i * step;
+      double hood = HoodConstants.HoodMap.ANGLE_MAP.get(distance);
+      double modelRpm = solveRpm(model, hood, distance);
+      Crossing crossing = fly(model, modelRpm, hood);
+      if (crossing == null) {
+        throw new IllegalStateException(
+            "Model can't reach the hub from " + distance + " m at hood " + hood + "°");
+      }
+      tableRpm[i] = Math.max(minRpm, Math.min(maxRpm, modelRpm + rpmCorrection.get(distance)));
+      tableTof[i] = crossing.timeSeconds();
+    }
+
+    List<String> comments = new ArrayList<>();
+    comments.add("Generated by BallisticTableGenerator on " + LocalDate.now() + ". Do not edit.");
+    comments.add("Regenerate with ./gradlew generateShotTables after changing measured points.");
+    comments.add(
+        String.format(
+            Locale.ROOT,
+            "Model: fudge=%.4f, launch angle=%.2f%+.3f*hood deg, Cd=%.2f, RMS miss %.3f m over %d"
+                + " points",
+            model.fudge(),
+            model.angleAtZeroHoodDeg(),
+            model.degreesPerHoodDegree(),
+            DRAG_COEFFICIENT,
+            rmsMiss,
+            pointCount));
+    ShotTableFile.write(output, minDistance, maxDistance, tableRpm, tableTof, comments);
+    System.out.println("Wrote " + (intervals + 1) + " rows to " + output);
+  }
+
+  /**
+   * Simulates a shot and returns where it comes down through the hub opening height, measured from
+   * the robot center, or null if it never gets that high.
+   */
+  private Crossing fly(Model model, double rpm, double hoodDegrees) {
+    double speed = model.launchSpeed(rpm);
+    double angle = model.launchAngleRadians(hoodDegrees);
+    // The shooter faces the hub from the back of the robot, so the exit is closer to the hub
+    double x = -TrajectoryVisualization.SHOOTER_EXIT_X_METERS;
+    double z = launchHeight;
+    double vx = speed * Math.cos(angle);
+    double vz = speed * Math.sin(angle);
+    for (double t = 0.0; t < MAX_FLIGHT_SECONDS; t += SIM_DT) {
+      double v = Math.hypot(vx, vz);
+      double nextVx = vx - DRAG_K * v * vx * SIM_DT;
+      double nextVz = vz - (GRAVITY + DRAG_K * v * vz) * SIM_DT;
+      double nextX = x + nextVx * SIM_DT;
+      double nextZ = z + nextVz * SIM_DT;
+      if (nextVz < 0.0 && z > targetHeight && nextZ <= targetHeight) {
+        double fraction = (z - targetHeight) / (z - nextZ);
+        return new Crossing(x + fraction * (nextX - x), t + fraction * SIM_DT);
+      }
+      if (nextZ < 0.0) {
+        return null;
+      }
+      x = nextX;
+      z = nextZ;
+      vx = nextVx;
+      vz = nextVz;
+    }
+    return null;
+  }
+
+  /** Signed miss along the ground; a shot that never reaches the hub height misses by 5 m. */
+  private double missMeters(Model model, double rpm, double hoodDegrees, double distance) {
+    Crossing crossing = fly(model, rpm, hoodDegrees);
+    return crossing != null ? crossing.rangeMeters() - distance : -5.0;
+  }
+
+  /** Bisects the RPM that lands the shot at the given distance. Range grows with RPM. */
+  private double solveRpm(Model model, double hoodDegrees, double distance) {
+    double low = 0.0;
+    double high = FlywheelConstants.Limits.MAX_SPEED.in(RPM);
+    for (int i = 0; i < 60; i++) {
+      double mid = 0.5 * (low + high);
+      if (missMeters(model, mid, hoodDegrees, distance) < 0.0) {
+        low = mid;
+      } else {
+        high = mid;
+      }
+    }
+    return 0.5 * (low + high);
+  }
+
+  /** Plain Nelder–Mead simplex minimizer; the fit only has three parameters. */
+  private static double[] nelderMead(
+      ToDoubleFunction<double[]> cost, double[] start, double[] steps, int iterations) {
+    int n = start.length;
+    double[][] simplex = new double[n + 1][];
+    double[] values = new double[n + 1];
+    simplex[0] = start.clone();
+    for (int i = 0; i < n; i++) {
+      simplex[i + 1] = start.clone();
+      simplex[i + 1][i] += steps[i];
+    }
+    for (int i = 0; i <= n; i++) {
+      values[i] = cost.applyAsDouble(simplex[i]);
+    }
+
+    for (int iteration = 0; iteration < iterations; iteration++) {
+      // Sort best to worst
+      for (int i = 1; i <= n; i++) {
+        for (int j = i; j > 0 && values[j] < values[j - 1]; j--) {
+          double value = values[j];
+          values[j] = values[j - 1];
+          values[j - 1] = value;
+          double[] point = simplex[j];
+          simplex[j] = simplex[j - 1];
+          simplex[j - 1] = point;
+        }
+      }
+
+      double[] centroid = new double[n];
+      for (int i = 0; i < n; i++) {
+        for (int j = 0; j < n; j++) {
+          centroid[j] += simplex[i][j] / n;
+        }
+      }
+      double[] worst = simplex[n];
+
+      double[] reflected = along(centroid, worst, -1.0);
+      double reflectedValue = cost.applyAsDouble(reflected);
+      if (reflectedValue < values[0]) {
+        double[] expanded = along(centroid, worst, -2.0);
+        double expandedValue = cost.applyAsDouble(expanded);
+        if (expandedValue < reflectedValue) {
+          simplex[n] = expanded;
+          values[n] = expandedValue;
+        } else {
+          simplex[n] = reflected;
+          values[n] = reflectedValue;
+        }
+      } else if (reflectedValue < values[n - 1]) {
+        simplex[n] = reflected;
+        values[n] = reflectedValue;
+      } else {
+        double[] contracted = along(centroid, worst, 0.5);
+        double contractedValue = cost.applyAsDouble(contracted);
+        if (contractedValue < values[n]) {
+          simplex[n] = contracted;
+          values[n] = contractedValue;
+        } else {
+          // Shrink toward the best point
+          for (int i = 1; i <= n; i++) {
+            simplex[i] = along(simplex[0], simplex[i], 0.5);
+            values[i] = cost.applyAsDouble(simplex[i]);
+          }
+        }
+      }
+    }
+
+    int bestIndex = 0;
+    for (int i = 1; i <= n; i++) {
+      if (values[i] < values[bestIndex]) {
+        bestIndex = i;
+      }
+    }
+    return simplex[bestIndex];
+  }
+
+  /** {@code from + scale × (toward - from)}. */
+  private static double[] along(double[] from, double[] toward, double scale) {
+    double[] point = new double[from.length];
+    for (int i = 0; i < from.length; i++) {
+      point[i] = from[i] + scale * (toward[i] - from[i]);
+    }
+    return point;
+  }
+}
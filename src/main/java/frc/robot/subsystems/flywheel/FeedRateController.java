@@ -0,0 +1,100 @@
+package frc.robot.subsystems.flywheel;
+
+import edu.wpi.first.math.MathUtil;
+import frc.robot.HardwareConstants;
+import frc.robot.subsystems.flywheel.FlywheelConstants.FeedRate;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Scales the feed path (feeders, transport, prestage) to how fast the flywheel can take fuel.
+ *
+ * <p>Running the feed at a fixed rate is a guess. Too slow starves the shooter. Too fast sends the
+ * next ball into a flywheel that is still recovering from the last one, and that ball comes up
+ * short. The best throughput is the fastest feed where every ball still finds the flywheel within
+ * {@code flywheelSpinupThreshold}.
+ *
+ * <p><b>How the scale is chosen:</b> A ball commanded now reaches the flywheel about {@link
+ * FeedRate#FEED_LATENCY_SECONDS} later. By then the flywheel will have closed some of its current
+ * error at its recovery rate, so the controller predicts the error <i>on arrival</i>:
+ *
+ * <pre>
+ *   predicted error = max(0, |setpoint − velocity| − recovery rate × feed latency)
+ * </pre>
+ *
+ * The feed runs at full speed while the predicted error is below {@link
+ * FeedRate#FULL_RATE_ERROR_RPM} and slows linearly to {@link FeedRate#MIN_FEED_SCALE} at the
+ * spin-up threshold. It cuts back immediately but ramps up at {@link
+ * FeedRate#SCALE_RISE_PER_SECOND}, so a single dip doesn't set up an oscillation. The recovery rate
+ * starts at {@link FeedRate#NOMINAL_RECOVERY_RPM_PER_SECOND} and switches to the average drop ÷
+ * average recovery time measured by {@link ShotDetector} once it has seen a few shots this match.
+ *
+ * <p>The prestage sits right under the flywheel and hands the ball into it, so it is only slowed
+ * down to {@link FeedRate#PRESTAGE_MIN_SCALE}.
+ */
+public class FeedRateController {
+  private static final double STOP_ERROR_RPM =
+      HardwareConstants.CompConstants.Thresholds.flywheelSpinupThreshold;
+
+  private final Flywheel flywheel;
+
+  private long lastUpdateMicros = -1;
+  private double feedScale = 1.0;
+  private double recoveryRateRpmPerSec = FeedRate.NOMINAL_RECOVERY_RPM_PER_SECOND;
+  private double predictedErrorRpm = 0.0;
+
+  public FeedRateController(Flywheel flywheel) {
+    this.flywheel = flywheel;
+  }
+
+  /** Scale (0–1) for the feeders and transport this loop. */
+  public double getFeedScale() {
+    update();
+    return feedScale;
+  }
+
+  /** Scale (0–1) for the prestage this loop. Never below {@link FeedRate#PRESTAGE_MIN_SCALE}. */
+  public double getPrestageScale() {
+    update();
+    return Math.max(feedScale, FeedRate.PRESTAGE_MIN_SCALE);
+  }
+
+  /** Recomputes the scale once per loop, on the first read. */
+  private void update() {
+    long now = Logger.getTimestamp();
+    if (now == lastUpdateMicros) {
+      return;
+    }
+    double dt = lastUpdateMicros < 0 ? 0.02 : (now - lastUpdateMicros) * 1e-6;
+    lastUpdateMicros = now;
+
+    ShotDetector detector = flywheel.getShotDetector();
+    if (detector.getRecoveredCount() >= FeedRate.MIN_RECOVERIES_FOR_ESTIMATE
+        && detector.getAverageRecoverySeconds() > 0.0) {
+      recoveryRateRpmPerSec = detector.getAverageRpmDrop() / detector.getAverageRecoverySeconds();
+    } else {
+      recoveryRateRpmPerSec = FeedRate.NOMINAL_RECOVERY_RPM_PER_SECOND;
+    }
+
+    double errorRpm = Math.abs(flywheel.getVelocityErrorRpm());
+    predictedErrorRpm =
+        Math.max(0.0, errorRpm - recoveryRateRpmPerSec * FeedRate.FEED_LATENCY_SECONDS);
+
+    // 1 at FULL_RATE_ERROR_RPM, MIN_FEED_SCALE at the spin-up threshold
+    double fraction =
+        MathUtil.clamp(
+            (STOP_ERROR_RPM - predictedErrorRpm) / (STOP_ERROR_RPM - FeedRate.FULL_RATE_ERROR_RPM),
+            0.0,
+            1.0);
+    double target = MathUtil.interpolate(FeedRate.MIN_FEED_SCALE, 1.0, fraction);
+
+    // Slow down at once, speed back up gradually
+    feedScale =
+        target < feedScale
+            ? target
+            : Math.min(target, feedScale + FeedRate.SCALE_RISE_PER_SECOND * dt);
+
+    Logger.recordOutput("Flywheel/FeedRate/Scale", feedScale);
+    Logger.recordOutput("Flywheel/FeedRate/PredictedErrorRpm", predictedErrorRpm);
+    Logger.recordOutput("Flywheel/FeedRate/RecoveryRateRpmPerSec", recoveryRateRpmPerSec);
+  }
+}
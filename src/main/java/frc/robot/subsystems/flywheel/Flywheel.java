@@ -1,26 +1,27 @@
 package frc.robot.subsystems.flywheel;
 
 import static edu.wpi.first.units.Units.Degrees;
-import static edu.wpi.first.units.Units.Meters;
 import static edu.wpi.first.units.Units.RPM;
-import static edu.wpi.first.units.Units.Radians;
+import static edu.wpi.first.units.Units.Rotations;
 import static edu.wpi.first.units.Units.RotationsPerSecond;
 
-import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.geometry.Translation3d;
-import edu.wpi.first.units.Units;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Distance;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
-import frc.lib.FieldConstants;
 import frc.robot.HardwareConstants;
+import frc.robot.HardwareConstants.PowerManagement;
+import frc.robot.HardwareConstants.ThermalDerating;
 import frc.robot.Robot;
 import frc.robot.RobotState;
 import frc.robot.subsystems.flywheel.io.FlywheelIO;
 import frc.robot.subsystems.flywheel.io.ShooterIOInputsAutoLogged;
 import frc.robot.util.LoggedTrigger;
+import frc.robot.util.MotorGroupInputs;
+import frc.robot.util.MotorThermalModel;
+import frc.robot.util.PowerManager;
 import java.util.function.Supplier;
 import org.littletonrobotics.junction.Logger;
 import org.littletonrobotics.junction.networktables.LoggedNetworkNumber;
@@ -33,7 +34,11 @@ import org.littletonrobotics.junction.networktables.LoggedNetworkNumber;
 public class Flywheel extends SubsystemBase {
   private final FlywheelIO io;
   private final ShooterIOInputsAutoLogged inputs;
+  private final MotorGroupInputs motors = new MotorGroupInputs();
+  private final int batteryChannel = Robot.batteryLogger.registerChannel("Flywheel", false);
   private final FlywheelVisualizer visualizer;
+  private final ShotDetector shotDetector;
+  private final MotorThermalModel thermal;
   private LoggedNetworkNumber tuningRPM;
   private double currentRPMTarget = 0;
 
@@ -53,6 +58,26 @@ public class Flywheel extends SubsystemBase {
     inputs = new ShooterIOInputsAutoLogged();
     tuningRPM = new LoggedNetworkNumber("Tune/flywheel/tuningRPM", 20);
     visualizer = new FlywheelVisualizer();
+    shotDetector = new ShotDetector();
+
+    // Leader and four followers; sheds after the intake, before the drive
+    Robot.powerManager.register(
+        "Flywheel",
+        PowerManager.Priority.FLYWHEEL,
+        5,
+        FlywheelConstants.CurrentLimits.SHOOTER_MAIN_SUPPLY_AMP,
+        PowerManagement.FLYWHEEL_MIN_SUPPLY_AMPS,
+        motors::totalSupplyCurrentAmps,
+        io::setSupplyCurrentLimit);
+
+    // Long shooting stretches heat all five motors; derate before the Talons protect themselves
+    thermal =
+        new MotorThermalModel(
+            "Flywheel",
+            5,
+            FlywheelConstants.CurrentLimits.SHOOTER_MAIN_STATOR_AMP,
+            ThermalDerating.FLYWHEEL_MIN_STATOR_AMPS,
+            io::setStatorCurrentLimit);
   }
 
   /**
@@ -71,42 +96,19 @@ public class Flywheel extends SubsystemBase {
   @Override
   public void periodic() {
     io.updateInputs(inputs);
+    io.updateMotorInputs(motors);
     Logger.processInputs("Flywheel", inputs);
+    Logger.processInputs("Flywheel/Motors", motors);
 
     // Report flywheel current usage to the battery logger (leader + 4 followers)
-    Robot.batteryLogger.reportCurrentUsage(
-        "Flywheel/Leader",
-        false,
-        inputs.leaderSupplyCurrentAmps != null
-            ? inputs.leaderSupplyCurrentAmps.in(Units.Amps)
-            : 0.0);
-    Robot.batteryLogger.reportCurrentUsage(
-        "Flywheel/Follower1",
-        false,
-        inputs.follower1SupplyCurrentAmps != null
-            ? inputs.follower1SupplyCurrentAmps.in(Units.Amps)
-            : 0.0);
-    Robot.batteryLogger.reportCurrentUsage(
-        "Flywheel/Follower2",
-        false,
-        inputs.follower2SupplyCurrentAmps != null
-            ? inputs.follower2SupplyCurrentAmps.in(Units.Amps)
-            : 0.0);
-    Robot.batteryLogger.reportCurrentUsage(
-        "Flywheel/Follower3",
-        false,
-        inputs.follower3SupplyCurrentAmps != null
-            ? inputs.follower3SupplyCurrentAmps.in(Units.Amps)
-            : 0.0);
-    Robot.batteryLogger.reportCurrentUsage(
-        "Flywheel/Follower4",
-        false,
-        inputs.follower4SupplyCurrentAmps != null
-            ? inputs.follower4SupplyCurrentAmps.in(Units.Amps)
-            : 0.0);
-
-    // Update trajectory visualization every loop
-    visualizer.updateTrajectory(inputs.flywheelVelocity, hoodAngleSupplier.get());
+    Robot.batteryLogger.reportCurrentUsage(batteryChannel, motors.supplyCurrentAmps);
+    thermal.update(motors.statorCurrentAmps, motors.tempCelsius);
+
+    shotDetector.update(motors, currentRPMTarget);
+
+    // Trajectory visualization, rate-limited inside the visualizer
+    visualizer.updateTrajectory(
+        RotationsPerSecond.of(motors.leaderVelocityRps()), hoodAngleSupplier.get());
 
     Logger.recordOutput("Flywheel/targetRPM", currentRPMTarget);
   }
@@ -155,15 +157,30 @@ public class Flywheel extends SubsystemBase {
 
   /** Returns the accumulated flywheel leader angle (used to spin the drum in the 3D model). */
   public Angle getFlywheelAngle() {
-    return inputs.leaderAngle;
+    return Rotations.of(motors.leaderPositionRotations());
   }
 
   public boolean isSpunUp() {
     Logger.recordOutput("Flywheel/currentRPMTarget", currentRPMTarget);
-    return (Math.abs(currentRPMTarget - inputs.leaderVelocity.in(RPM))
+    return (Math.abs(currentRPMTarget - motors.leaderVelocityRps() * 60.0)
         < HardwareConstants.CompConstants.Thresholds.flywheelSpinupThreshold);
   }
 
+  /** Shot counts and recovery metrics measured from the flywheel's current and velocity. */
+  public ShotDetector getShotDetector() {
+    return shotDetector;
+  }
+
+  /** Setpoint minus measured leader velocity (RPM); positive while the flywheel is slow. */
+  public double getVelocityErrorRpm() {
+    return currentRPMTarget - motors.leaderVelocityRps() * 60.0;
+  }
+
+  /** Feed scale applied this loop. Only the sim uses it; see {@link FlywheelIO#setFeedScale}. */
+  public void setFeedScale(double scale) {
+    io.setFeedScale(scale);
+  }
+
   public LoggedTrigger isFlywheelSpunUp =
       new LoggedTrigger(
           "isFlywheelSpunUp",
@@ -171,39 +188,13 @@ public class Flywheel extends SubsystemBase {
             return isSpunUp();
           });
 
-  public void shootDynamic(double hoodDegrees) {
-    // Fuel to hub
-    Translation2d fuelToGoalDistance =
-        new Translation2d(
-            (FieldConstants.Hub.topCenterPoint.getX()
-                - RobotState.getInstance().getEstimatedPose().getX()),
-            (FieldConstants.Hub.topCenterPoint.getY()
-                - RobotState.getInstance().getEstimatedPose().getY()));
-    double distance = fuelToGoalDistance.getNorm();
-    AngularVelocity idealSpeed =
-        ShotCalculator.getInstance().getFlywheelSpeedForDistance(Meters.of(distance));
-    Translation2d fuelToGoalVector =
-        new Translation2d(idealSpeed.magnitude(), RobotState.getInstance().getAngleToAllianceHub());
-    // Robot to hub
-    Translation2d robotToGoalVector =
-        new Translation2d(
-            (RobotState.getInstance().getHubRelativeVelocity().vxMetersPerSecond),
-            (RobotState.getInstance().getHubRelativeVelocity().vyMetersPerSecond));
-    // Fuel to robot (what we're finding)
-    Translation2d fuelToRobotVector =
-        new Translation2d(
-            (fuelToGoalVector.getX() - robotToGoalVector.getX()),
-            (fuelToGoalVector.getY() - robotToGoalVector.getY()));
-    // Our fuelToRobotVector gave us a linear velocity (m/s) which we now convert to rps using
-    // flywheel rotations/meter
-    AngularVelocity velocityInRPS =
-        RotationsPerSecond.of(
-            fuelToRobotVector.getNorm() * FlywheelConstants.Mechanical.flywheelRotationsPerMeter);
-    // Convert to RPM for flywheel
-    AngularVelocity velocityInRPM = RPM.of(velocityInRPS.magnitude());
-    // Finally, divide by cos of hood angle
-    AngularVelocity finalVelocity =
-        RPM.of(velocityInRPM.magnitude() / Math.cos(Radians.of(hoodDegrees).magnitude()));
-    setFlywheelVelocity(finalVelocity);
+  /**
+   * Sets the flywheel for a hub shot while the robot is moving. The RPM comes from the
+   * velocity-compensated solution in {@link ShotCalculator#solveMovingShot}, computed once this
+   * loop along with the matching hood angle and heading.
+   */
+  public void shootDynamic() {
+    setFlywheelVelocity(
+        RPM.of(RobotState.getInstance().getShotSolution().getMovingHubShot().getFlywheelRpm()));
   }
 }
@@ -8,10 +8,12 @@ import static edu.wpi.first.units.Units.Seconds;
 
 import edu.wpi.first.math.interpolation.InterpolatingDoubleTreeMap;
 import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.math.util.Units;
 import edu.wpi.first.units.measure.AngularAcceleration;
 import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Time;
 import frc.robot.Constants;
+import frc.robot.util.DenseLookupTable;
 
 /**
  * Constants for the shooter subsystem.
@@ -98,6 +100,14 @@ public class FlywheelConstants {
 
     /** Idle duty cycle when shooter is not actively shooting. */
     public static final double IDLE_DUTY_CYCLE = 0.0;
+
+    /**
+     * Hub and pass RPM setpoints are computed for the pose the robot will have this far ahead
+     * (seconds), extrapolated from measured chassis velocity. Roughly the time Motion Magic needs
+     * to move between neighbouring table speeds, so the flywheel is at speed when we arrive. 0 aims
+     * at the current pose.
+     */
+    public static final double SETPOINT_LEAD_SECONDS = 0.15;
   }
 
   public static class Mechanical {
@@ -123,26 +133,155 @@ public class FlywheelConstants {
     public static final InterpolatingDoubleTreeMap PASSING_SPEED_MAP =
         new InterpolatingDoubleTreeMap();
 
+    // Measured hub shots: {distance from center of hub (inches), angular velocity (RPM)}.
+    // Same distances as HoodConstants.HoodMap.ANGLE_POINTS — BallisticTableGenerator pairs them.
+    public static final double[][] SPEED_POINTS = {
+      {75.0, 1450.0}, // Auto shot 1
+      {85.0, 1525.0}, // Auto shot 2
+      {110.0, 1625.0}, // Tower shot
+      {130.0, 1700.0},
+      {145.0, 1750.0},
+      {160.0, 1875.0},
+      {175.0, 1925.0},
+      {180.0, 1950.0},
+      {190.0, 1975.0},
+    };
+
     // Key is distance from center of hub (converted to meters)
     // Value is angular velocity (RPM)
     static {
-      SPEED_MAP.put(inchesToMeters(75.0), 1450.0); // Auto shot 1
-      SPEED_MAP.put(inchesToMeters(85.0), 1525.0); // Auto shot 2
-      SPEED_MAP.put(inchesToMeters(110.0), 1625.0); // Tower shot
-      SPEED_MAP.put(inchesToMeters(130.0), 1700.0);
-      SPEED_MAP.put(inchesToMeters(145.0), 1750.0);
-      SPEED_MAP.put(inchesToMeters(160.0), 1875.0);
-      SPEED_MAP.put(inchesToMeters(175.0), 1925.0);
-      SPEED_MAP.put(inchesToMeters(180.0), 1950.0);
-      SPEED_MAP.put(inchesToMeters(190.0), 1975.0);
+      for (double[] point : SPEED_POINTS) {
+        SPEED_MAP.put(inchesToMeters(point[0]), point[1]);
+      }
     }
 
+    // Passing shots: {distance from center of hub (inches), angular velocity (RPM)}
+    public static final double[][] PASSING_SPEED_POINTS = {
+      {70.0, 1600.0},
+      {140.0, 1700.0},
+      {225.0, 2050.0},
+      {410.0, 2700.0},
+    };
+
     static {
-      PASSING_SPEED_MAP.put(inchesToMeters(70.0), 1600.0);
-      PASSING_SPEED_MAP.put(inchesToMeters(140.0), 1700.0);
-      PASSING_SPEED_MAP.put(inchesToMeters(225.0), 2050.0);
-      PASSING_SPEED_MAP.put(inchesToMeters(410.0), 2700.0);
+      for (double[] point : PASSING_SPEED_POINTS) {
+        PASSING_SPEED_MAP.put(inchesToMeters(point[0]), point[1]);
+      }
     }
+
+    /**
+     * Use the deployed table from {@link BallisticTableGenerator} for hub RPM and time of flight
+     * when it's present. The hand-tuned maps are the fallback. Leave off until the table has been
+     * generated with {@code ./gradlew generateShotTables}, checked and committed.
+     */
+    public static final boolean USE_GENERATED_HUB_TABLE = false;
+
+    // Dense copies of the maps above, sampled once at startup from the same points so runtime
+    // lookups are O(1) with no boxing. Each range runs from the first to the last point.
+    public static final double LUT_STEP_METERS = 0.005;
+    public static final DenseLookupTable SPEED_LUT =
+        ShotTableFile.getHubTable() != null
+            ? ShotTableFile.getHubTable().getRpmTable()
+            : new DenseLookupTable(SPEED_POINTS, Units::inchesToMeters, LUT_STEP_METERS);
+    public static final DenseLookupTable PASSING_SPEED_LUT =
+        new DenseLookupTable(PASSING_SPEED_POINTS, Units::inchesToMeters, LUT_STEP_METERS);
+  }
+
+  /**
+   * Time-of-flight table and solver limits for shooting while moving.
+   *
+   * <p>While the robot moves, the fuel keeps the robot's velocity after it leaves the flywheel, so
+   * we aim at a "virtual target" offset from the hub by -velocity × time of flight. See {@link
+   * ShotCalculator#solveMovingShot}.
+   */
+  public static class ShootOnTheMove {
+    // {distance from center of hub (inches), time of flight from leaving the flywheel to entering
+    // the hub (seconds)}, same range as SPEED_POINTS. Starting estimates, only used when there is
+    // no generated hub table (which computes TOF from the fitted ballistic model).
+    public static final double[][] TOF_POINTS = {
+      {75.0, 0.95},
+      {110.0, 1.02},
+      {145.0, 1.10},
+      {190.0, 1.22},
+    };
+
+    public static final DenseLookupTable TOF_LUT =
+        ShotTableFile.getHubTable() != null
+            ? ShotTableFile.getHubTable().getTimeOfFlightTable()
+            : new DenseLookupTable(TOF_POINTS, Units::inchesToMeters, DistanceMap.LUT_STEP_METERS);
+
+    /**
+     * Upper bound on virtual-target iterations. Each pass shrinks the error by roughly speed ×
+     * dTOF/d (≈ 0.1 s/m), so typical shots converge in 2–4 passes; this cap bounds the worst case
+     * at full speed and close range.
+     */
+    public static final int MAX_ITERATIONS = 6;
+
+    /** Stop iterating once the virtual-target distance changes by less than this (meters). */
+    public static final double CONVERGENCE_TOLERANCE_METERS = 0.005;
+  }
+
+  /**
+   * Thresholds for {@link ShotDetector}. Check them against a log of a few real shots: the spike
+   * and dip should clear these easily, while spin-up and steady state never should.
+   */
+  public static class ShotDetection {
+    /** Average stator current rise above the steady-state baseline that marks a shot (amps). */
+    public static final double CURRENT_SPIKE_AMPS = 15.0;
+
+    /** Velocity must also be at least this far under the setpoint (RPM). */
+    public static final double MIN_VELOCITY_DIP_RPM = 75.0;
+
+    /** No detection below this setpoint, so idle and spin-down are ignored (RPM). */
+    public static final double MIN_SETPOINT_RPM = 1000.0;
+
+    /** Time constant of the steady-state current baseline filter (seconds). */
+    public static final double BASELINE_TIME_CONSTANT_SECONDS = 0.25;
+
+    /** A second spike within this long of a shot is the same shot ringing (seconds). */
+    public static final double MIN_SHOT_INTERVAL_SECONDS = 0.04;
+
+    /** Give up timing a recovery after this long (seconds). */
+    public static final double MAX_RECOVERY_SECONDS = 1.0;
+
+    /** Longer gaps start a new volley and are left out of the sustained shot rate (seconds). */
+    public static final double MAX_VOLLEY_INTERVAL_SECONDS = 1.0;
+  }
+
+  /** Tuning for {@link FeedRateController}. */
+  public static class FeedRate {
+    /** Time from a feed speed change to the next ball reaching the flywheel (seconds). */
+    public static final double FEED_LATENCY_SECONDS = 0.10;
+
+    /**
+     * Recovery rate used until {@link ShotDetector} has measured enough shots (RPM/s). Roughly what
+     * the sim flywheel manages after a {@link #SIM_SHOT_RPM_DROP} dip.
+     */
+    public static final double NOMINAL_RECOVERY_RPM_PER_SECOND = 2500.0;
+
+    /** Recovered shots needed before the measured recovery rate replaces the nominal one. */
+    public static final int MIN_RECOVERIES_FOR_ESTIMATE = 3;
+
+    /** Feed at full speed while the predicted error on arrival is below this (RPM). */
+    public static final double FULL_RATE_ERROR_RPM = 100.0;
+
+    /**
+     * Lowest feed scale, reached at the spin-up threshold. Not zero so staged balls keep pressure
+     * on the prestage instead of settling back.
+     */
+    public static final double MIN_FEED_SCALE = 0.2;
+
+    /** Lowest prestage scale. */
+    public static final double PRESTAGE_MIN_SCALE = 0.6;
+
+    /** How fast the scale may climb back up (scale per second). 4.0 = 0.25 s from 0 to 1. */
+    public static final double SCALE_RISE_PER_SECOND = 4.0;
+
+    /** Sim only: balls per second reaching the flywheel at full feed speed. */
+    public static final double SIM_BALLS_PER_SECOND_AT_FULL_RATE = 8.0;
+
+    /** Sim only: speed a ball takes out of the flywheel as it passes through (RPM). */
+    public static final double SIM_SHOT_RPM_DROP = 250.0;
   }
 
   /** Simulation constants for the flywheel. */
@@ -197,6 +336,18 @@ public class FlywheelConstants {
     public static final double SHOOTER_EXIT_X_METERS = inchesToMeters(-6); // behind center
 
     public static final double SHOOTER_EXIT_Y_METERS = 0.0; // centered left-right
+
+    /** How often the trajectory is recomputed and logged (seconds). 0.2 = 5 Hz. */
+    public static final double UPDATE_PERIOD_SECONDS = 0.2;
+
+    /**
+     * On the real robot, skip the trajectory entirely while no dashboard is connected over
+     * NetworkTables. Sim and replay always compute it.
+     */
+    public static final boolean ONLY_WITH_DASHBOARD = true;
+
+    /** Never compute the trajectory while attached to the FMS (i.e. in a real match). */
+    public static final boolean DISABLE_ON_FMS = true;
   }
 
   /**
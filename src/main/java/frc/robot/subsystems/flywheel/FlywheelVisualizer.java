@@ -7,8 +7,11 @@ import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Pose3d;
 import edu.wpi.first.math.geometry.Rotation3d;
 import edu.wpi.first.math.geometry.Translation3d;
+import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularVelocity;
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.Constants;
 import frc.robot.RobotState;
 import frc.robot.subsystems.flywheel.FlywheelConstants.TrajectoryVisualization;
 import org.littletonrobotics.junction.Logger;
@@ -30,21 +33,37 @@ import org.littletonrobotics.junction.Logger;
  * <p>The trajectory is computed in field-relative coordinates using the robot's current pose and
  * heading. Robot velocity is intentionally NOT included — this shows where the fuel would land if
  * the robot were stationary.
+ *
+ * <p><b>Performance:</b> Only useful when someone is watching, so it runs on demand:
+ *
+ * <ul>
+ *   <li>at most every {@link TrajectoryVisualization#UPDATE_PERIOD_SECONDS}, not every loop
+ *   <li>on the real robot, only while a dashboard is connected over NetworkTables
+ *   <li>never while attached to the FMS
+ * </ul>
+ *
+ * Skipped loops return before doing any math. The trajectory array is reused, but the launch
+ * origin pose and the points in it are immutable WPILib geometry, so each publishing cycle still
+ * allocates one {@code Pose3d} and {@link TrajectoryVisualization#TRAJECTORY_POINTS} {@code
+ * Translation3d}s; the rate limit is what keeps that cheap.
  */
 public class FlywheelVisualizer {
 
   /** Gravitational acceleration (m/s²). */
   private static final double GRAVITY = 9.81;
 
-  /** Reusable array for the trajectory points — avoids allocations every loop. */
-  private final Translation3d[] trajectory;
-
   /** Empty array logged when the flywheel is below the RPM threshold. */
   private static final Translation3d[] EMPTY_TRAJECTORY = new Translation3d[0];
 
-  public FlywheelVisualizer() {
-    trajectory = new Translation3d[TrajectoryVisualization.TRAJECTORY_POINTS];
-  }
+  /** Reusable array for the trajectory points. */
+  private final Translation3d[] trajectory =
+      new Translation3d[TrajectoryVisualization.TRAJECTORY_POINTS];
+
+  private static final long UPDATE_PERIOD_MICROS =
+      (long) (TrajectoryVisualization.UPDATE_PERIOD_SECONDS * 1e6);
+
+  private long nextUpdateMicros = 0;
+  private boolean active = false;
 
   /**
    * Converts flywheel angular velocity to linear velocity at the drum surface.
@@ -65,7 +84,8 @@ public class FlywheelVisualizer {
   /**
    * Updates the trajectory visualization based on current flywheel speed and hood angle.
    *
-   * <p>Call this every loop from {@link Flywheel#periodic()}.
+   * <p>Call this every loop from {@link Flywheel#periodic()}; it returns immediately unless an
+   * update is due (see the class comment).
    *
    * <p>If the flywheel RPM is below {@link TrajectoryVisualization#MIN_RPM_FOR_TRAJECTORY}, an
    * empty trajectory is logged so the AdvantageScope trail disappears.
@@ -74,6 +94,22 @@ public class FlywheelVisualizer {
    * @param hoodAngle The current hood angle (mechanism position as an Angle)
    */
   public void updateTrajectory(AngularVelocity flywheelSpeed, Angle hoodAngle) {
+    long now = Logger.getTimestamp();
+    if (now < nextUpdateMicros) {
+      return;
+    }
+    nextUpdateMicros = now + UPDATE_PERIOD_MICROS;
+
+    if (!shouldPublish()) {
+      if (active) {
+        // Clear the trail once so a stale trajectory doesn't stay on the dashboard
+        Logger.recordOutput("Flywheel/Visualizer/Trajectory", EMPTY_TRAJECTORY);
+        active = false;
+      }
+      return;
+    }
+    active = true;
+
     double currentRPM = flywheelSpeed.in(RPM);
 
     // --- Robot pose (needed for both the trajectory and the launch origin) ---
@@ -143,14 +179,26 @@ public class FlywheelVisualizer {
       // x(t) = x₀ + vₓ × t
       // y(t) = y₀ + vᵧ × t
       // z(t) = z₀ + vᵤ × t − ½g × t²
-      double x = exitX + vFieldX * t;
-      double y = exitY + vFieldY * t;
-      double z = launchZ + vVertical * t - 0.5 * GRAVITY * t * t;
-
       // Clamp z to ground level so the trajectory doesn't go underground
-      trajectory[i] = new Translation3d(x, y, Math.max(z, 0.0));
+      trajectory[i] =
+          new Translation3d(
+              exitX + vFieldX * t,
+              exitY + vFieldY * t,
+              Math.max(launchZ + vVertical * t - 0.5 * GRAVITY * t * t, 0.0));
     }
-
     Logger.recordOutput("Flywheel/Visualizer/Trajectory", trajectory);
   }
+
+  /** Whether anyone could be looking at the trajectory right now. */
+  private boolean shouldPublish() {
+    if (TrajectoryVisualization.DISABLE_ON_FMS && DriverStation.isFMSAttached()) {
+      return false;
+    }
+    // In sim and replay there's no reason to hold back; on the robot, skip it with no dashboard
+    if (TrajectoryVisualization.ONLY_WITH_DASHBOARD
+        && Constants.currentMode == Constants.Mode.REAL) {
+      return NetworkTableInstance.getDefault().getConnections().length > 0;
+    }
+    return true;
+  }
 }
@@ -0,0 +1,120 @@
+package frc.robot.subsystems.flywheel;
+
+import frc.robot.Constants;
+import java.util.Locale;
+
+/**
+ * Desktop benchmark for {@link ShotCalculator#solveMovingShot}: time per solve, iterations and how
+ * often it converges over a grid of distances and robot velocities.
+ *
+ * <p>The robot sits at the origin with the target {@code distance} meters down +X. The robot
+ * velocity sweeps {@link #MIN_SPEED}–{@link #MAX_SPEED} m/s in every direction. For solves that hit
+ * {@link FlywheelConstants.ShootOnTheMove#MAX_ITERATIONS}, it reports how far one more pass would
+ * still have moved the virtual distance.
+ *
+ * <p>Usage: {@code ./gradlew movingShotBenchmark}
+ */
+public class MovingShotBenchmark {
+  private static final double MIN_DISTANCE = 1.5;
+  private static final double MAX_DISTANCE = 5.5;
+  private static final double DISTANCE_STEP = 0.25;
+  private static final double MIN_SPEED = 0.0;
+  private static final double MAX_SPEED = 4.5;
+  private static final double SPEED_STEP = 0.25;
+  private static final int DIRECTIONS = 24;
+
+  // Passes over the grid to warm up the JIT, then to time
+  private static final int WARMUP_PASSES = 200;
+  private static final int TIMED_PASSES = 200;
+
+  public static void main(String[] args) {
+    // Load constants from the source tree rather than the RIO deploy directory
+    Constants.disableHAL = true;
+    ShotCalculator calculator = ShotCalculator.getInstance();
+    ShotCalculator.MovingShot shot = new ShotCalculator.MovingShot();
+
+    int distanceCount = (int) Math.round((MAX_DISTANCE - MIN_DISTANCE) / DISTANCE_STEP) + 1;
+    int speedCount = (int) Math.round((MAX_SPEED - MIN_SPEED) / SPEED_STEP) + 1;
+    int gridSize = distanceCount * speedCount * DIRECTIONS;
+    double[] distances = new double[gridSize];
+    double[] vxs = new double[gridSize];
+    double[] vys = new double[gridSize];
+    int index = 0;
+    for (int d = 0; d < distanceCount; d++) {
+      for (int s = 0; s < speedCount; s++) {
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+          double speed = MIN_SPEED + s * SPEED_STEP;
+          double angle = 2.0 * Math.PI * direction / DIRECTIONS;
+          distances[index] = MIN_DISTANCE + d * DISTANCE_STEP;
+          vxs[index] = speed * Math.cos(angle);
+          vys[index] = speed * Math.sin(angle);
+          index++;
+        }
+      }
+    }
+
+    // Summing the results keeps the JIT from dropping the solves
+    double checksum = 0.0;
+    for (int pass = 0; pass < WARMUP_PASSES; pass++) {
+      for (int i = 0; i < gridSize; i++) {
+        calculator.solveMovingShot(0.0, 0.0, vxs[i], vys[i], distances[i], 0.0, shot);
+        checksum += shot.getFlywheelRpm();
+      }
+    }
+    long start = System.nanoTime();
+    for (int pass = 0; pass < TIMED_PASSES; pass++) {
+      for (int i = 0; i < gridSize; i++) {
+        calculator.solveMovingShot(0.0, 0.0, vxs[i], vys[i], distances[i], 0.0, shot);
+        checksum += shot.getFlywheelRpm();
+      }
+    }
+    double nanosPerSolve = (double) (System.nanoTime() - start) / ((long) TIMED_PASSES * gridSize);
+
+    long iterationSum = 0;
+    int converged = 0;
+    double worstRemainingChange = 0.0;
+    double worstDistance = 0.0;
+    double worstSpeed = 0.0;
+    for (int i = 0; i < gridSize; i++) {
+      calculator.solveMovingShot(0.0, 0.0, vxs[i], vys[i], distances[i], 0.0, shot);
+      iterationSum += shot.getIterations();
+      if (shot.isConverged()) {
+        converged++;
+        continue;
+      }
+      double nextDistance =
+          Math.hypot(
+              distances[i] - vxs[i] * shot.getTimeOfFlightSeconds(),
+              -vys[i] * shot.getTimeOfFlightSeconds());
+      double remaining = Math.abs(nextDistance - shot.getVirtualDistanceMeters());
+      if (remaining > worstRemainingChange) {
+        worstRemainingChange = remaining;
+        worstDistance = distances[i];
+        worstSpeed = Math.hypot(vxs[i], vys[i]);
+      }
+    }
+
+    System.out.printf(
+        Locale.ROOT,
+        "%d solves per pass (%.2f-%.2f m, %.2f-%.2f m/s, %d directions)%n",
+        gridSize,
+        MIN_DISTANCE,
+        MAX_DISTANCE,
+        MIN_SPEED,
+        MAX_SPEED,
+        DIRECTIONS);
+    System.out.printf(Locale.ROOT, "%.3f us per solve%n", nanosPerSolve / 1000.0);
+    System.out.printf(
+        Locale.ROOT, "%.2f iterations on average%n", (double) iterationSum / gridSize);
+    System.out.printf(Locale.ROOT, "%.1f%% converged%n", 100.0 * converged / gridSize);
+    if (converged < gridSize) {
+      System.out.printf(
+          Locale.ROOT,
+          "worst unconverged: one more pass would move the distance %.1f cm (%.2f m, %.2f m/s)%n",
+          worstRemainingChange * 100.0,
+          worstDistance,
+          worstSpeed);
+    }
+    System.out.printf(Locale.ROOT, "(checksum %.0f)%n", checksum);
+  }
+}
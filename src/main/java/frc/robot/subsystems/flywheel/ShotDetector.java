@@ -0,0 +1,245 @@
+package frc.robot.subsystems.flywheel;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.HardwareConstants;
+import frc.robot.subsystems.flywheel.FlywheelConstants.ShotDetection;
+import frc.robot.util.MotorGroupInputs;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Detects individual shots from the flywheel's own sensor data and measures how the flywheel
+ * recovers from each one.
+ *
+ * <p><b>How a shot looks:</b> When fuel passes through the flywheel it steals energy from the drum.
+ * The velocity dips below the setpoint and the closed loop answers with a burst of stator current
+ * on every motor. A shot is counted when, with the flywheel spun up, the average stator current
+ * rises {@link ShotDetection#CURRENT_SPIKE_AMPS} above its steady-state baseline while the leader
+ * velocity is at least {@link ShotDetection#MIN_VELOCITY_DIP_RPM} under the setpoint. Requiring
+ * both keeps setpoint changes (current without a dip) and sensor noise (a dip without current) from
+ * counting.
+ *
+ * <p><b>Per shot</b> (logged under {@code Flywheel/Shots/}):
+ *
+ * <ul>
+ *   <li>RPM drop — the largest velocity error (setpoint minus leader velocity) before recovery
+ *   <li>Recovery time — from detection until the velocity is back within {@code
+ *       flywheelSpinupThreshold} of the setpoint
+ *   <li>Interval — time since the previous shot
+ * </ul>
+ *
+ * <p>A shot that arrives before the previous one has recovered is still counted, but the previous
+ * shot's recovery is recorded as overlapped instead of timed. A high overlap count means the feed
+ * is outrunning the flywheel.
+ *
+ * <p><b>Per match:</b> Count, averages and worst cases are kept since the start of autonomous (or
+ * boot, for practice without auto) and logged under {@code Flywheel/Shots/Match/}, along with the
+ * sustained shot rate.
+ */
+public class ShotDetector {
+  private static final double RECOVERY_THRESHOLD_RPM =
+      HardwareConstants.CompConstants.Thresholds.flywheelSpinupThreshold;
+  private static final long MIN_SHOT_INTERVAL_MICROS =
+      (long) (ShotDetection.MIN_SHOT_INTERVAL_SECONDS * 1e6);
+  private static final long MAX_RECOVERY_MICROS = (long) (ShotDetection.MAX_RECOVERY_SECONDS * 1e6);
+
+  // Steady-state current with no fuel in the wheel
+  private double baselineCurrentAmps = 0.0;
+  private boolean baselineValid = false;
+  private long lastUpdateMicros = 0;
+
+  // Shot currently recovering
+  private boolean recovering = false;
+  private boolean spikeActive = false;
+  private long shotStartMicros = 0;
+  private double shotSetpointRpm = 0.0;
+  private double shotMaxErrorRpm = 0.0;
+  private long lastShotMicros = -1;
+
+  // Match summary
+  private int shotCount = 0;
+  private int recoveredCount = 0;
+  private int overlappedCount = 0;
+  private int intervalCount = 0;
+  private double rpmDropSum = 0.0;
+  private double rpmDropMax = 0.0;
+  private double recoverySecondsSum = 0.0;
+  private double recoverySecondsMax = 0.0;
+  private double intervalSecondsSum = 0.0;
+  private double intervalSecondsMin = Double.POSITIVE_INFINITY;
+
+  private boolean wasAutonomousEnabled = false;
+
+  /**
+   * Runs the detector for one loop. Call from {@link Flywheel#periodic()} after the inputs are
+   * processed.
+   *
+   * @param motors This loop's flywheel motor inputs
+   * @param setpointRpm The commanded flywheel speed (RPM)
+   */
+  public void update(MotorGroupInputs motors, double setpointRpm) {
+    update(motors, setpointRpm, Logger.getTimestamp());
+  }
+
+  /** {@link #update(MotorGroupInputs, double)} with the loop timestamp given, for tests. */
+  void update(MotorGroupInputs motors, double setpointRpm, long now) {
+    handleMatchBoundaries();
+
+    double velocityRpm = motors.leaderVelocityRps() * 60.0;
+    double currentAmps = motors.averageStatorCurrentAmps();
+    double errorRpm = setpointRpm - velocityRpm;
+    boolean shooting = setpointRpm >= ShotDetection.MIN_SETPOINT_RPM;
+
+    boolean spike =
+        shooting
+            && baselineValid
+            && currentAmps - baselineCurrentAmps > ShotDetection.CURRENT_SPIKE_AMPS
+            && errorRpm > ShotDetection.MIN_VELOCITY_DIP_RPM;
+
+    // Rising edge of a spike is a new shot
+    if (spike
+        && !spikeActive
+        && (lastShotMicros < 0 || now - lastShotMicros >= MIN_SHOT_INTERVAL_MICROS)) {
+      onShot(now, setpointRpm, errorRpm);
+    }
+    spikeActive = spike;
+
+    if (recovering) {
+      shotMaxErrorRpm = Math.max(shotMaxErrorRpm, errorRpm);
+      // The hub setpoint follows distance every loop, so only a real jump invalidates the shot
+      if (!shooting || Math.abs(setpointRpm - shotSetpointRpm) > RECOVERY_THRESHOLD_RPM) {
+        recovering = false;
+      } else if (Math.abs(errorRpm) < RECOVERY_THRESHOLD_RPM && errorRpm < shotMaxErrorRpm) {
+        onRecovered(now);
+      } else if (now - shotStartMicros > MAX_RECOVERY_MICROS) {
+        recovering = false;
+      }
+    }
+
+    // Only learn the baseline while spun up and not absorbing a shot
+    boolean steady =
+        shooting && !recovering && !spike && Math.abs(errorRpm) < RECOVERY_THRESHOLD_RPM;
+    if (steady) {
+      if (baselineValid) {
+        double dt = lastUpdateMicros > 0 ? (now - lastUpdateMicros) * 1e-6 : 0.02;
+        double alpha = dt / (ShotDetection.BASELINE_TIME_CONSTANT_SECONDS + dt);
+        baselineCurrentAmps += alpha * (currentAmps - baselineCurrentAmps);
+      } else {
+        baselineCurrentAmps = currentAmps;
+        baselineValid = true;
+      }
+    } else if (!shooting) {
+      baselineValid = false;
+    }
+    lastUpdateMicros = now;
+
+    Logger.recordOutput("Flywheel/Shots/BaselineCurrentAmps", baselineCurrentAmps);
+    Logger.recordOutput("Flywheel/Shots/Recovering", recovering);
+  }
+
+  private void onShot(long now, double setpointRpm, double errorRpm) {
+    if (recovering) {
+      overlappedCount++;
+    }
+    if (lastShotMicros >= 0) {
+      double intervalSeconds = (now - lastShotMicros) * 1e-6;
+      // Gaps longer than this are separate volleys, not the feed rate
+      if (intervalSeconds <= ShotDetection.MAX_VOLLEY_INTERVAL_SECONDS) {
+        intervalCount++;
+        intervalSecondsSum += intervalSeconds;
+        intervalSecondsMin = Math.min(intervalSecondsMin, intervalSeconds);
+      }
+      Logger.recordOutput("Flywheel/Shots/LastIntervalSeconds", intervalSeconds);
+    }
+
+    shotCount++;
+    lastShotMicros = now;
+    shotStartMicros = now;
+    shotSetpointRpm = setpointRpm;
+    shotMaxErrorRpm = errorRpm;
+    recovering = true;
+
+    Logger.recordOutput("Flywheel/Shots/Count", shotCount);
+    Logger.recordOutput("Flywheel/Shots/LastShotSetpointRpm", setpointRpm);
+    logSummary();
+  }
+
+  private void onRecovered(long now) {
+    recovering = false;
+    double rpmDrop = shotMaxErrorRpm;
+    double recoverySeconds = (now - shotStartMicros) * 1e-6;
+
+    recoveredCount++;
+    rpmDropSum += rpmDrop;
+    rpmDropMax = Math.max(rpmDropMax, rpmDrop);
+    recoverySecondsSum += recoverySeconds;
+    recoverySecondsMax = Math.max(recoverySecondsMax, recoverySeconds);
+
+    Logger.recordOutput("Flywheel/Shots/LastRpmDrop", rpmDrop);
+    Logger.recordOutput("Flywheel/Shots/LastRecoverySeconds", recoverySeconds);
+    logSummary();
+  }
+
+  /** Resets the summary at the start of auto. */
+  private void handleMatchBoundaries() {
+    boolean autonomousEnabled = DriverStation.isAutonomousEnabled();
+    if (autonomousEnabled && !wasAutonomousEnabled) {
+      resetSummary();
+    }
+    wasAutonomousEnabled = autonomousEnabled;
+  }
+
+  private void resetSummary() {
+    shotCount = 0;
+    recoveredCount = 0;
+    overlappedCount = 0;
+    intervalCount = 0;
+    rpmDropSum = 0.0;
+    rpmDropMax = 0.0;
+    recoverySecondsSum = 0.0;
+    recoverySecondsMax = 0.0;
+    intervalSecondsSum = 0.0;
+    intervalSecondsMin = Double.POSITIVE_INFINITY;
+    lastShotMicros = -1;
+    recovering = false;
+    logSummary();
+  }
+
+  /** Shots per second within volleys, from the average interval between consecutive shots. */
+  public double getSustainedShotsPerSecond() {
+    return intervalCount > 0 ? intervalCount / intervalSecondsSum : 0.0;
+  }
+
+  /** Average time for the flywheel to get back within the spin-up threshold after a shot. */
+  public double getAverageRecoverySeconds() {
+    return recoveredCount > 0 ? recoverySecondsSum / recoveredCount : 0.0;
+  }
+
+  /** Average RPM drop of the shots that recovered this match. */
+  public double getAverageRpmDrop() {
+    return recoveredCount > 0 ? rpmDropSum / recoveredCount : 0.0;
+  }
+
+  /** Number of shots this match whose recovery was timed. */
+  public int getRecoveredCount() {
+    return recoveredCount;
+  }
+
+  /** Number of shots this match. */
+  public int getShotCount() {
+    return shotCount;
+  }
+
+  // Only called when something changes, not every loop
+  private void logSummary() {
+    Logger.recordOutput("Flywheel/Shots/Match/Count", shotCount);
+    Logger.recordOutput("Flywheel/Shots/Match/OverlappedCount", overlappedCount);
+    Logger.recordOutput(
+        "Flywheel/Shots/Match/SustainedShotsPerSecond", getSustainedShotsPerSecond());
+    Logger.recordOutput("Flywheel/Shots/Match/AvgRpmDrop", getAverageRpmDrop());
+    Logger.recordOutput("Flywheel/Shots/Match/MaxRpmDrop", rpmDropMax);
+    Logger.recordOutput("Flywheel/Shots/Match/AvgRecoverySeconds", getAverageRecoverySeconds());
+    Logger.recordOutput("Flywheel/Shots/Match/MaxRecoverySeconds", recoverySecondsMax);
+    Logger.recordOutput(
+        "Flywheel/Shots/Match/MinIntervalSeconds", intervalCount > 0 ? intervalSecondsMin : 0.0);
+  }
+}
@@ -0,0 +1,204 @@
+package frc.robot.subsystems.flywheel;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
+import frc.robot.Constants;
+import frc.robot.util.DenseLookupTable;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Dense hub shot tables generated offline by {@link BallisticTableGenerator} and shipped in the
+ * deploy directory.
+ *
+ * <p>The file is a CSV with evenly spaced distances:
+ *
+ * <pre>
+ * # comment lines (generator settings and fit results)
+ * distance_m,rpm,tof_s
+ * 1.905000,1450.00,0.7031
+ * ...
+ * </pre>
+ *
+ * <p>It is read once at boot, when {@link FlywheelConstants.DistanceMap} is first loaded, straight
+ * into the arrays behind {@link DenseLookupTable}, so a lookup on the RIO costs the same as with
+ * the hand-tuned maps and nothing about the model is evaluated at runtime. If the file is missing
+ * or malformed a warning is reported and the constants fall back to the hand-tuned maps.
+ */
+public final class ShotTableFile {
+  /** Location of the hub table, relative to the deploy directory. */
+  public static final String HUB_TABLE_PATH = "shot_tables/hub_shot_table.csv";
+
+  private static final String HEADER = "distance_m,rpm,tof_s";
+
+  // Relative spacing error tolerated between rows, to allow for printed decimal rounding
+  private static final double SPACING_TOLERANCE = 1e-3;
+
+  private static ShotTableFile hubTable;
+  private static boolean hubTableLoaded = false;
+
+  private final double minDistanceMeters;
+  private final double maxDistanceMeters;
+  private final double[] rpm;
+  private final double[] timeOfFlightSeconds;
+
+  private ShotTableFile(
+      double minDistanceMeters,
+      double maxDistanceMeters,
+      double[] rpm,
+      double[] timeOfFlightSeconds) {
+    this.minDistanceMeters = minDistanceMeters;
+    this.maxDistanceMeters = maxDistanceMeters;
+    this.rpm = rpm;
+    this.timeOfFlightSeconds = timeOfFlightSeconds;
+  }
+
+  /**
+   * Returns the deployed hub table, or null if it is disabled, missing or invalid. Read from disk
+   * on the first call only.
+   */
+  public static synchronized ShotTableFile getHubTable() {
+    if (!hubTableLoaded) {
+      hubTableLoaded = true;
+      if (FlywheelConstants.DistanceMap.USE_GENERATED_HUB_TABLE) {
+        Path path = resolveDeployPath(HUB_TABLE_PATH);
+        try {
+          hubTable = read(path);
+        } catch (IOException | IllegalArgumentException e) {
+          warn(
+              "Generated shot table not loaded ("
+                  + path
+                  + "): "
+                  + e.getMessage()
+                  + ". Using the hand-tuned shot maps.");
+        }
+      }
+    }
+    return hubTable;
+  }
+
+  public DenseLookupTable getRpmTable() {
+    return new DenseLookupTable(minDistanceMeters, maxDistanceMeters, rpm);
+  }
+
+  public DenseLookupTable getTimeOfFlightTable() {
+    return new DenseLookupTable(minDistanceMeters, maxDistanceMeters, timeOfFlightSeconds);
+  }
+
+  /** Same convention as {@code FieldConstants}: desktop tools run with the HAL disabled. */
+  static Path resolveDeployPath(String relativePath) {
+    return Constants.disableHAL
+        ? Path.of("src", "main", "deploy").resolve(relativePath)
+        : Filesystem.getDeployDirectory().toPath().resolve(relativePath);
+  }
+
+  private static void warn(String message) {
+    if (Constants.disableHAL) {
+      System.err.println(message);
+    } else {
+      DriverStation.reportWarning(message, false);
+    }
+  }
+
+  /** Parses a table file, checking the header, column count and even spacing. */
+  static ShotTableFile read(Path path) throws IOException {
+    List<double[]> rows = new ArrayList<>();
+    boolean sawHeader = false;
+    for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+      line = line.trim();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      if (!sawHeader) {
+        if (!line.equals(HEADER)) {
+          throw new IllegalArgumentException(
+              "expected header '" + HEADER + "', got '" + line + "'");
+        }
+        sawHeader = true;
+        continue;
+      }
+      String[] fields = line.split(",");
+      if (fields.length != 3) {
+        throw new IllegalArgumentException("expected 3 columns, got '" + line + "'");
+      }
+      double[] row = new double[3];
+      for (int i = 0; i < 3; i++) {
+        row[i] = Double.parseDouble(fields[i]);
+        if (!Double.isFinite(row[i])) {
+          throw new IllegalArgumentException("non-finite value in '" + line + "'");
+        }
+      }
+      rows.add(row);
+    }
+    if (rows.size() < 2) {
+      throw new IllegalArgumentException("need at least 2 rows, got " + rows.size());
+    }
+
+    int count = rows.size();
+    double minDistance = rows.get(0)[0];
+    double maxDistance = rows.get(count - 1)[0];
+    double step = (maxDistance - minDistance) / (count - 1);
+    if (!(step > 0.0)) {
+      throw new IllegalArgumentException("distances must increase");
+    }
+    double[] rpm = new double[count];
+    double[] tof = new double[count];
+    for (int i = 0; i < count; i++) {
+      double[] row = rows.get(i);
+      double expected = minDistance + i * step;
+      if (Math.abs(row[0] - expected) > step * SPACING_TOLERANCE + 1e-6) {
+        throw new IllegalArgumentException(
+            "distances must be evenly spaced; row "
+                + i
+                + " is "
+                + row[0]
+                + ", expected "
+                + expected);
+      }
+      rpm[i] = row[1];
+      tof[i] = row[2];
+    }
+    return new ShotTableFile(minDistance, maxDistance, rpm, tof);
+  }
+
+  /**
+   * Writes a table file. Used by {@link BallisticTableGenerator}.
+   *
+   * @param comments Lines written before the header, each prefixed with "# "
+   */
+  static void write(
+      Path path,
+      double minDistanceMeters,
+      double maxDistanceMeters,
+      double[] rpm,
+      double[] timeOfFlightSeconds,
+      List<String> comments)
+      throws IOException {
+    Path parent = path.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    int count = rpm.length;
+    double step = (maxDistanceMeters - minDistanceMeters) / (count - 1);
+    try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+      for (String comment : comments) {
+        writer.write("# " + comment);
+        writer.newLine();
+      }
+      writer.write(HEADER);
+      writer.newLine();
+      for (int i = 0; i < count; i++) {
+        double distance = i == count - 1 ? maxDistanceMeters : minDistanceMeters + i * step;
+        writer.write(
+            String.format(Locale.ROOT, "%.6f,%.2f,%.4f", distance, rpm[i], timeOfFlightSeconds[i]));
+        writer.newLine();
+      }
+    }
+  }
+}
@@ -4,7 +4,6 @@ import static edu.wpi.first.units.Units.RotationsPerSecond;
 import static edu.wpi.first.units.Units.Seconds;
 import static edu.wpi.first.units.Units.Volts;
 
-import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.CANBus;
 import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
@@ -15,13 +14,19 @@ import com.ctre.phoenix6.controls.VoltageOut;
 import com.ctre.phoenix6.hardware.TalonFX;
 import com.ctre.phoenix6.signals.MotorAlignmentValue;
 import com.ctre.phoenix6.signals.NeutralModeValue;
-import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularVelocity;
-import edu.wpi.first.units.measure.Current;
-import edu.wpi.first.units.measure.Temperature;
 import edu.wpi.first.units.measure.Voltage;
 import frc.robot.HardwareConstants;
+import frc.robot.HardwareConstants.ControlDedup;
+import frc.robot.HardwareConstants.SignalRates;
 import frc.robot.subsystems.flywheel.FlywheelConstants;
+import frc.robot.util.CANConfigPipeline;
+import frc.robot.util.ControlWriteFilter;
+import frc.robot.util.CurrentLimiter;
+import frc.robot.util.MechanismSampleThread;
+import frc.robot.util.MotorGroupInputs;
+import frc.robot.util.MotorGroupSignals;
+import frc.robot.util.SignalRatePolicy;
 import org.littletonrobotics.junction.Logger;
 
 /**
@@ -55,46 +60,25 @@ public class FlywheelIOPhoenix6 implements FlywheelIO {
   private final MotionMagicVelocityTorqueCurrentFOC velocityTorqueCurrentRequest =
       new MotionMagicVelocityTorqueCurrentFOC(0);
 
-  // Cached status signals for LEADER motor
-  private final StatusSignal<AngularVelocity> leaderVelocity;
-  private final StatusSignal<Voltage> leaderMotorVoltage;
-  private final StatusSignal<Current> leaderSupplyCurrent;
-  private final StatusSignal<Current> leaderStatorCurrent;
-  private final StatusSignal<Temperature> leaderTemp;
+  // Skips setControl calls that repeat the last request (see ControlWriteFilter)
+  private final ControlWriteFilter control;
+
+  // Latest closed-loop values from MechanismSampleThread
+  private final MechanismSampleThread.Samples samples;
+
+  // Per-motor signals, leader first (see MotorGroupSignals)
+  private final MotorGroupSignals motors;
+
+  // Runtime current limit changes (PowerManager, thermal derating), one per motor
+  private CurrentLimiter[] currentLimiters;
+
+  // Cached closed-loop status signals (from the leader)
   private final StatusSignal<Double> closedLoopReference;
   private final StatusSignal<Double> closedLoopError;
-  private final StatusSignal<Angle> leaderPos;
-
-  // Cached status signals for FOLLOWER 1
-  private final StatusSignal<AngularVelocity> follower1Velocity;
-  private final StatusSignal<Voltage> follower1MotorVoltage;
-  private final StatusSignal<Current> follower1SupplyCurrent;
-  private final StatusSignal<Current> follower1StatorCurrent;
-  private final StatusSignal<Temperature> follower1Temp;
-
-  // Cached status signals for FOLLOWER 2
-  private final StatusSignal<AngularVelocity> follower2Velocity;
-  private final StatusSignal<Voltage> follower2MotorVoltage;
-  private final StatusSignal<Current> follower2SupplyCurrent;
-  private final StatusSignal<Current> follower2StatorCurrent;
-  private final StatusSignal<Temperature> follower2Temp;
-
-  // Cached status signals for FOLLOWER 3
-  private final StatusSignal<AngularVelocity> follower3Velocity;
-  private final StatusSignal<Voltage> follower3MotorVoltage;
-  private final StatusSignal<Current> follower3SupplyCurrent;
-  private final StatusSignal<Current> follower3StatorCurrent;
-  private final StatusSignal<Temperature> follower3Temp;
-
-  // Cached status signals for FOLLOWER 4
-  private final StatusSignal<AngularVelocity> follower4Velocity;
-  private final StatusSignal<Voltage> follower4MotorVoltage;
-  private final StatusSignal<Current> follower4SupplyCurrent;
-  private final StatusSignal<Current> follower4StatorCurrent;
-  private final StatusSignal<Temperature> follower4Temp;
 
   public FlywheelIOPhoenix6() {
     leader = new TalonFX(HardwareConstants.CanIds.MAIN_FLYWHEEL_LEADER_ID, CAN_BUS);
+    control = new ControlWriteFilter("Flywheel", leader);
     follower1 = new TalonFX(HardwareConstants.CanIds.MAIN_FLYWHEEL_FOLLOWER1_ID, CAN_BUS);
     follower2 = new TalonFX(HardwareConstants.CanIds.MAIN_FLYWHEEL_FOLLOWER2_ID, CAN_BUS);
     follower3 = new TalonFX(HardwareConstants.CanIds.MAIN_FLYWHEEL_FOLLOWER3_ID, CAN_BUS);
@@ -102,86 +86,39 @@ public class FlywheelIOPhoenix6 implements FlywheelIO {
 
     configureMotors();
 
-    // Configure followers
+    // Configure followers, once their configs are applied (applying one can reset control state)
     int leaderId = leader.getDeviceID();
-    follower1.setControl(new Follower(leaderId, MotorAlignmentValue.Aligned));
-    follower2.setControl(new Follower(leaderId, MotorAlignmentValue.Aligned));
-    follower3.setControl(new Follower(leaderId, MotorAlignmentValue.Opposed));
-    follower4.setControl(new Follower(leaderId, MotorAlignmentValue.Opposed));
-
-    // Cache signal references once — LEADER
-    leaderVelocity = leader.getVelocity();
-    leaderMotorVoltage = leader.getMotorVoltage();
-    leaderSupplyCurrent = leader.getSupplyCurrent();
-    leaderStatorCurrent = leader.getStatorCurrent();
-    leaderTemp = leader.getDeviceTemp();
+    CANConfigPipeline.whenConfigured(
+        () -> {
+          follower1.setControl(new Follower(leaderId, MotorAlignmentValue.Aligned));
+          follower2.setControl(new Follower(leaderId, MotorAlignmentValue.Aligned));
+          follower3.setControl(new Follower(leaderId, MotorAlignmentValue.Opposed));
+          follower4.setControl(new Follower(leaderId, MotorAlignmentValue.Opposed));
+        });
+
+    // Cache signal references once — the group's per-motor signals, then the leader's closed loop
+    motors = new MotorGroupSignals(leader, follower1, follower2, follower3, follower4);
     closedLoopReference = leader.getClosedLoopReference();
     closedLoopError = leader.getClosedLoopError();
-    leaderPos = leader.getPosition();
-
-    // Cache signal references once — FOLLOWER 1
-    follower1Velocity = follower1.getVelocity();
-    follower1MotorVoltage = follower1.getMotorVoltage();
-    follower1SupplyCurrent = follower1.getSupplyCurrent();
-    follower1StatorCurrent = follower1.getStatorCurrent();
-    follower1Temp = follower1.getDeviceTemp();
-
-    // Cache signal references once — FOLLOWER 2
-    follower2Velocity = follower2.getVelocity();
-    follower2MotorVoltage = follower2.getMotorVoltage();
-    follower2SupplyCurrent = follower2.getSupplyCurrent();
-    follower2StatorCurrent = follower2.getStatorCurrent();
-    follower2Temp = follower2.getDeviceTemp();
-
-    // Cache signal references once — FOLLOWER 3
-    follower3Velocity = follower3.getVelocity();
-    follower3MotorVoltage = follower3.getMotorVoltage();
-    follower3SupplyCurrent = follower3.getSupplyCurrent();
-    follower3StatorCurrent = follower3.getStatorCurrent();
-    follower3Temp = follower3.getDeviceTemp();
-
-    // Cache signal references once — FOLLOWER 4
-    follower4Velocity = follower4.getVelocity();
-    follower4MotorVoltage = follower4.getMotorVoltage();
-    follower4SupplyCurrent = follower4.getSupplyCurrent();
-    follower4StatorCurrent = follower4.getStatorCurrent();
-    follower4Temp = follower4.getDeviceTemp();
-
-    // 50Hz for signals we need every loop (velocity, voltage, current, closed-loop reference)
-    BaseStatusSignal.setUpdateFrequencyForAll(
-        50.0,
-        leaderVelocity,
-        leaderMotorVoltage,
-        leaderSupplyCurrent,
-        leaderStatorCurrent,
-        leaderPos,
-        closedLoopReference,
-        follower1Velocity,
-        follower1MotorVoltage,
-        follower1SupplyCurrent,
-        follower1StatorCurrent,
-        follower2Velocity,
-        follower2MotorVoltage,
-        follower2SupplyCurrent,
-        follower2StatorCurrent,
-        follower3Velocity,
-        follower3MotorVoltage,
-        follower3SupplyCurrent,
-        follower3StatorCurrent,
-        follower4Velocity,
-        follower4MotorVoltage,
-        follower4SupplyCurrent,
-        follower4StatorCurrent);
-
-    // 10Hz for diagnostic-only signals (temperature, closed-loop error)
-    BaseStatusSignal.setUpdateFrequencyForAll(
-        10.0,
-        leaderTemp,
-        closedLoopError,
-        follower1Temp,
-        follower2Temp,
-        follower3Temp,
-        follower4Temp);
+
+    // Shot detection and feed-rate control read these: leader velocity, the setpoint, and every
+    // motor's stator current. Sampled faster than the loop while enabled so each shot's dip and
+    // current spike show up with as little delay as possible.
+    SignalRatePolicy.configure(SignalRates.FAST, motors.velocity(0), closedLoopReference);
+    SignalRatePolicy.configure(SignalRates.FAST, motors.statorCurrents());
+
+    // Rest of the leader's signals we need every loop (voltage, supply current, position)
+    SignalRatePolicy.configure(
+        SignalRates.CONTROL, motors.motorVoltage(0), motors.supplyCurrent(0), motors.position(0));
+
+    // Follower telemetry is only logged, so it drops furthest while disabled
+    for (int i = 1; i < motors.size(); i++) {
+      SignalRatePolicy.configure(SignalRates.TELEMETRY, motors.telemetry(i));
+    }
+
+    // Diagnostic-only signals (temperature, closed-loop error)
+    SignalRatePolicy.configure(SignalRates.DIAGNOSTIC, closedLoopError);
+    SignalRatePolicy.configure(SignalRates.DIAGNOSTIC, motors.temperatures());
 
     // Stop sending signals we didn't register — reduces CAN bus traffic
     leader.optimizeBusUtilization();
@@ -189,6 +126,12 @@ public class FlywheelIOPhoenix6 implements FlywheelIO {
     follower2.optimizeBusUtilization();
     follower3.optimizeBusUtilization();
     follower4.optimizeBusUtilization();
+
+    // Sampled in the background; updateInputs copies the latest values (see MechanismSampleThread)
+    motors.sampleInBackground("Flywheel/Motors", CAN_BUS);
+    samples =
+        MechanismSampleThread.getInstance()
+            .register("Flywheel", CAN_BUS, closedLoopReference, closedLoopError);
   }
 
   private void configureMotors() {
@@ -239,98 +182,44 @@ public class FlywheelIOPhoenix6 implements FlywheelIO {
     limits.StatorCurrentLimit = FlywheelConstants.CurrentLimits.SHOOTER_MAIN_STATOR_AMP;
     limits.StatorCurrentLimitEnable = true;
 
-    leader.getConfigurator().apply(config);
-    leader.getConfigurator().apply(limits);
-    follower1.getConfigurator().apply(config);
-    follower1.getConfigurator().apply(limits);
-    follower2.getConfigurator().apply(config);
-    follower2.getConfigurator().apply(limits);
-    follower3.getConfigurator().apply(rightSideConfig);
-    follower3.getConfigurator().apply(limits);
-    follower4.getConfigurator().apply(rightSideConfig);
-    follower4.getConfigurator().apply(limits);
+    config.CurrentLimits = limits;
+    rightSideConfig.CurrentLimits = limits;
+
+    // Applied in parallel with the rest of the robot's devices (see CANConfigPipeline)
+    CANConfigPipeline.apply("Flywheel/Leader", CAN_BUS, leader, config);
+    CANConfigPipeline.apply("Flywheel/Follower1", CAN_BUS, follower1, config);
+    CANConfigPipeline.apply("Flywheel/Follower2", CAN_BUS, follower2, config);
+    CANConfigPipeline.apply("Flywheel/Follower3", CAN_BUS, follower3, rightSideConfig);
+    CANConfigPipeline.apply("Flywheel/Follower4", CAN_BUS, follower4, rightSideConfig);
+    currentLimiters =
+        new CurrentLimiter[] {
+          new CurrentLimiter(leader, limits),
+          new CurrentLimiter(follower1, limits),
+          new CurrentLimiter(follower2, limits),
+          new CurrentLimiter(follower3, limits),
+          new CurrentLimiter(follower4, limits)
+        };
   }
 
   @Override
   public void updateInputs(ShooterIOInputs inputs) {
-    // One batched CAN read for ALL signals on ALL motors
-    BaseStatusSignal.refreshAll(
-        leaderVelocity,
-        leaderMotorVoltage,
-        leaderSupplyCurrent,
-        leaderStatorCurrent,
-        leaderTemp,
-        leaderPos,
-        closedLoopReference,
-        closedLoopError,
-        follower1Velocity,
-        follower1MotorVoltage,
-        follower1SupplyCurrent,
-        follower1StatorCurrent,
-        follower1Temp,
-        follower2Velocity,
-        follower2MotorVoltage,
-        follower2SupplyCurrent,
-        follower2StatorCurrent,
-        follower2Temp,
-        follower3Velocity,
-        follower3MotorVoltage,
-        follower3SupplyCurrent,
-        follower3StatorCurrent,
-        follower3Temp,
-        follower4Velocity,
-        follower4MotorVoltage,
-        follower4SupplyCurrent,
-        follower4StatorCurrent,
-        follower4Temp);
-
-    // Leader motor — read from cache
-    inputs.leaderVelocity = leaderVelocity.getValue();
-    inputs.leaderAppliedVolts = leaderMotorVoltage.getValue();
-    inputs.leaderSupplyCurrentAmps = leaderSupplyCurrent.getValue();
-    inputs.leaderStatorCurrentAmps = leaderStatorCurrent.getValue();
-    inputs.leaderTemp = leaderTemp.getValue();
-    inputs.leaderAngle = leaderPos.getValue();
-
-    // Follower 1 motor — read from cache
-    inputs.follower1Velocity = follower1Velocity.getValue();
-    inputs.follower1AppliedVolts = follower1MotorVoltage.getValue();
-    inputs.follower1SupplyCurrentAmps = follower1SupplyCurrent.getValue();
-    inputs.follower1StatorCurrentAmps = follower1StatorCurrent.getValue();
-    inputs.follower1Temp = follower1Temp.getValue();
-
-    // Follower 2 motor — read from cache
-    inputs.follower2Velocity = follower2Velocity.getValue();
-    inputs.follower2AppliedVolts = follower2MotorVoltage.getValue();
-    inputs.follower2SupplyCurrentAmps = follower2SupplyCurrent.getValue();
-    inputs.follower2StatorCurrentAmps = follower2StatorCurrent.getValue();
-    inputs.follower2Temp = follower2Temp.getValue();
-
-    // Follower 3 motor — read from cache
-    inputs.follower3Velocity = follower3Velocity.getValue();
-    inputs.follower3AppliedVolts = follower3MotorVoltage.getValue();
-    inputs.follower3SupplyCurrentAmps = follower3SupplyCurrent.getValue();
-    inputs.follower3StatorCurrentAmps = follower3StatorCurrent.getValue();
-    inputs.follower3Temp = follower3Temp.getValue();
-
-    // Follower 4 motor — read from cache
-    inputs.follower4Velocity = follower4Velocity.getValue();
-    inputs.follower4AppliedVolts = follower4MotorVoltage.getValue();
-    inputs.follower4SupplyCurrentAmps = follower4SupplyCurrent.getValue();
-    inputs.follower4StatorCurrentAmps = follower4StatorCurrent.getValue();
-    inputs.follower4Temp = follower4Temp.getValue();
-
-    // Combined flywheel velocity (use leader velocity as representative)
-    inputs.flywheelVelocity = inputs.leaderVelocity;
+    // Copy the latest background sample — no CAN traffic or JNI calls here
+    samples.update();
 
     // Setpoint and error
-    inputs.closedLoopError = RotationsPerSecond.of(closedLoopError.getValueAsDouble());
-    inputs.closedLoopReference = RotationsPerSecond.of(closedLoopReference.getValueAsDouble());
+    inputs.closedLoopErrorRps = samples.get(closedLoopError);
+    inputs.closedLoopReferenceRps = samples.get(closedLoopReference);
+  }
+
+  @Override
+  public void updateMotorInputs(MotorGroupInputs inputs) {
+    motors.update(inputs);
   }
 
   @Override
   public void setFlywheelVoltage(Voltage volts) {
-    leader.setControl(voltageRequest.withOutput(volts.in(Volts)));
+    double output = volts.in(Volts);
+    control.setControl(voltageRequest.withOutput(output), output, ControlDedup.OUTPUT_DEADBAND);
     // Logger.recordOutput("RobotState/Leader connected", leader.isConnected());
     // Logger.recordOutput("RobotState/Follower1 connected", follower1.isConnected());
     // Logger.recordOutput("RobotState/Follower2 connected", follower2.isConnected());
@@ -341,7 +230,24 @@ public class FlywheelIOPhoenix6 implements FlywheelIO {
   @Override
   public void setFlywheelVelocity(AngularVelocity velocity) {
     // PID gains are already configured in configureMotors() — no need to re-apply config each call
-    leader.setControl(velocityTorqueCurrentRequest.withVelocity(velocity));
+    control.setControl(
+        velocityTorqueCurrentRequest.withVelocity(velocity),
+        velocity.in(RotationsPerSecond),
+        ControlDedup.VELOCITY_DEADBAND_RPS);
     Logger.recordOutput("Flywheel running", velocity);
   }
+
+  @Override
+  public void setSupplyCurrentLimit(double amps) {
+    for (CurrentLimiter limiter : currentLimiters) {
+      limiter.setSupplyCurrentLimit(amps);
+    }
+  }
+
+  @Override
+  public void setStatorCurrentLimit(double amps) {
+    for (CurrentLimiter limiter : currentLimiters) {
+      limiter.setStatorCurrentLimit(amps);
+    }
+  }
 }
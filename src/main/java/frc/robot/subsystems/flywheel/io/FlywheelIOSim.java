@@ -1,6 +1,5 @@
 package frc.robot.subsystems.flywheel.io;
 
-import static edu.wpi.first.units.Units.RotationsPerSecond;
 import static edu.wpi.first.units.Units.Volts;
 
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
@@ -12,6 +11,7 @@ import com.ctre.phoenix6.signals.MotorAlignmentValue;
 import com.ctre.phoenix6.signals.NeutralModeValue;
 import com.ctre.phoenix6.sim.TalonFXSimState;
 import edu.wpi.first.math.system.plant.LinearSystemId;
+import edu.wpi.first.math.util.Units;
 import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj.RobotController;
@@ -20,6 +20,8 @@ import edu.wpi.first.wpilibj.simulation.DCMotorSim;
 import edu.wpi.first.wpilibj.simulation.RoboRioSim;
 import frc.robot.HardwareConstants;
 import frc.robot.subsystems.flywheel.FlywheelConstants;
+import frc.robot.util.MotorGroupInputs;
+import frc.robot.util.MotorGroupSignals;
 
 /**
  * Simulated implementation of {@link FlywheelIO} using CTRE's TalonFXSimState.
@@ -42,12 +44,19 @@ public class FlywheelIOSim implements FlywheelIO {
   private final TalonFX follower3;
   private final TalonFX follower4;
 
+  // Per-motor signals, refreshed on the main thread in sim
+  private final MotorGroupSignals motors;
+
   // Sim state for the leader motor (followers mirror the leader)
   private final TalonFXSimState leaderSimState;
 
   // WPILib DCMotorSim for physics modeling of the combined 4-motor flywheel
   private final DCMotorSim flywheelPhysicsSim;
 
+  // Virtual ball feed: the scale set this loop and how far the next ball has travelled (0–1)
+  private double feedScale = 0.0;
+  private double ballProgress = 0.0;
+
   // Control requests (reused to avoid allocations)
   private final VoltageOut voltageRequest = new VoltageOut(0);
   private final MotionMagicVelocityTorqueCurrentFOC velocityRequest =
@@ -70,6 +79,8 @@ public class FlywheelIOSim implements FlywheelIO {
 
     configureMotors();
 
+    motors = new MotorGroupSignals(leader, follower1, follower2, follower3, follower4);
+
     // Get the leader's sim state — this is where we inject physics
     leaderSimState = leader.getSimState();
 
@@ -118,6 +129,7 @@ public class FlywheelIOSim implements FlywheelIO {
     // 3. Feed the voltage into the FlywheelSim and step it forward
     flywheelPhysicsSim.setInputVoltage(motorVolts);
     flywheelPhysicsSim.update(0.02); // 20ms loop
+    feedBalls(0.02);
 
     // 4. Write the resulting position and velocity back to the leader's sim state
     //    Note: SimState expects ROTOR values (before gear ratio), so multiply by gear ratio
@@ -130,48 +142,13 @@ public class FlywheelIOSim implements FlywheelIO {
         BatterySim.calculateDefaultBatteryLoadedVoltage(flywheelPhysicsSim.getCurrentDrawAmps()));
 
     // 6. Read values from the TalonFX status signals (just like on real hardware)
+    inputs.closedLoopReferenceRps = leader.getClosedLoopReference().getValueAsDouble();
+    inputs.closedLoopErrorRps = leader.getClosedLoopError().getValueAsDouble();
+  }
 
-    // Combined flywheel velocity
-    inputs.flywheelVelocity = RotationsPerSecond.of(leader.getVelocity().getValueAsDouble());
-    inputs.closedLoopReference =
-        RotationsPerSecond.of(leader.getClosedLoopReference().getValueAsDouble());
-    inputs.closedLoopError = RotationsPerSecond.of(leader.getClosedLoopError().getValueAsDouble());
-
-    // Leader motor
-    inputs.leaderVelocity = RotationsPerSecond.of(leader.getVelocity().getValueAsDouble());
-    inputs.leaderAppliedVolts = leader.getMotorVoltage().getValue();
-    inputs.leaderSupplyCurrentAmps = leader.getSupplyCurrent().getValue();
-    inputs.leaderStatorCurrentAmps = leader.getStatorCurrent().getValue();
-    inputs.leaderTemp = leader.getDeviceTemp().getValue();
-    inputs.leaderAngle = leader.getPosition().getValue();
-
-    // Follower 1 motor
-    inputs.follower1Velocity = follower1.getVelocity().getValue();
-    inputs.follower1AppliedVolts = follower1.getMotorVoltage().getValue();
-    inputs.follower1SupplyCurrentAmps = follower1.getSupplyCurrent().getValue();
-    inputs.follower1StatorCurrentAmps = follower1.getStatorCurrent().getValue();
-    inputs.follower1Temp = follower1.getDeviceTemp().getValue();
-
-    // Follower 2 motor
-    inputs.follower2Velocity = follower2.getVelocity().getValue();
-    inputs.follower2AppliedVolts = follower2.getMotorVoltage().getValue();
-    inputs.follower2SupplyCurrentAmps = follower2.getSupplyCurrent().getValue();
-    inputs.follower2StatorCurrentAmps = follower2.getStatorCurrent().getValue();
-    inputs.follower2Temp = follower2.getDeviceTemp().getValue();
-
-    // Follower 3 motor
-    inputs.follower3Velocity = follower3.getVelocity().getValue();
-    inputs.follower3AppliedVolts = follower3.getMotorVoltage().getValue();
-    inputs.follower3SupplyCurrentAmps = follower3.getSupplyCurrent().getValue();
-    inputs.follower3StatorCurrentAmps = follower3.getStatorCurrent().getValue();
-    inputs.follower3Temp = follower3.getDeviceTemp().getValue();
-
-    // Follower 4 motor
-    inputs.follower4Velocity = follower4.getVelocity().getValue();
-    inputs.follower4AppliedVolts = follower4.getMotorVoltage().getValue();
-    inputs.follower4SupplyCurrentAmps = follower4.getSupplyCurrent().getValue();
-    inputs.follower4StatorCurrentAmps = follower4.getStatorCurrent().getValue();
-    inputs.follower4Temp = follower4.getDeviceTemp().getValue();
+  @Override
+  public void updateMotorInputs(MotorGroupInputs inputs) {
+    motors.update(inputs);
   }
 
   @Override
@@ -183,4 +160,41 @@ public class FlywheelIOSim implements FlywheelIO {
   public void setFlywheelVelocity(AngularVelocity velocity) {
     leader.setControl(velocityRequest.withVelocity(velocity));
   }
+
+  @Override
+  public void setFeedScale(double scale) {
+    feedScale = scale;
+  }
+
+  /**
+   * Sends balls through the flywheel at a rate proportional to the feed scale and takes {@link
+   * FlywheelConstants.FeedRate#SIM_SHOT_RPM_DROP} out of it for each. The scale only lasts one
+   * loop, so the feed stops when the command stops setting it.
+   */
+  private void feedBalls(double dtSeconds) {
+    if (feedScale <= 0.0) {
+      // Start over when feeding resumes, so the first ball isn't launched immediately
+      ballProgress = 0.0;
+      return;
+    }
+    ballProgress +=
+        feedScale * FlywheelConstants.FeedRate.SIM_BALLS_PER_SECOND_AT_FULL_RATE * dtSeconds;
+    feedScale = 0.0;
+    while (ballProgress >= 1.0) {
+      ballProgress -= 1.0;
+      applyShot(FlywheelConstants.FeedRate.SIM_SHOT_RPM_DROP);
+    }
+  }
+
+  /** Removes the energy a ball takes when it passes through the flywheel. */
+  private void applyShot(double rpmDrop) {
+    // Only slow it down — a ball never speeds up or reverses the flywheel
+    double velocityRadPerSec = flywheelPhysicsSim.getAngularVelocityRadPerSec();
+    double dropRadPerSec =
+        Math.min(
+            Units.rotationsPerMinuteToRadiansPerSecond(rpmDrop), Math.abs(velocityRadPerSec));
+    flywheelPhysicsSim.setState(
+        flywheelPhysicsSim.getAngularPositionRad(),
+        velocityRadPerSec - Math.copySign(dropRadPerSec, velocityRadPerSec));
+  }
 }
@@ -2,10 +2,10 @@ package frc.robot.subsystems.hood;
 
 import static edu.wpi.first.units.Units.Degrees;
 
-import edu.wpi.first.units.Units;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.Robot;
+import frc.robot.RobotState;
 import frc.robot.subsystems.hood.io.HoodIO;
 import frc.robot.subsystems.hood.io.HoodIOInputsAutoLogged;
 import org.littletonrobotics.junction.Logger;
@@ -15,6 +15,7 @@ public class Hood extends SubsystemBase {
   private final HoodIO io;
 
   private final HoodIOInputsAutoLogged inputs;
+  private final int batteryChannel = Robot.batteryLogger.registerChannel("Hood", false);
 
   public Hood(HoodIO io) {
     this.io = io;
@@ -27,10 +28,7 @@ public class Hood extends SubsystemBase {
     Logger.processInputs("Hood", inputs);
 
     // Report hood current usage to the battery logger
-    Robot.batteryLogger.reportCurrentUsage(
-        "Hood",
-        false,
-        inputs.hoodSupplyCurrent != null ? inputs.hoodSupplyCurrent.in(Units.Amps) : 0.0);
+    Robot.batteryLogger.reportCurrentUsage(batteryChannel, inputs.hoodSupplyCurrentAmps);
   }
 
   public void setHoodPos(Angle position) {
@@ -40,7 +38,7 @@ public class Hood extends SubsystemBase {
   }
 
   public void incrementHoodPos() {
-    Angle position = inputs.hoodPosition;
+    Angle position = inputs.getHoodPosition();
     io.setHoodPos(position.plus(Degrees.of(5)));
   }
 
@@ -50,22 +48,28 @@ public class Hood extends SubsystemBase {
    * <p><b>Performance note:</b> This runs as the default command (every 20 ms). The call chain is:
    *
    * <ol>
-   *   <li>{@code HoodPosCalculator.getHoodPosForHub()} → {@code getAllianceHubTarget()} → {@code
-   *       AllianceFlipUtil} (cached) → {@code getDistanceToPoint()} → {@code Pose2d.getTranslation
-   *       .getDistance()} → interpolation table lookup
+   *   <li>{@code HoodPosCalculator.getHoodPosForHub()} → {@code
+   *       RobotState.getShotSolution().getHubHoodDegrees()} — distance and the table lookup are
+   *       computed once per loop in {@link frc.robot.ShotSolution}, shared with the flywheel and
+   *       the alignment triggers
    *   <li>{@code RobotState.isHoodSafe()} → {@code getRobotZone()} + velocity check (now caches
    *       zone result internally)
    * </ol>
    *
-   * Both paths are now optimised (AllianceFlipUtil caches alliance per-loop, RobotState caches zone
-   * per call). Further reduction would require caching the hood position across loops, but the
-   * distance changes every loop so the lookup is necessary.
+   * Both paths are now optimised. This call is now just a field read plus the motor request.
    */
   public void setHoodPosForHub() {
     Angle position = HoodPosCalculator.getInstance().getHoodPosForHub();
     io.setHoodPos(position);
   }
 
+  /** Sets the hood for a hub shot while moving, from this loop's moving-shot solution. */
+  public void setHoodPosForMovingHubShot() {
+    io.setHoodPos(
+        Degrees.of(
+            RobotState.getInstance().getShotSolution().getMovingHubShot().getHoodDegrees()));
+  }
+
   public void setHoodPosForPass() {
     Angle angle = HoodPosCalculator.getInstance().getHoodPosForPassing();
     io.setHoodPos(angle);
@@ -81,6 +85,6 @@ public class Hood extends SubsystemBase {
    * @return The hood angle as reported by the CANcoder
    */
   public Angle getPosition() {
-    return inputs.hoodPosition;
+    return inputs.getHoodPosition();
   }
 }
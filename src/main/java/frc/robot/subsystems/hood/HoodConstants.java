@@ -6,8 +6,10 @@ import static edu.wpi.first.units.Units.Seconds;
 
 import com.ctre.phoenix6.signals.SensorDirectionValue;
 import edu.wpi.first.math.interpolation.InterpolatingDoubleTreeMap;
+import edu.wpi.first.math.util.Units;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.Time;
+import frc.robot.util.DenseLookupTable;
 
 public class HoodConstants {
 
@@ -44,6 +46,11 @@ public class HoodConstants {
     public static final SensorDirectionValue ENCODER_DIRECTION =
         SensorDirectionValue.Clockwise_Positive;
     public static boolean MOTOR_INVERTED = false;
+
+    // Hub and pass hood angles are computed for the pose this far ahead (seconds) so the hood has
+    // finished moving when we get there. The hood settles faster than the flywheel.
+    // 0 = current pose
+    public static final double SETPOINT_LEAD_SECONDS = 0.10;
   }
 
   public static class CurrentLimits {
@@ -69,25 +76,47 @@ public class HoodConstants {
     public static final InterpolatingDoubleTreeMap PASSING_ANGLE_MAP =
         new InterpolatingDoubleTreeMap();
 
+    // Measured hub shots: {distance from center of hub (inches), hood position (degrees)}.
+    // Same distances as FlywheelConstants.DistanceMap.SPEED_POINTS.
+    public static final double[][] ANGLE_POINTS = {
+      {75.0, 1.0}, // Auto shot 1
+      {85.0, 1.5}, // Auto shot 2
+      {110.0, 2.5}, // Tower shot
+      {130.0, 3.5},
+      {145.0, 5.25},
+      {160.0, 11.0},
+      {175.0, 11.5},
+      {180.0, 12.25},
+      {190.0, 12.0},
+    };
+
     // Key is distance from center of hub (converted to meters)
     // Value is hood position in degrees (scaled to 5°..55°)
     static {
-      ANGLE_MAP.put(inchesToMeters(75.0), 1.0); // Auto shot 1
-      ANGLE_MAP.put(inchesToMeters(85.0), 1.5); // Auto shot 2
-      ANGLE_MAP.put(inchesToMeters(110.0), 2.5); // Tower shot
-      ANGLE_MAP.put(inchesToMeters(130.0), 3.5);
-      ANGLE_MAP.put(inchesToMeters(145.0), 5.25);
-      ANGLE_MAP.put(inchesToMeters(160.0), 11.0);
-      ANGLE_MAP.put(inchesToMeters(175.0), 11.5);
-      ANGLE_MAP.put(inchesToMeters(180.0), 12.25);
-      ANGLE_MAP.put(inchesToMeters(190.0), 12.0);
+      for (double[] point : ANGLE_POINTS) {
+        ANGLE_MAP.put(inchesToMeters(point[0]), point[1]);
+      }
     }
 
+    // Passing shots: {distance from center of hub (inches), hood position (degrees)}
+    public static final double[][] PASSING_ANGLE_POINTS = {
+      {70.0, 20.0},
+      {140.0, 25.0},
+      {225.0, 28.0},
+      {410.0, 35.0},
+    };
+
     static {
-      PASSING_ANGLE_MAP.put(inchesToMeters(70.0), 20.0);
-      PASSING_ANGLE_MAP.put(inchesToMeters(140.0), 25.0);
-      PASSING_ANGLE_MAP.put(inchesToMeters(225.0), 28.0);
-      PASSING_ANGLE_MAP.put(inchesToMeters(410.0), 35.0);
+      for (double[] point : PASSING_ANGLE_POINTS) {
+        PASSING_ANGLE_MAP.put(inchesToMeters(point[0]), point[1]);
+      }
     }
+
+    // Dense copies of the maps above for O(1) runtime lookups, sampled from the same points
+    public static final double LUT_STEP_METERS = 0.005;
+    public static final DenseLookupTable ANGLE_LUT =
+        new DenseLookupTable(ANGLE_POINTS, Units::inchesToMeters, LUT_STEP_METERS);
+    public static final DenseLookupTable PASSING_ANGLE_LUT =
+        new DenseLookupTable(PASSING_ANGLE_POINTS, Units::inchesToMeters, LUT_STEP_METERS);
   }
 }
@@ -22,24 +22,26 @@ public class HoodPosCalculator {
 
   private HoodPosCalculator() {}
 
+  // Mechanical limits in degrees, so clamping doesn't compare Measure objects
+  private static final double MIN_DEGREES = HoodConstants.Mechanical.hoodMinPos.in(Degrees);
+  private static final double MAX_DEGREES = HoodConstants.Mechanical.hoodMaxPos.in(Degrees);
+
   // Calculations are similar to those in ShotCalculator: general get angle for distance, helper for
   // when distance is to a specific target, helper for when target is the hub.
 
   public Angle getHoodPosForDistance(Distance distance) {
-    double distanceMeters = distance.in(Meters);
-    // Map returns degrees now
-    double hoodPosDegrees = HoodConstants.HoodMap.ANGLE_MAP.get(distanceMeters);
-
-    Angle hoodAngle = Degrees.of(hoodPosDegrees);
+    return Degrees.of(getHoodDegreesForDistance(distance.in(Meters)));
+  }
 
-    // Clamp to mechanical limits (both are Angle types now)
-    if (hoodAngle.gt(HoodConstants.Mechanical.hoodMaxPos)) {
-      hoodAngle = HoodConstants.Mechanical.hoodMaxPos;
-    } else if (hoodAngle.lt(HoodConstants.Mechanical.hoodMinPos)) {
-      hoodAngle = HoodConstants.Mechanical.hoodMinPos;
-    }
+  /** Hub-shot hood angle in degrees for a distance in meters, clamped to mechanical limits. */
+  public double getHoodDegreesForDistance(double distanceMeters) {
+    // Map returns degrees now
+    return clampDegrees(HoodConstants.HoodMap.ANGLE_LUT.get(distanceMeters));
+  }
 
-    return hoodAngle;
+  /** Pass hood angle in degrees for a distance in meters, clamped to mechanical limits. */
+  public double getHoodDegreesForPassDistance(double distanceMeters) {
+    return clampDegrees(HoodConstants.HoodMap.PASSING_ANGLE_LUT.get(distanceMeters));
   }
 
   public Angle getHoodPosForTarget(Translation3d target) {
@@ -49,27 +51,16 @@ public class HoodPosCalculator {
     return getHoodPosForDistance(distanceMeters);
   }
 
+  // Hub and pass positions come from this loop's ShotSolution so every consumer agrees
   public Angle getHoodPosForHub() {
-    Translation3d hub3d = RobotState.getInstance().getAllianceHubTarget();
-    return getHoodPosForTarget(hub3d);
+    return Degrees.of(RobotState.getInstance().getShotSolution().getHubHoodDegrees());
   }
 
   public Angle getHoodPosForPassing() {
-    Translation2d robotPosition = RobotState.getInstance().getEstimatedPose().getTranslation();
-
-    Translation2d passTarget2d = RobotState.getInstance().getPassTarget().toTranslation2d();
-    double distance = robotPosition.getDistance(passTarget2d);
-
-    double hoodDegrees = HoodConstants.HoodMap.PASSING_ANGLE_MAP.get(distance);
-
-    Angle hoodAngle = Degrees.of(hoodDegrees);
-
-    if (hoodAngle.gt(HoodConstants.Mechanical.hoodMaxPos)) {
-      hoodAngle = HoodConstants.Mechanical.hoodMaxPos;
-    } else if (hoodAngle.lt(HoodConstants.Mechanical.hoodMinPos)) {
-      hoodAngle = HoodConstants.Mechanical.hoodMinPos;
-    }
+    return Degrees.of(RobotState.getInstance().getShotSolution().getPassHoodDegrees());
+  }
 
-    return hoodAngle;
+  private static double clampDegrees(double hoodDegrees) {
+    return Math.max(MIN_DEGREES, Math.min(MAX_DEGREES, hoodDegrees));
   }
 }
@@ -1,10 +1,10 @@
 package frc.robot.subsystems.hood.io;
 
-import static edu.wpi.first.units.Units.Degrees;
 import static edu.wpi.first.units.Units.Rotations;
 import static edu.wpi.first.units.Units.Seconds;
 
 import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.CANBus;
 import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.CANcoderConfiguration;
 import com.ctre.phoenix6.configs.MagnetSensorConfigs;
@@ -20,15 +20,30 @@ import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.Temperature;
 import edu.wpi.first.units.measure.Voltage;
 import frc.robot.HardwareConstants;
+import frc.robot.HardwareConstants.ControlDedup;
+import frc.robot.HardwareConstants.SignalRates;
 import frc.robot.subsystems.hood.HoodConstants;
+import frc.robot.util.CANConfigPipeline;
+import frc.robot.util.CANSignalRegistry;
+import frc.robot.util.ControlWriteFilter;
+import frc.robot.util.MechanismSampleThread;
+import frc.robot.util.SignalRatePolicy;
 
 public class HoodIOReal implements HoodIO {
 
+  private static final CANBus CAN_BUS = new CANBus("rio");
+
   private final TalonFX hoodMotor;
   private final CANcoder hoodEncoder;
 
   private final MotionMagicTorqueCurrentFOC positionRequest = new MotionMagicTorqueCurrentFOC(0);
 
+  // Skips setControl calls that repeat the last request (see ControlWriteFilter)
+  private final ControlWriteFilter control;
+
+  // Latest values from MechanismSampleThread
+  private final MechanismSampleThread.Samples samples;
+
   // Cached status signals for motor
   private final StatusSignal<AngularVelocity> velocity;
   private final StatusSignal<Voltage> motorVoltage;
@@ -40,8 +55,9 @@ public class HoodIOReal implements HoodIO {
   private final StatusSignal<Double> closedLoopError;
 
   public HoodIOReal() {
-    hoodMotor = new TalonFX(HardwareConstants.CanIds.HOOD_MOTOR);
-    hoodEncoder = new CANcoder(HardwareConstants.CanIds.HOOD_ENCODER);
+    hoodMotor = new TalonFX(HardwareConstants.CanIds.HOOD_MOTOR, CAN_BUS);
+    control = new ControlWriteFilter("Hood", hoodMotor);
+    hoodEncoder = new CANcoder(HardwareConstants.CanIds.HOOD_ENCODER, CAN_BUS);
 
     // Configure encoder first so the CANcoder is ready before the motor tries to use it
     configureEncoder();
@@ -57,23 +73,47 @@ public class HoodIOReal implements HoodIO {
     closedLoopReference = hoodMotor.getClosedLoopReference();
     closedLoopError = hoodMotor.getClosedLoopError();
 
-    // 50Hz for signals we need every loop (velocity, voltage, current, position, closed-loop
-    // reference)
-    BaseStatusSignal.setUpdateFrequencyForAll(
-        50.0, velocity, motorVoltage, statorCurrent, supplyCurrent, devicePos, closedLoopReference);
+    // Signals we need every loop (velocity, voltage, current, position, closed-loop reference);
+    // SignalRatePolicy slows these while disabled
+    SignalRatePolicy.configure(
+        SignalRates.CONTROL,
+        velocity,
+        motorVoltage,
+        statorCurrent,
+        supplyCurrent,
+        devicePos,
+        closedLoopReference);
 
-    // 10Hz for diagnostic-only signals (temperature, closed-loop error)
-    BaseStatusSignal.setUpdateFrequencyForAll(10.0, deviceTemp, closedLoopError);
+    // Diagnostic-only signals (temperature, closed-loop error)
+    SignalRatePolicy.configure(SignalRates.DIAGNOSTIC, deviceTemp, closedLoopError);
 
     // The CANcoder's Position and Velocity signals must keep publishing at a reasonable rate
     // because the motor's RemoteCANcoder reads them directly off the CAN bus.
-    // Without this, optimizeBusUtilization() would slow them to 4 Hz, starving the motor.
+    // Without this, optimizeBusUtilization() would slow them to 4 Hz, starving the motor. For the
+    // same reason they stay out of SignalRatePolicy.
     BaseStatusSignal.setUpdateFrequencyForAll(
         50.0, hoodEncoder.getPosition(), hoodEncoder.getVelocity());
+    CANSignalRegistry.registerUnread(
+        "HoodEncoder", CAN_BUS, hoodEncoder.getPosition(), hoodEncoder.getVelocity());
 
     // Stop sending signals we didn't register — reduces CAN bus traffic
     hoodMotor.optimizeBusUtilization();
     hoodEncoder.optimizeBusUtilization();
+
+    // Sampled in the background; updateInputs copies the latest values (see MechanismSampleThread)
+    samples =
+        MechanismSampleThread.getInstance()
+            .register(
+                "Hood",
+                CAN_BUS,
+                velocity,
+                motorVoltage,
+                statorCurrent,
+                supplyCurrent,
+                deviceTemp,
+                devicePos,
+                closedLoopReference,
+                closedLoopError);
   }
 
   private void configureMotor() {
@@ -131,7 +171,7 @@ public class HoodIOReal implements HoodIO {
         HoodConstants.SoftwareConstants.softwareLowerLimit.in(Rotations);
 
     // Apply everything in a single call — this avoids separate apply() calls overwriting each other
-    hoodMotor.getConfigurator().apply(config);
+    CANConfigPipeline.apply("Hood/Motor", CAN_BUS, hoodMotor, config);
   }
 
   private void configureEncoder() {
@@ -146,38 +186,31 @@ public class HoodIOReal implements HoodIO {
 
     encoderConfig.withMagnetSensor(magnetConfig);
 
-    hoodEncoder.getConfigurator().apply(encoderConfig);
+    CANConfigPipeline.apply("Hood/Encoder", CAN_BUS, hoodEncoder, encoderConfig);
   }
 
   @Override
   public void updateInputs(HoodIOInputs inputs) {
-    BaseStatusSignal.refreshAll(
-        velocity,
-        motorVoltage,
-        statorCurrent,
-        supplyCurrent,
-        deviceTemp,
-        devicePos,
-        closedLoopReference,
-        closedLoopError);
-
-    // Read from cache — no additional CAN traffic
-    inputs.hoodVelocity = velocity.getValue();
-    // CTRE returns position in mechanism rotations; wrap in Degrees for consistent logging.
-    // This ensures AdvantageScope displays the value in degrees (not rotations).
-    inputs.hoodPosition = Degrees.of(devicePos.getValue().in(Degrees));
-    inputs.hoodVoltage = motorVoltage.getValue();
-    inputs.hoodStatorCurrent = statorCurrent.getValue();
-    inputs.hoodSupplyCurrent = supplyCurrent.getValue();
-    inputs.hoodTemperature = deviceTemp.getValue();
+    // Copy the latest background sample — no CAN traffic or JNI calls here
+    samples.update();
+    inputs.hoodVelocityRps = samples.get(velocity);
+    // CTRE returns position in mechanism rotations; convert to degrees for consistent logging.
+    inputs.hoodPositionDegrees = samples.get(devicePos) * 360.0;
+    inputs.hoodVolts = samples.get(motorVoltage);
+    inputs.hoodStatorCurrentAmps = samples.get(statorCurrent);
+    inputs.hoodSupplyCurrentAmps = samples.get(supplyCurrent);
+    inputs.hoodTemperatureCelsius = samples.get(deviceTemp);
     // closedLoopReference and closedLoopError are raw doubles in mechanism rotations.
     // Convert to degrees so all hood angles are in degrees throughout the codebase.
-    inputs.hoodClosedLoopReference = Degrees.of(closedLoopReference.getValueAsDouble() * 360.0);
-    inputs.hoodClosedLoopError = Degrees.of(closedLoopError.getValueAsDouble() * 360.0);
+    inputs.hoodClosedLoopReferenceDegrees = samples.get(closedLoopReference) * 360.0;
+    inputs.hoodClosedLoopErrorDegrees = samples.get(closedLoopError) * 360.0;
   }
 
   @Override
   public void setHoodPos(Angle position) {
-    hoodMotor.setControl(positionRequest.withPosition(position));
+    control.setControl(
+        positionRequest.withPosition(position),
+        position.in(Rotations),
+        ControlDedup.POSITION_DEADBAND_ROTATIONS);
   }
 }
@@ -2,7 +2,6 @@ package frc.robot.subsystems.intakePivot;
 
 import static edu.wpi.first.units.Units.Rotations;
 
-import edu.wpi.first.units.Units;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Voltage;
@@ -23,6 +22,7 @@ public class IntakePivot extends SubsystemBase {
   private final IntakePivotIO io;
   public final IntakePivotIOInputsAutoLogged inputs;
   private final IntakePivotVisualizer visualizer;
+  private final int batteryChannel = Robot.batteryLogger.registerChannel("Intake/Pivot", false);
 
   /** The last goal position set by the user. Used for visualization. */
   private Angle goalPosition = Rotations.of(0.0);
@@ -39,15 +39,10 @@ public class IntakePivot extends SubsystemBase {
     Logger.processInputs("Intake Pivot", inputs);
 
     // Report intake pivot current usage to the battery logger
-    Robot.batteryLogger.reportCurrentUsage(
-        "Intake/Pivot",
-        false,
-        inputs.intakePivotSupplyCurrent != null
-            ? inputs.intakePivotSupplyCurrent.in(Units.Amps)
-            : 0.0);
+    Robot.batteryLogger.reportCurrentUsage(batteryChannel, inputs.intakePivotSupplyCurrentAmps);
 
     // Determine if we are within tolerance of our goal
-    double currentRotations = inputs.intakePivotPosition.in(Rotations);
+    double currentRotations = inputs.intakePivotPositionRotations;
     double goalRotations = goalPosition.in(Rotations);
     boolean atGoal =
         Math.abs(currentRotations - goalRotations)
@@ -81,6 +76,6 @@ public class IntakePivot extends SubsystemBase {
    * @return current position from the CANcoder
    */
   public Angle getPosition() {
-    return inputs.intakePivotPosition;
+    return inputs.getIntakePivotPosition();
   }
 }
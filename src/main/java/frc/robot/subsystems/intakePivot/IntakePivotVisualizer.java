@@ -9,6 +9,7 @@ import edu.wpi.first.math.util.Units;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj.util.Color;
 import edu.wpi.first.wpilibj.util.Color8Bit;
+import frc.robot.util.LogKeys;
 import org.littletonrobotics.junction.Logger;
 import org.littletonrobotics.junction.mechanism.LoggedMechanism2d;
 import org.littletonrobotics.junction.mechanism.LoggedMechanismLigament2d;
@@ -47,8 +48,13 @@ public class IntakePivotVisualizer {
   private final LoggedMechanismLigament2d _minBound;
   private final LoggedMechanismLigament2d _maxBound;
 
-  // ---------- Config ----------
-  private final String _name;
+  // ---------- Log keys (built once; see LogKeys) ----------
+  private final String _dashboardKey;
+  private final String _mechanismKey;
+  private final String _poseKey;
+  private final String _currentAngleKey;
+  private final String _goalAngleKey;
+  private final String _atGoalKey;
 
   /**
    * Creates a new IntakePivotVisualizer.
@@ -56,7 +62,12 @@ public class IntakePivotVisualizer {
    * @param name The name used for logging keys (e.g., "IntakePivot")
    */
   public IntakePivotVisualizer(String name) {
-    _name = name;
+    _dashboardKey = name + " Visualizer";
+    _mechanismKey = LogKeys.of(name, "Visualizer/Mechanism2d");
+    _poseKey = LogKeys.of(name, "Visualizer/Pose3d");
+    _currentAngleKey = LogKeys.of(name, "Visualizer/CurrentAngle_deg");
+    _goalAngleKey = LogKeys.of(name, "Visualizer/GoalAngle_deg");
+    _atGoalKey = LogKeys.of(name, "Visualizer/AtGoal");
 
     double armLength = IntakePivotConstants.Visualization.ARM_LENGTH_DISPLAY;
 
@@ -136,8 +147,8 @@ public class IntakePivotVisualizer {
         atGoal ? new Color8Bit(Color.kDarkGreen) : new Color8Bit(Color.kBlack));
 
     // Publish Mechanism2d to SmartDashboard and AdvantageKit
-    SmartDashboard.putData(_name + " Visualizer", _mechanism);
-    Logger.recordOutput(_name + "/Visualizer/Mechanism2d", _mechanism);
+    SmartDashboard.putData(_dashboardKey, _mechanism);
+    Logger.recordOutput(_mechanismKey, _mechanism);
 
     // --- 3D Pose ---
     // The Pose3d represents the pivot base, NOT the arm tip.
@@ -153,11 +164,11 @@ public class IntakePivotVisualizer {
 
     Pose3d pivotBasePose = new Pose3d(baseTranslation, totalRotation);
 
-    Logger.recordOutput(_name + "/Visualizer/Pose3d", pivotBasePose);
+    Logger.recordOutput(_poseKey, pivotBasePose);
 
     // Scalar logs for easy graphing
-    Logger.recordOutput(_name + "/Visualizer/CurrentAngle_deg", Degrees.of(currentDeg));
-    Logger.recordOutput(_name + "/Visualizer/GoalAngle_deg", Degrees.of(goalDeg));
-    Logger.recordOutput(_name + "/Visualizer/AtGoal", atGoal);
+    Logger.recordOutput(_currentAngleKey, Degrees.of(currentDeg));
+    Logger.recordOutput(_goalAngleKey, Degrees.of(goalDeg));
+    Logger.recordOutput(_atGoalKey, atGoal);
   }
 }
@@ -1,15 +1,10 @@
 package frc.robot.subsystems.intakePivot.io;
 
-import static edu.wpi.first.units.Units.Amps;
-import static edu.wpi.first.units.Units.Celsius;
 import static edu.wpi.first.units.Units.Rotations;
 import static edu.wpi.first.units.Units.RotationsPerSecond;
-import static edu.wpi.first.units.Units.Volts;
 
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularVelocity;
-import edu.wpi.first.units.measure.Current;
-import edu.wpi.first.units.measure.Temperature;
 import edu.wpi.first.units.measure.Voltage;
 import org.littletonrobotics.junction.AutoLog;
 
@@ -23,14 +18,22 @@ public interface IntakePivotIO {
 
   @AutoLog
   public static class IntakePivotIOInputs {
-    public Voltage intakePivotVoltage = Volts.of(0);
-    public Current intakePivotSupplyCurrent = Amps.of(0);
-    public Current intakePivotStatorCurrent = Amps.of(0);
-    public Temperature intakePivotTemperature = Celsius.of(0);
-    public AngularVelocity intakePivotVelocity = RotationsPerSecond.of(0);
-    public Angle intakePivotPosition = Rotations.of(0);
+    public double intakePivotVolts;
+    public double intakePivotSupplyCurrentAmps;
+    public double intakePivotStatorCurrentAmps;
+    public double intakePivotTemperatureCelsius;
+    public double intakePivotVelocityRps;
+    public double intakePivotPositionRotations;
     public double intakePivotClosedLoopReference;
     public double intakePivotClosedLoopError;
+
+    public Angle getIntakePivotPosition() {
+      return Rotations.of(intakePivotPositionRotations);
+    }
+
+    public AngularVelocity getIntakePivotVelocity() {
+      return RotationsPerSecond.of(intakePivotVelocityRps);
+    }
   }
 
   public default void updateInputs(IntakePivotIOInputs inputs) {}
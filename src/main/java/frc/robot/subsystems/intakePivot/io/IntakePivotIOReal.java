@@ -1,9 +1,10 @@
 package frc.robot.subsystems.intakePivot.io;
 
 import static edu.wpi.first.units.Units.Rotations;
+import static edu.wpi.first.units.Units.RotationsPerSecond;
 import static edu.wpi.first.units.Units.Second;
+import static edu.wpi.first.units.Units.Volts;
 
-import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.CANBus;
 import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.CANcoderConfiguration;
@@ -25,8 +26,14 @@ import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.Temperature;
 import edu.wpi.first.units.measure.Voltage;
 import frc.robot.HardwareConstants;
+import frc.robot.HardwareConstants.ControlDedup;
+import frc.robot.HardwareConstants.SignalRates;
 import frc.robot.subsystems.intakePivot.IntakePivotConstants;
 import frc.robot.subsystems.intakePivot.IntakePivotConstants.PivotMagicConstants;
+import frc.robot.util.CANConfigPipeline;
+import frc.robot.util.ControlWriteFilter;
+import frc.robot.util.MechanismSampleThread;
+import frc.robot.util.SignalRatePolicy;
 import org.littletonrobotics.junction.Logger;
 
 /**
@@ -47,6 +54,12 @@ public class IntakePivotIOReal implements IntakePivotIO {
       new MotionMagicVelocityTorqueCurrentFOC(0);
   private final MotionMagicTorqueCurrentFOC positionRequest = new MotionMagicTorqueCurrentFOC(0);
 
+  // Skips setControl calls that repeat the last request (see ControlWriteFilter)
+  private final ControlWriteFilter control;
+
+  // Latest values from MechanismSampleThread
+  private final MechanismSampleThread.Samples samples;
+
   // Cached status signals for motor
   private final StatusSignal<AngularVelocity> velocity;
   private final StatusSignal<Voltage> motorVoltage;
@@ -61,6 +74,7 @@ public class IntakePivotIOReal implements IntakePivotIO {
 
   public IntakePivotIOReal() {
     intakePivotMotor = new TalonFX(HardwareConstants.CanIds.INTAKE_PIVOT_MOTOR_ID, CAN_BUS);
+    control = new ControlWriteFilter("IntakePivot", intakePivotMotor);
     intakePivotEncoder = new CANcoder(HardwareConstants.CanIds.INTAKE_PIVOT_ENCODER_ID, CAN_BUS);
 
     configurePivotMotor();
@@ -78,10 +92,10 @@ public class IntakePivotIOReal implements IntakePivotIO {
     // Cache signal reference — encoder
     encoderPosition = intakePivotEncoder.getAbsolutePosition();
 
-    // 50Hz for signals we need every loop (velocity, voltage, current, position, closed-loop
-    // reference)
-    BaseStatusSignal.setUpdateFrequencyForAll(
-        50.0,
+    // Signals we need every loop (velocity, voltage, current, position, closed-loop reference);
+    // SignalRatePolicy slows these while disabled
+    SignalRatePolicy.configure(
+        SignalRates.CONTROL,
         velocity,
         motorVoltage,
         statorCurrent,
@@ -89,12 +103,27 @@ public class IntakePivotIOReal implements IntakePivotIO {
         encoderPosition,
         closedLoopReference);
 
-    // 10Hz for diagnostic-only signals (temperature, closed-loop error)
-    BaseStatusSignal.setUpdateFrequencyForAll(10.0, deviceTemp, closedLoopError);
+    // Diagnostic-only signals (temperature, closed-loop error)
+    SignalRatePolicy.configure(SignalRates.DIAGNOSTIC, deviceTemp, closedLoopError);
 
     // Stop sending signals we didn't register — reduces CAN bus traffic
     intakePivotMotor.optimizeBusUtilization();
     intakePivotEncoder.optimizeBusUtilization();
+
+    // Sampled in the background; updateInputs copies the latest values (see MechanismSampleThread)
+    samples =
+        MechanismSampleThread.getInstance()
+            .register(
+                "IntakePivot",
+                CAN_BUS,
+                velocity,
+                motorVoltage,
+                statorCurrent,
+                supplyCurrent,
+                deviceTemp,
+                closedLoopReference,
+                closedLoopError,
+                encoderPosition);
   }
 
   private void configurePivotMotor() {
@@ -144,9 +173,10 @@ public class IntakePivotIOReal implements IntakePivotIO {
     config.SoftwareLimitSwitch.ReverseSoftLimitThreshold =
         IntakePivotConstants.SoftwareConstants.softwareLowerRotationLimit;
 
-    intakePivotMotor.getConfigurator().apply(config);
-    intakePivotMotor.getConfigurator().apply(limits);
-    intakePivotMotor.getConfigurator().apply(feedback);
+    // These groups used to be applied separately after the full config, replacing what it set
+    config.CurrentLimits = limits;
+    config.Feedback = feedback;
+    CANConfigPipeline.apply("IntakePivot/Motor", CAN_BUS, intakePivotMotor, config);
   }
 
   public void configureEncoder() {
@@ -161,47 +191,45 @@ public class IntakePivotIOReal implements IntakePivotIO {
 
     encoderConfig.withMagnetSensor(magnetConfig);
 
-    intakePivotEncoder.getConfigurator().apply(encoderConfig);
+    CANConfigPipeline.apply("IntakePivot/Encoder", CAN_BUS, intakePivotEncoder, encoderConfig);
   }
 
   @Override
   public void updateInputs(IntakePivotIOInputs inputs) {
-    // One batched CAN read for all signals — much faster than individual reads
-    BaseStatusSignal.refreshAll(
-        velocity,
-        motorVoltage,
-        statorCurrent,
-        supplyCurrent,
-        deviceTemp,
-        closedLoopReference,
-        closedLoopError,
-        encoderPosition);
-
-    // Read from cache — no additional CAN traffic
-    inputs.intakePivotVelocity = velocity.getValue();
-    inputs.intakePivotPosition = Rotations.of(encoderPosition.getValueAsDouble());
-    inputs.intakePivotVoltage = motorVoltage.getValue();
-    inputs.intakePivotStatorCurrent = statorCurrent.getValue();
-    inputs.intakePivotSupplyCurrent = supplyCurrent.getValue();
-    inputs.intakePivotTemperature = deviceTemp.getValue();
-    inputs.intakePivotClosedLoopReference = closedLoopReference.getValueAsDouble();
-    inputs.intakePivotClosedLoopError = closedLoopError.getValueAsDouble();
+    // Copy the latest background sample — no CAN traffic or JNI calls here
+    samples.update();
+    inputs.intakePivotVelocityRps = samples.get(velocity);
+    inputs.intakePivotPositionRotations = samples.get(encoderPosition);
+    inputs.intakePivotVolts = samples.get(motorVoltage);
+    inputs.intakePivotStatorCurrentAmps = samples.get(statorCurrent);
+    inputs.intakePivotSupplyCurrentAmps = samples.get(supplyCurrent);
+    inputs.intakePivotTemperatureCelsius = samples.get(deviceTemp);
+    inputs.intakePivotClosedLoopReference = samples.get(closedLoopReference);
+    inputs.intakePivotClosedLoopError = samples.get(closedLoopError);
   }
 
   @Override
   public void setPivotVoltage(Voltage volts) {
-    intakePivotMotor.setControl(voltageRequest.withOutput(volts));
+    control.setControl(
+        voltageRequest.withOutput(volts), volts.in(Volts), ControlDedup.OUTPUT_DEADBAND);
   }
 
   @Override
   public void setPivotVelocity(AngularVelocity velocity) {
-    intakePivotMotor.setControl(velocityRequest.withVelocity(velocity));
+    control.setControl(
+        velocityRequest.withVelocity(velocity),
+        velocity.in(RotationsPerSecond),
+        ControlDedup.VELOCITY_DEADBAND_RPS);
     Logger.recordOutput("Intake pivot torque controls", velocity);
   }
 
   @Override
   public void setPivotPosition(Angle position) {
-    intakePivotMotor.setControl(positionRequest.withPosition(position.in(Rotations)));
+    double rotations = position.in(Rotations);
+    control.setControl(
+        positionRequest.withPosition(rotations),
+        rotations,
+        ControlDedup.POSITION_DEADBAND_ROTATIONS);
   }
 
   @Override
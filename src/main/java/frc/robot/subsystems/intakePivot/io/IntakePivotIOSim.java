@@ -1,7 +1,5 @@
 package frc.robot.subsystems.intakePivot.io;
 
-import static edu.wpi.first.units.Units.Amps;
-import static edu.wpi.first.units.Units.Celsius;
 import static edu.wpi.first.units.Units.Rotations;
 import static edu.wpi.first.units.Units.RotationsPerSecond;
 import static edu.wpi.first.units.Units.Volts;
@@ -87,12 +85,12 @@ public class IntakePivotIOSim implements IntakePivotIO {
     double positionRotations = Units.radiansToRotations(pivotSim.getAngularPositionRad());
     double velocityRPS = Units.radiansToRotations(pivotSim.getAngularVelocityRadPerSec());
 
-    inputs.intakePivotPosition = Rotations.of(positionRotations);
-    inputs.intakePivotVelocity = RotationsPerSecond.of(velocityRPS);
-    inputs.intakePivotVoltage = Volts.of(appliedVolts);
-    inputs.intakePivotStatorCurrent = Amps.of(Math.abs(pivotSim.getCurrentDrawAmps()));
-    inputs.intakePivotSupplyCurrent = Amps.of(Math.abs(pivotSim.getCurrentDrawAmps()));
-    inputs.intakePivotTemperature = Celsius.of(25.0); // sim doesn't model temperature
+    inputs.intakePivotPositionRotations = positionRotations;
+    inputs.intakePivotVelocityRps = velocityRPS;
+    inputs.intakePivotVolts = appliedVolts;
+    inputs.intakePivotStatorCurrentAmps = Math.abs(pivotSim.getCurrentDrawAmps());
+    inputs.intakePivotSupplyCurrentAmps = Math.abs(pivotSim.getCurrentDrawAmps());
+    inputs.intakePivotTemperatureCelsius = 25.0; // sim doesn't model temperature
 
     // Closed-loop reference and error in mechanism rotations
     if (controlMode == ControlMode.POSITION) {
@@ -1,43 +1,48 @@
 package frc.robot.subsystems.intakeRoller;
 
-import edu.wpi.first.units.Units;
 import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.HardwareConstants;
+import frc.robot.HardwareConstants.PowerManagement;
 import frc.robot.Robot;
 import frc.robot.subsystems.intakeRoller.io.intakeRollerIO;
 import frc.robot.subsystems.intakeRoller.io.intakeRollerIOInputsAutoLogged;
+import frc.robot.util.MotorGroupInputs;
+import frc.robot.util.PowerManager;
 import org.littletonrobotics.junction.Logger;
 
 public class intakeRoller extends SubsystemBase {
   private final intakeRollerIO io;
 
   private final intakeRollerIOInputsAutoLogged inputs;
+  private final MotorGroupInputs motors = new MotorGroupInputs();
+  private final int batteryChannel = Robot.batteryLogger.registerChannel("Intake/Roller", false);
 
   public intakeRoller(intakeRollerIO io) {
     this.io = io;
     this.inputs = new intakeRollerIOInputsAutoLogged();
+
+    // First to give up current when the battery sags
+    Robot.powerManager.register(
+        "IntakeRoller",
+        PowerManager.Priority.INTAKE,
+        2,
+        intakeRollerConstants.CurrentLimits.INTAKE_ROLLER_MAIN_SUPPLY_AMP,
+        PowerManagement.INTAKE_MIN_SUPPLY_AMPS,
+        motors::totalSupplyCurrentAmps,
+        io::setSupplyCurrentLimit);
   }
 
   @Override
   public void periodic() {
     io.updateInputs(inputs);
+    io.updateMotorInputs(motors);
     Logger.processInputs("Intake Roller", inputs);
+    Logger.processInputs("Intake Roller/Motors", motors);
 
     // Report intake roller current usage to the battery logger (leader + follower)
-    Robot.batteryLogger.reportCurrentUsage(
-        "Intake/Roller-Leader",
-        false,
-        inputs.intakeRollerSupplyCurrent != null
-            ? inputs.intakeRollerSupplyCurrent.in(Units.Amps)
-            : 0.0);
-    Robot.batteryLogger.reportCurrentUsage(
-        "Intake/Roller-Follower",
-        false,
-        inputs.intakeRollerFollowerSupplyCurrent != null
-            ? inputs.intakeRollerFollowerSupplyCurrent.in(Units.Amps)
-            : 0.0);
+    Robot.batteryLogger.reportCurrentUsage(batteryChannel, motors.supplyCurrentAmps);
   }
 
   public void setRollerVoltage(Voltage volts) {
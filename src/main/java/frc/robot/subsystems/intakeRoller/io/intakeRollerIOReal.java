@@ -2,8 +2,8 @@ package frc.robot.subsystems.intakeRoller.io;
 
 import static edu.wpi.first.units.Units.RotationsPerSecond;
 import static edu.wpi.first.units.Units.Second;
+import static edu.wpi.first.units.Units.Volts;
 
-import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.CANBus;
 import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
@@ -14,14 +14,20 @@ import com.ctre.phoenix6.controls.VoltageOut;
 import com.ctre.phoenix6.hardware.TalonFX;
 import com.ctre.phoenix6.signals.MotorAlignmentValue;
 import com.ctre.phoenix6.signals.NeutralModeValue;
-import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularVelocity;
-import edu.wpi.first.units.measure.Current;
-import edu.wpi.first.units.measure.Temperature;
 import edu.wpi.first.units.measure.Voltage;
 import frc.robot.HardwareConstants;
+import frc.robot.HardwareConstants.ControlDedup;
+import frc.robot.HardwareConstants.SignalRates;
 import frc.robot.subsystems.intakeRoller.intakeRollerConstants;
 import frc.robot.subsystems.intakeRoller.intakeRollerConstants.rollerMagicConstants;
+import frc.robot.util.CANConfigPipeline;
+import frc.robot.util.ControlWriteFilter;
+import frc.robot.util.CurrentLimiter;
+import frc.robot.util.MechanismSampleThread;
+import frc.robot.util.MotorGroupInputs;
+import frc.robot.util.MotorGroupSignals;
+import frc.robot.util.SignalRatePolicy;
 
 public class intakeRollerIOReal implements intakeRollerIO {
 
@@ -34,65 +40,71 @@ public class intakeRollerIOReal implements intakeRollerIO {
   private final MotionMagicVelocityTorqueCurrentFOC torqueRequest =
       new MotionMagicVelocityTorqueCurrentFOC(0);
 
-  // Cached status signals — created once, refreshed in batch each loop
-  private final StatusSignal<AngularVelocity> velocity;
-  private final StatusSignal<Current> statorCurrent;
-  private final StatusSignal<Current> supplyCurrent;
-  private final StatusSignal<Voltage> motorVoltage;
-  private final StatusSignal<Temperature> deviceTemp;
+  // Skips setControl calls that repeat the last request (see ControlWriteFilter)
+  private final ControlWriteFilter control;
+
+  // Latest closed-loop values from MechanismSampleThread
+  private final MechanismSampleThread.Samples samples;
+
+  // Per-motor signals, leader first (see MotorGroupSignals)
+  private final MotorGroupSignals motors;
+
+  // Runtime supply limit changes from PowerManager, leader then follower
+  private CurrentLimiter[] currentLimiters;
+
+  // Cached closed-loop status signals — created once, sampled in the background
   private final StatusSignal<Double> closedLoopReference;
   private final StatusSignal<Double> closedLoopError;
-  private final StatusSignal<Angle> pos;
-  private final StatusSignal<AngularVelocity> Followervelocity;
-  private final StatusSignal<Current> FollowerstatorCurrent;
-  private final StatusSignal<Current> FollowersupplyCurrent;
-  private final StatusSignal<Voltage> FollowermotorVoltage;
-  private final StatusSignal<Temperature> FollowerdeviceTemp;
-  private final StatusSignal<Double> FollowerclosedLoopReference;
-  private final StatusSignal<Double> FollowerclosedLoopError;
-  private final StatusSignal<Angle> Followerpos;
 
   public intakeRollerIOReal() {
     intakeRollerLeader = new TalonFX(HardwareConstants.CanIds.INTAKE_ROLLER_LEADER_ID, CAN_BUS);
     intakeRollerFollower = new TalonFX(HardwareConstants.CanIds.INTAKE_ROLLER_FOLLOWER_ID, CAN_BUS);
+    control = new ControlWriteFilter("IntakeRoller", intakeRollerLeader);
 
     // Apply configuration to BOTH motors BEFORE setting up the follower link.
     // Applying a TalonFXConfiguration can reset control state, so the follower
     // setControl() call must come after all config applies are done.
     configureintakeRollerMotor();
 
-    intakeRollerFollower.setControl(
-        new Follower(
-            HardwareConstants.CanIds.INTAKE_ROLLER_LEADER_ID, MotorAlignmentValue.Opposed));
+    CANConfigPipeline.whenConfigured(
+        () ->
+            intakeRollerFollower.setControl(
+                new Follower(
+                    HardwareConstants.CanIds.INTAKE_ROLLER_LEADER_ID,
+                    MotorAlignmentValue.Opposed)));
 
     // Cache signal references once in the constructor
-    velocity = intakeRollerLeader.getVelocity();
-    statorCurrent = intakeRollerLeader.getStatorCurrent();
-    supplyCurrent = intakeRollerLeader.getSupplyCurrent();
-    motorVoltage = intakeRollerLeader.getMotorVoltage();
-    deviceTemp = intakeRollerLeader.getDeviceTemp();
+    motors = new MotorGroupSignals(intakeRollerLeader, intakeRollerFollower);
     closedLoopReference = intakeRollerLeader.getClosedLoopReference();
     closedLoopError = intakeRollerLeader.getClosedLoopError();
-    pos = intakeRollerLeader.getPosition();
-    Followervelocity = intakeRollerFollower.getVelocity();
-    FollowerstatorCurrent = intakeRollerFollower.getStatorCurrent();
-    FollowersupplyCurrent = intakeRollerFollower.getSupplyCurrent();
-    FollowermotorVoltage = intakeRollerFollower.getMotorVoltage();
-    FollowerdeviceTemp = intakeRollerFollower.getDeviceTemp();
-    FollowerclosedLoopReference = intakeRollerFollower.getClosedLoopReference();
-    FollowerclosedLoopError = intakeRollerFollower.getClosedLoopError();
-    Followerpos = intakeRollerFollower.getPosition();
-
-    // 50Hz for signals we need every loop (velocity, voltage, current, closed-loop reference)
-    BaseStatusSignal.setUpdateFrequencyForAll(
-        50.0, velocity, statorCurrent, supplyCurrent, motorVoltage, closedLoopReference);
-
-    // 10Hz for diagnostic-only signals (temperature, closed-loop error)
-    BaseStatusSignal.setUpdateFrequencyForAll(10.0, deviceTemp, closedLoopError);
+
+    // Signals we need every loop (velocity, voltage, current, closed-loop reference);
+    // SignalRatePolicy slows these while disabled
+    SignalRatePolicy.configure(
+        SignalRates.CONTROL,
+        motors.velocity(0),
+        motors.statorCurrent(0),
+        motors.supplyCurrent(0),
+        motors.motorVoltage(0),
+        closedLoopReference);
+
+    // The leader's position and the rest of the follower's signals are only logged
+    SignalRatePolicy.configure(SignalRates.TELEMETRY, motors.telemetry(1));
+    SignalRatePolicy.configure(SignalRates.TELEMETRY, motors.position(0), motors.statorCurrent(1));
+
+    // Diagnostic-only signals (temperature, closed-loop error)
+    SignalRatePolicy.configure(SignalRates.DIAGNOSTIC, closedLoopError);
+    SignalRatePolicy.configure(SignalRates.DIAGNOSTIC, motors.temperatures());
 
     // Stop sending signals we didn't register — reduces CAN bus traffic
     intakeRollerLeader.optimizeBusUtilization();
     intakeRollerFollower.optimizeBusUtilization();
+
+    // Sampled in the background; updateInputs copies the latest values (see MechanismSampleThread)
+    motors.sampleInBackground("IntakeRoller/Motors", CAN_BUS);
+    samples =
+        MechanismSampleThread.getInstance()
+            .register("IntakeRoller", CAN_BUS, closedLoopReference, closedLoopError);
   }
 
   private void configureintakeRollerMotor() {
@@ -124,62 +136,47 @@ public class intakeRollerIOReal implements intakeRollerIO {
     limits.StatorCurrentLimit = intakeRollerConstants.CurrentLimits.INTAKE_ROLLER_MAIN_STATOR_AMP;
     limits.StatorCurrentLimitEnable = true;
 
-    intakeRollerLeader.getConfigurator().apply(config);
-    intakeRollerLeader.getConfigurator().apply(limits);
-    intakeRollerFollower.getConfigurator().apply(config);
-    intakeRollerFollower.getConfigurator().apply(limits);
+    config.CurrentLimits = limits;
+    CANConfigPipeline.apply("IntakeRoller/Leader", CAN_BUS, intakeRollerLeader, config);
+    CANConfigPipeline.apply("IntakeRoller/Follower", CAN_BUS, intakeRollerFollower, config);
+    currentLimiters =
+        new CurrentLimiter[] {
+          new CurrentLimiter(intakeRollerLeader, limits),
+          new CurrentLimiter(intakeRollerFollower, limits)
+        };
   }
 
   @Override
   public void updateInputs(intakeRollerIOInputs inputs) {
-    // One batched CAN read for all signals — much faster than individual reads
-    BaseStatusSignal.refreshAll(
-        velocity,
-        statorCurrent,
-        supplyCurrent,
-        motorVoltage,
-        deviceTemp,
-        closedLoopReference,
-        closedLoopError,
-        pos,
-        Followervelocity,
-        FollowerstatorCurrent,
-        FollowersupplyCurrent,
-        FollowermotorVoltage,
-        FollowerdeviceTemp,
-        FollowerclosedLoopReference,
-        FollowerclosedLoopError,
-        Followerpos);
-
-    // Read from cache — no additional CAN traffic
-    inputs.intakeRollerVelocity = velocity.getValue();
-    inputs.intakeRollerStatorCurrent = statorCurrent.getValue();
-    inputs.intakeRollerSupplyCurrent = supplyCurrent.getValue();
-    inputs.intakeRollerVoltage = motorVoltage.getValue();
-    inputs.intakeRollerTemperature = deviceTemp.getValue();
-    inputs.rollerClosedLoopReference =
-        RotationsPerSecond.of(closedLoopReference.getValueAsDouble());
-    inputs.rollerClosedLoopError = RotationsPerSecond.of(closedLoopError.getValueAsDouble());
-    inputs.rollerPos = pos.getValue();
-    inputs.intakeRollerFollowerVelocity = Followervelocity.getValue();
-    inputs.intakeRollerFollowerStatorCurrent = FollowerstatorCurrent.getValue();
-    inputs.intakeRollerFollowerSupplyCurrent = FollowersupplyCurrent.getValue();
-    inputs.intakeRollerFollowerVoltage = FollowermotorVoltage.getValue();
-    inputs.intakeRollerFollowerTemperature = FollowerdeviceTemp.getValue();
-    inputs.rollerFollowerClosedLoopReference =
-        RotationsPerSecond.of(FollowerclosedLoopReference.getValueAsDouble());
-    inputs.rollerFollowerClosedLoopError =
-        RotationsPerSecond.of(FollowerclosedLoopError.getValueAsDouble());
-    inputs.rollerFollowerPos = Followerpos.getValue();
+    // Copy the latest background sample — no CAN traffic or JNI calls here
+    samples.update();
+    inputs.rollerClosedLoopReferenceRps = samples.get(closedLoopReference);
+    inputs.rollerClosedLoopErrorRps = samples.get(closedLoopError);
+  }
+
+  @Override
+  public void updateMotorInputs(MotorGroupInputs inputs) {
+    motors.update(inputs);
   }
 
   @Override
   public void setRollerVoltage(Voltage volts) {
-    intakeRollerLeader.setControl(voltageRequest.withOutput(volts));
+    control.setControl(
+        voltageRequest.withOutput(volts), volts.in(Volts), ControlDedup.OUTPUT_DEADBAND);
   }
 
   @Override
   public void setRollerVelocity(AngularVelocity rollerVelo) {
-    intakeRollerLeader.setControl(torqueRequest.withVelocity(rollerVelo));
+    control.setControl(
+        torqueRequest.withVelocity(rollerVelo),
+        rollerVelo.in(RotationsPerSecond),
+        ControlDedup.VELOCITY_DEADBAND_RPS);
+  }
+
+  @Override
+  public void setSupplyCurrentLimit(double amps) {
+    for (CurrentLimiter limiter : currentLimiters) {
+      limiter.setSupplyCurrentLimit(amps);
+    }
   }
 }
@@ -1,6 +1,5 @@
 package frc.robot.subsystems.intakeRoller.io;
 
-import static edu.wpi.first.units.Units.RotationsPerSecond;
 import static edu.wpi.first.units.Units.Volts;
 
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
@@ -20,6 +19,8 @@ import edu.wpi.first.wpilibj.simulation.DCMotorSim;
 import edu.wpi.first.wpilibj.simulation.RoboRioSim;
 import frc.robot.HardwareConstants;
 import frc.robot.subsystems.intakeRoller.intakeRollerConstants;
+import frc.robot.util.MotorGroupInputs;
+import frc.robot.util.MotorGroupSignals;
 
 /**
  * Simulated implementation of {@link intakeRollerIO} using CTRE's TalonFXSimState.
@@ -34,6 +35,9 @@ public class intakeRollerIOSim implements intakeRollerIO {
   private final TalonFX intakeRollerLeader;
   private final TalonFX intakeRollerFollower;
 
+  // Per-motor signals, refreshed on the main thread in sim
+  private final MotorGroupSignals motors;
+
   // Sim state for the leader motor
   private final TalonFXSimState leaderSimState;
 
@@ -56,6 +60,8 @@ public class intakeRollerIOSim implements intakeRollerIO {
 
     configureMotor();
 
+    motors = new MotorGroupSignals(intakeRollerLeader, intakeRollerFollower);
+
     leaderSimState = intakeRollerLeader.getSimState();
 
     // Physics sim uses 2 motors combined (leader + follower)
@@ -114,30 +120,14 @@ public class intakeRollerIOSim implements intakeRollerIO {
         BatterySim.calculateDefaultBatteryLoadedVoltage(rollerPhysicsSim.getCurrentDrawAmps()));
 
     // 6. Read values from the TalonFX status signals (just like on real hardware)
-    // Leader motor
-    inputs.intakeRollerVelocity =
-        RotationsPerSecond.of(intakeRollerLeader.getVelocity().getValueAsDouble());
-    inputs.intakeRollerVoltage = intakeRollerLeader.getMotorVoltage().getValue();
-    inputs.intakeRollerStatorCurrent = intakeRollerLeader.getStatorCurrent().getValue();
-    inputs.intakeRollerSupplyCurrent = intakeRollerLeader.getSupplyCurrent().getValue();
-    inputs.intakeRollerTemperature = intakeRollerLeader.getDeviceTemp().getValue();
-    inputs.rollerClosedLoopReference =
-        RotationsPerSecond.of(intakeRollerLeader.getClosedLoopReference().getValueAsDouble());
-    inputs.rollerClosedLoopError =
-        RotationsPerSecond.of(intakeRollerLeader.getClosedLoopError().getValueAsDouble());
-    inputs.rollerPos = intakeRollerLeader.getPosition().getValue();
-
-    // Follower motor
-    inputs.intakeRollerFollowerVelocity = intakeRollerFollower.getVelocity().getValue();
-    inputs.intakeRollerFollowerVoltage = intakeRollerFollower.getMotorVoltage().getValue();
-    inputs.intakeRollerFollowerStatorCurrent = intakeRollerFollower.getStatorCurrent().getValue();
-    inputs.intakeRollerFollowerSupplyCurrent = intakeRollerFollower.getSupplyCurrent().getValue();
-    inputs.intakeRollerFollowerTemperature = intakeRollerFollower.getDeviceTemp().getValue();
-    inputs.rollerFollowerClosedLoopReference =
-        RotationsPerSecond.of(intakeRollerFollower.getClosedLoopReference().getValueAsDouble());
-    inputs.rollerFollowerClosedLoopError =
-        RotationsPerSecond.of(intakeRollerFollower.getClosedLoopError().getValueAsDouble());
-    inputs.rollerFollowerPos = intakeRollerFollower.getPosition().getValue();
+    inputs.rollerClosedLoopReferenceRps =
+        intakeRollerLeader.getClosedLoopReference().getValueAsDouble();
+    inputs.rollerClosedLoopErrorRps = intakeRollerLeader.getClosedLoopError().getValueAsDouble();
+  }
+
+  @Override
+  public void updateMotorInputs(MotorGroupInputs inputs) {
+    motors.update(inputs);
   }
 
   @Override
@@ -1,6 +1,5 @@
 package frc.robot.subsystems.lowerFeeder;
 
-import edu.wpi.first.units.Units;
 import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
@@ -13,6 +12,7 @@ public class LowerFeeder extends SubsystemBase {
 
   private final LowerFeederIO io;
   private final LowerFeederIOInputsAutoLogged inputs;
+  private final int batteryChannel = Robot.batteryLogger.registerChannel("Feeder/Lower", false);
 
   public LowerFeeder(LowerFeederIO io) {
     this.io = io;
@@ -25,10 +25,7 @@ public class LowerFeeder extends SubsystemBase {
     Logger.processInputs("Feeder/Lower", inputs);
 
     // Report lower feeder current usage to the battery logger
-    Robot.batteryLogger.reportCurrentUsage(
-        "Feeder/Lower",
-        false,
-        inputs.lowerFeederSupplyAmps != null ? inputs.lowerFeederSupplyAmps.in(Units.Amps) : 0.0);
+    Robot.batteryLogger.reportCurrentUsage(batteryChannel, inputs.lowerFeederSupplyAmps);
   }
 
   public void setLowerFeederVoltage(Voltage volts) {
@@ -2,8 +2,8 @@ package frc.robot.subsystems.lowerFeeder.io;
 
 import static edu.wpi.first.units.Units.RotationsPerSecond;
 import static edu.wpi.first.units.Units.Second;
+import static edu.wpi.first.units.Units.Volts;
 
-import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.CANBus;
 import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
@@ -18,7 +18,13 @@ import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.Temperature;
 import edu.wpi.first.units.measure.Voltage;
 import frc.robot.HardwareConstants;
+import frc.robot.HardwareConstants.ControlDedup;
+import frc.robot.HardwareConstants.SignalRates;
 import frc.robot.subsystems.lowerFeeder.LowerFeederConstants;
+import frc.robot.util.CANConfigPipeline;
+import frc.robot.util.ControlWriteFilter;
+import frc.robot.util.MechanismSampleThread;
+import frc.robot.util.SignalRatePolicy;
 
 public class LowerFeederIOReal implements LowerFeederIO {
 
@@ -30,7 +36,13 @@ public class LowerFeederIOReal implements LowerFeederIO {
   private final MotionMagicVelocityTorqueCurrentFOC torqueRequest =
       new MotionMagicVelocityTorqueCurrentFOC(0);
 
-  // Cached status signals — created once, refreshed in batch each loop
+  // Skips setControl calls that repeat the last request (see ControlWriteFilter)
+  private final ControlWriteFilter control;
+
+  // Latest values from MechanismSampleThread
+  private final MechanismSampleThread.Samples samples;
+
+  // Cached status signals — created once, sampled in the background
   private final StatusSignal<AngularVelocity> velocity;
   private final StatusSignal<Current> statorCurrent;
   private final StatusSignal<Current> supplyCurrent;
@@ -42,6 +54,7 @@ public class LowerFeederIOReal implements LowerFeederIO {
 
   public LowerFeederIOReal() {
     lowerFeederMotor = new TalonFX(HardwareConstants.CanIds.LOWER_FEEDER_MOTOR_ID, CAN_BUS);
+    control = new ControlWriteFilter("LowerFeeder", lowerFeederMotor);
     configureFeederMotor();
 
     // Cache signal references once in the constructor
@@ -54,15 +67,36 @@ public class LowerFeederIOReal implements LowerFeederIO {
     closedLoopError = lowerFeederMotor.getClosedLoopError();
     pos = lowerFeederMotor.getPosition();
 
-    // 50Hz for signals we need every loop (velocity, voltage, current, closed-loop reference)
-    BaseStatusSignal.setUpdateFrequencyForAll(
-        50.0, velocity, statorCurrent, supplyCurrent, motorVoltage, closedLoopReference);
+    // Signals we need every loop (velocity, voltage, current, closed-loop reference);
+    // SignalRatePolicy slows these while disabled
+    SignalRatePolicy.configure(
+        SignalRates.CONTROL,
+        velocity,
+        statorCurrent,
+        supplyCurrent,
+        motorVoltage,
+        closedLoopReference);
 
-    // 10Hz for diagnostic-only signals (temperature, closed-loop error)
-    BaseStatusSignal.setUpdateFrequencyForAll(10.0, deviceTemp, closedLoopError);
+    // Diagnostic-only signals (temperature, closed-loop error)
+    SignalRatePolicy.configure(SignalRates.DIAGNOSTIC, deviceTemp, closedLoopError);
 
     // Stop sending signals we didn't register — reduces CAN bus traffic
     lowerFeederMotor.optimizeBusUtilization();
+
+    // Sampled in the background; updateInputs copies the latest values (see MechanismSampleThread)
+    samples =
+        MechanismSampleThread.getInstance()
+            .register(
+                "LowerFeeder",
+                CAN_BUS,
+                velocity,
+                statorCurrent,
+                supplyCurrent,
+                motorVoltage,
+                deviceTemp,
+                closedLoopReference,
+                closedLoopError,
+                pos);
   }
 
   private void configureFeederMotor() {
@@ -95,42 +129,35 @@ public class LowerFeederIOReal implements LowerFeederIO {
     limits.StatorCurrentLimit = LowerFeederConstants.CurrentLimits.LOWER_FEEDER_MAIN_STATOR_AMP;
     limits.StatorCurrentLimitEnable = true;
 
-    lowerFeederMotor.getConfigurator().apply(config);
-    lowerFeederMotor.getConfigurator().apply(limits);
+    config.CurrentLimits = limits;
+    CANConfigPipeline.apply("LowerFeeder", CAN_BUS, lowerFeederMotor, config);
   }
 
   @Override
   public void updateInputs(LowerFeederIOInputs inputs) {
-    // One batched CAN read for all signals — much faster than individual reads
-    BaseStatusSignal.refreshAll(
-        velocity,
-        statorCurrent,
-        supplyCurrent,
-        motorVoltage,
-        deviceTemp,
-        closedLoopReference,
-        closedLoopError,
-        pos);
-
-    // Read from cache — no additional CAN traffic
-    inputs.lowerFeederMotorVelocity = velocity.getValue();
-    inputs.lowerFeederStatorAmps = statorCurrent.getValue();
-    inputs.lowerFeederSupplyAmps = supplyCurrent.getValue();
-    inputs.lowerFeederVoltage = motorVoltage.getValue();
-    inputs.lowerFeederMotorTemperature = deviceTemp.getValue();
-    inputs.lowerFeederClosedLoopReference =
-        RotationsPerSecond.of(closedLoopReference.getValueAsDouble());
-    inputs.lowerFeederClosedLoopError = RotationsPerSecond.of(closedLoopError.getValueAsDouble());
-    inputs.lowerFeederPos = pos.getValue();
+    // Copy the latest background sample — no CAN traffic or JNI calls here
+    samples.update();
+    inputs.lowerFeederMotorVelocityRps = samples.get(velocity);
+    inputs.lowerFeederStatorAmps = samples.get(statorCurrent);
+    inputs.lowerFeederSupplyAmps = samples.get(supplyCurrent);
+    inputs.lowerFeederVolts = samples.get(motorVoltage);
+    inputs.lowerFeederMotorTemperatureCelsius = samples.get(deviceTemp);
+    inputs.lowerFeederClosedLoopReferenceRps = samples.get(closedLoopReference);
+    inputs.lowerFeederClosedLoopErrorRps = samples.get(closedLoopError);
+    inputs.lowerFeederPosRotations = samples.get(pos);
   }
 
   @Override
   public void setLowerFeederVoltage(Voltage volts) {
-    lowerFeederMotor.setControl(voltageRequest.withOutput(volts));
+    control.setControl(
+        voltageRequest.withOutput(volts), volts.in(Volts), ControlDedup.OUTPUT_DEADBAND);
   }
 
   @Override
   public void setLowerFeederVelocity(AngularVelocity feederVelo) {
-    lowerFeederMotor.setControl(torqueRequest.withVelocity(feederVelo));
+    control.setControl(
+        torqueRequest.withVelocity(feederVelo),
+        feederVelo.in(RotationsPerSecond),
+        ControlDedup.VELOCITY_DEADBAND_RPS);
   }
 }
@@ -1,6 +1,5 @@
 package frc.robot.subsystems.lowerFeeder.io;
 
-import static edu.wpi.first.units.Units.RotationsPerSecond;
 import static edu.wpi.first.units.Units.Volts;
 
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
@@ -114,17 +113,15 @@ public class LowerFeederIOSim implements LowerFeederIO {
             lowerFeederPhysicsSim.getCurrentDrawAmps()));
 
     // 6. Read values from the TalonFX status signals (just like on real hardware)
-    inputs.lowerFeederMotorVelocity =
-        RotationsPerSecond.of(lowerFeederMotor.getVelocity().getValueAsDouble());
-    inputs.lowerFeederVoltage = lowerFeederMotor.getMotorVoltage().getValue();
-    inputs.lowerFeederStatorAmps = lowerFeederMotor.getStatorCurrent().getValue();
-    inputs.lowerFeederSupplyAmps = lowerFeederMotor.getSupplyCurrent().getValue();
-    inputs.lowerFeederMotorTemperature = lowerFeederMotor.getDeviceTemp().getValue();
-    inputs.lowerFeederClosedLoopReference =
-        RotationsPerSecond.of(lowerFeederMotor.getClosedLoopReference().getValueAsDouble());
-    inputs.lowerFeederClosedLoopError =
-        RotationsPerSecond.of(lowerFeederMotor.getClosedLoopError().getValueAsDouble());
-    inputs.lowerFeederPos = lowerFeederMotor.getPosition().getValue();
+    inputs.lowerFeederMotorVelocityRps = lowerFeederMotor.getVelocity().getValueAsDouble();
+    inputs.lowerFeederVolts = lowerFeederMotor.getMotorVoltage().getValueAsDouble();
+    inputs.lowerFeederStatorAmps = lowerFeederMotor.getStatorCurrent().getValueAsDouble();
+    inputs.lowerFeederSupplyAmps = lowerFeederMotor.getSupplyCurrent().getValueAsDouble();
+    inputs.lowerFeederMotorTemperatureCelsius = lowerFeederMotor.getDeviceTemp().getValueAsDouble();
+    inputs.lowerFeederClosedLoopReferenceRps =
+        lowerFeederMotor.getClosedLoopReference().getValueAsDouble();
+    inputs.lowerFeederClosedLoopErrorRps = lowerFeederMotor.getClosedLoopError().getValueAsDouble();
+    inputs.lowerFeederPosRotations = lowerFeederMotor.getPosition().getValueAsDouble();
   }
 
   @Override
@@ -1,17 +1,19 @@
 package frc.robot.subsystems.prestage;
 
-import edu.wpi.first.units.Units;
 import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.Robot;
 import frc.robot.subsystems.prestage.io.PrestageIO;
 import frc.robot.subsystems.prestage.io.PrestageIOInputsAutoLogged;
+import frc.robot.util.MotorGroupInputs;
 import org.littletonrobotics.junction.Logger;
 
 public class Prestage extends SubsystemBase {
   private final PrestageIO io;
   private final PrestageIOInputsAutoLogged inputs;
+  private final MotorGroupInputs motors = new MotorGroupInputs();
+  private final int batteryChannel = Robot.batteryLogger.registerChannel("Prestage", false);
 
   public Prestage(PrestageIO io) {
     this.io = io;
@@ -21,19 +23,12 @@ public class Prestage extends SubsystemBase {
   @Override
   public void periodic() {
     io.updateInputs(inputs);
+    io.updateMotorInputs(motors);
     Logger.processInputs("Prestage", inputs);
+    Logger.processInputs("Prestage/Motors", motors);
 
     // Report prestage current usage to the battery logger (left + right motors)
-    Robot.batteryLogger.reportCurrentUsage(
-        "Prestage/Left",
-        false,
-        inputs.prestageLeftSupplyAmps != null ? inputs.prestageLeftSupplyAmps.in(Units.Amps) : 0.0);
-    Robot.batteryLogger.reportCurrentUsage(
-        "Prestage/Right",
-        false,
-        inputs.prestageRightSupplyAmps != null
-            ? inputs.prestageRightSupplyAmps.in(Units.Amps)
-            : 0.0);
+    Robot.batteryLogger.reportCurrentUsage(batteryChannel, motors.supplyCurrentAmps);
   }
 
   public void setPrestageVoltage(Voltage volts) {
@@ -2,8 +2,8 @@ package frc.robot.subsystems.prestage.io;
 
 import static edu.wpi.first.units.Units.RotationsPerSecond;
 import static edu.wpi.first.units.Units.Second;
+import static edu.wpi.first.units.Units.Volts;
 
-import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.CANBus;
 import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
@@ -14,13 +14,18 @@ import com.ctre.phoenix6.controls.VoltageOut;
 import com.ctre.phoenix6.hardware.TalonFX;
 import com.ctre.phoenix6.signals.MotorAlignmentValue;
 import com.ctre.phoenix6.signals.NeutralModeValue;
-import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularVelocity;
-import edu.wpi.first.units.measure.Current;
-import edu.wpi.first.units.measure.Temperature;
 import edu.wpi.first.units.measure.Voltage;
 import frc.robot.HardwareConstants;
+import frc.robot.HardwareConstants.ControlDedup;
+import frc.robot.HardwareConstants.SignalRates;
 import frc.robot.subsystems.prestage.PrestageConstants;
+import frc.robot.util.CANConfigPipeline;
+import frc.robot.util.ControlWriteFilter;
+import frc.robot.util.MechanismSampleThread;
+import frc.robot.util.MotorGroupInputs;
+import frc.robot.util.MotorGroupSignals;
+import frc.robot.util.SignalRatePolicy;
 
 public class PrestageIOReal implements PrestageIO {
 
@@ -33,76 +38,77 @@ public class PrestageIOReal implements PrestageIO {
   private final MotionMagicVelocityTorqueCurrentFOC torqueRequest =
       new MotionMagicVelocityTorqueCurrentFOC(0);
 
-  // Cached status signals for LEFT motor
-  private final StatusSignal<AngularVelocity> leftVelocity;
-  private final StatusSignal<Current> leftStatorCurrent;
-  private final StatusSignal<Current> leftSupplyCurrent;
-  private final StatusSignal<Voltage> leftMotorVoltage;
-  private final StatusSignal<Temperature> leftDeviceTemp;
+  // Skips setControl calls that repeat the last request (see ControlWriteFilter)
+  private final ControlWriteFilter control;
+
+  // Latest closed-loop values from MechanismSampleThread
+  private final MechanismSampleThread.Samples samples;
+
+  // Per-motor signals, left (leader) first (see MotorGroupSignals)
+  private final MotorGroupSignals motors;
+
+  // Cached closed-loop status signals for each motor
   private final StatusSignal<Double> leftClosedLoopReference;
   private final StatusSignal<Double> leftClosedLoopError;
-  private final StatusSignal<Angle> leftPos;
-
-  // Cached status signals for RIGHT motor
-  private final StatusSignal<AngularVelocity> rightVelocity;
-  private final StatusSignal<Current> rightStatorCurrent;
-  private final StatusSignal<Current> rightSupplyCurrent;
-  private final StatusSignal<Voltage> rightMotorVoltage;
-  private final StatusSignal<Temperature> rightDeviceTemp;
   private final StatusSignal<Double> rightClosedLoopReference;
   private final StatusSignal<Double> rightClosedLoopError;
-  private final StatusSignal<Angle> rightPos;
 
   public PrestageIOReal() {
     prestageLeft = new TalonFX(HardwareConstants.CanIds.PRESTAGE_LEADER_ID, CAN_BUS);
     prestageRight = new TalonFX(HardwareConstants.CanIds.PRESTAGE_FOLLOWER_ID, CAN_BUS);
+    control = new ControlWriteFilter("Prestage", prestageLeft);
 
     configurePrestageMotor();
 
-    prestageRight.setControl(
-        new Follower(HardwareConstants.CanIds.PRESTAGE_LEADER_ID, MotorAlignmentValue.Opposed));
+    // Follower link after the configs are applied, since applying one can reset control state
+    CANConfigPipeline.whenConfigured(
+        () ->
+            prestageRight.setControl(
+                new Follower(
+                    HardwareConstants.CanIds.PRESTAGE_LEADER_ID, MotorAlignmentValue.Opposed)));
 
-    // Cache signal references once in the constructor — LEFT motor
-    leftVelocity = prestageLeft.getVelocity();
-    leftStatorCurrent = prestageLeft.getStatorCurrent();
-    leftSupplyCurrent = prestageLeft.getSupplyCurrent();
-    leftMotorVoltage = prestageLeft.getMotorVoltage();
-    leftDeviceTemp = prestageLeft.getDeviceTemp();
+    // Cache signal references once in the constructor
+    motors = new MotorGroupSignals(prestageLeft, prestageRight);
     leftClosedLoopReference = prestageLeft.getClosedLoopReference();
     leftClosedLoopError = prestageLeft.getClosedLoopError();
-    leftPos = prestageLeft.getPosition();
-
-    // Cache signal references once in the constructor — RIGHT motor
-    rightVelocity = prestageRight.getVelocity();
-    rightStatorCurrent = prestageRight.getStatorCurrent();
-    rightSupplyCurrent = prestageRight.getSupplyCurrent();
-    rightMotorVoltage = prestageRight.getMotorVoltage();
-    rightDeviceTemp = prestageRight.getDeviceTemp();
     rightClosedLoopReference = prestageRight.getClosedLoopReference();
     rightClosedLoopError = prestageRight.getClosedLoopError();
-    rightPos = prestageRight.getPosition();
-
-    // 50Hz for signals we need every loop (velocity, voltage, current, closed-loop reference)
-    BaseStatusSignal.setUpdateFrequencyForAll(
-        50.0,
-        leftVelocity,
-        leftStatorCurrent,
-        leftSupplyCurrent,
-        leftMotorVoltage,
-        leftClosedLoopReference,
-        rightVelocity,
-        rightStatorCurrent,
-        rightSupplyCurrent,
-        rightMotorVoltage,
-        rightClosedLoopReference);
-
-    // 10Hz for diagnostic-only signals (temperature, closed-loop error)
-    BaseStatusSignal.setUpdateFrequencyForAll(
-        10.0, leftDeviceTemp, leftClosedLoopError, rightDeviceTemp, rightClosedLoopError);
+
+    // Signals we need every loop (velocity, voltage, current, closed-loop reference);
+    // SignalRatePolicy slows these while disabled
+    for (int i = 0; i < motors.size(); i++) {
+      SignalRatePolicy.configure(
+          SignalRates.CONTROL,
+          motors.velocity(i),
+          motors.statorCurrent(i),
+          motors.supplyCurrent(i),
+          motors.motorVoltage(i));
+    }
+    SignalRatePolicy.configure(
+        SignalRates.CONTROL, leftClosedLoopReference, rightClosedLoopReference);
+
+    // Positions are only logged
+    SignalRatePolicy.configure(SignalRates.TELEMETRY, motors.position(0), motors.position(1));
+
+    // Diagnostic-only signals (temperature, closed-loop error)
+    SignalRatePolicy.configure(SignalRates.DIAGNOSTIC, leftClosedLoopError, rightClosedLoopError);
+    SignalRatePolicy.configure(SignalRates.DIAGNOSTIC, motors.temperatures());
 
     // Stop sending signals we didn't register — reduces CAN bus traffic
     prestageLeft.optimizeBusUtilization();
     prestageRight.optimizeBusUtilization();
+
+    // Sampled in the background; updateInputs copies the latest values (see MechanismSampleThread)
+    motors.sampleInBackground("Prestage/Motors", CAN_BUS);
+    samples =
+        MechanismSampleThread.getInstance()
+            .register(
+                "Prestage",
+                CAN_BUS,
+                leftClosedLoopReference,
+                leftClosedLoopError,
+                rightClosedLoopReference,
+                rightClosedLoopError);
   }
 
   private void configurePrestageMotor() {
@@ -134,65 +140,37 @@ public class PrestageIOReal implements PrestageIO {
     limits.StatorCurrentLimit = PrestageConstants.CurrentLimits.PRESTAGE_MAIN_STATOR_AMP;
     limits.StatorCurrentLimitEnable = true;
 
-    prestageLeft.getConfigurator().apply(config);
-    prestageLeft.getConfigurator().apply(limits);
-    prestageRight.getConfigurator().apply(config);
-    prestageRight.getConfigurator().apply(limits);
+    config.CurrentLimits = limits;
+    CANConfigPipeline.apply("Prestage/Left", CAN_BUS, prestageLeft, config);
+    CANConfigPipeline.apply("Prestage/Right", CAN_BUS, prestageRight, config);
   }
 
   @Override
   public void updateInputs(PrestageIOInputs inputs) {
-    // One batched CAN read for ALL signals on BOTH motors
-    BaseStatusSignal.refreshAll(
-        leftVelocity,
-        leftStatorCurrent,
-        leftSupplyCurrent,
-        leftMotorVoltage,
-        leftDeviceTemp,
-        leftClosedLoopReference,
-        leftClosedLoopError,
-        leftPos,
-        rightVelocity,
-        rightStatorCurrent,
-        rightSupplyCurrent,
-        rightMotorVoltage,
-        rightDeviceTemp,
-        rightClosedLoopReference,
-        rightClosedLoopError,
-        rightPos);
-
-    // Left motor — read from cache
-    inputs.prestageLeftVelocity = leftVelocity.getValue();
-    inputs.prestageLeftStatorAmps = leftStatorCurrent.getValue();
-    inputs.prestageLeftSupplyAmps = leftSupplyCurrent.getValue();
-    inputs.prestageLeftVoltage = leftMotorVoltage.getValue();
-    inputs.prestageLeftTemperature = leftDeviceTemp.getValue();
-    inputs.prestageLeftClosedLoopReference =
-        RotationsPerSecond.of(leftClosedLoopReference.getValueAsDouble());
-    inputs.prestageLeftClosedLoopError =
-        RotationsPerSecond.of(leftClosedLoopError.getValueAsDouble());
-    inputs.prestageLeftPos = leftPos.getValue();
-
-    // Right motor — read from cache (BUG FIX: was previously reading left motor signals)
-    inputs.prestageRightVelocity = rightVelocity.getValue();
-    inputs.prestageRightStatorAmps = rightStatorCurrent.getValue();
-    inputs.prestageRightSupplyAmps = rightSupplyCurrent.getValue();
-    inputs.prestageRightVoltage = rightMotorVoltage.getValue();
-    inputs.prestageRightTemperature = rightDeviceTemp.getValue();
-    inputs.prestageRightClosedLoopReference =
-        RotationsPerSecond.of(rightClosedLoopReference.getValueAsDouble());
-    inputs.prestageRightClosedLoopError =
-        RotationsPerSecond.of(rightClosedLoopError.getValueAsDouble());
-    inputs.prestageRightPos = rightPos.getValue();
+    // Copy the latest background sample — no CAN traffic or JNI calls here
+    samples.update();
+    inputs.prestageLeftClosedLoopReferenceRps = samples.get(leftClosedLoopReference);
+    inputs.prestageLeftClosedLoopErrorRps = samples.get(leftClosedLoopError);
+    inputs.prestageRightClosedLoopReferenceRps = samples.get(rightClosedLoopReference);
+    inputs.prestageRightClosedLoopErrorRps = samples.get(rightClosedLoopError);
+  }
+
+  @Override
+  public void updateMotorInputs(MotorGroupInputs inputs) {
+    motors.update(inputs);
   }
 
   @Override
   public void setPrestageVoltage(Voltage volts) {
-    prestageLeft.setControl(voltageRequest.withOutput(volts));
+    control.setControl(
+        voltageRequest.withOutput(volts), volts.in(Volts), ControlDedup.OUTPUT_DEADBAND);
   }
 
   @Override
   public void setPrestageVelocity(AngularVelocity prestageVelo) {
-    prestageLeft.setControl(torqueRequest.withVelocity(prestageVelo));
+    control.setControl(
+        torqueRequest.withVelocity(prestageVelo),
+        prestageVelo.in(RotationsPerSecond),
+        ControlDedup.VELOCITY_DEADBAND_RPS);
   }
 }
@@ -1,6 +1,5 @@
 package frc.robot.subsystems.prestage.io;
 
-import static edu.wpi.first.units.Units.RotationsPerSecond;
 import static edu.wpi.first.units.Units.Volts;
 
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
@@ -18,6 +17,8 @@ import edu.wpi.first.wpilibj.simulation.DCMotorSim;
 import edu.wpi.first.wpilibj.simulation.RoboRioSim;
 import frc.robot.HardwareConstants;
 import frc.robot.subsystems.prestage.PrestageConstants;
+import frc.robot.util.MotorGroupInputs;
+import frc.robot.util.MotorGroupSignals;
 
 /**
  * Simulated implementation of {@link PrestageIO} using CTRE's TalonFXSimState.
@@ -36,6 +37,9 @@ public class PrestageIOSim implements PrestageIO {
   private final TalonFXSimState rightSimState;
   private final DCMotorSim rightPhysicsSim;
 
+  // Per-motor signals, refreshed on the main thread in sim
+  private final MotorGroupSignals motors;
+
   // Control requests (reused to avoid allocations)
   private final VoltageOut voltageRequest = new VoltageOut(0);
   private final MotionMagicVelocityTorqueCurrentFOC velocityRequest =
@@ -47,6 +51,8 @@ public class PrestageIOSim implements PrestageIO {
 
     configureMotors();
 
+    motors = new MotorGroupSignals(prestageLeft, prestageRight);
+
     leftSimState = prestageLeft.getSimState();
     rightSimState = prestageRight.getSimState();
 
@@ -136,31 +142,18 @@ public class PrestageIOSim implements PrestageIO {
         BatterySim.calculateDefaultBatteryLoadedVoltage(
             leftPhysicsSim.getCurrentDrawAmps() + rightPhysicsSim.getCurrentDrawAmps()));
 
-    // Read left motor values from TalonFX status signals
-    inputs.prestageLeftVelocity =
-        RotationsPerSecond.of(prestageLeft.getVelocity().getValueAsDouble());
-    inputs.prestageLeftVoltage = prestageLeft.getMotorVoltage().getValue();
-    inputs.prestageLeftStatorAmps = prestageLeft.getStatorCurrent().getValue();
-    inputs.prestageLeftSupplyAmps = prestageLeft.getSupplyCurrent().getValue();
-    inputs.prestageLeftTemperature = prestageLeft.getDeviceTemp().getValue();
-    inputs.prestageLeftClosedLoopReference =
-        RotationsPerSecond.of(prestageLeft.getClosedLoopReference().getValueAsDouble());
-    inputs.prestageLeftClosedLoopError =
-        RotationsPerSecond.of(prestageLeft.getClosedLoopError().getValueAsDouble());
-
-    // Read right motor values from TalonFX status signals
-    inputs.prestageRightVelocity =
-        RotationsPerSecond.of(prestageRight.getVelocity().getValueAsDouble());
-    inputs.prestageRightVoltage = prestageRight.getMotorVoltage().getValue();
-    inputs.prestageRightStatorAmps = prestageRight.getStatorCurrent().getValue();
-    inputs.prestageRightSupplyAmps = prestageRight.getSupplyCurrent().getValue();
-    inputs.prestageRightTemperature = prestageRight.getDeviceTemp().getValue();
-    inputs.prestageRightClosedLoopReference =
-        RotationsPerSecond.of(prestageRight.getClosedLoopReference().getValueAsDouble());
-    inputs.prestageRightClosedLoopError =
-        RotationsPerSecond.of(prestageRight.getClosedLoopError().getValueAsDouble());
-    inputs.prestageLeftPos = prestageLeft.getPosition().getValue();
-    inputs.prestageRightPos = prestageRight.getPosition().getValue();
+    // Read the closed-loop values from the TalonFX status signals
+    inputs.prestageLeftClosedLoopReferenceRps =
+        prestageLeft.getClosedLoopReference().getValueAsDouble();
+    inputs.prestageLeftClosedLoopErrorRps = prestageLeft.getClosedLoopError().getValueAsDouble();
+    inputs.prestageRightClosedLoopReferenceRps =
+        prestageRight.getClosedLoopReference().getValueAsDouble();
+    inputs.prestageRightClosedLoopErrorRps = prestageRight.getClosedLoopError().getValueAsDouble();
+  }
+
+  @Override
+  public void updateMotorInputs(MotorGroupInputs inputs) {
+    motors.update(inputs);
   }
 
   @Override
@@ -1,22 +1,34 @@
 package frc.robot.subsystems.transport;
 
-import edu.wpi.first.units.Units;
 import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.HardwareConstants.PowerManagement;
 import frc.robot.Robot;
 import frc.robot.subsystems.transport.io.TransportIO;
 import frc.robot.subsystems.transport.io.TransportIOInputsAutoLogged;
+import frc.robot.util.PowerManager;
 import org.littletonrobotics.junction.Logger;
 
 public class Transport extends SubsystemBase {
   private final TransportIO io;
 
   private final TransportIOInputsAutoLogged inputs;
+  private final int batteryChannel = Robot.batteryLogger.registerChannel("Transport", false);
 
   public Transport(TransportIO io) {
     this.io = io;
     this.inputs = new TransportIOInputsAutoLogged();
+
+    // Sheds with the intake: both only move game pieces in
+    Robot.powerManager.register(
+        "Transport",
+        PowerManager.Priority.INTAKE,
+        1,
+        TransportConstants.CurrentLimits.TRANSPORT_MAIN_SUPPLY_AMP,
+        PowerManagement.INTAKE_MIN_SUPPLY_AMPS,
+        () -> inputs.TransportSupplyAmps,
+        io::setSupplyCurrentLimit);
   }
 
   @Override
@@ -25,10 +37,7 @@ public class Transport extends SubsystemBase {
     Logger.processInputs("Transport", inputs);
 
     // Report transport current usage to the battery logger
-    Robot.batteryLogger.reportCurrentUsage(
-        "Transport",
-        false,
-        inputs.TransportSupplyAmps != null ? inputs.TransportSupplyAmps.in(Units.Amps) : 0.0);
+    Robot.batteryLogger.reportCurrentUsage(batteryChannel, inputs.TransportSupplyAmps);
   }
 
   public void setTransportVoltage(Voltage volts) {
@@ -1,15 +1,6 @@
 package frc.robot.subsystems.transport.io;
 
-import static edu.wpi.first.units.Units.Amps;
-import static edu.wpi.first.units.Units.Celsius;
-import static edu.wpi.first.units.Units.Rotations;
-import static edu.wpi.first.units.Units.RotationsPerSecond;
-import static edu.wpi.first.units.Units.Volts;
-
-import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularVelocity;
-import edu.wpi.first.units.measure.Current;
-import edu.wpi.first.units.measure.Temperature;
 import edu.wpi.first.units.measure.Voltage;
 import org.littletonrobotics.junction.AutoLog;
 
@@ -17,14 +8,14 @@ public interface TransportIO {
 
   @AutoLog
   public class TransportIOInputs {
-    public Voltage TransportVoltage = Volts.of(0);
-    public Current TransportStatorAmps = Amps.of(0);
-    public Current TransportSupplyAmps = Amps.of(0);
-    public AngularVelocity TransportMotorVelocity = RotationsPerSecond.of(0);
-    public Temperature TransportMotorTemperature = Celsius.of(0);
-    public AngularVelocity transportClosedLoopReference = RotationsPerSecond.of(0);
-    public AngularVelocity transportClosedLoopError = RotationsPerSecond.of(0);
-    public Angle transportPos = Rotations.of(0);
+    public double TransportVolts;
+    public double TransportStatorAmps;
+    public double TransportSupplyAmps;
+    public double TransportMotorVelocityRps;
+    public double TransportMotorTemperatureCelsius;
+    public double transportClosedLoopReferenceRps;
+    public double transportClosedLoopErrorRps;
+    public double transportPosRotations;
   }
 
   public default void updateInputs(TransportIOInputs inputs) {}
@@ -32,4 +23,7 @@ public interface TransportIO {
   public default void setTransportVoltage(Voltage volts) {}
 
   public default void setTransportVelocity(AngularVelocity transportVelo) {}
+
+  /** Changes the motor's supply current limit (amps). Used by PowerManager. */
+  public default void setSupplyCurrentLimit(double amps) {}
 }
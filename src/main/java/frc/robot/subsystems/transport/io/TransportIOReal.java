@@ -2,8 +2,8 @@ package frc.robot.subsystems.transport.io;
 
 import static edu.wpi.first.units.Units.RotationsPerSecond;
 import static edu.wpi.first.units.Units.Second;
+import static edu.wpi.first.units.Units.Volts;
 
-import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.CANBus;
 import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
@@ -18,7 +18,14 @@ import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.Temperature;
 import edu.wpi.first.units.measure.Voltage;
 import frc.robot.HardwareConstants;
+import frc.robot.HardwareConstants.ControlDedup;
+import frc.robot.HardwareConstants.SignalRates;
 import frc.robot.subsystems.transport.TransportConstants;
+import frc.robot.util.CANConfigPipeline;
+import frc.robot.util.ControlWriteFilter;
+import frc.robot.util.CurrentLimiter;
+import frc.robot.util.MechanismSampleThread;
+import frc.robot.util.SignalRatePolicy;
 
 public class TransportIOReal implements TransportIO {
 
@@ -30,7 +37,16 @@ public class TransportIOReal implements TransportIO {
   private final MotionMagicVelocityTorqueCurrentFOC torqueRequest =
       new MotionMagicVelocityTorqueCurrentFOC(0);
 
-  // Cached status signals — created once, refreshed in batch each loop
+  // Skips setControl calls that repeat the last request (see ControlWriteFilter)
+  private final ControlWriteFilter control;
+
+  // Latest values from MechanismSampleThread
+  private final MechanismSampleThread.Samples samples;
+
+  // Runtime supply limit changes from PowerManager
+  private CurrentLimiter currentLimiter;
+
+  // Cached status signals — created once, sampled in the background
   private final StatusSignal<AngularVelocity> velocity;
   private final StatusSignal<Current> statorCurrent;
   private final StatusSignal<Current> supplyCurrent;
@@ -42,6 +58,7 @@ public class TransportIOReal implements TransportIO {
 
   public TransportIOReal() {
     transportMotor = new TalonFX(HardwareConstants.CanIds.TRANSPORT_MOTOR_ID, CAN_BUS);
+    control = new ControlWriteFilter("Transport", transportMotor);
     configureTransportMotor();
 
     // Cache signal references once in the constructor
@@ -54,15 +71,36 @@ public class TransportIOReal implements TransportIO {
     closedLoopError = transportMotor.getClosedLoopError();
     pos = transportMotor.getPosition();
 
-    // 50Hz for signals we need every loop (velocity, voltage, current)
-    BaseStatusSignal.setUpdateFrequencyForAll(
-        50.0, velocity, statorCurrent, supplyCurrent, motorVoltage, closedLoopReference);
+    // Signals we need every loop (velocity, voltage, current);
+    // SignalRatePolicy slows these while disabled
+    SignalRatePolicy.configure(
+        SignalRates.CONTROL,
+        velocity,
+        statorCurrent,
+        supplyCurrent,
+        motorVoltage,
+        closedLoopReference);
 
-    // 10Hz for diagnostic-only signals (temperature, closed-loop error)
-    BaseStatusSignal.setUpdateFrequencyForAll(10.0, deviceTemp, closedLoopError);
+    // Diagnostic-only signals (temperature, closed-loop error)
+    SignalRatePolicy.configure(SignalRates.DIAGNOSTIC, deviceTemp, closedLoopError);
 
     // Stop sending signals we didn't register — reduces CAN bus traffic
     transportMotor.optimizeBusUtilization();
+
+    // Sampled in the background; updateInputs copies the latest values (see MechanismSampleThread)
+    samples =
+        MechanismSampleThread.getInstance()
+            .register(
+                "Transport",
+                CAN_BUS,
+                velocity,
+                statorCurrent,
+                supplyCurrent,
+                motorVoltage,
+                deviceTemp,
+                closedLoopReference,
+                closedLoopError,
+                pos);
   }
 
   private void configureTransportMotor() {
@@ -95,42 +133,41 @@ public class TransportIOReal implements TransportIO {
     limits.StatorCurrentLimit = TransportConstants.CurrentLimits.TRANSPORT_MAIN_STATOR_AMP;
     limits.StatorCurrentLimitEnable = true;
 
-    transportMotor.getConfigurator().apply(config);
-    transportMotor.getConfigurator().apply(limits);
+    config.CurrentLimits = limits;
+    CANConfigPipeline.apply("Transport", CAN_BUS, transportMotor, config);
+    currentLimiter = new CurrentLimiter(transportMotor, limits);
   }
 
   @Override
   public void updateInputs(TransportIOInputs inputs) {
-    // One batched CAN read for all signals — much faster than individual reads
-    BaseStatusSignal.refreshAll(
-        velocity,
-        statorCurrent,
-        supplyCurrent,
-        motorVoltage,
-        deviceTemp,
-        closedLoopReference,
-        closedLoopError,
-        pos);
-
-    // Read from cache — no additional CAN traffic
-    inputs.TransportMotorVelocity = velocity.getValue();
-    inputs.TransportStatorAmps = statorCurrent.getValue();
-    inputs.TransportSupplyAmps = supplyCurrent.getValue();
-    inputs.TransportVoltage = motorVoltage.getValue();
-    inputs.TransportMotorTemperature = deviceTemp.getValue();
-    inputs.transportClosedLoopReference =
-        RotationsPerSecond.of(closedLoopReference.getValueAsDouble());
-    inputs.transportClosedLoopError = RotationsPerSecond.of(closedLoopError.getValueAsDouble());
-    inputs.transportPos = pos.getValue();
+    // Copy the latest background sample — no CAN traffic or JNI calls here
+    samples.update();
+    inputs.TransportMotorVelocityRps = samples.get(velocity);
+    inputs.TransportStatorAmps = samples.get(statorCurrent);
+    inputs.TransportSupplyAmps = samples.get(supplyCurrent);
+    inputs.TransportVolts = samples.get(motorVoltage);
+    inputs.TransportMotorTemperatureCelsius = samples.get(deviceTemp);
+    inputs.transportClosedLoopReferenceRps = samples.get(closedLoopReference);
+    inputs.transportClosedLoopErrorRps = samples.get(closedLoopError);
+    inputs.transportPosRotations = samples.get(pos);
   }
 
   @Override
   public void setTransportVoltage(Voltage volts) {
-    transportMotor.setControl(voltageRequest.withOutput(volts));
+    control.setControl(
+        voltageRequest.withOutput(volts), volts.in(Volts), ControlDedup.OUTPUT_DEADBAND);
   }
 
   @Override
   public void setTransportVelocity(AngularVelocity transportVelo) {
-    transportMotor.setControl(torqueRequest.withVelocity(transportVelo));
+    control.setControl(
+        torqueRequest.withVelocity(transportVelo),
+        transportVelo.in(RotationsPerSecond),
+        ControlDedup.VELOCITY_DEADBAND_RPS);
+  }
+
+  @Override
+  public void setSupplyCurrentLimit(double amps) {
+    currentLimiter.setSupplyCurrentLimit(amps);
   }
 }
@@ -1,6 +1,5 @@
 package frc.robot.subsystems.transport.io;
 
-import static edu.wpi.first.units.Units.RotationsPerSecond;
 import static edu.wpi.first.units.Units.Volts;
 
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
@@ -104,16 +103,15 @@ public class TransportIOSim implements TransportIO {
         BatterySim.calculateDefaultBatteryLoadedVoltage(transportPhysicsSim.getCurrentDrawAmps()));
 
     // 6. Read values from the TalonFX status signals (just like on real hardware)
-    inputs.TransportMotorVelocity = transportMotor.getVelocity().getValue();
-    inputs.TransportVoltage = transportMotor.getMotorVoltage().getValue();
-    inputs.TransportStatorAmps = transportMotor.getStatorCurrent().getValue();
-    inputs.TransportSupplyAmps = transportMotor.getSupplyCurrent().getValue();
-    inputs.TransportMotorTemperature = transportMotor.getDeviceTemp().getValue();
-    inputs.transportClosedLoopReference =
-        RotationsPerSecond.of(transportMotor.getClosedLoopReference().getValueAsDouble());
-    inputs.transportClosedLoopError =
-        RotationsPerSecond.of(transportMotor.getClosedLoopError().getValueAsDouble());
-    inputs.transportPos = transportMotor.getPosition().getValue();
+    inputs.TransportMotorVelocityRps = transportMotor.getVelocity().getValueAsDouble();
+    inputs.TransportVolts = transportMotor.getMotorVoltage().getValueAsDouble();
+    inputs.TransportStatorAmps = transportMotor.getStatorCurrent().getValueAsDouble();
+    inputs.TransportSupplyAmps = transportMotor.getSupplyCurrent().getValueAsDouble();
+    inputs.TransportMotorTemperatureCelsius = transportMotor.getDeviceTemp().getValueAsDouble();
+    inputs.transportClosedLoopReferenceRps =
+        transportMotor.getClosedLoopReference().getValueAsDouble();
+    inputs.transportClosedLoopErrorRps = transportMotor.getClosedLoopError().getValueAsDouble();
+    inputs.transportPosRotations = transportMotor.getPosition().getValueAsDouble();
   }
 
   @Override
@@ -1,6 +1,5 @@
 package frc.robot.subsystems.upperFeeder;
 
-import edu.wpi.first.units.Units;
 import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
@@ -13,6 +12,7 @@ public class UpperFeeder extends SubsystemBase {
 
   private final UpperFeederIO io;
   private final UpperFeederIOInputsAutoLogged inputs;
+  private final int batteryChannel = Robot.batteryLogger.registerChannel("Feeder/Upper", false);
 
   public UpperFeeder(UpperFeederIO io) {
     this.io = io;
@@ -25,10 +25,7 @@ public class UpperFeeder extends SubsystemBase {
     Logger.processInputs("Feeder/Upper", inputs);
 
     // Report upper feeder current usage to the battery logger
-    Robot.batteryLogger.reportCurrentUsage(
-        "Feeder/Upper",
-        false,
-        inputs.upperFeederSupplyAmps != null ? inputs.upperFeederSupplyAmps.in(Units.Amps) : 0.0);
+    Robot.batteryLogger.reportCurrentUsage(batteryChannel, inputs.upperFeederSupplyAmps);
   }
 
   public void setUpperFeederVoltage(Voltage volts) {
@@ -2,8 +2,8 @@ package frc.robot.subsystems.upperFeeder.io;
 
 import static edu.wpi.first.units.Units.RotationsPerSecond;
 import static edu.wpi.first.units.Units.Second;
+import static edu.wpi.first.units.Units.Volts;
 
-import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.CANBus;
 import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
@@ -18,7 +18,13 @@ import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.Temperature;
 import edu.wpi.first.units.measure.Voltage;
 import frc.robot.HardwareConstants;
+import frc.robot.HardwareConstants.ControlDedup;
+import frc.robot.HardwareConstants.SignalRates;
 import frc.robot.subsystems.upperFeeder.UpperFeederConstants;
+import frc.robot.util.CANConfigPipeline;
+import frc.robot.util.ControlWriteFilter;
+import frc.robot.util.MechanismSampleThread;
+import frc.robot.util.SignalRatePolicy;
 
 public class UpperFeederIOReal implements UpperFeederIO {
 
@@ -30,7 +36,13 @@ public class UpperFeederIOReal implements UpperFeederIO {
   private final MotionMagicVelocityTorqueCurrentFOC torqueRequest =
       new MotionMagicVelocityTorqueCurrentFOC(0);
 
-  // Cached status signals — created once, refreshed in batch each loop
+  // Skips setControl calls that repeat the last request (see ControlWriteFilter)
+  private final ControlWriteFilter control;
+
+  // Latest values from MechanismSampleThread
+  private final MechanismSampleThread.Samples samples;
+
+  // Cached status signals — created once, sampled in the background
   private final StatusSignal<AngularVelocity> velocity;
   private final StatusSignal<Current> statorCurrent;
   private final StatusSignal<Current> supplyCurrent;
@@ -42,6 +54,7 @@ public class UpperFeederIOReal implements UpperFeederIO {
 
   public UpperFeederIOReal() {
     upperFeederMotor = new TalonFX(HardwareConstants.CanIds.UPPER_FEEDER_MOTOR_ID, CAN_BUS);
+    control = new ControlWriteFilter("UpperFeeder", upperFeederMotor);
     configureFeederMotor();
 
     // Cache signal references once in the constructor
@@ -54,15 +67,36 @@ public class UpperFeederIOReal implements UpperFeederIO {
     closedLoopError = upperFeederMotor.getClosedLoopError();
     pos = upperFeederMotor.getPosition();
 
-    // 50Hz for signals we need every loop (velocity, voltage, current, closed-loop reference)
-    BaseStatusSignal.setUpdateFrequencyForAll(
-        50.0, velocity, statorCurrent, supplyCurrent, motorVoltage, closedLoopReference);
+    // Signals we need every loop (velocity, voltage, current, closed-loop reference);
+    // SignalRatePolicy slows these while disabled
+    SignalRatePolicy.configure(
+        SignalRates.CONTROL,
+        velocity,
+        statorCurrent,
+        supplyCurrent,
+        motorVoltage,
+        closedLoopReference);
 
-    // 10Hz for diagnostic-only signals (temperature, closed-loop error)
-    BaseStatusSignal.setUpdateFrequencyForAll(10.0, deviceTemp, closedLoopError);
+    // Diagnostic-only signals (temperature, closed-loop error)
+    SignalRatePolicy.configure(SignalRates.DIAGNOSTIC, deviceTemp, closedLoopError);
 
     // Stop sending signals we didn't register — reduces CAN bus traffic
     upperFeederMotor.optimizeBusUtilization();
+
+    // Sampled in the background; updateInputs copies the latest values (see MechanismSampleThread)
+    samples =
+        MechanismSampleThread.getInstance()
+            .register(
+                "UpperFeeder",
+                CAN_BUS,
+                velocity,
+                statorCurrent,
+                supplyCurrent,
+                motorVoltage,
+                deviceTemp,
+                closedLoopReference,
+                closedLoopError,
+                pos);
   }
 
   private void configureFeederMotor() {
@@ -95,42 +129,35 @@ public class UpperFeederIOReal implements UpperFeederIO {
     limits.StatorCurrentLimit = UpperFeederConstants.CurrentLimits.UPPER_FEEDER_MAIN_STATOR_AMP;
     limits.StatorCurrentLimitEnable = true;
 
-    upperFeederMotor.getConfigurator().apply(config);
-    upperFeederMotor.getConfigurator().apply(limits);
+    config.CurrentLimits = limits;
+    CANConfigPipeline.apply("UpperFeeder", CAN_BUS, upperFeederMotor, config);
   }
 
   @Override
   public void updateInputs(UpperFeederIOInputs inputs) {
-    // One batched CAN read for all signals — much faster than individual reads
-    BaseStatusSignal.refreshAll(
-        velocity,
-        statorCurrent,
-        supplyCurrent,
-        motorVoltage,
-        deviceTemp,
-        closedLoopReference,
-        closedLoopError,
-        pos);
-
-    // Read from cache — no additional CAN traffic
-    inputs.upperFeederMotorVelocity = velocity.getValue();
-    inputs.upperFeederStatorAmps = statorCurrent.getValue();
-    inputs.upperFeederSupplyAmps = supplyCurrent.getValue();
-    inputs.upperFeederVoltage = motorVoltage.getValue();
-    inputs.upperFeederMotorTemperature = deviceTemp.getValue();
-    inputs.upperFeederClosedLoopReference =
-        RotationsPerSecond.of(closedLoopReference.getValueAsDouble());
-    inputs.upperFeederClosedLoopError = RotationsPerSecond.of(closedLoopError.getValueAsDouble());
-    inputs.upperFeederPos = pos.getValue();
+    // Copy the latest background sample — no CAN traffic or JNI calls here
+    samples.update();
+    inputs.upperFeederMotorVelocityRps = samples.get(velocity);
+    inputs.upperFeederStatorAmps = samples.get(statorCurrent);
+    inputs.upperFeederSupplyAmps = samples.get(supplyCurrent);
+    inputs.upperFeederVolts = samples.get(motorVoltage);
+    inputs.upperFeederMotorTemperatureCelsius = samples.get(deviceTemp);
+    inputs.upperFeederClosedLoopReferenceRps = samples.get(closedLoopReference);
+    inputs.upperFeederClosedLoopErrorRps = samples.get(closedLoopError);
+    inputs.upperFeederPosRotations = samples.get(pos);
   }
 
   @Override
   public void setUpperFeederVoltage(Voltage volts) {
-    upperFeederMotor.setControl(voltageRequest.withOutput(volts));
+    control.setControl(
+        voltageRequest.withOutput(volts), volts.in(Volts), ControlDedup.OUTPUT_DEADBAND);
   }
 
   @Override
   public void setUpperFeederVelocity(AngularVelocity feederVelo) {
-    upperFeederMotor.setControl(torqueRequest.withVelocity(feederVelo));
+    control.setControl(
+        torqueRequest.withVelocity(feederVelo),
+        feederVelo.in(RotationsPerSecond),
+        ControlDedup.VELOCITY_DEADBAND_RPS);
   }
 }
@@ -1,6 +1,5 @@
 package frc.robot.subsystems.upperFeeder.io;
 
-import static edu.wpi.first.units.Units.RotationsPerSecond;
 import static edu.wpi.first.units.Units.Volts;
 
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
@@ -111,17 +110,15 @@ public class UpperFeederIOSim implements UpperFeederIO {
         BatterySim.calculateDefaultBatteryLoadedVoltage(feederPhysicsSim.getCurrentDrawAmps()));
 
     // 6. Read values from the TalonFX status signals (just like on real hardware)
-    inputs.upperFeederMotorVelocity =
-        RotationsPerSecond.of(feederMotor.getVelocity().getValueAsDouble());
-    inputs.upperFeederVoltage = feederMotor.getMotorVoltage().getValue();
-    inputs.upperFeederStatorAmps = feederMotor.getStatorCurrent().getValue();
-    inputs.upperFeederSupplyAmps = feederMotor.getSupplyCurrent().getValue();
-    inputs.upperFeederMotorTemperature = feederMotor.getDeviceTemp().getValue();
-    inputs.upperFeederClosedLoopReference =
-        RotationsPerSecond.of(feederMotor.getClosedLoopReference().getValueAsDouble());
-    inputs.upperFeederClosedLoopError =
-        RotationsPerSecond.of(feederMotor.getClosedLoopError().getValueAsDouble());
-    inputs.upperFeederPos = feederMotor.getPosition().getValue();
+    inputs.upperFeederMotorVelocityRps = feederMotor.getVelocity().getValueAsDouble();
+    inputs.upperFeederVolts = feederMotor.getMotorVoltage().getValueAsDouble();
+    inputs.upperFeederStatorAmps = feederMotor.getStatorCurrent().getValueAsDouble();
+    inputs.upperFeederSupplyAmps = feederMotor.getSupplyCurrent().getValueAsDouble();
+    inputs.upperFeederMotorTemperatureCelsius = feederMotor.getDeviceTemp().getValueAsDouble();
+    inputs.upperFeederClosedLoopReferenceRps =
+        feederMotor.getClosedLoopReference().getValueAsDouble();
+    inputs.upperFeederClosedLoopErrorRps = feederMotor.getClosedLoopError().getValueAsDouble();
+    inputs.upperFeederPosRotations = feederMotor.getPosition().getValueAsDouble();
   }
 
   @Override
@@ -21,8 +21,9 @@ import edu.wpi.first.wpilibj.Alert.AlertType;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.RobotState;
 import frc.robot.subsystems.vision.io.VisionIO;
-import frc.robot.subsystems.vision.io.VisionIO.PoseObservationType;
 import frc.robot.subsystems.vision.io.VisionIOInputsAutoLogged;
+import frc.robot.util.LogKeys;
+import frc.robot.util.ThrottledOutput;
 import java.util.ArrayList;
 import java.util.List;
 import org.littletonrobotics.junction.Logger;
@@ -49,12 +50,62 @@ import org.littletonrobotics.junction.Logger;
  * (State q30/e3, Worlds q2) showed every accepted pose that was 2.5–9.6 m wrong came from a
  * single-tag solve at ≥ 3.8 m, some with near-zero ambiguity, so the ambiguity filter alone cannot
  * catch them. Multi-tag observations keep the looser {@link VisionConstants#maxDistanceMeters}.
+ *
+ * <p><b>Change log (2026-10-18):</b> Rejection and std-dev rules moved into {@link VisionFilter}
+ * so {@link VisionReplayTuner} can replay logged matches through the same code. Accepted
+ * observations from different cameras captured within {@link VisionConstants#fusionWindowSeconds}
+ * of each other are merged by {@link VisionFusion} into one inverse-variance-weighted measurement,
+ * so the pose estimator replays its history once per frame instead of once per camera.
  */
 public class Vision extends SubsystemBase {
+  /**
+   * Per-camera log keys, built once so periodic() doesn't concatenate them every loop. Metadata
+   * that rarely changes is recorded only when it does.
+   */
+  private static final class CameraLog {
+    final String inputs;
+    final String tagPoses;
+    final String robotPoses;
+    final String robotPosesAccepted;
+    final String robotPosesRejected;
+    final ThrottledOutput tagIds;
+    final ThrottledOutput tagCount;
+    final ThrottledOutput isMultiTag;
+    final ThrottledOutput rejectionReason;
+    final ThrottledOutput ambiguity;
+    final ThrottledOutput averageTagDistance;
+    final ThrottledOutput linearStdDev;
+    final ThrottledOutput angularStdDev;
+
+    CameraLog(String cameraKey) {
+      inputs = cameraKey;
+      tagPoses = LogKeys.of(cameraKey, "TagPoses");
+      robotPoses = LogKeys.of(cameraKey, "RobotPoses");
+      robotPosesAccepted = LogKeys.of(cameraKey, "RobotPosesAccepted");
+      robotPosesRejected = LogKeys.of(cameraKey, "RobotPosesRejected");
+      tagIds = ThrottledOutput.onChange(LogKeys.of(cameraKey, "TagIds"));
+      tagCount = ThrottledOutput.onChange(LogKeys.of(cameraKey, "TagCount"));
+      isMultiTag = ThrottledOutput.onChange(LogKeys.of(cameraKey, "IsMultiTag"));
+      rejectionReason = ThrottledOutput.onChange(LogKeys.of(cameraKey, "RejectionReason"));
+      ambiguity =
+          ThrottledOutput.onChange(LogKeys.of(cameraKey, "Ambiguity"), logAmbiguityDeadband);
+      averageTagDistance =
+          ThrottledOutput.onChange(
+              LogKeys.of(cameraKey, "AverageTagDistance"), logTagDistanceDeadbandMeters);
+      linearStdDev =
+          ThrottledOutput.onChange(LogKeys.of(cameraKey, "LinearStdDev"), logStdDevDeadband);
+      angularStdDev =
+          ThrottledOutput.onChange(LogKeys.of(cameraKey, "AngularStdDev"), logStdDevDeadband);
+    }
+  }
+
   private final VisionConsumer consumer;
   private final VisionIO[] io;
   private final VisionIOInputsAutoLogged[] inputs;
   private final Alert[] disconnectedAlerts;
+  private final CameraLog[] cameraLogs;
+  private final VisionFilter filter = new VisionFilter();
+  private final VisionFusion fusion = new VisionFusion(fusionWindowSeconds);
 
   public Vision(VisionConsumer consumer, VisionIO... io) {
     this.consumer = consumer;
@@ -73,6 +124,13 @@ public class Vision extends SubsystemBase {
           new Alert(
               "Vision camera " + Integer.toString(i) + " is disconnected.", AlertType.kWarning);
     }
+
+    // Log keys
+    String[] cameraPrefixes = LogKeys.indexed("Vision/Camera", io.length);
+    this.cameraLogs = new CameraLog[io.length];
+    for (int i = 0; i < io.length; i++) {
+      cameraLogs[i] = new CameraLog(cameraPrefixes[i]);
+    }
   }
 
   /**
@@ -88,15 +146,15 @@ public class Vision extends SubsystemBase {
   public void periodic() {
     for (int i = 0; i < io.length; i++) {
       io[i].updateInputs(inputs[i]);
-      Logger.processInputs("Vision/Camera" + Integer.toString(i), inputs[i]);
+      Logger.processInputs(cameraLogs[i].inputs, inputs[i]);
     }
 
     // --- Angular velocity pre-filter ---
     // If the robot is spinning fast, vision estimates are unreliable due to
     // motion blur and timestamp misalignment. Reject ALL observations this cycle.
     boolean robotSpinningTooFast =
-        Math.abs(RobotState.getInstance().getFieldRelativeVelocity().omegaRadiansPerSecond)
-            > maxAngularVelocityRadPerSec;
+        filter.isSpinningTooFast(
+            RobotState.getInstance().getFieldRelativeVelocity().omegaRadiansPerSecond);
 
     // Initialize logging values — ArrayList is faster than LinkedList for iteration and toArray()
     List<Pose3d> allTagPoses = new ArrayList<>();
@@ -136,37 +194,8 @@ public class Vision extends SubsystemBase {
       // Loop over pose observations
       for (var observation : inputs[cameraIndex].poseObservations) {
 
-        // Extract pitch and roll from the estimated pose rotation
-        double pitch = Math.abs(observation.pose().getRotation().getY());
-        double roll = Math.abs(observation.pose().getRotation().getX());
-
-        // Determine rejection reason ("" = accepted). Checked in priority order.
-        String rejectionReason = "";
-        if (robotSpinningTooFast) {
-          rejectionReason = "AngularVelocityTooHigh"; // Vision unreliable while spinning
-        } else if (observation.tagCount() == 0) {
-          rejectionReason = "NoTags"; // Must have at least one tag
-        } else if (observation.timestamp() <= 0.0) {
-          rejectionReason = "InvalidTimestamp"; // Timestamp must be positive
-        } else if (observation.tagCount() == 1 && observation.ambiguity() > maxAmbiguity) {
-          rejectionReason = "HighAmbiguity"; // Single-tag solve picked between two solutions
-        } else if (observation.pose().getZ() < -floorError) {
-          rejectionReason = "BelowFloor"; // Robot cannot be below the floor
-        } else if (observation.pose().getZ() > maxZError) {
-          rejectionReason = "ZTooHigh"; // Must have realistic Z coordinate
-        } else if (observation.averageTagDistance() > maxDistanceMeters) {
-          rejectionReason = "TagsTooFar"; // Pose error grows with distance
-        } else if (observation.tagCount() == 1
-            && observation.averageTagDistance() > maxSingleTagDistanceMeters) {
-          rejectionReason = "SingleTagTooFar"; // Far single-tag solves can flip PnP solutions
-        } else if (pitch > maxPitchRollRadians || roll > maxPitchRollRadians) {
-          rejectionReason = "PitchRollTooLarge"; // Robot is on flat ground — solve is wrong
-        } else if (observation.pose().getX() < 0.0
-            || observation.pose().getX() > aprilTagLayout.getFieldLength()
-            || observation.pose().getY() < 0.0
-            || observation.pose().getY() > aprilTagLayout.getFieldWidth()) {
-          rejectionReason = "OutsideField"; // Must be within the field boundaries
-        }
+        // Determine rejection reason ("" = accepted)
+        String rejectionReason = filter.getRejectionReason(observation, robotSpinningTooFast);
         boolean rejectPose = !rejectionReason.isEmpty();
 
         lastRejectionReason = rejectionReason;
@@ -184,54 +213,49 @@ public class Vision extends SubsystemBase {
         robotPosesAccepted.add(observation.pose());
 
         // Calculate standard deviations
-        double stdDevFactor =
-            Math.pow(observation.averageTagDistance(), 2.0) / observation.tagCount();
-        double linearStdDev = linearStdDevBaseline * stdDevFactor;
-        double angularStdDev = angularStdDevBaseline * stdDevFactor;
-        if (observation.type() == PoseObservationType.MEGATAG_2) {
-          linearStdDev *= linearStdDevMegatag2Factor;
-          angularStdDev *= angularStdDevMegatag2Factor;
-        }
-        if (observation.tagCount() == 1) {
-          linearStdDev *= singleTagStdDevMultiplier;
-          angularStdDev *= singleTagStdDevMultiplier;
-        }
-        if (cameraIndex < cameraStdDevFactors.length) {
-          linearStdDev *= cameraStdDevFactors[cameraIndex];
-          angularStdDev *= cameraStdDevFactors[cameraIndex];
-        }
+        double linearStdDev = filter.getLinearStdDev(observation, cameraIndex);
+        double angularStdDev = filter.getAngularStdDev(observation, cameraIndex);
         lastLinearStdDev = linearStdDev;
         lastAngularStdDev = angularStdDev;
 
-        // Send vision observation
-        consumer.accept(
-            observation.pose().toPose2d(),
-            observation.timestamp(),
-            VecBuilder.fill(linearStdDev, linearStdDev, angularStdDev));
+        // Send vision observation (or queue it to be fused with other cameras' views)
+        if (enableMultiCameraFusion) {
+          fusion.add(
+              observation.pose().toPose2d(), observation.timestamp(), linearStdDev, angularStdDev);
+        } else {
+          consumer.accept(
+              observation.pose().toPose2d(),
+              observation.timestamp(),
+              VecBuilder.fill(linearStdDev, linearStdDev, angularStdDev));
+        }
       }
 
       // Log camera metadata
-      String cameraKey = "Vision/Camera" + Integer.toString(cameraIndex);
-      Logger.recordOutput(cameraKey + "/TagPoses", tagPoses.toArray(new Pose3d[0]));
-      Logger.recordOutput(cameraKey + "/RobotPoses", robotPoses.toArray(new Pose3d[0]));
-      Logger.recordOutput(
-          cameraKey + "/RobotPosesAccepted", robotPosesAccepted.toArray(new Pose3d[0]));
-      Logger.recordOutput(
-          cameraKey + "/RobotPosesRejected", robotPosesRejected.toArray(new Pose3d[0]));
-      Logger.recordOutput(cameraKey + "/TagIds", inputs[cameraIndex].tagIds);
-      Logger.recordOutput(cameraKey + "/TagCount", lastTagCount);
-      Logger.recordOutput(cameraKey + "/IsMultiTag", lastTagCount > 1);
-      Logger.recordOutput(cameraKey + "/RejectionReason", lastRejectionReason);
-      Logger.recordOutput(cameraKey + "/Ambiguity", lastAmbiguity);
-      Logger.recordOutput(cameraKey + "/AverageTagDistance", lastAverageTagDistance);
-      Logger.recordOutput(cameraKey + "/LinearStdDev", lastLinearStdDev);
-      Logger.recordOutput(cameraKey + "/AngularStdDev", lastAngularStdDev);
+      CameraLog log = cameraLogs[cameraIndex];
+      Logger.recordOutput(log.tagPoses, tagPoses.toArray(new Pose3d[0]));
+      Logger.recordOutput(log.robotPoses, robotPoses.toArray(new Pose3d[0]));
+      Logger.recordOutput(log.robotPosesAccepted, robotPosesAccepted.toArray(new Pose3d[0]));
+      Logger.recordOutput(log.robotPosesRejected, robotPosesRejected.toArray(new Pose3d[0]));
+      log.tagIds.record(inputs[cameraIndex].tagIds);
+      log.tagCount.record(lastTagCount);
+      log.isMultiTag.record(lastTagCount > 1);
+      log.rejectionReason.record(lastRejectionReason);
+      log.ambiguity.record(lastAmbiguity);
+      log.averageTagDistance.record(lastAverageTagDistance);
+      log.linearStdDev.record(lastLinearStdDev);
+      log.angularStdDev.record(lastAngularStdDev);
       allTagPoses.addAll(tagPoses);
       allRobotPoses.addAll(robotPoses);
       allRobotPosesAccepted.addAll(robotPosesAccepted);
       allRobotPosesRejected.addAll(robotPosesRejected);
     }
 
+    // Send one fused measurement per group of same-frame observations
+    if (enableMultiCameraFusion) {
+      fusion.flush(consumer);
+      Logger.recordOutput("Vision/Summary/FusedMeasurementCount", fusion.getLastFusedCount());
+    }
+
     // Log summary data
     Logger.recordOutput("Vision/Summary/TagPoses", allTagPoses.toArray(new Pose3d[0]));
     Logger.recordOutput("Vision/Summary/RobotPoses", allRobotPoses.toArray(new Pose3d[0]));
@@ -144,6 +144,40 @@ public class VisionConstants {
   public static double angularStdDevMegatag2Factor =
       Double.POSITIVE_INFINITY; // No rotation data available
 
+  // ---- Multi-camera fusion ----
+  // Accepted observations from different cameras whose timestamps are within this
+  // window are merged into one inverse-variance-weighted measurement before being
+  // sent to the pose estimator. Well under one frame period (~33 ms at 30 fps) so a
+  // camera's consecutive frames are never merged together.
+  public static boolean enableMultiCameraFusion = true;
+  public static double fusionWindowSeconds = 0.010;
+
+  // ---- Simulation ----
+  // Frames per second rendered by each simulated camera. The coprocessors deliver
+  // roughly 20–30 fps, so rendering every 50 Hz loop only burns desktop CPU.
+  // Cameras are phase-staggered across loops. <= 0 renders every loop.
+  public static double simCameraRateHz = 25.0;
+
+  // Capture-to-publish latency applied to simulated frames. The sim renders from
+  // the robot pose this far in the past and timestamps results accordingly.
+  public static double simAverageLatencyMs = 35.0;
+  public static double simLatencyStdDevMs = 5.0;
+
+  // Project cameras that are due on the same loop on worker threads
+  public static boolean simParallelRendering = true;
+
+  // Raw/processed MJPEG streams are drawn with OpenCV on every frame — keep off
+  // unless you need to look at the simulated camera feed.
+  public static boolean simVideoStreamsEnabled = false;
+
+  // ---- Log decimation ----
+  // Per-camera metadata (tag count, rejection reason, ...) is only recorded when it
+  // changes. Numbers must also move by more than these deadbands; smaller jitter
+  // between frames is left out of the log.
+  public static double logAmbiguityDeadband = 0.01;
+  public static double logTagDistanceDeadbandMeters = 0.02;
+  public static double logStdDevDeadband = 0.005; // Meters (linear) or radians (angular)
+
   // Logging
   static {
     Logger.recordOutput("Vision/Camera0/name", VisionConstants.camera0Name);
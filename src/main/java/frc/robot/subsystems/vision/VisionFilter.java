@@ -0,0 +1,117 @@
+// Copyright (c) 2021-2026 Littleton Robotics
+// http://github.com/Mechanical-Advantage
+//
+// Use of this source code is governed by a BSD
+// license that can be found in the LICENSE file
+// at the root directory of this project.
+
+package frc.robot.subsystems.vision;
+
+import frc.robot.subsystems.vision.io.VisionIO.PoseObservation;
+import frc.robot.subsystems.vision.io.VisionIO.PoseObservationType;
+
+/**
+ * Rejection and standard-deviation rules applied to every {@link PoseObservation}.
+ *
+ * <p>Pulled out of {@link Vision#periodic()} so the exact same logic can run offline against a
+ * logged match in {@link VisionReplayTuner}. Each instance holds its own copy of the thresholds,
+ * initialized from {@link VisionConstants}, so a parameter sweep can run many filters side by side
+ * without touching the shared constants.
+ */
+public class VisionFilter {
+  public double maxAmbiguity = VisionConstants.maxAmbiguity;
+  public double maxZError = VisionConstants.maxZError;
+  public double floorError = VisionConstants.floorError;
+  public double maxDistanceMeters = VisionConstants.maxDistanceMeters;
+  public double maxSingleTagDistanceMeters = VisionConstants.maxSingleTagDistanceMeters;
+  public double maxAngularVelocityRadPerSec = VisionConstants.maxAngularVelocityRadPerSec;
+  public double maxPitchRollRadians = VisionConstants.maxPitchRollRadians;
+  public double fieldLengthMeters = VisionConstants.aprilTagLayout.getFieldLength();
+  public double fieldWidthMeters = VisionConstants.aprilTagLayout.getFieldWidth();
+
+  public double linearStdDevBaseline = VisionConstants.linearStdDevBaseline;
+  public double angularStdDevBaseline = VisionConstants.angularStdDevBaseline;
+  public double singleTagStdDevMultiplier = VisionConstants.singleTagStdDevMultiplier;
+  public double[] cameraStdDevFactors = VisionConstants.cameraStdDevFactors.clone();
+  public double linearStdDevMegatag2Factor = VisionConstants.linearStdDevMegatag2Factor;
+  public double angularStdDevMegatag2Factor = VisionConstants.angularStdDevMegatag2Factor;
+
+  /** Returns true if vision should be ignored entirely at this yaw rate. */
+  public boolean isSpinningTooFast(double omegaRadPerSec) {
+    return Math.abs(omegaRadPerSec) > maxAngularVelocityRadPerSec;
+  }
+
+  /**
+   * Determines why an observation should be rejected. Checked in priority order.
+   *
+   * @param observation The observation to check
+   * @param spinningTooFast Result of {@link #isSpinningTooFast(double)} for this cycle
+   * @return The rejection reason, or "" if the observation is accepted
+   */
+  public String getRejectionReason(PoseObservation observation, boolean spinningTooFast) {
+    // Extract pitch and roll from the estimated pose rotation
+    double pitch = Math.abs(observation.pose().getRotation().getY());
+    double roll = Math.abs(observation.pose().getRotation().getX());
+
+    if (spinningTooFast) {
+      return "AngularVelocityTooHigh"; // Vision unreliable while spinning
+    } else if (observation.tagCount() == 0) {
+      return "NoTags"; // Must have at least one tag
+    } else if (observation.timestamp() <= 0.0) {
+      return "InvalidTimestamp"; // Timestamp must be positive
+    } else if (observation.tagCount() == 1 && observation.ambiguity() > maxAmbiguity) {
+      return "HighAmbiguity"; // Single-tag solve picked between two solutions
+    } else if (observation.pose().getZ() < -floorError) {
+      return "BelowFloor"; // Robot cannot be below the floor
+    } else if (observation.pose().getZ() > maxZError) {
+      return "ZTooHigh"; // Must have realistic Z coordinate
+    } else if (observation.averageTagDistance() > maxDistanceMeters) {
+      return "TagsTooFar"; // Pose error grows with distance
+    } else if (observation.tagCount() == 1
+        && observation.averageTagDistance() > maxSingleTagDistanceMeters) {
+      return "SingleTagTooFar"; // Far single-tag solves can flip PnP solutions
+    } else if (pitch > maxPitchRollRadians || roll > maxPitchRollRadians) {
+      return "PitchRollTooLarge"; // Robot is on flat ground — solve is wrong
+    } else if (observation.pose().getX() < 0.0
+        || observation.pose().getX() > fieldLengthMeters
+        || observation.pose().getY() < 0.0
+        || observation.pose().getY() > fieldWidthMeters) {
+      return "OutsideField"; // Must be within the field boundaries
+    }
+    return "";
+  }
+
+  /** Linear (x/y) standard deviation in meters for an accepted observation. */
+  public double getLinearStdDev(PoseObservation observation, int cameraIndex) {
+    double linearStdDev = linearStdDevBaseline * getStdDevFactor(observation);
+    if (observation.type() == PoseObservationType.MEGATAG_2) {
+      linearStdDev *= linearStdDevMegatag2Factor;
+    }
+    return linearStdDev * getCommonMultiplier(observation, cameraIndex);
+  }
+
+  /** Angular standard deviation in radians for an accepted observation. */
+  public double getAngularStdDev(PoseObservation observation, int cameraIndex) {
+    double angularStdDev = angularStdDevBaseline * getStdDevFactor(observation);
+    if (observation.type() == PoseObservationType.MEGATAG_2) {
+      angularStdDev *= angularStdDevMegatag2Factor;
+    }
+    return angularStdDev * getCommonMultiplier(observation, cameraIndex);
+  }
+
+  // Automatically scaled by distance² / tagCount
+  private static double getStdDevFactor(PoseObservation observation) {
+    return Math.pow(observation.averageTagDistance(), 2.0) / observation.tagCount();
+  }
+
+  private double getCommonMultiplier(PoseObservation observation, int cameraIndex) {
+    double multiplier = 1.0;
+    if (observation.tagCount() == 1) {
+      multiplier *= singleTagStdDevMultiplier;
+    }
+    if (cameraIndex < cameraStdDevFactors.length) {
+      multiplier *= cameraStdDevFactors[cameraIndex];
+    }
+    return multiplier;
+  }
+}
@@ -0,0 +1,131 @@
+// Copyright (c) 2021-2026 Littleton Robotics
+// http://github.com/Mechanical-Advantage
+//
+// Use of this source code is governed by a BSD
+// license that can be found in the LICENSE file
+// at the root directory of this project.
+
+package frc.robot.subsystems.vision;
+
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import frc.robot.subsystems.vision.Vision.VisionConsumer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Combines accepted observations from different cameras that were captured at nearly the same time
+ * into a single measurement before it reaches the pose estimator.
+ *
+ * <p>Every {@code addVisionMeasurement()} call replays the estimator's odometry history from the
+ * measurement timestamp, so feeding four cameras' views of the same instant separately costs four
+ * replays and applies four sequential corrections. Observations whose timestamps fall within {@link
+ * VisionConstants#fusionWindowSeconds} of the first observation in a group are instead merged with
+ * inverse-variance weighting:
+ *
+ * <ul>
+ *   <li>x, y and timestamp are averaged with weights 1/σ<sub>linear</sub>²
+ *   <li>heading is a circular mean with weights 1/σ<sub>angular</sub>² (observations with infinite
+ *       angular std dev contribute no heading information)
+ *   <li>the fused std dev is 1/√(Σ 1/σ²) for each axis
+ * </ul>
+ */
+public class VisionFusion {
+  private record Measurement(
+      Pose2d pose, double timestamp, double linearStdDev, double angularStdDev) {}
+
+  private final List<Measurement> pending = new ArrayList<>();
+  private final double windowSeconds;
+  private int lastFusedCount = 0;
+
+  public VisionFusion(double windowSeconds) {
+    this.windowSeconds = windowSeconds;
+  }
+
+  /** Queues an accepted observation for fusion on the next {@link #flush}. */
+  public void add(Pose2d pose, double timestamp, double linearStdDev, double angularStdDev) {
+    pending.add(new Measurement(pose, timestamp, linearStdDev, angularStdDev));
+  }
+
+  /**
+   * Fuses all queued observations, sends one measurement per time group to the consumer in
+   * timestamp order, and clears the queue.
+   */
+  public void flush(VisionConsumer consumer) {
+    pending.sort(Comparator.comparingDouble(Measurement::timestamp));
+    lastFusedCount = 0;
+
+    int groupStart = 0;
+    while (groupStart < pending.size()) {
+      double groupTimestamp = pending.get(groupStart).timestamp();
+      int groupEnd = groupStart + 1;
+      while (groupEnd < pending.size()
+          && pending.get(groupEnd).timestamp() - groupTimestamp <= windowSeconds) {
+        groupEnd++;
+      }
+      sendGroup(groupStart, groupEnd, consumer);
+      lastFusedCount++;
+      groupStart = groupEnd;
+    }
+    pending.clear();
+  }
+
+  /** Number of measurements sent to the consumer by the last {@link #flush}. */
+  public int getLastFusedCount() {
+    return lastFusedCount;
+  }
+
+  private void sendGroup(int start, int end, VisionConsumer consumer) {
+    if (end - start == 1) {
+      Measurement only = pending.get(start);
+      consumer.accept(
+          only.pose(),
+          only.timestamp(),
+          VecBuilder.fill(only.linearStdDev(), only.linearStdDev(), only.angularStdDev()));
+      return;
+    }
+
+    double linearWeightSum = 0.0;
+    double x = 0.0;
+    double y = 0.0;
+    double timestamp = 0.0;
+    double angularWeightSum = 0.0;
+    double cos = 0.0;
+    double sin = 0.0;
+    for (int i = start; i < end; i++) {
+      Measurement measurement = pending.get(i);
+      double linearWeight = 1.0 / (measurement.linearStdDev() * measurement.linearStdDev());
+      linearWeightSum += linearWeight;
+      x += measurement.pose().getX() * linearWeight;
+      y += measurement.pose().getY() * linearWeight;
+      timestamp += measurement.timestamp() * linearWeight;
+
+      // 1/∞² is 0, so observations without heading data drop out here
+      double angularWeight = 1.0 / (measurement.angularStdDev() * measurement.angularStdDev());
+      angularWeightSum += angularWeight;
+      cos += measurement.pose().getRotation().getCos() * angularWeight;
+      sin += measurement.pose().getRotation().getSin() * angularWeight;
+    }
+
+    // No heading information in the group — fall back to the linear weights for the heading and
+    // keep the angular std dev infinite so the estimator ignores it
+    if (angularWeightSum == 0.0) {
+      for (int i = start; i < end; i++) {
+        Measurement measurement = pending.get(i);
+        double linearWeight = 1.0 / (measurement.linearStdDev() * measurement.linearStdDev());
+        cos += measurement.pose().getRotation().getCos() * linearWeight;
+        sin += measurement.pose().getRotation().getSin() * linearWeight;
+      }
+    }
+
+    double linearStdDev = Math.sqrt(1.0 / linearWeightSum);
+    double angularStdDev =
+        angularWeightSum == 0.0 ? Double.POSITIVE_INFINITY : Math.sqrt(1.0 / angularWeightSum);
+    consumer.accept(
+        new Pose2d(x / linearWeightSum, y / linearWeightSum, new Rotation2d(cos, sin)),
+        timestamp / linearWeightSum,
+        VecBuilder.fill(linearStdDev, linearStdDev, angularStdDev));
+  }
+}
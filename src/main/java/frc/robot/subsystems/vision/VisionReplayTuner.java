@@ -0,0 +1,417 @@
+// Copyright (c) 2021-2026 Littleton Robotics
+// http://github.com/Mechanical-Advantage
+//
+// Use of this source code is governed by a BSD
+// license that can be found in the LICENSE file
+// at the root directory of this project.
+
+package frc.robot.subsystems.vision;
+
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.geometry.Twist2d;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import frc.robot.HardwareConstants;
+import frc.robot.generated.TunerConstants;
+import frc.robot.subsystems.drive.GyroIOInputsAutoLogged;
+import frc.robot.subsystems.drive.ModuleIOInputsAutoLogged;
+import frc.robot.subsystems.vision.io.VisionIOInputsAutoLogged;
+import frc.robot.util.LogKeys;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import org.littletonrobotics.junction.LogTable;
+import org.littletonrobotics.junction.wpilog.WPILOGReader;
+
+/**
+ * Desktop tool that replays a match log through the vision filter and pose estimator offline.
+ *
+ * <p>The log is decoded once into memory: gyro and module odometry inputs plus the {@code
+ * Vision/CameraN} inputs for every cycle. Each parameter set is then run through the same odometry
+ * update as {@code Drive.periodic()} and the same {@link VisionFilter} rules and {@link
+ * VisionFusion} stage as {@link Vision#periodic()}, as fast as the CPU allows. Parameter sets are
+ * evaluated in parallel, one per core.
+ *
+ * <p>Each run is scored on:
+ *
+ * <ul>
+ *   <li><b>Jumps</b> — how far a single measurement sent to the estimator moves the estimate.
+ *       Jumps larger than {@link #JUMP_THRESHOLD_METERS} are counted.
+ *   <li><b>Consistency</b> — RMS distance between each accepted vision pose and the estimate at
+ *       its capture time, before the correction is applied.
+ *   <li><b>Coverage</b> — the share of observations rejected. Without it, rejecting everything
+ *       would score a perfect zero.
+ * </ul>
+ *
+ * <p>A parameter set that accepts fewer than {@link #MIN_ACCEPTED_FRACTION_OF_BASELINE} of the
+ * observations the current constants accept is not ranked, so the sweep can't recommend turning
+ * vision off.
+ *
+ * <p>Usage:
+ *
+ * <pre>
+ * ./gradlew visionReplayTuner --args="path/to/match.wpilog maxAmbiguity=0.2,0.35 \
+ *     maxSingleTagDistanceMeters=3,4,5 linearStdDevBaseline=0.01,0.02"
+ * </pre>
+ *
+ * <p>The spin filter uses the logged gyro yaw rate in place of the module-state velocity the robot
+ * uses, and the estimator is re-seeded from the logged {@code Odometry/Robot} pose whenever the
+ * robot becomes enabled so auto pose resets are reproduced.
+ */
+public class VisionReplayTuner {
+  // A single correction moving the estimate farther than this counts as a jump
+  private static final double JUMP_THRESHOLD_METERS = 0.25;
+  // Cost weights used to rank parameter sets (lower is better)
+  private static final double JUMP_COUNT_WEIGHT = 1.0;
+  private static final double MAX_JUMP_WEIGHT = 5.0;
+  private static final double RMS_RESIDUAL_WEIGHT = 20.0;
+  private static final double REJECTED_FRACTION_WEIGHT = 10.0;
+  // Parameter sets accepting less than this share of the baseline's observations are not ranked
+  private static final double MIN_ACCEPTED_FRACTION_OF_BASELINE = 0.5;
+  // Number of ranked results printed
+  private static final int RESULTS_TO_PRINT = 20;
+
+  private static final String ODOMETRY_POSE_KEY = "RealOutputs/Odometry/Robot";
+  private static final String ENABLED_KEY = "DriverStation/Enabled";
+
+  /** One robot loop of decoded inputs. {@code seedPose} is set on the loop the robot enabled. */
+  private record Frame(
+      GyroIOInputsAutoLogged gyro,
+      ModuleIOInputsAutoLogged[] modules,
+      VisionIOInputsAutoLogged[] cameras,
+      Pose2d seedPose) {}
+
+  /** A single tunable parameter and the values to sweep. */
+  private record Sweep(String name, double[] values) {}
+
+  /** Result of replaying the log with one parameter set. */
+  public record Score(
+      String label,
+      int accepted,
+      int rejected,
+      int jumps,
+      double maxJumpMeters,
+      double rmsResidualMeters) {
+    public double cost() {
+      return jumps * JUMP_COUNT_WEIGHT
+          + maxJumpMeters * MAX_JUMP_WEIGHT
+          + rmsResidualMeters * RMS_RESIDUAL_WEIGHT
+          + rejectedFraction() * REJECTED_FRACTION_WEIGHT;
+    }
+
+    public double rejectedFraction() {
+      int total = accepted + rejected;
+      return total == 0 ? 0.0 : (double) rejected / total;
+    }
+  }
+
+  public static void main(String[] args) {
+    if (args.length < 1) {
+      System.err.println("Usage: VisionReplayTuner <log.wpilog> [parameter=v1,v2,...]...");
+      System.exit(1);
+    }
+
+    List<Sweep> sweeps = new ArrayList<>();
+    for (int i = 1; i < args.length; i++) {
+      sweeps.add(parseSweep(args[i]));
+    }
+
+    long loadStart = System.nanoTime();
+    List<Frame> frames = loadFrames(args[0]);
+    System.out.printf(
+        "Loaded %d cycles in %.1f s%n", frames.size(), (System.nanoTime() - loadStart) / 1e9);
+
+    List<String> labels = new ArrayList<>();
+    List<VisionFilter> filters = new ArrayList<>();
+    buildGrid(sweeps, 0, new VisionFilter(), "", labels, filters);
+
+    long runStart = System.nanoTime();
+    Score baseline = run(frames, new VisionFilter(), "current constants");
+    int minAccepted =
+        Math.max(1, (int) Math.ceil(baseline.accepted() * MIN_ACCEPTED_FRACTION_OF_BASELINE));
+    List<Score> scores =
+        IntStream.range(0, filters.size())
+            .parallel()
+            .mapToObj(i -> run(frames, filters.get(i), labels.get(i)))
+            .toList();
+    List<Score> ranked =
+        scores.stream()
+            .filter(score -> score.accepted() >= minAccepted)
+            .sorted(Comparator.comparingDouble(Score::cost))
+            .toList();
+    System.out.printf(
+        "Evaluated %d parameter sets on %d cores in %.1f s%n%n",
+        scores.size() + 1,
+        Runtime.getRuntime().availableProcessors(),
+        (System.nanoTime() - runStart) / 1e9);
+
+    printScore(baseline);
+    System.out.println();
+    for (int i = 0; i < Math.min(RESULTS_TO_PRINT, ranked.size()); i++) {
+      printScore(ranked.get(i));
+    }
+    if (ranked.size() < scores.size()) {
+      System.out.printf(
+          "%n%d parameter sets accepted fewer than %d observations and were not ranked%n",
+          scores.size() - ranked.size(), minAccepted);
+    }
+  }
+
+  /** Decodes the drive and vision inputs for every cycle of the log. */
+  private static List<Frame> loadFrames(String path) {
+    WPILOGReader reader = new WPILOGReader(path);
+    reader.start();
+    LogTable table = new LogTable(0);
+    List<Frame> frames = new ArrayList<>();
+    boolean wasEnabled = false;
+    String[] moduleKeys = LogKeys.indexed("Drive/Module", 4);
+    String[] cameraKeys = LogKeys.indexed("Vision/Camera", HardwareConstants.NUMBER_OF_CAMERAS);
+
+    while (reader.updateTable(table)) {
+      GyroIOInputsAutoLogged gyro = new GyroIOInputsAutoLogged();
+      gyro.fromLog(table.getSubtable("Drive/Gyro"));
+
+      ModuleIOInputsAutoLogged[] modules = new ModuleIOInputsAutoLogged[4];
+      for (int i = 0; i < modules.length; i++) {
+        modules[i] = new ModuleIOInputsAutoLogged();
+        modules[i].fromLog(table.getSubtable(moduleKeys[i]));
+      }
+
+      VisionIOInputsAutoLogged[] cameras =
+          new VisionIOInputsAutoLogged[HardwareConstants.NUMBER_OF_CAMERAS];
+      for (int i = 0; i < cameras.length; i++) {
+        cameras[i] = new VisionIOInputsAutoLogged();
+        cameras[i].fromLog(table.getSubtable(cameraKeys[i]));
+      }
+
+      // Reproduce pose resets (auto start) by seeding from the robot's own pose when enabled
+      boolean enabled = table.get(ENABLED_KEY, false);
+      Pose2d seedPose =
+          frames.isEmpty() || (enabled && !wasEnabled)
+              ? table.get(ODOMETRY_POSE_KEY, Pose2d.kZero)
+              : null;
+      wasEnabled = enabled;
+
+      frames.add(new Frame(gyro, modules, cameras, seedPose));
+    }
+    return frames;
+  }
+
+  /** Replays every frame with the given filter and scores the resulting pose estimate. */
+  private static Score run(List<Frame> frames, VisionFilter filter, String label) {
+    double[] wheelRadii = {
+      TunerConstants.FrontLeft.WheelRadius,
+      TunerConstants.FrontRight.WheelRadius,
+      TunerConstants.BackLeft.WheelRadius,
+      TunerConstants.BackRight.WheelRadius
+    };
+    SwerveDriveKinematics kinematics =
+        new SwerveDriveKinematics(
+            new Translation2d(
+                TunerConstants.FrontLeft.LocationX, TunerConstants.FrontLeft.LocationY),
+            new Translation2d(
+                TunerConstants.FrontRight.LocationX, TunerConstants.FrontRight.LocationY),
+            new Translation2d(TunerConstants.BackLeft.LocationX, TunerConstants.BackLeft.LocationY),
+            new Translation2d(
+                TunerConstants.BackRight.LocationX, TunerConstants.BackRight.LocationY));
+    Rotation2d rawGyroRotation = Rotation2d.kZero;
+    SwerveModulePosition[] lastModulePositions = {
+      new SwerveModulePosition(),
+      new SwerveModulePosition(),
+      new SwerveModulePosition(),
+      new SwerveModulePosition()
+    };
+    SwerveDrivePoseEstimator poseEstimator =
+        new SwerveDrivePoseEstimator(
+            kinematics, rawGyroRotation, lastModulePositions, Pose2d.kZero);
+
+    int accepted = 0;
+    int rejected = 0;
+    double residualSquaredSum = 0.0;
+    int residualCount = 0;
+    // [0] = jump count, [1] = max jump, updated from the consumer below
+    double[] jumpStats = new double[2];
+
+    VisionFusion fusion = new VisionFusion(VisionConstants.fusionWindowSeconds);
+    Vision.VisionConsumer consumer =
+        (visionPose, timestamp, stdDevs) -> {
+          Translation2d before = poseEstimator.getEstimatedPosition().getTranslation();
+          poseEstimator.addVisionMeasurement(visionPose, timestamp, stdDevs);
+          double jump = before.getDistance(poseEstimator.getEstimatedPosition().getTranslation());
+          jumpStats[1] = Math.max(jumpStats[1], jump);
+          if (jump > JUMP_THRESHOLD_METERS) {
+            jumpStats[0]++;
+          }
+        };
+
+    for (Frame frame : frames) {
+      if (frame.seedPose() != null) {
+        poseEstimator.resetPosition(rawGyroRotation, lastModulePositions, frame.seedPose());
+      }
+
+      // Odometry, mirroring Drive.periodic()
+      int sampleCount = frame.modules()[0].odometryTimestamps.length;
+      for (int i = 0; i < sampleCount; i++) {
+        SwerveModulePosition[] modulePositions = new SwerveModulePosition[4];
+        SwerveModulePosition[] moduleDeltas = new SwerveModulePosition[4];
+        for (int moduleIndex = 0; moduleIndex < 4; moduleIndex++) {
+          ModuleIOInputsAutoLogged module = frame.modules()[moduleIndex];
+          if (i >= module.odometryDrivePositionsRad.length) {
+            modulePositions[moduleIndex] = lastModulePositions[moduleIndex];
+          } else {
+            modulePositions[moduleIndex] =
+                new SwerveModulePosition(
+                    module.odometryDrivePositionsRad[i] * wheelRadii[moduleIndex],
+                    module.odometryTurnPositions[i]);
+          }
+          moduleDeltas[moduleIndex] =
+              new SwerveModulePosition(
+                  modulePositions[moduleIndex].distanceMeters
+                      - lastModulePositions[moduleIndex].distanceMeters,
+                  modulePositions[moduleIndex].angle);
+          lastModulePositions[moduleIndex] = modulePositions[moduleIndex];
+        }
+
+        if (frame.gyro().connected && i < frame.gyro().odometryYawPositions.length) {
+          rawGyroRotation = frame.gyro().odometryYawPositions[i];
+        } else {
+          Twist2d twist = kinematics.toTwist2d(moduleDeltas);
+          rawGyroRotation = rawGyroRotation.plus(new Rotation2d(twist.dtheta));
+        }
+
+        poseEstimator.updateWithTime(
+            frame.modules()[0].odometryTimestamps[i], rawGyroRotation, modulePositions);
+      }
+
+      // Vision, mirroring Vision.periodic()
+      boolean spinningTooFast = filter.isSpinningTooFast(frame.gyro().yawVelocityRadPerSec);
+      for (int cameraIndex = 0; cameraIndex < frame.cameras().length; cameraIndex++) {
+        for (var observation : frame.cameras()[cameraIndex].poseObservations) {
+          if (!filter.getRejectionReason(observation, spinningTooFast).isEmpty()) {
+            rejected++;
+            continue;
+          }
+          accepted++;
+
+          Pose2d visionPose = observation.pose().toPose2d();
+          Optional<Pose2d> poseAtCapture = poseEstimator.sampleAt(observation.timestamp());
+          if (poseAtCapture.isPresent()) {
+            double residual =
+                poseAtCapture.get().getTranslation().getDistance(visionPose.getTranslation());
+            residualSquaredSum += residual * residual;
+            residualCount++;
+          }
+
+          double linearStdDev = filter.getLinearStdDev(observation, cameraIndex);
+          double angularStdDev = filter.getAngularStdDev(observation, cameraIndex);
+          if (VisionConstants.enableMultiCameraFusion) {
+            fusion.add(visionPose, observation.timestamp(), linearStdDev, angularStdDev);
+          } else {
+            consumer.accept(
+                visionPose,
+                observation.timestamp(),
+                VecBuilder.fill(linearStdDev, linearStdDev, angularStdDev));
+          }
+        }
+      }
+      if (VisionConstants.enableMultiCameraFusion) {
+        fusion.flush(consumer);
+      }
+    }
+
+    double rmsResidual = residualCount == 0 ? 0.0 : Math.sqrt(residualSquaredSum / residualCount);
+    return new Score(label, accepted, rejected, (int) jumpStats[0], jumpStats[1], rmsResidual);
+  }
+
+  /** Recursively expands the sweeps into every combination of parameter values. */
+  private static void buildGrid(
+      List<Sweep> sweeps,
+      int depth,
+      VisionFilter template,
+      String label,
+      List<String> labels,
+      List<VisionFilter> filters) {
+    if (depth == sweeps.size()) {
+      labels.add(label.isEmpty() ? "current constants" : label);
+      filters.add(template);
+      return;
+    }
+    Sweep sweep = sweeps.get(depth);
+    for (double value : sweep.values()) {
+      VisionFilter filter = copy(template);
+      setParameter(filter, sweep.name(), value);
+      String next = (label.isEmpty() ? "" : label + " ") + sweep.name() + "=" + value;
+      buildGrid(sweeps, depth + 1, filter, next, labels, filters);
+    }
+  }
+
+  private static Sweep parseSweep(String arg) {
+    int split = arg.indexOf('=');
+    if (split <= 0) {
+      throw new IllegalArgumentException("Expected parameter=v1,v2,... but got: " + arg);
+    }
+    String[] parts = arg.substring(split + 1).split(",");
+    double[] values = new double[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      values[i] = Double.parseDouble(parts[i].trim());
+    }
+    String name = arg.substring(0, split);
+    setParameter(new VisionFilter(), name, 0.0); // Fail fast on unknown names
+    return new Sweep(name, values);
+  }
+
+  private static void setParameter(VisionFilter filter, String name, double value) {
+    switch (name) {
+      case "maxAmbiguity" -> filter.maxAmbiguity = value;
+      case "maxZError" -> filter.maxZError = value;
+      case "floorError" -> filter.floorError = value;
+      case "maxDistanceMeters" -> filter.maxDistanceMeters = value;
+      case "maxSingleTagDistanceMeters" -> filter.maxSingleTagDistanceMeters = value;
+      case "maxAngularVelocityRadPerSec" -> filter.maxAngularVelocityRadPerSec = value;
+      case "maxPitchRollRadians" -> filter.maxPitchRollRadians = value;
+      case "linearStdDevBaseline" -> filter.linearStdDevBaseline = value;
+      case "angularStdDevBaseline" -> filter.angularStdDevBaseline = value;
+      case "singleTagStdDevMultiplier" -> filter.singleTagStdDevMultiplier = value;
+      case "linearStdDevMegatag2Factor" -> filter.linearStdDevMegatag2Factor = value;
+      default -> throw new IllegalArgumentException("Unknown vision parameter: " + name);
+    }
+  }
+
+  private static VisionFilter copy(VisionFilter source) {
+    VisionFilter filter = new VisionFilter();
+    filter.maxAmbiguity = source.maxAmbiguity;
+    filter.maxZError = source.maxZError;
+    filter.floorError = source.floorError;
+    filter.maxDistanceMeters = source.maxDistanceMeters;
+    filter.maxSingleTagDistanceMeters = source.maxSingleTagDistanceMeters;
+    filter.maxAngularVelocityRadPerSec = source.maxAngularVelocityRadPerSec;
+    filter.maxPitchRollRadians = source.maxPitchRollRadians;
+    filter.linearStdDevBaseline = source.linearStdDevBaseline;
+    filter.angularStdDevBaseline = source.angularStdDevBaseline;
+    filter.singleTagStdDevMultiplier = source.singleTagStdDevMultiplier;
+    filter.cameraStdDevFactors = source.cameraStdDevFactors.clone();
+    filter.linearStdDevMegatag2Factor = source.linearStdDevMegatag2Factor;
+    filter.angularStdDevMegatag2Factor = source.angularStdDevMegatag2Factor;
+    return filter;
+  }
+
+  private static void printScore(Score score) {
+    System.out.printf(
+        "cost %7.2f | jumps %4d | max jump %5.2f m | rms %5.3f m | accepted %5d | rejected %5d"
+            + " (%4.1f%%) | %s%n",
+        score.cost(),
+        score.jumps(),
+        score.maxJumpMeters(),
+        score.rmsResidualMeters(),
+        score.accepted(),
+        score.rejected(),
+        score.rejectedFraction() * 100.0,
+        score.label());
+  }
+}
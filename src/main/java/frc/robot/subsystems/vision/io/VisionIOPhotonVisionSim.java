@@ -7,25 +7,48 @@
 
 package frc.robot.subsystems.vision.io;
 
-import static frc.robot.subsystems.vision.VisionConstants.aprilTagLayout;
+import static frc.robot.subsystems.vision.VisionConstants.*;
 
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Transform3d;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 import org.photonvision.simulation.PhotonCameraSim;
 import org.photonvision.simulation.SimCameraProperties;
 import org.photonvision.simulation.VisionSystemSim;
 
-/** IO implementation for physics sim using PhotonVision simulator. */
+/**
+ * IO implementation for physics sim using PhotonVision simulator.
+ *
+ * <p>Each camera owns its own {@link VisionSystemSim} so it can be rendered on its own schedule.
+ * Cameras render at {@link frc.robot.subsystems.vision.VisionConstants#simCameraRateHz} instead of
+ * every robot loop, with their render loops phase-staggered so the work is spread evenly across
+ * loops. When {@link frc.robot.subsystems.vision.VisionConstants#simParallelRendering} is set, the
+ * cameras due on a given loop are projected on worker threads.
+ *
+ * <p>Latency is modeled by PhotonVision itself: each sim keeps a pose history and renders a frame
+ * from the robot pose at {@code now - latency}, stamping the result with that capture time. The
+ * pose history is only sampled on render loops, so the capture pose is interpolated between
+ * renders.
+ */
 public class VisionIOPhotonVisionSim extends VisionIOPhotonVision {
-  private static VisionSystemSim visionSim;
+  // All sim cameras, in construction order. Index doubles as the phase offset.
+  private static final List<VisionIOPhotonVisionSim> instances = new ArrayList<>();
+  private static ExecutorService renderExecutor;
+  private static int loopCount = 0;
 
   private final Supplier<Pose2d> poseSupplier;
+  private final VisionSystemSim visionSim;
   private final PhotonCameraSim cameraSim;
+  private final int index;
 
-  // visionSim.update() re-renders EVERY camera on the shared VisionSystemSim, so only
-  // the first-constructed instance steps the sim. Its updateInputs() runs first in
-  // Vision.periodic(), so all cameras still see fresh data each loop.
+  // Only the first-constructed instance steps the sims. Its updateInputs() runs first in
+  // Vision.periodic(), so every camera that rendered this loop has its result ready before the
+  // other instances read their unread results.
   private final boolean updatesVisionSim;
 
   /**
@@ -39,24 +62,77 @@ public class VisionIOPhotonVisionSim extends VisionIOPhotonVision {
     super(name, robotToCamera);
     this.poseSupplier = poseSupplier;
 
-    // Initialize vision sim
-    updatesVisionSim = visionSim == null;
-    if (visionSim == null) {
-      visionSim = new VisionSystemSim("main");
-      visionSim.addAprilTags(aprilTagLayout);
-    }
+    index = instances.size();
+    updatesVisionSim = index == 0;
+    instances.add(this);
+
+    // Initialize vision sim for this camera
+    visionSim = new VisionSystemSim(name);
+    visionSim.addAprilTags(aprilTagLayout);
 
-    // Add sim camera
+    // Add sim camera. FPS is left unlimited — the render schedule below sets the frame rate.
     var cameraProperties = new SimCameraProperties();
+    cameraProperties.setAvgLatencyMs(simAverageLatencyMs);
+    cameraProperties.setLatencyStdDevMs(simLatencyStdDevMs);
     cameraSim = new PhotonCameraSim(camera, cameraProperties, aprilTagLayout);
+    cameraSim.enableRawStream(simVideoStreamsEnabled);
+    cameraSim.enableProcessedStream(simVideoStreamsEnabled);
     visionSim.addCamera(cameraSim, robotToCamera);
   }
 
   @Override
   public void updateInputs(VisionIOInputs inputs) {
     if (updatesVisionSim) {
-      visionSim.update(poseSupplier.get());
+      renderDueCameras(poseSupplier.get());
     }
     super.updateInputs(inputs);
   }
+
+  /** Renders every camera whose staggered render slot falls on this loop. */
+  private static void renderDueCameras(Pose2d robotPose) {
+    int count = instances.size();
+    int period = getRenderPeriodLoops();
+    int slot = loopCount++ % period;
+
+    List<VisionIOPhotonVisionSim> due = new ArrayList<>(count);
+    for (var instance : instances) {
+      // Spread phases evenly across the period, e.g. 4 cameras at period 2 -> 0, 0, 1, 1
+      if ((instance.index * period) / count == slot) {
+        due.add(instance);
+      }
+    }
+
+    if (!simParallelRendering || due.size() < 2) {
+      for (var instance : due) {
+        instance.visionSim.update(robotPose);
+      }
+      return;
+    }
+
+    if (renderExecutor == null) {
+      renderExecutor =
+          Executors.newFixedThreadPool(
+              count,
+              runnable -> {
+                Thread thread = new Thread(runnable, "VisionSimRender");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[due.size()];
+    for (int i = 0; i < futures.length; i++) {
+      VisionSystemSim sim = due.get(i).visionSim;
+      futures[i] = CompletableFuture.runAsync(() -> sim.update(robotPose), renderExecutor);
+    }
+    // Block so results are published before any camera reads them this loop
+    CompletableFuture.allOf(futures).join();
+  }
+
+  /** Number of robot loops between renders of the same camera (at least 1). */
+  private static int getRenderPeriodLoops() {
+    if (simCameraRateHz <= 0.0) {
+      return 1;
+    }
+    return Math.max(1, (int) Math.round(1.0 / (simCameraRateHz * 0.02)));
+  }
 }
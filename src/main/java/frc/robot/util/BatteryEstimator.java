@@ -0,0 +1,151 @@
+package frc.robot.util;
+
+import edu.wpi.first.math.MathUtil;
+import frc.robot.HardwareConstants.BatteryEstimation;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Estimates the battery's internal resistance, open-circuit voltage and state of charge while the
+ * robot runs, and tracks how much of a match's energy budget has been used.
+ *
+ * <p>The battery and wiring are modelled as {@code V = Voc - R * I}. Each loop the measured battery
+ * voltage and {@link BatteryLogger}'s total supply current update {@code Voc} and {@code R} by
+ * recursive least squares with a forgetting factor ({@link BatteryEstimation#FORGETTING_FACTOR}),
+ * so the fit follows the battery as it drains and warms up. State of charge is read off the
+ * open-circuit voltage between {@link BatteryEstimation#EMPTY_VOLTS} and {@link
+ * BatteryEstimation#FULL_VOLTS}.
+ *
+ * <p>The match energy is the growth of {@link BatteryLogger#getTotalEnergy()} since {@link
+ * #startMatch}. It is compared with {@link BatteryEstimation#MATCH_ENERGY_BUDGET_WATT_HOURS} and
+ * projected to the end of the match at the rate used so far.
+ *
+ * <p>Everything is logged under {@code BatteryEstimator/} for comparing batteries after the fact.
+ */
+public class BatteryEstimator {
+  private static final double JOULES_PER_WATT_HOUR = 3600.0;
+
+  // Don't project the match total from the first few seconds of data
+  private static final double MIN_PROJECTION_SECONDS = 5.0;
+
+  // Fitted parameters
+  private double openCircuitVolts = BatteryEstimation.INITIAL_OPEN_CIRCUIT_VOLTS;
+  private double resistanceOhms = BatteryEstimation.INITIAL_RESISTANCE_OHMS;
+
+  // Parameter covariance (symmetric): [p00 p01; p01 p11] for [Voc, R]
+  private double p00 = BatteryEstimation.MAX_VOLTS_VARIANCE;
+  private double p01 = 0.0;
+  private double p11 = BatteryEstimation.MAX_RESISTANCE_VARIANCE;
+
+  // Match energy tracking
+  private double energyJoules = 0.0;
+  private double matchStartEnergyJoules = 0.0;
+  private double matchStartTimestamp = -1.0;
+
+  /**
+   * Adds one loop's measurements to the fit and logs the estimates. Call once per loop, after
+   * {@link BatteryLogger#periodicAfterScheduler()}.
+   *
+   * @param batteryVolts Battery voltage this loop
+   * @param totalAmps Total current drawn from the battery this loop
+   * @param totalEnergyJoules Energy drawn since boot, from {@link BatteryLogger#getTotalEnergy()}
+   */
+  public void update(double batteryVolts, double totalAmps, double totalEnergyJoules) {
+    energyJoules = totalEnergyJoules;
+    fit(batteryVolts, totalAmps);
+
+    double stateOfCharge =
+        MathUtil.clamp(
+            (openCircuitVolts - BatteryEstimation.EMPTY_VOLTS)
+                / (BatteryEstimation.FULL_VOLTS - BatteryEstimation.EMPTY_VOLTS),
+            0.0,
+            1.0);
+
+    Logger.recordOutput("BatteryEstimator/ResistanceOhms", resistanceOhms);
+    Logger.recordOutput("BatteryEstimator/OpenCircuitVolts", openCircuitVolts);
+    Logger.recordOutput("BatteryEstimator/StateOfCharge", stateOfCharge);
+
+    if (matchStartTimestamp < 0.0) {
+      return;
+    }
+    double elapsed = Logger.getTimestamp() * 1e-6 - matchStartTimestamp;
+    double usedWattHours = getMatchEnergyJoules() / JOULES_PER_WATT_HOUR;
+    double projectedWattHours =
+        elapsed >= MIN_PROJECTION_SECONDS
+            ? usedWattHours * BatteryEstimation.MATCH_SECONDS / elapsed
+            : 0.0;
+    Logger.recordOutput("BatteryEstimator/Match/EnergyUsedWh", usedWattHours);
+    Logger.recordOutput(
+        "BatteryEstimator/Match/EnergyRemainingWh",
+        BatteryEstimation.MATCH_ENERGY_BUDGET_WATT_HOURS - usedWattHours);
+    Logger.recordOutput("BatteryEstimator/Match/ProjectedEnergyWh", projectedWattHours);
+    Logger.recordOutput(
+        "BatteryEstimator/Match/ProjectedOverBudget",
+        projectedWattHours > BatteryEstimation.MATCH_ENERGY_BUDGET_WATT_HOURS);
+  }
+
+  /** Starts counting match energy from now. Called from {@code autonomousInit()}. */
+  public void startMatch() {
+    matchStartEnergyJoules = energyJoules;
+    matchStartTimestamp = Logger.getTimestamp() * 1e-6;
+  }
+
+  /**
+   * Starts counting match energy from now unless a match started recently, so a practice run that
+   * goes straight to teleop still gets a budget. Called from {@code teleopInit()}.
+   */
+  public void startTeleop() {
+    if (matchStartTimestamp < 0.0
+        || Logger.getTimestamp() * 1e-6 - matchStartTimestamp > BatteryEstimation.MATCH_SECONDS) {
+      startMatch();
+    }
+  }
+
+  /** Returns the fitted open-circuit voltage. */
+  public double getOpenCircuitVolts() {
+    return openCircuitVolts;
+  }
+
+  /** Returns the fitted internal resistance (battery and wiring), in ohms. */
+  public double getResistanceOhms() {
+    return resistanceOhms;
+  }
+
+  /** Returns the energy drawn since the match started, in joules, or 0 before it starts. */
+  public double getMatchEnergyJoules() {
+    return matchStartTimestamp < 0.0 ? 0.0 : energyJoules - matchStartEnergyJoules;
+  }
+
+  /** One recursive least-squares step for {@code V = Voc - R * I}, regressor {@code [1, -I]}. */
+  private void fit(double volts, double amps) {
+    double lambda = BatteryEstimation.FORGETTING_FACTOR;
+    double phi1 = -amps;
+
+    // P * phi
+    double pPhi0 = p00 + p01 * phi1;
+    double pPhi1 = p01 + p11 * phi1;
+    double denominator = lambda + pPhi0 + phi1 * pPhi1;
+    double gain0 = pPhi0 / denominator;
+    double gain1 = pPhi1 / denominator;
+
+    double error = volts - (openCircuitVolts + phi1 * resistanceOhms);
+    openCircuitVolts += gain0 * error;
+    resistanceOhms =
+        MathUtil.clamp(
+            resistanceOhms + gain1 * error,
+            BatteryEstimation.MIN_RESISTANCE_OHMS,
+            BatteryEstimation.MAX_RESISTANCE_OHMS);
+
+    // P = (P - K * (P * phi)^T) / lambda
+    p00 = (p00 - gain0 * pPhi0) / lambda;
+    p01 = (p01 - gain0 * pPhi1) / lambda;
+    p11 = (p11 - gain1 * pPhi1) / lambda;
+
+    // With the current barely changing, forgetting alone would grow P without bound. Scaling the
+    // off-diagonal by the geometric mean of the diagonal scales keeps P positive definite.
+    double scale0 = Math.min(1.0, BatteryEstimation.MAX_VOLTS_VARIANCE / p00);
+    double scale1 = Math.min(1.0, BatteryEstimation.MAX_RESISTANCE_VARIANCE / p11);
+    p00 *= scale0;
+    p11 *= scale1;
+    p01 *= Math.sqrt(scale0 * scale1);
+  }
+}
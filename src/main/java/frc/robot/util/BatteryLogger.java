@@ -1,5 +1,6 @@
 package frc.robot.util;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import org.littletonrobotics.junction.Logger;
@@ -7,10 +8,14 @@ import org.littletonrobotics.junction.Logger;
 /**
  * Tracks current draw, power consumption, and cumulative energy usage for every subsystem.
  *
- * <p>Each subsystem calls {@link #reportCurrentUsage(String, boolean, double...)} once per loop
- * inside its {@code periodic()} method, passing the supply-current readings (in amps) from its
- * motors. The logger aggregates the data and writes it to AdvantageKit under the {@code
- * BatteryLogger/} namespace so it can be viewed in AdvantageScope.
+ * <p>Each subsystem registers a channel once with {@link #registerChannel(String, boolean)}, then
+ * calls {@link #reportCurrentUsage(int, double)} once per loop inside its {@code periodic()}
+ * method, passing the supply-current readings (in amps) from its motors. The logger aggregates the
+ * data and writes it to AdvantageKit under the {@code BatteryLogger/} namespace so it can be viewed
+ * in AdvantageScope.
+ *
+ * <p>Keys, parent groups and log keys are all worked out at registration. Reporting and logging
+ * then only index into primitive arrays, with no string building or boxing in the loop.
  *
  * <p>Adapted from <a
  * href="https://github.com/Mechanical-Advantage/RobotCode2026Public">6328&rsquo;s
@@ -27,63 +32,90 @@ public class BatteryLogger {
   private double totalPower = 0.0;
   private double totalEnergy = 0.0;
 
+  // ---- Totals of the last completed loop, for readers after periodicAfterScheduler() ----
+  private double lastTotalCurrent = 0.0;
+  private double lastDriveCurrent = 0.0;
+  private double lastTotalPower = 0.0;
+
   // Battery voltage, updated each loop from RobotController
   private double batteryVoltage = 12.6;
 
   // RoboRIO current, set from Robot.java each loop
   private double rioCurrent = 0.0;
 
-  // ---- Per-subsystem maps ----
-  private final Map<String, Double> subsystemCurrents = new HashMap<>();
-  private final Map<String, Double> subsystemPowers = new HashMap<>();
-  private final Map<String, Double> subsystemEnergies = new HashMap<>();
+  // ---- Per-channel data, indexed by handle. Parent groups are channels too. ----
+  private final Map<String, Integer> channelsByKey = new HashMap<>();
+  private int channelCount = 0;
+  private String[] currentKeys = new String[0];
+  private String[] powerKeys = new String[0];
+  private String[] energyKeys = new String[0];
+  private int[][] parents = new int[0][];
+  private boolean[] isDrive = new boolean[0];
+  private boolean[] reported = new boolean[0];
+  private double[] currents = new double[0];
+  private double[] powers = new double[0];
+  private double[] energies = new double[0];
+
+  // Fixed overhead channels, reported in periodicAfterScheduler()
+  private final int rioChannel = registerChannel("Controls/roboRIO", false);
+  private final int cancoderChannel = registerChannel("Controls/CANcoders", false);
+  private final int pigeonChannel = registerChannel("Controls/Pigeon", false);
+  private final int canivoreChannel = registerChannel("Controls/CANivore", false);
+  private final int radioChannel = registerChannel("Controls/Radio", false);
 
   /**
-   * Reports the current draw of one or more motors belonging to a subsystem.
+   * Registers a channel for one or more motors belonging to a subsystem. Call once, from the
+   * subsystem's constructor; registering the same key again returns the same handle.
    *
    * @param key Hierarchical key, e.g. {@code "Drive/Module0-Drive"}. Slashes or hyphens separate
    *     levels so parent groups are automatically aggregated.
-   * @param isDrive {@code true} if this current contributes to the drivetrain total.
-   * @param amps One value per motor — supply current in amps.
+   * @param drive {@code true} if this current contributes to the drivetrain total.
+   * @return Handle to pass to {@code reportCurrentUsage}
    */
-  public void reportCurrentUsage(String key, boolean isDrive, double... amps) {
-    double totalAmps = 0.0;
-    for (double amp : amps) {
-      totalAmps += Math.abs(amp);
-    }
+  public int registerChannel(String key, boolean drive) {
+    int channel = getOrAddChannel(key);
+    isDrive[channel] = drive;
 
-    if (isDrive) {
-      driveCurrent += totalAmps;
-    }
-
-    double power = totalAmps * batteryVoltage;
-    double energy = power * LOOP_PERIOD_SECS;
-
-    totalCurrent += totalAmps;
-    totalPower += power;
-    totalEnergy += energy;
-
-    // Store the leaf key
-    subsystemCurrents.put(key, totalAmps);
-    subsystemPowers.put(key, power);
-    subsystemEnergies.merge(key, energy, Double::sum);
-
-    // Aggregate parent keys (split on "/" or "-")
+    // Parent keys to aggregate into (split on "/" or "-")
     String[] keys = key.split("/|-");
     if (keys.length < 2) {
-      return;
+      return channel;
     }
-
+    int[] chain = new int[keys.length - 1];
     String subkey = "";
     for (int i = 0; i < keys.length - 1; i++) {
       subkey += keys[i];
       if (i < keys.length - 2) {
         subkey += "/";
       }
-      subsystemCurrents.merge(subkey, totalAmps, Double::sum);
-      subsystemPowers.merge(subkey, power, Double::sum);
-      subsystemEnergies.merge(subkey, energy, Double::sum);
+      chain[i] = getOrAddChannel(subkey);
+    }
+    parents[channel] = chain;
+    return channel;
+  }
+
+  /**
+   * Reports the current draw of a channel's motor.
+   *
+   * @param channel Handle from {@link #registerChannel}
+   * @param amps Supply current in amps
+   */
+  public void reportCurrentUsage(int channel, double amps) {
+    report(channel, Math.abs(amps));
+  }
+
+  /**
+   * Reports the current draw of a channel's motors.
+   *
+   * @param channel Handle from {@link #registerChannel}
+   * @param amps One value per motor — supply current in amps.
+   */
+  public void reportCurrentUsage(int channel, double[] amps) {
+    double totalAmps = 0.0;
+    for (double amp : amps) {
+      totalAmps += Math.abs(amp);
     }
+    report(channel, totalAmps);
   }
 
   /**
@@ -92,11 +124,11 @@ public class BatteryLogger {
    */
   public void periodicAfterScheduler() {
     // Include fixed overhead currents
-    reportCurrentUsage("Controls/roboRIO", false, rioCurrent);
-    reportCurrentUsage("Controls/CANcoders", false, 0.05 * 4);
-    reportCurrentUsage("Controls/Pigeon", false, 0.04);
-    reportCurrentUsage("Controls/CANivore", false, 0.03);
-    reportCurrentUsage("Controls/Radio", false, 0.5);
+    reportCurrentUsage(rioChannel, rioCurrent);
+    reportCurrentUsage(cancoderChannel, 0.05 * 4);
+    reportCurrentUsage(pigeonChannel, 0.04);
+    reportCurrentUsage(canivoreChannel, 0.03);
+    reportCurrentUsage(radioChannel, 0.5);
 
     // Log totals
     Logger.recordOutput("BatteryLogger/Current", totalCurrent);
@@ -104,18 +136,16 @@ public class BatteryLogger {
     Logger.recordOutput("BatteryLogger/Power", totalPower);
     Logger.recordOutput("BatteryLogger/Energy", joulesToWattHours(totalEnergy));
 
-    // Log per-subsystem breakdowns
-    for (var entry : subsystemCurrents.entrySet()) {
-      Logger.recordOutput("BatteryLogger/Current/" + entry.getKey(), entry.getValue());
-      subsystemCurrents.put(entry.getKey(), 0.0);
-    }
-    for (var entry : subsystemPowers.entrySet()) {
-      Logger.recordOutput("BatteryLogger/Power/" + entry.getKey(), entry.getValue());
-      subsystemPowers.put(entry.getKey(), 0.0);
-    }
-    for (var entry : subsystemEnergies.entrySet()) {
-      Logger.recordOutput(
-          "BatteryLogger/Energy/" + entry.getKey(), joulesToWattHours(entry.getValue()));
+    // Log per-subsystem breakdowns; only channels that have reported at least once
+    for (int i = 0; i < channelCount; i++) {
+      if (!reported[i]) {
+        continue;
+      }
+      Logger.recordOutput(currentKeys[i], currents[i]);
+      Logger.recordOutput(powerKeys[i], powers[i]);
+      Logger.recordOutput(energyKeys[i], joulesToWattHours(energies[i]));
+      currents[i] = 0.0;
+      powers[i] = 0.0;
     }
 
     // Reset per-cycle totals (energy accumulates across the match)
@@ -133,17 +163,19 @@ public class BatteryLogger {
   }
 
   // ---- Getters ----
+  // Current and power are from the last completed loop, so they can be read after
+  // periodicAfterScheduler() has reset the running totals.
 
   public double getTotalCurrent() {
-    return totalCurrent;
+    return lastTotalCurrent;
   }
 
   public double getDriveCurrent() {
-    return driveCurrent;
+    return lastDriveCurrent;
   }
 
   public double getTotalPower() {
-    return totalPower;
+    return lastTotalPower;
   }
 
   public double getTotalEnergy() {
@@ -152,7 +184,64 @@ public class BatteryLogger {
 
   // ---- Helpers ----
 
+  private void report(int channel, double totalAmps) {
+    if (isDrive[channel]) {
+      driveCurrent += totalAmps;
+    }
+
+    double power = totalAmps * batteryVoltage;
+    double energy = power * LOOP_PERIOD_SECS;
+
+    totalCurrent += totalAmps;
+    totalPower += power;
+    totalEnergy += energy;
+
+    // The leaf holds this loop's value; parent groups sum their children
+    currents[channel] = totalAmps;
+    powers[channel] = power;
+    energies[channel] += energy;
+    reported[channel] = true;
+
+    int[] chain = parents[channel];
+    for (int i = 0; i < chain.length; i++) {
+      int parent = chain[i];
+      currents[parent] += totalAmps;
+      powers[parent] += power;
+      energies[parent] += energy;
+      reported[parent] = true;
+    }
+  }
+
+  private int getOrAddChannel(String key) {
+    Integer existing = channelsByKey.get(key);
+    if (existing != null) {
+      return existing;
+    }
+    int channel = channelCount++;
+    if (channel == currents.length) {
+      int capacity = Math.max(16, channel * 2);
+      currentKeys = Arrays.copyOf(currentKeys, capacity);
+      powerKeys = Arrays.copyOf(powerKeys, capacity);
+      energyKeys = Arrays.copyOf(energyKeys, capacity);
+      parents = Arrays.copyOf(parents, capacity);
+      isDrive = Arrays.copyOf(isDrive, capacity);
+      reported = Arrays.copyOf(reported, capacity);
+      currents = Arrays.copyOf(currents, capacity);
+      powers = Arrays.copyOf(powers, capacity);
+      energies = Arrays.copyOf(energies, capacity);
+    }
+    currentKeys[channel] = LogKeys.of("BatteryLogger/Current", key);
+    powerKeys[channel] = LogKeys.of("BatteryLogger/Power", key);
+    energyKeys[channel] = LogKeys.of("BatteryLogger/Energy", key);
+    parents[channel] = new int[0];
+    channelsByKey.put(key, channel);
+    return channel;
+  }
+
   private void resetTotals() {
+    lastTotalCurrent = totalCurrent;
+    lastDriveCurrent = driveCurrent;
+    lastTotalPower = totalPower;
     totalPower = 0.0;
     totalCurrent = 0.0;
     driveCurrent = 0.0;
@@ -0,0 +1,186 @@
+package frc.robot.util;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.CANBus;
+import com.ctre.phoenix6.CANBus.CANBusStatus;
+import edu.wpi.first.wpilibj.Alert;
+import edu.wpi.first.wpilibj.Alert.AlertType;
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.HardwareConstants.CanBudget;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Shows how much of each CAN bus we use, both as planned and as measured.
+ *
+ * <p><b>Planned:</b> Every signal registered with {@link CANSignalRegistry} is listed with the
+ * update frequency Phoenix actually applied, grouped by bus and owner. Counting each signal as its
+ * own frame gives an upper bound on frames per second. Phoenix packs several signals into some
+ * frames, so the real number is lower. The estimate is printed at boot and again whenever {@link
+ * SignalRatePolicy} switches between its enabled and disabled rates. It is logged under {@code
+ * CAN/<bus>/Estimated*} and flagged if it exceeds {@link CanBudget#MAX_UTILIZATION}. This is the
+ * number to check when changing a rate in an IO constructor.
+ *
+ * <p><b>Measured:</b> Every {@link CanBudget#STATUS_PERIOD_SECONDS}, {@code CANBus.getStatus()} is
+ * read for each bus and its utilization, bus-off, TX-full and error counters are logged under
+ * {@code CAN/<bus>/}. An alert is raised while measured utilization is over budget.
+ *
+ * <p>Frame time assumptions: a classic CAN 2.0 frame with 8 data bytes is about 130 bits including
+ * stuffing, 130 µs at 1 Mbit/s. A CAN FD frame on the CANivore sends ~40 bits of arbitration at 1
+ * Mbit/s and the rest at the 8 Mbit/s data rate, about 55 µs. Only registered signals are counted.
+ * Anything we never register, such as motor control frames, comes on top.
+ */
+public class CANBusDiagnostics {
+  private static final double CLASSIC_FRAME_SECONDS = 130e-6;
+  private static final double FD_FRAME_SECONDS = 55e-6;
+
+  private static final class BusEntry {
+    final CANBus bus;
+    final String name;
+    final Map<String, List<BaseStatusSignal>> signalsByOwner = new LinkedHashMap<>();
+    final Alert overBudgetAlert;
+    final String utilizationKey;
+    final String busOffKey;
+    final String txFullKey;
+    final String receiveErrorKey;
+    final String transmitErrorKey;
+    final String overBudgetKey;
+
+    BusEntry(CANBus bus, String name) {
+      this.bus = bus;
+      this.name = name;
+      overBudgetAlert =
+          new Alert("CAN bus \"" + name + "\" is over its utilization budget.", AlertType.kWarning);
+      utilizationKey = "CAN/" + name + "/Utilization";
+      busOffKey = "CAN/" + name + "/BusOffCount";
+      txFullKey = "CAN/" + name + "/TxFullCount";
+      receiveErrorKey = "CAN/" + name + "/ReceiveErrorCount";
+      transmitErrorKey = "CAN/" + name + "/TransmitErrorCount";
+      overBudgetKey = "CAN/" + name + "/OverBudget";
+    }
+  }
+
+  private final List<BusEntry> buses = new ArrayList<>();
+  private final long statusPeriodMicros = (long) (CanBudget.STATUS_PERIOD_SECONDS * 1e6);
+  private long nextStatusMicros = 0;
+  private boolean reported = false;
+  private boolean reportedEnabledRates;
+
+  /** Create after all IOs are constructed, so every registration is included. */
+  public CANBusDiagnostics() {
+    for (CANSignalRegistry.Registration registration : CANSignalRegistry.getRegistrations()) {
+      String name = CANSignalRegistry.normalize(registration.bus().getName());
+      BusEntry entry = null;
+      for (BusEntry existing : buses) {
+        if (existing.name.equals(name)) {
+          entry = existing;
+          break;
+        }
+      }
+      if (entry == null) {
+        entry = new BusEntry(registration.bus(), name);
+        buses.add(entry);
+      }
+      List<BaseStatusSignal> ownerSignals =
+          entry.signalsByOwner.computeIfAbsent(registration.owner(), k -> new ArrayList<>());
+      for (BaseStatusSignal signal : registration.signals()) {
+        ownerSignals.add(signal);
+      }
+    }
+  }
+
+  /** Reads and logs live bus status at the configured rate. Call once per loop. */
+  public void periodic() {
+    long now = Logger.getTimestamp();
+    if (now < nextStatusMicros) {
+      return;
+    }
+    nextStatusMicros = now + statusPeriodMicros;
+
+    // Applied frequencies settle after the IOs' optimizeBusUtilization() calls and after a rate
+    // switch, so the static report waits for the next status tick instead of running right away
+    boolean enabledRates = SignalRatePolicy.isEnabled();
+    if (!reported || enabledRates != reportedEnabledRates) {
+      reported = true;
+      reportedEnabledRates = enabledRates;
+      reportEstimates();
+    }
+
+    for (BusEntry entry : buses) {
+      CANBusStatus status = entry.bus.getStatus();
+      boolean overBudget = status.BusUtilization > CanBudget.MAX_UTILIZATION;
+      Logger.recordOutput(entry.utilizationKey, status.BusUtilization);
+      Logger.recordOutput(entry.busOffKey, status.BusOffCount);
+      Logger.recordOutput(entry.txFullKey, status.TxFullCount);
+      Logger.recordOutput(entry.receiveErrorKey, status.REC);
+      Logger.recordOutput(entry.transmitErrorKey, status.TEC);
+      Logger.recordOutput(entry.overBudgetKey, overBudget);
+      entry.overBudgetAlert.set(overBudget);
+    }
+  }
+
+  /** Prints and logs the per-owner signal rates and the estimated load of each bus. */
+  private void reportEstimates() {
+    String rateSet = SignalRatePolicy.isEnabled() ? "enabled" : "disabled";
+    StringBuilder report =
+        new StringBuilder("[CANBusDiagnostics] Registered status signals, " + rateSet + " rates\n");
+    for (BusEntry entry : buses) {
+      boolean fd = entry.bus.isNetworkFD();
+      double frameSeconds = fd ? FD_FRAME_SECONDS : CLASSIC_FRAME_SECONDS;
+      double busFramesPerSecond = 0.0;
+      report.append(
+          String.format(
+              Locale.ROOT, "  Bus \"%s\" (%s)\n", entry.name, fd ? "CAN FD" : "CAN 2.0"));
+
+      for (Map.Entry<String, List<BaseStatusSignal>> owner : entry.signalsByOwner.entrySet()) {
+        double ownerFramesPerSecond = 0.0;
+        StringBuilder rates = new StringBuilder();
+        for (BaseStatusSignal signal : owner.getValue()) {
+          double hz = signal.getAppliedUpdateFrequency();
+          ownerFramesPerSecond += hz;
+          rates.append(String.format(Locale.ROOT, " %s@%.0f", signal.getName(), hz));
+        }
+        busFramesPerSecond += ownerFramesPerSecond;
+        report.append(
+            String.format(
+                Locale.ROOT,
+                "    %-14s %3d signals %7.0f frames/s:%s\n",
+                owner.getKey(),
+                owner.getValue().size(),
+                ownerFramesPerSecond,
+                rates));
+        Logger.recordOutput(
+            "CAN/" + entry.name + "/EstimatedFramesPerSecond/" + owner.getKey(),
+            ownerFramesPerSecond);
+      }
+
+      double estimatedUtilization = busFramesPerSecond * frameSeconds;
+      report.append(
+          String.format(
+              Locale.ROOT,
+              "    total %.0f frames/s, estimated utilization %.1f%% (budget %.0f%%)\n",
+              busFramesPerSecond,
+              estimatedUtilization * 100.0,
+              CanBudget.MAX_UTILIZATION * 100.0));
+      Logger.recordOutput("CAN/" + entry.name + "/EstimatedFramesPerSecond", busFramesPerSecond);
+      Logger.recordOutput("CAN/" + entry.name + "/EstimatedUtilization", estimatedUtilization);
+
+      if (estimatedUtilization > CanBudget.MAX_UTILIZATION) {
+        DriverStation.reportWarning(
+            String.format(
+                Locale.ROOT,
+                "CAN bus \"%s\": registered signals need ~%.0f%% of the bus, over the %.0f%%"
+                    + " budget. Lower some update frequencies.",
+                entry.name,
+                estimatedUtilization * 100.0,
+                CanBudget.MAX_UTILIZATION * 100.0),
+            false);
+      }
+    }
+    System.out.print(report);
+  }
+}
@@ -0,0 +1,335 @@
+package frc.robot.util;
+
+import com.ctre.phoenix6.CANBus;
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.configs.CANcoderConfiguration;
+import com.ctre.phoenix6.configs.CANdiConfiguration;
+import com.ctre.phoenix6.configs.ParentConfiguration;
+import com.ctre.phoenix6.configs.Pigeon2Configuration;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.configs.TalonFXSConfiguration;
+import com.ctre.phoenix6.hardware.CANcoder;
+import com.ctre.phoenix6.hardware.CANdi;
+import com.ctre.phoenix6.hardware.Pigeon2;
+import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.hardware.TalonFXS;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Applies Phoenix 6 device configurations at boot in parallel, and skips devices that already have
+ * the right configuration.
+ *
+ * <p>A full {@code apply()} is a blocking round trip of several config frames per device. With ~30
+ * devices configured one after another in the IO constructors, that adds seconds to every boot,
+ * including the one after a brownout reboot mid-match. Here, IO constructors hand their configs to
+ * {@link #apply} and move on. The devices are configured on a small thread pool per bus, and {@code
+ * Robot} waits for all of them with {@link #awaitAll()} once {@code RobotContainer} is built.
+ *
+ * <p><b>Skipping unchanged devices:</b> Each device's current configuration is read back first
+ * ({@code refresh()}, one read instead of a write per config group). The apply is skipped if the
+ * read-back matches the desired config, or if both match the hashes stored the last time this
+ * device was configured. Comparing the read-back is not enough alone, because the device rounds
+ * some values and the read-back never matches the requested config exactly. The hashes are kept in
+ * {@link #CACHE_FILE} in the RIO's working directory. A config changed in code, or a device changed
+ * in Tuner X or swapped, no longer matches its stored hashes and is applied again.
+ *
+ * <p>Configs must be complete: one {@code TalonFXConfiguration} etc. per device, with any extra
+ * groups (current limits, feedback) merged in before the call. The config is serialized when it is
+ * passed in and the pool thread applies a copy, so the caller's object can be reused or changed
+ * afterwards. Anything that has to happen after a device is configured, like setting up a follower
+ * (applying a config can reset control state), goes in {@link #whenConfigured}.
+ */
+public final class CANConfigPipeline {
+  private static final int THREADS_PER_BUS = 4;
+  private static final int MAX_ATTEMPTS = 5;
+  private static final double TIMEOUT_SECONDS = 0.25;
+  private static final double AWAIT_TIMEOUT_SECONDS = 15.0;
+  private static final String CACHE_FILE = "phoenix_config_cache.properties";
+
+  private enum Outcome {
+    SKIPPED,
+    APPLIED,
+    FAILED
+  }
+
+  private record Job(String key, CompletableFuture<Outcome> result) {}
+
+  private static final Map<String, ExecutorService> executors = new LinkedHashMap<>();
+  private static final List<Job> jobs = new ArrayList<>();
+  private static final List<Runnable> afterConfig = new ArrayList<>();
+  private static final Properties cache = new Properties();
+  private static boolean cacheLoaded = false;
+  private static long firstSubmitNanos = 0;
+
+  private CANConfigPipeline() {}
+
+  /**
+   * Queues a full TalonFX configuration.
+   *
+   * @param name Unique name for logs and the cache, e.g. "Flywheel/Leader"
+   * @param bus The bus the device is on
+   * @param device The device
+   * @param config The complete configuration to apply
+   */
+  public static void apply(String name, CANBus bus, TalonFX device, TalonFXConfiguration config) {
+    submit(
+        name,
+        bus,
+        config,
+        TalonFXConfiguration::new,
+        (c, t) -> device.getConfigurator().refresh(c, t),
+        (c, t) -> device.getConfigurator().apply(c, t));
+  }
+
+  /** Queues a full TalonFXS configuration. */
+  public static void apply(String name, CANBus bus, TalonFXS device, TalonFXSConfiguration config) {
+    submit(
+        name,
+        bus,
+        config,
+        TalonFXSConfiguration::new,
+        (c, t) -> device.getConfigurator().refresh(c, t),
+        (c, t) -> device.getConfigurator().apply(c, t));
+  }
+
+  /** Queues a full CANcoder configuration. */
+  public static void apply(String name, CANBus bus, CANcoder device, CANcoderConfiguration config) {
+    submit(
+        name,
+        bus,
+        config,
+        CANcoderConfiguration::new,
+        (c, t) -> device.getConfigurator().refresh(c, t),
+        (c, t) -> device.getConfigurator().apply(c, t));
+  }
+
+  /** Queues a full CANdi configuration. */
+  public static void apply(String name, CANBus bus, CANdi device, CANdiConfiguration config) {
+    submit(
+        name,
+        bus,
+        config,
+        CANdiConfiguration::new,
+        (c, t) -> device.getConfigurator().refresh(c, t),
+        (c, t) -> device.getConfigurator().apply(c, t));
+  }
+
+  /** Queues a full Pigeon 2 configuration. */
+  public static void apply(String name, CANBus bus, Pigeon2 device, Pigeon2Configuration config) {
+    submit(
+        name,
+        bus,
+        config,
+        Pigeon2Configuration::new,
+        (c, t) -> device.getConfigurator().refresh(c, t),
+        (c, t) -> device.getConfigurator().apply(c, t));
+  }
+
+  /**
+   * Runs an action on the main thread once every queued configuration is done, from {@link
+   * #awaitAll()}. Call from IO constructors.
+   */
+  public static synchronized void whenConfigured(Runnable action) {
+    afterConfig.add(action);
+  }
+
+  private static synchronized <C extends ParentConfiguration> void submit(
+      String name,
+      CANBus bus,
+      C desired,
+      Supplier<C> blank,
+      BiFunction<C, Double, StatusCode> refresh,
+      BiFunction<C, Double, StatusCode> apply) {
+    loadCache();
+    if (jobs.isEmpty()) {
+      firstSubmitNanos = System.nanoTime();
+    }
+    String busName = CANSignalRegistry.normalize(bus.getName());
+    String key = busName + "/" + name;
+    ExecutorService executor =
+        executors.computeIfAbsent(
+            busName,
+            k ->
+                Executors.newFixedThreadPool(
+                    THREADS_PER_BUS,
+                    runnable -> {
+                      Thread thread = new Thread(runnable, "CANConfig-" + k);
+                      thread.setDaemon(true);
+                      return thread;
+                    }));
+    String expected = cachedHashes(key);
+    // Snapshot the config now; the caller may change the object before the job runs
+    String desiredText = desired.serialize();
+    jobs.add(
+        new Job(
+            key,
+            CompletableFuture.supplyAsync(
+                () -> configure(key, expected, desiredText, blank, refresh, apply), executor)));
+  }
+
+  /** Runs on a pool thread: read back, compare, apply if needed. */
+  private static <C extends ParentConfiguration> Outcome configure(
+      String key,
+      String expectedHashes,
+      String desiredText,
+      Supplier<C> blank,
+      BiFunction<C, Double, StatusCode> refresh,
+      BiFunction<C, Double, StatusCode> apply) {
+    C desired = blank.get();
+    StatusCode parsed = desired.deserialize(desiredText);
+    if (!parsed.isOK()) {
+      DriverStation.reportWarning("Config could not be copied for " + key + ": " + parsed, false);
+      return Outcome.FAILED;
+    }
+    String desiredHash = Integer.toHexString(desiredText.hashCode());
+
+    C current = blank.get();
+    if (refresh.apply(current, TIMEOUT_SECONDS).isOK()) {
+      String currentText = current.serialize();
+      String hashes = desiredHash + ":" + Integer.toHexString(currentText.hashCode());
+      if (currentText.equals(desiredText) || hashes.equals(expectedHashes)) {
+        putCachedHashes(key, hashes);
+        return Outcome.SKIPPED;
+      }
+    }
+
+    StatusCode status = StatusCode.OK;
+    for (int i = 0; i < MAX_ATTEMPTS; i++) {
+      status = apply.apply(desired, TIMEOUT_SECONDS);
+      if (status.isOK()) {
+        break;
+      }
+    }
+    if (!status.isOK()) {
+      DriverStation.reportWarning("Config failed for " + key + ": " + status, false);
+      return Outcome.FAILED;
+    }
+
+    // Remember what the device reports back after this config, for the next boot
+    C applied = blank.get();
+    if (refresh.apply(applied, TIMEOUT_SECONDS).isOK()) {
+      putCachedHashes(key, desiredHash + ":" + Integer.toHexString(applied.serialize().hashCode()));
+    }
+    return Outcome.APPLIED;
+  }
+
+  /**
+   * Waits for every queued configuration to finish, logs the results and saves the hash cache.
+   * Call once from {@code Robot}, after all IOs are constructed.
+   */
+  public static void awaitAll() {
+    List<Job> pending;
+    List<Runnable> actions;
+    synchronized (CANConfigPipeline.class) {
+      pending = List.copyOf(jobs);
+      actions = List.copyOf(afterConfig);
+      jobs.clear();
+      afterConfig.clear();
+      // Queued work still runs; the threads exit once it is done
+      executors.values().forEach(ExecutorService::shutdown);
+      executors.clear();
+    }
+    if (pending.isEmpty()) {
+      actions.forEach(Runnable::run);
+      return;
+    }
+
+    int skipped = 0;
+    int applied = 0;
+    int failed = 0;
+    long deadline = System.nanoTime() + (long) (AWAIT_TIMEOUT_SECONDS * 1e9);
+    for (Job job : pending) {
+      Outcome outcome;
+      try {
+        outcome = job.result().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+        DriverStation.reportWarning("Config timed out for " + job.key(), false);
+        outcome = Outcome.FAILED;
+      } catch (Exception e) {
+        DriverStation.reportWarning("Config error for " + job.key() + ": " + e, false);
+        outcome = Outcome.FAILED;
+      }
+      switch (outcome) {
+        case SKIPPED -> skipped++;
+        case APPLIED -> applied++;
+        case FAILED -> failed++;
+      }
+      Logger.recordOutput("CANConfig/Devices/" + job.key(), outcome.name());
+    }
+    double seconds = (System.nanoTime() - firstSubmitNanos) * 1e-9;
+
+    Logger.recordOutput("CANConfig/Skipped", skipped);
+    Logger.recordOutput("CANConfig/Applied", applied);
+    Logger.recordOutput("CANConfig/Failed", failed);
+    Logger.recordOutput("CANConfig/Seconds", seconds);
+    System.out.println(
+        String.format(
+            "[CANConfigPipeline] %d devices in %.2f s: %d applied, %d already configured, %d"
+                + " failed",
+            pending.size(), seconds, applied, skipped, failed));
+
+    saveCache();
+    actions.forEach(Runnable::run);
+  }
+
+  private static Path cachePath() {
+    return Filesystem.getOperatingDirectory().toPath().resolve(CACHE_FILE);
+  }
+
+  private static void loadCache() {
+    if (cacheLoaded) {
+      return;
+    }
+    cacheLoaded = true;
+    Path path = cachePath();
+    if (Files.exists(path)) {
+      try (InputStream in = Files.newInputStream(path)) {
+        cache.load(in);
+      } catch (IOException e) {
+        // Worst case every device is applied again
+        cache.clear();
+      }
+    }
+  }
+
+  private static String cachedHashes(String key) {
+    synchronized (cache) {
+      return cache.getProperty(key);
+    }
+  }
+
+  private static void putCachedHashes(String key, String hashes) {
+    synchronized (cache) {
+      cache.setProperty(key, hashes);
+    }
+  }
+
+  private static void saveCache() {
+    synchronized (cache) {
+      try (OutputStream out = Files.newOutputStream(cachePath())) {
+        cache.store(out, "Phoenix config hashes (desired:read-back), see CANConfigPipeline");
+      } catch (IOException e) {
+        DriverStation.reportWarning("Could not save config cache: " + e.getMessage(), false);
+      }
+    }
+  }
+}
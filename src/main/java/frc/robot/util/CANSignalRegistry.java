@@ -0,0 +1,144 @@
+package frc.robot.util;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.CANBus;
+import com.ctre.phoenix6.StatusCode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * One place to refresh every Phoenix 6 status signal the main loop reads.
+ *
+ * <p>Each {@code BaseStatusSignal.refreshAll} is a JNI round trip into the Phoenix native library.
+ * When every IO refreshes its own signals, the main thread makes one of those per mechanism (three
+ * per swerve module), about a dozen per loop. Instead, IO implementations register their signals
+ * here once, in their constructors, and {@link #refreshAll()} runs one {@code refreshAll} per CAN
+ * bus at the top of {@code Robot.robotPeriodic()}. When the subsystems' {@code periodic()} methods
+ * run, the IOs only read the cached values ({@code getValue()}, {@code getValueAsDouble()}).
+ *
+ * <p>Phoenix only allows signals from the same bus in one {@code refreshAll}, so signals are
+ * grouped by bus name. {@code ""} and {@code "rio"} both mean the roboRIO bus and share a group.
+ *
+ * <p>Registering happens on the main thread during construction; refreshing happens on the main
+ * thread every loop. Signals owned by {@code PhoenixOdometryThread} stay with that thread — only
+ * register the main-thread copies. Mechanism signals on the RIO bus go to {@link
+ * MechanismSampleThread} instead.
+ *
+ * <p><b>Usage:</b>
+ *
+ * <pre>
+ * // In an IO constructor, after caching the signals
+ * CANSignalRegistry.register("Transport", CAN_BUS, velocity, statorCurrent, supplyCurrent);
+ *
+ * // In updateInputs(), no refresh needed
+ * inputs.velocity = velocity.getValue();
+ * </pre>
+ *
+ * <p>The registrations double as the list of everything we put on each bus, which {@link
+ * CANBusDiagnostics} uses for its bandwidth estimate.
+ */
+public final class CANSignalRegistry {
+
+  /**
+   * One {@code register} call: the signals one IO put on a bus.
+   *
+   * @param owner Name of the IO or mechanism, for reports
+   * @param bus The bus the signals are on
+   * @param signals The signals
+   * @param refreshed False for signals this class doesn't refresh: ones sampled by {@link
+   *     MechanismSampleThread}, and ones that only go on the bus for other devices (e.g. a CANcoder
+   *     feeding a TalonFX's remote sensor)
+   */
+  public record Registration(
+      String owner, CANBus bus, BaseStatusSignal[] signals, boolean refreshed) {}
+
+  private static final class Bus {
+    final String name;
+    final String statusKey;
+    BaseStatusSignal[] signals = new BaseStatusSignal[0];
+
+    Bus(String name) {
+      this.name = name;
+      this.statusKey = "CAN/" + name + "/RefreshOK";
+    }
+  }
+
+  private static final List<Bus> buses = new ArrayList<>();
+  private static final List<Registration> registrations = new ArrayList<>();
+
+  private CANSignalRegistry() {}
+
+  /**
+   * Adds signals to the batched refresh for their bus. Call once per IO, from its constructor.
+   *
+   * @param owner Name of the IO or mechanism, for reports
+   * @param bus The bus the signals' devices are on
+   * @param signals Signals to refresh every loop
+   */
+  public static synchronized void register(String owner, CANBus bus, BaseStatusSignal... signals) {
+    Bus group = getBus(bus.getName());
+    int oldLength = group.signals.length;
+    group.signals = Arrays.copyOf(group.signals, oldLength + signals.length);
+    System.arraycopy(signals, 0, group.signals, oldLength, signals.length);
+    registrations.add(new Registration(owner, bus, signals.clone(), true));
+  }
+
+  /**
+   * Records signals that are on the bus but never read on the RIO, so bandwidth reports include
+   * them. They are not refreshed.
+   *
+   * @param owner Name of the IO or mechanism, for reports
+   * @param bus The bus the signals' devices are on
+   * @param signals Signals with a non-zero update frequency
+   */
+  public static synchronized void registerUnread(
+      String owner, CANBus bus, BaseStatusSignal... signals) {
+    registrations.add(new Registration(owner, bus, signals.clone(), false));
+  }
+
+  /**
+   * Records signals refreshed by {@link MechanismSampleThread} rather than here, so bandwidth
+   * reports include them. Called by {@link MechanismSampleThread#register}.
+   */
+  static synchronized void registerSampled(String owner, CANBus bus, BaseStatusSignal... signals) {
+    registrations.add(new Registration(owner, bus, signals.clone(), false));
+  }
+
+  /** Every registration so far, in order. */
+  public static synchronized List<Registration> getRegistrations() {
+    return List.copyOf(registrations);
+  }
+
+  /**
+   * Refreshes every registered signal, one {@code refreshAll} per bus. Call once per loop, before
+   * the command scheduler runs.
+   */
+  public static void refreshAll() {
+    for (int i = 0; i < buses.size(); i++) {
+      Bus group = buses.get(i);
+      if (group.signals.length > 0) {
+        StatusCode status = BaseStatusSignal.refreshAll(group.signals);
+        Logger.recordOutput(group.statusKey, status.isOK());
+      }
+    }
+  }
+
+  /** Bus name used for grouping; {@code ""} and {@code "rio"} are the same bus. */
+  public static String normalize(String busName) {
+    return busName.isEmpty() ? "rio" : busName;
+  }
+
+  private static Bus getBus(String busName) {
+    String name = normalize(busName);
+    for (Bus group : buses) {
+      if (group.name.equals(name)) {
+        return group;
+      }
+    }
+    Bus group = new Bus(name);
+    buses.add(group);
+    return group;
+  }
+}
@@ -0,0 +1,114 @@
+package frc.robot.util;
+
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.controls.ControlRequest;
+import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.hardware.TalonFXS;
+import edu.wpi.first.wpilibj.RobotController;
+import frc.robot.HardwareConstants.ControlDedup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Drops {@code setControl} calls that would send the same request as last time.
+ *
+ * <p>Default commands and IO setters run every loop and call {@code setControl} whether or not the
+ * setpoint moved. Each call is a JNI call and an immediate control frame on the bus. Phoenix
+ * already resends the active request on its own at the request's {@code UpdateFreqHz}, so sending
+ * an unchanged request again does nothing for the motor.
+ *
+ * <p>A call is suppressed when it uses the same request object as the last one sent and its value
+ * (output, velocity or position) is within the given deadband of the last sent value. Any other
+ * call goes out right away. As a watchdog, an unchanged request is still sent again after {@link
+ * ControlDedup#REFRESH_PERIOD_SECONDS}.
+ *
+ * <p>IOs reuse one request object per control mode, so comparing the object reference compares the
+ * control mode. Only the value passed in is compared. If a call site changes another field of the
+ * request (slot, feedforward, limits), call {@link #invalidate()} or use a separate request object.
+ *
+ * <p>Sent and suppressed counts are logged under {@code CAN/ControlWrites/} by {@link
+ * #logCounters()}.
+ */
+public class ControlWriteFilter {
+  private static final long REFRESH_MICROS = (long) (ControlDedup.REFRESH_PERIOD_SECONDS * 1e6);
+  private static final List<ControlWriteFilter> filters = new ArrayList<>();
+  private static long totalSent = 0;
+  private static long totalSuppressed = 0;
+
+  private final Function<ControlRequest, StatusCode> sender;
+  private final String sentKey;
+  private final String suppressedKey;
+
+  private ControlRequest lastRequest = null;
+  private double lastValue = 0.0;
+  private long lastSentMicros = 0;
+  private long sent = 0;
+  private long suppressed = 0;
+
+  /**
+   * @param name Name for the logged counters, e.g. "Hood"
+   * @param motor The motor to send requests to
+   */
+  public ControlWriteFilter(String name, TalonFX motor) {
+    this(name, (Function<ControlRequest, StatusCode>) motor::setControl);
+  }
+
+  /**
+   * @param name Name for the logged counters
+   * @param motor The motor to send requests to
+   */
+  public ControlWriteFilter(String name, TalonFXS motor) {
+    this(name, (Function<ControlRequest, StatusCode>) motor::setControl);
+  }
+
+  private ControlWriteFilter(String name, Function<ControlRequest, StatusCode> sender) {
+    this.sender = sender;
+    sentKey = "CAN/ControlWrites/" + name + "/Sent";
+    suppressedKey = "CAN/ControlWrites/" + name + "/Suppressed";
+    filters.add(this);
+  }
+
+  /**
+   * Sends the request unless it repeats the last one.
+   *
+   * @param request The request, already filled in with its {@code with*()} setters
+   * @param value The request's main value (output, velocity or position) in the request's units
+   * @param deadband Changes in {@code value} up to this much are not sent
+   * @return The status of the send, or OK if suppressed
+   */
+  public StatusCode setControl(ControlRequest request, double value, double deadband) {
+    long now = RobotController.getFPGATime();
+    if (request == lastRequest
+        && Math.abs(value - lastValue) <= deadband
+        && now - lastSentMicros < REFRESH_MICROS) {
+      suppressed++;
+      totalSuppressed++;
+      return StatusCode.OK;
+    }
+    StatusCode status = sender.apply(request);
+    lastRequest = request;
+    lastValue = value;
+    lastSentMicros = now;
+    sent++;
+    totalSent++;
+    return status;
+  }
+
+  /** Forces the next call to be sent. */
+  public void invalidate() {
+    lastRequest = null;
+  }
+
+  /** Logs the cumulative sent and suppressed counts. Call once per loop, after the scheduler. */
+  public static void logCounters() {
+    Logger.recordOutput("CAN/ControlWrites/Sent", totalSent);
+    Logger.recordOutput("CAN/ControlWrites/Suppressed", totalSuppressed);
+    for (int i = 0; i < filters.size(); i++) {
+      ControlWriteFilter filter = filters.get(i);
+      Logger.recordOutput(filter.sentKey, filter.sent);
+      Logger.recordOutput(filter.suppressedKey, filter.suppressed);
+    }
+  }
+}
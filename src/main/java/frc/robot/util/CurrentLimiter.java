@@ -0,0 +1,83 @@
+package frc.robot.util;
+
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
+import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.hardware.TalonFXS;
+import java.util.function.Function;
+
+/**
+ * Changes a motor's current limits while the robot runs: the supply limit for {@link PowerManager}
+ * and the stator limit for {@link MotorThermalModel}.
+ *
+ * <p>Applying a {@link CurrentLimitsConfigs} replaces every field in the group, so this keeps a
+ * copy of the limits the motor was configured with and changes only the limit asked for; a stator
+ * change keeps the latest supply limit and vice versa. The supply lower limit is kept at or under
+ * the new supply limit, and the supply limit is enabled while it is below the configured one, even
+ * on motors configured without it.
+ *
+ * <p>Applies use a zero timeout: the frame is queued and the call returns without waiting for the
+ * motor's acknowledgement.
+ */
+public class CurrentLimiter {
+  private final CurrentLimitsConfigs limits;
+  private final double nominalSupplyLimit;
+  private final double nominalLowerLimit;
+  private final boolean nominalSupplyEnable;
+  private final Function<CurrentLimitsConfigs, StatusCode> applier;
+
+  /**
+   * @param motor The motor to limit
+   * @param configured The current limits the motor was configured with; copied
+   */
+  public CurrentLimiter(TalonFX motor, CurrentLimitsConfigs configured) {
+    this(configured, limits -> motor.getConfigurator().apply(limits, 0.0));
+  }
+
+  /**
+   * @param motor The motor to limit
+   * @param configured The current limits the motor was configured with; copied
+   */
+  public CurrentLimiter(TalonFXS motor, CurrentLimitsConfigs configured) {
+    this(configured, limits -> motor.getConfigurator().apply(limits, 0.0));
+  }
+
+  private CurrentLimiter(
+      CurrentLimitsConfigs configured, Function<CurrentLimitsConfigs, StatusCode> applier) {
+    limits = new CurrentLimitsConfigs();
+    limits.StatorCurrentLimit = configured.StatorCurrentLimit;
+    limits.StatorCurrentLimitEnable = configured.StatorCurrentLimitEnable;
+    limits.SupplyCurrentLimit = configured.SupplyCurrentLimit;
+    limits.SupplyCurrentLimitEnable = configured.SupplyCurrentLimitEnable;
+    limits.SupplyCurrentLowerLimit = configured.SupplyCurrentLowerLimit;
+    limits.SupplyCurrentLowerTime = configured.SupplyCurrentLowerTime;
+    nominalSupplyLimit = configured.SupplyCurrentLimit;
+    nominalLowerLimit = configured.SupplyCurrentLowerLimit;
+    nominalSupplyEnable = configured.SupplyCurrentLimitEnable;
+    this.applier = applier;
+  }
+
+  /**
+   * Sends a new supply current limit.
+   *
+   * @param amps Supply current limit in amps
+   * @return The status of the apply
+   */
+  public StatusCode setSupplyCurrentLimit(double amps) {
+    limits.SupplyCurrentLimit = amps;
+    limits.SupplyCurrentLowerLimit = Math.min(nominalLowerLimit, amps);
+    limits.SupplyCurrentLimitEnable = nominalSupplyEnable || amps < nominalSupplyLimit;
+    return applier.apply(limits);
+  }
+
+  /**
+   * Sends a new stator current limit. Only meaningful on motors configured with one.
+   *
+   * @param amps Stator current limit in amps
+   * @return The status of the apply
+   */
+  public StatusCode setStatorCurrentLimit(double amps) {
+    limits.StatorCurrentLimit = amps;
+    return applier.apply(limits);
+  }
+}
@@ -0,0 +1,138 @@
+package frc.robot.util;
+
+import edu.wpi.first.math.interpolation.InterpolatingDoubleTreeMap;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A lookup table sampled once from an {@link InterpolatingDoubleTreeMap} into an evenly spaced
+ * {@code double[]}.
+ *
+ * <p>{@link InterpolatingDoubleTreeMap#get} does a TreeMap floor/ceiling search and boxes the key
+ * and both neighbours on every call. The shot and hood maps are queried several times per loop, so
+ * this table resamples them at startup; a lookup is then a single index computation plus a linear
+ * interpolation between the two neighbouring samples — O(1) and allocation-free.
+ *
+ * <p>Inputs outside {@code [minX, maxX]} clamp to the end values, matching the tree map's behaviour
+ * past its first and last keys. With a step much smaller than the spacing between characterization
+ * points, the result matches the tree map to within rounding error everywhere except within one
+ * step of a breakpoint, where the kink is smoothed by at most the slope change times the step.
+ *
+ * <pre>
+ * // SPEED_POINTS = {{75.0, 1450.0}, ..., {190.0, 1975.0}}, distances in inches
+ * DenseLookupTable SPEED_LUT = new DenseLookupTable(SPEED_POINTS, Units::inchesToMeters, 0.005);
+ * double rpm = SPEED_LUT.get(distanceMeters);
+ * </pre>
+ */
+public class DenseLookupTable {
+  private final double minX;
+  private final double maxX;
+  private final double inverseStep;
+  private final double[] values;
+
+  /**
+   * Samples the map across {@code [minX, maxX]}.
+   *
+   * @param map The characterization map to sample
+   * @param minX The first key of the map (lower clamp)
+   * @param maxX The last key of the map (upper clamp)
+   * @param maxStep The largest spacing allowed between samples; the actual spacing is adjusted so
+   *     that {@code maxX} lands exactly on a sample
+   */
+  public DenseLookupTable(
+      InterpolatingDoubleTreeMap map, double minX, double maxX, double maxStep) {
+    this(minX, maxX, sample(map, minX, maxX, maxStep));
+  }
+
+  /**
+   * Samples the points across their first to last x, interpolating between them exactly as an
+   * {@link InterpolatingDoubleTreeMap} filled with the same points would. The range always
+   * matches the points, so it can't drift from them when a point is added.
+   *
+   * @param points {x, y} pairs in increasing x
+   * @param xToKey Converts each x to the table's key, e.g. {@code Units::inchesToMeters}
+   * @param maxStep The largest spacing allowed between samples, in key units
+   */
+  public DenseLookupTable(double[][] points, DoubleUnaryOperator xToKey, double maxStep) {
+    this(
+        toMap(points, xToKey),
+        xToKey.applyAsDouble(points[0][0]),
+        xToKey.applyAsDouble(points[points.length - 1][0]),
+        maxStep);
+  }
+
+  /**
+   * Wraps values that are already evenly spaced across {@code [minX, maxX]}, e.g. a table
+   * generated offline and loaded from the deploy directory. The array is used as-is, not copied.
+   *
+   * @param minX The x of {@code values[0]}
+   * @param maxX The x of the last value
+   * @param values At least two samples, evenly spaced
+   */
+  public DenseLookupTable(double minX, double maxX, double[] values) {
+    if (!(maxX > minX) || values.length < 2) {
+      throw new IllegalArgumentException(
+          "DenseLookupTable needs maxX > minX and at least 2 values, got ["
+              + minX
+              + ", "
+              + maxX
+              + "] with "
+              + values.length);
+    }
+    this.minX = minX;
+    this.maxX = maxX;
+    this.inverseStep = (values.length - 1) / (maxX - minX);
+    this.values = values;
+  }
+
+  private static InterpolatingDoubleTreeMap toMap(double[][] points, DoubleUnaryOperator xToKey) {
+    InterpolatingDoubleTreeMap map = new InterpolatingDoubleTreeMap();
+    for (double[] point : points) {
+      map.put(xToKey.applyAsDouble(point[0]), point[1]);
+    }
+    return map;
+  }
+
+  private static double[] sample(
+      InterpolatingDoubleTreeMap map, double minX, double maxX, double maxStep) {
+    if (!(maxX > minX) || !(maxStep > 0.0)) {
+      throw new IllegalArgumentException(
+          "DenseLookupTable needs maxX > minX and maxStep > 0, got [" + minX + ", " + maxX + "]");
+    }
+    int intervals = (int) Math.ceil((maxX - minX) / maxStep);
+    double step = (maxX - minX) / intervals;
+
+    double[] values = new double[intervals + 1];
+    for (int i = 0; i < intervals; i++) {
+      values[i] = map.get(minX + i * step);
+    }
+    values[intervals] = map.get(maxX);
+    return values;
+  }
+
+  /** Returns the linearly interpolated value at {@code x}, clamped to the table's range. */
+  public double get(double x) {
+    if (!(x > minX)) {
+      return values[0]; // Also maps NaN to the first value
+    }
+    if (x >= maxX) {
+      return values[values.length - 1];
+    }
+    double position = (x - minX) * inverseStep;
+    int index = (int) position;
+    if (index >= values.length - 1) {
+      return values[values.length - 1];
+    }
+    double fraction = position - index;
+    return values[index] + (values[index + 1] - values[index]) * fraction;
+  }
+
+  /** Lower end of the sampled range. */
+  public double getMinX() {
+    return minX;
+  }
+
+  /** Upper end of the sampled range. */
+  public double getMaxX() {
+    return maxX;
+  }
+}
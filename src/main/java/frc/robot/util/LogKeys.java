@@ -0,0 +1,70 @@
+package frc.robot.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds AdvantageKit log keys once, at construction, so periodic code never concatenates them.
+ *
+ * <p>A key built in {@code periodic()} (e.g. {@code "Vision/Camera" + i}) is a new string every
+ * loop. Build it here instead and keep the result in a field. Every key is registered, so equal
+ * keys share one instance no matter which class asked for it.
+ *
+ * <p><b>Usage:</b>
+ *
+ * <pre>
+ * // In a constructor
+ * cameraKeys = LogKeys.indexed("Vision/Camera", 2);  // "Vision/Camera0", "Vision/Camera1"
+ * tagPosesKey = LogKeys.of(cameraKeys[0], "TagPoses"); // "Vision/Camera0/TagPoses"
+ *
+ * // In periodic()
+ * Logger.processInputs(cameraKeys[i], inputs[i]);
+ * </pre>
+ */
+public final class LogKeys {
+  private static final Map<String, String> registry = new HashMap<>();
+
+  private LogKeys() {}
+
+  /**
+   * Joins {@code parts} with "/" into one key.
+   *
+   * @param parts Key levels, e.g. {@code "Vision/Camera0", "TagPoses"}
+   * @return The registered key
+   */
+  public static String of(String... parts) {
+    return register(String.join("/", parts));
+  }
+
+  /**
+   * Keys {@code prefix + i} for {@code i} from 0 to {@code count - 1}.
+   *
+   * @param prefix Key before the index, e.g. {@code "Vision/Camera"}
+   * @param count Number of keys
+   * @return The registered keys, indexed like the things they name
+   */
+  public static String[] indexed(String prefix, int count) {
+    return indexed(prefix, count, "");
+  }
+
+  /**
+   * Keys {@code prefix + i + suffix} for {@code i} from 0 to {@code count - 1}.
+   *
+   * @param prefix Key before the index, e.g. {@code "Drive/Module"}
+   * @param count Number of keys
+   * @param suffix Key after the index, e.g. {@code "-Drive"}
+   * @return The registered keys, indexed like the things they name
+   */
+  public static String[] indexed(String prefix, int count, String suffix) {
+    String[] keys = new String[count];
+    for (int i = 0; i < count; i++) {
+      keys[i] = register(prefix + i + suffix);
+    }
+    return keys;
+  }
+
+  private static synchronized String register(String key) {
+    String existing = registry.putIfAbsent(key, key);
+    return existing != null ? existing : key;
+  }
+}
@@ -0,0 +1,260 @@
+package frc.robot.util;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.CANBus;
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.StatusSignal;
+import edu.wpi.first.wpilibj.RobotController;
+import frc.robot.HardwareConstants.MechanismSampling;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Samples mechanism status signals on a background thread, like {@code PhoenixOdometryThread} does
+ * for the drive.
+ *
+ * <p>The mechanisms (flywheel, hood, feeders, intake) are on the RIO bus, where {@code waitForAll}
+ * isn't available, so their signals used to be refreshed by {@link CANSignalRegistry} on the main
+ * thread. That is one JNI call per loop plus a {@code getValue()} per signal, all before the
+ * scheduler can run. Here, IOs {@link #register} their signals instead. This thread refreshes them
+ * at {@link MechanismSampling#FREQUENCY_HZ} and copies the values into a {@link Samples} per IO.
+ * {@code updateInputs} then only copies the latest published values, with no JNI and no locks.
+ *
+ * <p>The thread refreshes its own clones of the signals, so the main thread can keep using the
+ * originals for rate changes ({@link SignalRatePolicy}) and bandwidth reports. Don't read the
+ * originals' values on the main thread; they are no longer refreshed.
+ *
+ * <p>All registration happens in IO constructors. {@code Robot} calls {@link #start()} once {@code
+ * RobotContainer} is built, and {@link #logStatus()} every loop.
+ *
+ * <p><b>Usage:</b>
+ *
+ * <pre>
+ * // In an IO constructor, after caching the signals
+ * samples = MechanismSampleThread.getInstance().register("Transport", CAN_BUS, velocity, pos);
+ *
+ * // In updateInputs()
+ * samples.update();
+ * inputs.velocityRps = samples.get(velocity);
+ * </pre>
+ */
+public class MechanismSampleThread extends Thread {
+
+  /**
+   * The latest sampled values of one IO's signals.
+   *
+   * <p>The sampling thread publishes with a sequence counter (odd while writing) and the reader
+   * retries if the counter moved while it copied, so neither side ever blocks the other.
+   */
+  public static final class Samples {
+    private final BaseStatusSignal[] signals; // Main thread's originals, used as lookup keys
+    private final BaseStatusSignal[] sampled; // Clones, only touched by the sampling thread
+    private final double[] published;
+    private final double[] latest;
+    private volatile int sequence = 0;
+    private boolean publishedAllGood = false;
+    private boolean allGood = false;
+
+    private Samples(StatusSignal<?>[] signals) {
+      this.signals = signals.clone();
+      sampled = new BaseStatusSignal[signals.length];
+      for (int i = 0; i < signals.length; i++) {
+        sampled[i] = signals[i].clone();
+      }
+      published = new double[signals.length];
+      latest = new double[signals.length];
+    }
+
+    /** Sampling thread: copies the just-refreshed values out of the clones. */
+    private void publish() {
+      int start = sequence;
+      sequence = start + 1;
+      VarHandle.storeStoreFence();
+      for (int i = 0; i < sampled.length; i++) {
+        published[i] = sampled[i].getValueAsDouble();
+      }
+      publishedAllGood = BaseStatusSignal.isAllGood(sampled);
+      sequence = start + 2;
+    }
+
+    /**
+     * Copies the most recent sample for {@link #get} and {@link #isAllGood}. Call once at the top
+     * of {@code updateInputs}.
+     */
+    public void update() {
+      while (true) {
+        int start = sequence;
+        if ((start & 1) != 0) {
+          Thread.onSpinWait();
+          continue;
+        }
+        System.arraycopy(published, 0, latest, 0, published.length);
+        boolean good = publishedAllGood;
+        VarHandle.loadLoadFence();
+        if (sequence == start) {
+          allGood = good;
+          return;
+        }
+      }
+    }
+
+    /**
+     * The value of a registered signal as of the last {@link #update()}, in the signal's units.
+     *
+     * @param signal One of the signals passed to {@link #register}
+     */
+    public double get(BaseStatusSignal signal) {
+      for (int i = 0; i < signals.length; i++) {
+        if (signals[i] == signal) {
+          return latest[i];
+        }
+      }
+      throw new IllegalArgumentException(signal.getName() + " was not registered");
+    }
+
+    /**
+     * The value of the {@code index}-th signal passed to {@link #register}, as of the last {@link
+     * #update()}. For callers that keep their signals in an array ({@link MotorGroupSignals}).
+     */
+    public double get(int index) {
+      return latest[index];
+    }
+
+    /** Whether every signal was OK in the last {@link #update()}. False until the first sample. */
+    public boolean isAllGood() {
+      return allGood;
+    }
+  }
+
+  private static final class Bus {
+    final String name;
+    final List<Samples> samples = new ArrayList<>();
+    BaseStatusSignal[] signals = new BaseStatusSignal[0];
+
+    Bus(String name) {
+      this.name = name;
+    }
+  }
+
+  private static MechanismSampleThread instance = null;
+
+  private final List<Bus> buses = new ArrayList<>();
+  private boolean started = false;
+
+  // Written by the sampling thread, read by logStatus()
+  private volatile long lastSampleMicros = 0;
+  private volatile double lastSampleSeconds = 0.0;
+  private volatile boolean refreshOK = false;
+  private volatile long overruns = 0;
+
+  public static MechanismSampleThread getInstance() {
+    if (instance == null) {
+      instance = new MechanismSampleThread();
+    }
+    return instance;
+  }
+
+  private MechanismSampleThread() {
+    setName("MechanismSampleThread");
+    setDaemon(true);
+  }
+
+  /**
+   * Hands signals to the sampling thread instead of the main-loop refresh. Call once per IO, from
+   * its constructor.
+   *
+   * @param owner Name of the IO or mechanism, for reports
+   * @param bus The bus the signals' devices are on
+   * @param signals Signals to sample
+   * @return The IO's samples, to read from in {@code updateInputs}
+   */
+  public synchronized Samples register(String owner, CANBus bus, StatusSignal<?>... signals) {
+    if (started) {
+      throw new IllegalStateException("Register " + owner + " before the sample thread starts");
+    }
+    Samples samples = new Samples(signals);
+    Bus group = getBus(CANSignalRegistry.normalize(bus.getName()));
+    group.samples.add(samples);
+    BaseStatusSignal[] newSignals = new BaseStatusSignal[group.signals.length + signals.length];
+    System.arraycopy(group.signals, 0, newSignals, 0, group.signals.length);
+    System.arraycopy(samples.sampled, 0, newSignals, group.signals.length, signals.length);
+    group.signals = newSignals;
+
+    // Still on the bus, just not refreshed by the main loop
+    CANSignalRegistry.registerSampled(owner, bus, signals);
+    return samples;
+  }
+
+  @Override
+  public synchronized void start() {
+    if (started || buses.isEmpty()) {
+      return;
+    }
+    started = true;
+    super.start();
+  }
+
+  @Override
+  public void run() {
+    long periodNanos = (long) (1e9 / MechanismSampling.FREQUENCY_HZ);
+    long nextNanos = System.nanoTime();
+    while (true) {
+      nextNanos += periodNanos;
+      long waitNanos = nextNanos - System.nanoTime();
+      if (waitNanos > 0) {
+        try {
+          Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      } else {
+        // Fell behind; start over from now instead of sampling back to back
+        nextNanos = System.nanoTime();
+        overruns++;
+      }
+
+      long startNanos = System.nanoTime();
+      boolean ok = true;
+      for (int i = 0; i < buses.size(); i++) {
+        Bus group = buses.get(i);
+        StatusCode status = BaseStatusSignal.refreshAll(group.signals);
+        ok &= status.isOK();
+        for (int j = 0; j < group.samples.size(); j++) {
+          group.samples.get(j).publish();
+        }
+      }
+      refreshOK = ok;
+      lastSampleSeconds = (System.nanoTime() - startNanos) * 1e-9;
+      lastSampleMicros = RobotController.getFPGATime();
+    }
+  }
+
+  /**
+   * Logs how fresh the samples are and how long sampling takes. Call once per loop from the main
+   * thread; AdvantageKit can't be called from the sampling thread.
+   */
+  public void logStatus() {
+    if (!started) {
+      return;
+    }
+    Logger.recordOutput(
+        "CAN/Sampler/AgeSeconds", (RobotController.getFPGATime() - lastSampleMicros) * 1e-6);
+    Logger.recordOutput("CAN/Sampler/SampleSeconds", lastSampleSeconds);
+    Logger.recordOutput("CAN/Sampler/RefreshOK", refreshOK);
+    Logger.recordOutput("CAN/Sampler/Overruns", overruns);
+  }
+
+  private Bus getBus(String name) {
+    for (Bus group : buses) {
+      if (group.name.equals(name)) {
+        return group;
+      }
+    }
+    Bus group = new Bus(name);
+    buses.add(group);
+    return group;
+  }
+}
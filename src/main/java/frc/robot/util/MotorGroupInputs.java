@@ -0,0 +1,94 @@
+package frc.robot.util;
+
+import org.littletonrobotics.junction.LogTable;
+import org.littletonrobotics.junction.inputs.LoggableInputs;
+
+/**
+ * Per-motor inputs for a group of motors that drive one mechanism, one array entry per motor.
+ *
+ * <p>Motor 0 is the leader; the rest are its followers, in the order the IO passed them to {@link
+ * MotorGroupSignals}. Each quantity is logged as one array under the group's key (e.g. {@code
+ * Flywheel/Motors/StatorCurrentAmps}) instead of one field per motor, so adding or removing a motor
+ * only changes the IO that owns it.
+ *
+ * <p>The arrays start empty and are sized by {@link MotorGroupSignals#update} the first time it
+ * runs (or by the log, in replay). Subsystems process them with {@code
+ * Logger.processInputs(key, motors)} next to their regular inputs.
+ */
+public class MotorGroupInputs implements LoggableInputs {
+  public double[] velocityRps = new double[0];
+  public double[] appliedVolts = new double[0];
+  public double[] supplyCurrentAmps = new double[0];
+  public double[] statorCurrentAmps = new double[0];
+  public double[] tempCelsius = new double[0];
+  public double[] positionRotations = new double[0];
+
+  /** Number of motors in the group, or 0 before the first update. */
+  public int size() {
+    return velocityRps.length;
+  }
+
+  /** Leader velocity (rotations per second), or 0 before the first update. */
+  public double leaderVelocityRps() {
+    return velocityRps.length > 0 ? velocityRps[0] : 0.0;
+  }
+
+  /** Leader position (rotations), or 0 before the first update. */
+  public double leaderPositionRotations() {
+    return positionRotations.length > 0 ? positionRotations[0] : 0.0;
+  }
+
+  /** Mean stator current across the group (amps), or 0 before the first update. */
+  public double averageStatorCurrentAmps() {
+    if (statorCurrentAmps.length == 0) {
+      return 0.0;
+    }
+    double sum = 0.0;
+    for (double amps : statorCurrentAmps) {
+      sum += amps;
+    }
+    return sum / statorCurrentAmps.length;
+  }
+
+  /** Summed supply current across the group (amps), or 0 before the first update. */
+  public double totalSupplyCurrentAmps() {
+    double sum = 0.0;
+    for (double amps : supplyCurrentAmps) {
+      sum += amps;
+    }
+    return sum;
+  }
+
+  /** Resizes every array to {@code count} motors. Does nothing if they already match. */
+  void setSize(int count) {
+    if (velocityRps.length == count) {
+      return;
+    }
+    velocityRps = new double[count];
+    appliedVolts = new double[count];
+    supplyCurrentAmps = new double[count];
+    statorCurrentAmps = new double[count];
+    tempCelsius = new double[count];
+    positionRotations = new double[count];
+  }
+
+  @Override
+  public void toLog(LogTable table) {
+    table.put("VelocityRps", velocityRps);
+    table.put("AppliedVolts", appliedVolts);
+    table.put("SupplyCurrentAmps", supplyCurrentAmps);
+    table.put("StatorCurrentAmps", statorCurrentAmps);
+    table.put("TempCelsius", tempCelsius);
+    table.put("PositionRotations", positionRotations);
+  }
+
+  @Override
+  public void fromLog(LogTable table) {
+    velocityRps = table.get("VelocityRps", velocityRps);
+    appliedVolts = table.get("AppliedVolts", appliedVolts);
+    supplyCurrentAmps = table.get("SupplyCurrentAmps", supplyCurrentAmps);
+    statorCurrentAmps = table.get("StatorCurrentAmps", statorCurrentAmps);
+    tempCelsius = table.get("TempCelsius", tempCelsius);
+    positionRotations = table.get("PositionRotations", positionRotations);
+  }
+}
@@ -0,0 +1,156 @@
+package frc.robot.util;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.CANBus;
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.hardware.TalonFX;
+
+/**
+ * The per-motor status signals of a leader and its followers, read into a {@link
+ * MotorGroupInputs}.
+ *
+ * <p>Every motor contributes the same six signals (velocity, motor voltage, supply and stator
+ * current, temperature, position). They are kept in one array ordered by kind, then motor, so the
+ * whole group is a single {@link MechanismSampleThread} registration and {@link #update} reads them
+ * by index instead of one named field per motor. Mechanism-level signals (closed-loop reference
+ * and error) stay in the IO's own inputs.
+ *
+ * <p><b>Usage:</b>
+ *
+ * <pre>
+ * // In an IO constructor
+ * motors = new MotorGroupSignals(leader, follower1, follower2);
+ * SignalRatePolicy.configure(SignalRates.CONTROL, motors.velocity(0), motors.supplyCurrent(0));
+ * SignalRatePolicy.configure(SignalRates.DIAGNOSTIC, motors.temperatures());
+ * leader.optimizeBusUtilization();
+ * motors.sampleInBackground("Flywheel", CAN_BUS);
+ *
+ * // In updateMotorInputs()
+ * motors.update(inputs);
+ * </pre>
+ *
+ * <p>Without {@link #sampleInBackground}, as in the simulation IOs, {@link #update} refreshes the
+ * group on the main thread.
+ */
+public class MotorGroupSignals {
+  private static final int VELOCITY = 0;
+  private static final int VOLTAGE = 1;
+  private static final int SUPPLY_CURRENT = 2;
+  private static final int STATOR_CURRENT = 3;
+  private static final int TEMPERATURE = 4;
+  private static final int POSITION = 5;
+  private static final int KINDS = 6;
+
+  private final int count;
+  private final StatusSignal<?>[] signals;
+  private MechanismSampleThread.Samples samples = null;
+
+  /**
+   * Caches the signals of each motor. Leader first; followers in the order they should be logged.
+   */
+  public MotorGroupSignals(TalonFX... motors) {
+    count = motors.length;
+    signals = new StatusSignal<?>[KINDS * count];
+    for (int i = 0; i < count; i++) {
+      signals[VELOCITY * count + i] = motors[i].getVelocity();
+      signals[VOLTAGE * count + i] = motors[i].getMotorVoltage();
+      signals[SUPPLY_CURRENT * count + i] = motors[i].getSupplyCurrent();
+      signals[STATOR_CURRENT * count + i] = motors[i].getStatorCurrent();
+      signals[TEMPERATURE * count + i] = motors[i].getDeviceTemp();
+      signals[POSITION * count + i] = motors[i].getPosition();
+    }
+  }
+
+  /**
+   * Hands the group to {@link MechanismSampleThread}. Call once, from the IO constructor, after
+   * setting the signals' rates.
+   *
+   * @param owner Name of the mechanism, for reports
+   * @param bus The bus the motors are on
+   */
+  public void sampleInBackground(String owner, CANBus bus) {
+    samples = MechanismSampleThread.getInstance().register(owner, bus, signals);
+  }
+
+  /** Number of motors in the group. */
+  public int size() {
+    return count;
+  }
+
+  public BaseStatusSignal velocity(int motor) {
+    return signals[VELOCITY * count + motor];
+  }
+
+  public BaseStatusSignal motorVoltage(int motor) {
+    return signals[VOLTAGE * count + motor];
+  }
+
+  public BaseStatusSignal supplyCurrent(int motor) {
+    return signals[SUPPLY_CURRENT * count + motor];
+  }
+
+  public BaseStatusSignal statorCurrent(int motor) {
+    return signals[STATOR_CURRENT * count + motor];
+  }
+
+  public BaseStatusSignal temperature(int motor) {
+    return signals[TEMPERATURE * count + motor];
+  }
+
+  public BaseStatusSignal position(int motor) {
+    return signals[POSITION * count + motor];
+  }
+
+  /** Every motor's velocity signal. */
+  public BaseStatusSignal[] velocities() {
+    return kind(VELOCITY);
+  }
+
+  /** Every motor's stator current signal. */
+  public BaseStatusSignal[] statorCurrents() {
+    return kind(STATOR_CURRENT);
+  }
+
+  /** Every motor's temperature signal. */
+  public BaseStatusSignal[] temperatures() {
+    return kind(TEMPERATURE);
+  }
+
+  /**
+   * Velocity, motor voltage, supply current and position of one motor: what is logged but not
+   * usually read by any control logic, so followers can put them on a slower tier together.
+   */
+  public BaseStatusSignal[] telemetry(int motor) {
+    return new BaseStatusSignal[] {
+      velocity(motor), motorVoltage(motor), supplyCurrent(motor), position(motor)
+    };
+  }
+
+  /** Copies the latest values into {@code inputs}. Call once per loop, from the IO. */
+  public void update(MotorGroupInputs inputs) {
+    if (samples != null) {
+      samples.update();
+    } else {
+      BaseStatusSignal.refreshAll(signals);
+    }
+    inputs.setSize(count);
+    for (int i = 0; i < count; i++) {
+      inputs.velocityRps[i] = value(VELOCITY * count + i);
+      inputs.appliedVolts[i] = value(VOLTAGE * count + i);
+      inputs.supplyCurrentAmps[i] = value(SUPPLY_CURRENT * count + i);
+      inputs.statorCurrentAmps[i] = value(STATOR_CURRENT * count + i);
+      inputs.tempCelsius[i] = value(TEMPERATURE * count + i);
+      inputs.positionRotations[i] = value(POSITION * count + i);
+    }
+  }
+
+  private double value(int index) {
+    return samples != null ? samples.get(index) : signals[index].getValueAsDouble();
+  }
+
+  private BaseStatusSignal[] kind(int kind) {
+    BaseStatusSignal[] result = new BaseStatusSignal[count];
+    System.arraycopy(signals, kind * count, result, 0, count);
+    return result;
+  }
+}
@@ -0,0 +1,210 @@
+package frc.robot.util;
+
+import edu.wpi.first.math.MathUtil;
+import frc.robot.HardwareConstants.ThermalDerating;
+import java.util.function.DoubleConsumer;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * First-order thermal model of each motor in a group, used to derate the group's stator current
+ * limit before any motor reaches the Talon's own thermal protection.
+ *
+ * <p>Each motor heats with the square of its stator current and cools toward ambient: {@code dT/dt
+ * = a * I^2 - b * (T - ambient)}. The estimate is pulled toward the motor's temperature reading
+ * every loop, and the heating coefficient {@code a} is adjusted by the remaining error while the
+ * motor is working hard, so the model calibrates itself to each motor. Ambient is {@link
+ * ThermalDerating#AMBIENT_CELSIUS}, or the first reading after boot if that is cooler; a motor
+ * still hot after a brownout reboot is not ambient. Readings of 0 °C or below are treated as
+ * missing (simulation, or a motor that has not reported yet).
+ *
+ * <p>From the recent average current, the model predicts how long each motor has until {@link
+ * ThermalDerating#LIMIT_CELSIUS}. Once the soonest of those is inside {@link
+ * ThermalDerating#DERATE_HORIZON_SECONDS}, the group's stator limit is eased from nominal toward
+ * the current that would hold the hottest motor at the limit indefinitely. One limit for the whole
+ * group keeps followers and the four drive motors matched.
+ *
+ * <p>Derating takes effect at once, but the limit only rises again at {@link
+ * ThermalDerating#RESTORE_RATE_AMPS_PER_SEC}, and only once every motor is {@link
+ * ThermalDerating#RELEASE_MARGIN_CELSIUS} under the limit. Otherwise the lower current would
+ * clear the prediction, the limit would jump back to nominal and the cycle would repeat every few
+ * seconds.
+ *
+ * <p>The owning subsystem calls {@link #update} once per loop from {@code periodic()}, with the
+ * per-motor values from its inputs.
+ */
+public class MotorThermalModel {
+  private final int count;
+  private final double nominalAmps;
+  private final double minimumAmps;
+  private final DoubleConsumer applyLimit;
+
+  // Per-motor state
+  private final double[] estimatedCelsius;
+  private final double[] ambientCelsius;
+  private final double[] heatingCoefficients;
+  private final double[] filteredSquaredAmps;
+  private final boolean[] calibrated;
+
+  private final String estimatedKey;
+  private final String heatingKey;
+  private final String timeToLimitKey;
+  private final String limitKey;
+
+  private double limitAmps;
+  private double appliedAmps;
+  private double lastTimestamp = -1.0;
+
+  /**
+   * @param name Name for the logged values, e.g. {@code "Flywheel"}
+   * @param count Number of motors in the group
+   * @param nominalAmps Stator limit the motors are configured with
+   * @param minimumAmps Stator limit never to derate below
+   * @param applyLimit Sends a new stator limit (amps) to every motor in the group
+   */
+  public MotorThermalModel(
+      String name, int count, double nominalAmps, double minimumAmps, DoubleConsumer applyLimit) {
+    this.count = count;
+    this.nominalAmps = nominalAmps;
+    this.minimumAmps = minimumAmps;
+    this.applyLimit = applyLimit;
+    estimatedCelsius = new double[count];
+    ambientCelsius = new double[count];
+    heatingCoefficients = new double[count];
+    filteredSquaredAmps = new double[count];
+    calibrated = new boolean[count];
+    for (int i = 0; i < count; i++) {
+      heatingCoefficients[i] = ThermalDerating.HEATING_COEFFICIENT;
+    }
+    estimatedKey = "Thermal/" + name + "/EstimatedCelsius";
+    heatingKey = "Thermal/" + name + "/HeatingCoefficients";
+    timeToLimitKey = "Thermal/" + name + "/TimeToLimitSeconds";
+    limitKey = "Thermal/" + name + "/StatorLimitAmps";
+    limitAmps = nominalAmps;
+    appliedAmps = nominalAmps;
+  }
+
+  /**
+   * Steps every motor's model, then derates the group's stator limit if needed. Arrays shorter
+   * than the group (inputs not filled yet) skip the update.
+   *
+   * @param statorAmps Stator current of each motor
+   * @param measuredCelsius Temperature reading of each motor
+   */
+  public void update(double[] statorAmps, double[] measuredCelsius) {
+    if (statorAmps.length < count || measuredCelsius.length < count) {
+      return;
+    }
+    double now = Logger.getTimestamp() * 1e-6;
+    double dt = lastTimestamp < 0.0 ? 0.02 : Math.max(now - lastTimestamp, 1e-3);
+    lastTimestamp = now;
+
+    double soonestSeconds = Double.POSITIVE_INFINITY;
+    double holdAmps = nominalAmps;
+    double hottestCelsius = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < count; i++) {
+      step(i, statorAmps[i], measuredCelsius[i], dt);
+      hottestCelsius = Math.max(hottestCelsius, estimatedCelsius[i]);
+      double seconds = timeToLimit(i);
+      if (seconds < soonestSeconds) {
+        soonestSeconds = seconds;
+        holdAmps = holdingAmps(i);
+      }
+    }
+
+    // Ease from nominal (limit beyond the horizon) to the holding current (limit reached)
+    double targetAmps = nominalAmps;
+    if (holdAmps < nominalAmps) {
+      double fraction =
+          MathUtil.clamp(soonestSeconds / ThermalDerating.DERATE_HORIZON_SECONDS, 0.0, 1.0);
+      targetAmps = Math.max(minimumAmps, holdAmps + (nominalAmps - holdAmps) * fraction);
+    }
+
+    // Derate at once; restore gradually, and only once the motors have cooled off the limit
+    if (targetAmps < limitAmps) {
+      limitAmps = targetAmps;
+    } else if (hottestCelsius
+        < ThermalDerating.LIMIT_CELSIUS - ThermalDerating.RELEASE_MARGIN_CELSIUS) {
+      limitAmps =
+          Math.min(targetAmps, limitAmps + ThermalDerating.RESTORE_RATE_AMPS_PER_SEC * dt);
+    }
+
+    // Skip small changes, except the last step back to nominal
+    if (Math.abs(limitAmps - appliedAmps) >= ThermalDerating.LIMIT_STEP_AMPS
+        || (limitAmps == nominalAmps && appliedAmps != nominalAmps)) {
+      applyLimit.accept(limitAmps);
+      appliedAmps = limitAmps;
+    }
+
+    Logger.recordOutput(estimatedKey, estimatedCelsius);
+    Logger.recordOutput(heatingKey, heatingCoefficients);
+    Logger.recordOutput(timeToLimitKey, soonestSeconds);
+    Logger.recordOutput(limitKey, appliedAmps);
+  }
+
+  /** Advances motor {@code i}'s model by {@code dt} and corrects it with the reading. */
+  private void step(int i, double amps, double measured, double dt) {
+    double squaredAmps = amps * amps;
+    filteredSquaredAmps[i] +=
+        (squaredAmps - filteredSquaredAmps[i]) * dt / (ThermalDerating.CURRENT_FILTER_SECONDS + dt);
+
+    boolean hasReading = measured > 0.0;
+    if (!calibrated[i]) {
+      if (!hasReading) {
+        return;
+      }
+      estimatedCelsius[i] = measured;
+      ambientCelsius[i] = Math.min(measured, ThermalDerating.AMBIENT_CELSIUS);
+      calibrated[i] = true;
+      return;
+    }
+
+    double predicted =
+        estimatedCelsius[i]
+            + dt
+                * (heatingCoefficients[i] * squaredAmps
+                    - ThermalDerating.COOLING_RATE * (estimatedCelsius[i] - ambientCelsius[i]));
+    if (!hasReading) {
+      estimatedCelsius[i] = predicted;
+      return;
+    }
+    double error = measured - predicted;
+    estimatedCelsius[i] = predicted + ThermalDerating.OBSERVER_GAIN * dt * error;
+
+    // Only current-driven heating says anything about the heating coefficient
+    double referenceSquared =
+        ThermalDerating.ADAPTATION_REFERENCE_AMPS * ThermalDerating.ADAPTATION_REFERENCE_AMPS;
+    double weight = squaredAmps / (squaredAmps + referenceSquared);
+    heatingCoefficients[i] =
+        MathUtil.clamp(
+            heatingCoefficients[i] * (1.0 + ThermalDerating.ADAPTATION_RATE * dt * error * weight),
+            ThermalDerating.MIN_HEATING_COEFFICIENT,
+            ThermalDerating.MAX_HEATING_COEFFICIENT);
+  }
+
+  /** Seconds until motor {@code i} reaches the limit at its recent average current. */
+  private double timeToLimit(int i) {
+    if (!calibrated[i]) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double limit = ThermalDerating.LIMIT_CELSIUS;
+    double current = estimatedCelsius[i];
+    if (current >= limit) {
+      return 0.0;
+    }
+    double steadyState =
+        ambientCelsius[i]
+            + heatingCoefficients[i] * filteredSquaredAmps[i] / ThermalDerating.COOLING_RATE;
+    if (steadyState <= limit) {
+      return Double.POSITIVE_INFINITY;
+    }
+    // T(t) = steadyState + (current - steadyState) * e^(-b t); solve T(t) = limit
+    return Math.log((steadyState - current) / (steadyState - limit))
+        / ThermalDerating.COOLING_RATE;
+  }
+
+  /** Stator current at which motor {@code i} would settle exactly at the limit. */
+  private double holdingAmps(int i) {
+    double headroom = Math.max(0.0, ThermalDerating.LIMIT_CELSIUS - ambientCelsius[i]);
+    return Math.sqrt(ThermalDerating.COOLING_RATE * headroom / heatingCoefficients[i]);
+  }
+}
@@ -8,6 +8,7 @@
 package frc.robot.util;
 
 import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.configs.ParentConfiguration;
 import java.util.function.Supplier;
 
 public class PhoenixUtil {
@@ -18,4 +19,14 @@ public class PhoenixUtil {
       if (error.isOK()) break;
     }
   }
+
+  /**
+   * Returns a copy of a device configuration, for configs shared between devices (e.g. the
+   * TunerConstants initial configs) that each device then changes.
+   */
+  public static <C extends ParentConfiguration> C copyConfig(C config, Supplier<C> blank) {
+    C copy = blank.get();
+    copy.deserialize(config.serialize());
+    return copy;
+  }
 }
@@ -0,0 +1,170 @@
+package frc.robot.util;
+
+import edu.wpi.first.math.MathUtil;
+import frc.robot.HardwareConstants.PowerManagement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Lowers supply current limits before the battery sags into a brownout.
+ *
+ * <p>The battery and wiring behave like an open-circuit voltage behind a resistance: {@code V =
+ * Voc - R * I}, with {@code Voc} and {@code R} fitted by {@link BatteryEstimator}. Each loop this
+ * predicts the voltage a short time ahead from the trend of {@link BatteryLogger}'s total current.
+ * When that prediction falls below {@link PowerManagement#MIN_VOLTAGE}, the current over budget is
+ * taken out of the registered consumers' supply limits, lowest priority first. Limits come back
+ * gradually once the prediction has room to spare again.
+ *
+ * <p>Subsystems register once, from their constructor, with {@link #register}. {@code Robot} calls
+ * {@link #update} once per loop, after {@link BatteryEstimator#update}.
+ */
+public class PowerManager {
+
+  /** Shedding order. Consumers in an earlier tier give up current first. */
+  public enum Priority {
+    /** Intake roller and transport: a slower intake costs the least. */
+    INTAKE,
+    /** Flywheel: holding speed matters more than spinning up fast. */
+    FLYWHEEL,
+    /** Drive: limited only once nothing else is left to shed. */
+    DRIVE
+  }
+
+  private static final class Consumer {
+    final Priority priority;
+    final int motorCount;
+    final double nominalAmps;
+    final double minimumAmps;
+    final DoubleSupplier drawAmps;
+    final DoubleConsumer applyLimit;
+    final String limitKey;
+    double limitAmps;
+    double appliedAmps;
+
+    Consumer(
+        String name,
+        Priority priority,
+        int motorCount,
+        double nominalAmps,
+        double minimumAmps,
+        DoubleSupplier drawAmps,
+        DoubleConsumer applyLimit) {
+      this.priority = priority;
+      this.motorCount = motorCount;
+      this.nominalAmps = nominalAmps;
+      this.minimumAmps = minimumAmps;
+      this.drawAmps = drawAmps;
+      this.applyLimit = applyLimit;
+      limitKey = "PowerManager/SupplyLimitAmps/" + name;
+      limitAmps = nominalAmps;
+      appliedAmps = nominalAmps;
+    }
+  }
+
+  private final List<Consumer> consumers = new ArrayList<>();
+  private final BatteryEstimator battery;
+
+  private double lastCurrentAmps = 0.0;
+  private double currentSlopeAmpsPerSec = 0.0;
+  private double lastTimestamp = -1.0;
+
+  /**
+   * Creates a power manager that predicts sag from {@code battery}'s fitted model.
+   *
+   * @param battery Estimator that {@code Robot} updates before calling {@link #update}
+   */
+  public PowerManager(BatteryEstimator battery) {
+    this.battery = battery;
+  }
+
+  /**
+   * Adds a consumer whose supply current limit may be lowered. Call once, from the subsystem's
+   * constructor. Consumers in the same tier shed in registration order.
+   *
+   * @param name Name for the logged limit
+   * @param priority Shedding tier
+   * @param motorCount Number of motors the limit applies to
+   * @param nominalAmps Per-motor supply limit the motors are configured with
+   * @param minimumAmps Per-motor supply limit never to go below
+   * @param drawAmps Total supply current of the motors, from this loop's inputs
+   * @param applyLimit Sends a new per-motor supply limit (amps) to the motors
+   */
+  public void register(
+      String name,
+      Priority priority,
+      int motorCount,
+      double nominalAmps,
+      double minimumAmps,
+      DoubleSupplier drawAmps,
+      DoubleConsumer applyLimit) {
+    Consumer consumer =
+        new Consumer(name, priority, motorCount, nominalAmps, minimumAmps, drawAmps, applyLimit);
+    int index = 0;
+    while (index < consumers.size() && consumers.get(index).priority.compareTo(priority) <= 0) {
+      index++;
+    }
+    consumers.add(index, consumer);
+  }
+
+  /**
+   * Predicts sag and adjusts the consumers' limits. Call once per loop.
+   *
+   * @param totalAmps Total current drawn from the battery this loop
+   */
+  public void update(double totalAmps) {
+    double now = Logger.getTimestamp() * 1e-6;
+    double dt = lastTimestamp < 0.0 ? 0.02 : Math.max(now - lastTimestamp, 1e-3);
+    lastTimestamp = now;
+
+    // Only a rising current predicts more sag; a falling one just means less
+    double slope = (totalAmps - lastCurrentAmps) / dt;
+    lastCurrentAmps = totalAmps;
+    currentSlopeAmpsPerSec = 0.5 * currentSlopeAmpsPerSec + 0.5 * slope;
+    double predictedAmps =
+        totalAmps + Math.max(0.0, currentSlopeAmpsPerSec) * PowerManagement.LOOKAHEAD_SECONDS;
+    double openCircuitVolts = battery.getOpenCircuitVolts();
+    double resistanceOhms = battery.getResistanceOhms();
+    double predictedVolts = openCircuitVolts - resistanceOhms * predictedAmps;
+    double budgetAmps = (openCircuitVolts - PowerManagement.MIN_VOLTAGE) / resistanceOhms;
+    double excessAmps = predictedAmps - budgetAmps;
+    boolean restore = excessAmps < -PowerManagement.RESTORE_MARGIN_AMPS;
+
+    double remaining = excessAmps;
+    boolean limiting = false;
+    for (int i = 0; i < consumers.size(); i++) {
+      Consumer consumer = consumers.get(i);
+      if (remaining > 0.0) {
+        // Take what this consumer can give above its minimum, down to its current draw
+        double draw = consumer.drawAmps.getAsDouble();
+        double reducible = draw - consumer.minimumAmps * consumer.motorCount;
+        double cut = MathUtil.clamp(reducible, 0.0, remaining);
+        remaining -= cut;
+        double target = Math.max(consumer.minimumAmps, (draw - cut) / consumer.motorCount);
+        consumer.limitAmps = Math.min(consumer.limitAmps, target);
+      } else if (restore) {
+        consumer.limitAmps =
+            Math.min(
+                consumer.nominalAmps,
+                consumer.limitAmps + PowerManagement.RESTORE_RATE_AMPS_PER_SEC * dt);
+      }
+
+      // Skip small changes, except the last step back to nominal
+      if (Math.abs(consumer.limitAmps - consumer.appliedAmps) >= PowerManagement.LIMIT_STEP_AMPS
+          || (consumer.limitAmps == consumer.nominalAmps
+              && consumer.appliedAmps != consumer.nominalAmps)) {
+        consumer.applyLimit.accept(consumer.limitAmps);
+        consumer.appliedAmps = consumer.limitAmps;
+      }
+      limiting |= consumer.appliedAmps < consumer.nominalAmps;
+      Logger.recordOutput(consumer.limitKey, consumer.appliedAmps);
+    }
+
+    Logger.recordOutput("PowerManager/PredictedVolts", predictedVolts);
+    Logger.recordOutput("PowerManager/BudgetAmps", budgetAmps);
+    Logger.recordOutput("PowerManager/ExcessAmps", excessAmps);
+    Logger.recordOutput("PowerManager/Limiting", limiting);
+  }
+}
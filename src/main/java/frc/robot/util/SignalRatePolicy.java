@@ -0,0 +1,79 @@
+package frc.robot.util;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import java.util.ArrayList;
+import java.util.List;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Switches Phoenix 6 status signal update rates between an enabled set and a disabled set.
+ *
+ * <p>While disabled, nothing is closing a loop on the RIO. We only need enough data for the
+ * dashboard and to notice a device dropping off the bus. Most signals can then run at a fraction of
+ * their match rate, which frees CAN bandwidth and main-loop time during the long disabled stretches
+ * (pre-match, between auto and teleop on the field) for everything else on the bus.
+ *
+ * <p>IOs declare each group of signals once, in their constructor, with one of the tiers in {@link
+ * frc.robot.HardwareConstants.SignalRates}. The enabled rate is applied right away, so the device
+ * is configured as before. {@code Robot} then calls {@link #setEnabled} from its mode {@code init}
+ * methods. Every declared signal is retuned there, without blocking the loop.
+ *
+ * <p>Declare signals before {@code optimizeBusUtilization()}, like any other explicit rate. Signals
+ * whose rate matters to another device rather than the RIO must not be declared here. That covers
+ * odometry signals owned by {@code PhoenixOdometryThread} and CANcoders used as a remote sensor.
+ * Keep setting those with {@code setUpdateFrequency} directly.
+ */
+public final class SignalRatePolicy {
+
+  /**
+   * Update rates for one tier of signals.
+   *
+   * @param enabledHz Rate in autonomous, teleop and test
+   * @param disabledHz Rate while disabled
+   */
+  public record Rates(double enabledHz, double disabledHz) {}
+
+  private record Group(Rates rates, BaseStatusSignal[] signals) {}
+
+  private static final List<Group> groups = new ArrayList<>();
+  private static boolean enabled = true;
+
+  private SignalRatePolicy() {}
+
+  /**
+   * Applies the enabled rate to the signals and adds them to the policy. Call from IO
+   * constructors.
+   *
+   * @param rates Tier from {@link frc.robot.HardwareConstants.SignalRates}
+   * @param signals Signals read by the RIO
+   */
+  public static synchronized void configure(Rates rates, BaseStatusSignal... signals) {
+    BaseStatusSignal.setUpdateFrequencyForAll(
+        enabled ? rates.enabledHz() : rates.disabledHz(), signals);
+    groups.add(new Group(rates, signals.clone()));
+  }
+
+  /**
+   * Switches every declared signal to its enabled or disabled rate. Does nothing if already in
+   * that state, so it is safe to call from every mode {@code init}.
+   */
+  public static synchronized void setEnabled(boolean enable) {
+    if (enable == enabled) {
+      return;
+    }
+    enabled = enable;
+    for (Group group : groups) {
+      double hz = enable ? group.rates().enabledHz() : group.rates().disabledHz();
+      for (BaseStatusSignal signal : group.signals()) {
+        // Zero timeout: send the new rate and return instead of waiting on each device's ack
+        signal.setUpdateFrequency(hz, 0.0);
+      }
+    }
+    Logger.recordOutput("CAN/EnabledSignalRates", enable);
+  }
+
+  /** Whether the enabled rates are currently applied. */
+  public static synchronized boolean isEnabled() {
+    return enabled;
+  }
+}
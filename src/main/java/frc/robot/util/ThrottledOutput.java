@@ -0,0 +1,155 @@
+package frc.robot.util;
+
+import java.util.Arrays;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * One AdvantageKit output key that is recorded only when its value changes, or at most at a fixed
+ * rate, instead of every loop.
+ *
+ * <p>Slow-changing values (a driver preset, a camera's tag count, the first active alliance) cost
+ * a log table write and an NT publish every loop through {@code Logger.recordOutput}, although
+ * they rarely change. Declare each such key once, in a field, and call {@code record} every loop
+ * as before; the write is skipped unless it is due. The last value sent is kept as a primitive (or
+ * the same reference, for strings and enums), so comparing allocates nothing.
+ *
+ * <p>AdvantageScope holds a field's value until the next one is logged, so a skipped loop reads
+ * the same as one that repeated the last value. The first call always records. In replay the same
+ * outputs are regenerated from the same inputs, so they skip the same loops.
+ *
+ * <p><b>Usage:</b>
+ *
+ * <pre>
+ * private final ThrottledOutput tagCount = ThrottledOutput.onChange("Vision/Camera0/TagCount");
+ * private final ThrottledOutput distance =
+ *     ThrottledOutput.onChange("Vision/Camera0/AverageTagDistance", 0.01);
+ * private final ThrottledOutput loopTime = ThrottledOutput.atRate("Debug/LoopSeconds", 5.0);
+ *
+ * // In periodic()
+ * tagCount.record(count);
+ * </pre>
+ */
+public final class ThrottledOutput {
+  private final String key;
+  private final boolean changeOnly;
+  private final double deadband;
+  private final long minPeriodMicros;
+
+  // Last value sent, by type; only the one matching the record() overload in use is meaningful
+  private boolean sent = false;
+  private long lastSentMicros = 0;
+  private double lastDouble;
+  private long lastLong;
+  private boolean lastBoolean;
+  private Object lastReference;
+  private int[] lastInts = new int[0];
+
+  private ThrottledOutput(String key, boolean changeOnly, double deadband, double maxRateHz) {
+    this.key = key;
+    this.changeOnly = changeOnly;
+    this.deadband = deadband;
+    minPeriodMicros = maxRateHz > 0.0 ? (long) (1e6 / maxRateHz) : 0;
+  }
+
+  /**
+   * Records only when the value differs from the last one sent.
+   *
+   * @param key Log key
+   * @return The output
+   */
+  public static ThrottledOutput onChange(String key) {
+    return new ThrottledOutput(key, true, 0.0, 0.0);
+  }
+
+  /**
+   * Records only when a number moves more than {@code deadband} from the last one sent. Other types
+   * record on any change.
+   *
+   * @param key Log key
+   * @param deadband Largest change that is not recorded, in the value's units
+   * @return The output
+   */
+  public static ThrottledOutput onChange(String key, double deadband) {
+    return new ThrottledOutput(key, true, deadband, 0.0);
+  }
+
+  /**
+   * Records the current value at most {@code maxRateHz} times per second, changed or not.
+   *
+   * @param key Log key
+   * @param maxRateHz Highest recording rate
+   * @return The output
+   */
+  public static ThrottledOutput atRate(String key, double maxRateHz) {
+    return new ThrottledOutput(key, false, 0.0, maxRateHz);
+  }
+
+  public void record(double value) {
+    if (due(Math.abs(value - lastDouble) <= deadband)) {
+      lastDouble = value;
+      Logger.recordOutput(key, value);
+    }
+  }
+
+  public void record(long value) {
+    if (due(Math.abs((double) (value - lastLong)) <= deadband)) {
+      lastLong = value;
+      Logger.recordOutput(key, value);
+    }
+  }
+
+  public void record(int value) {
+    if (due(Math.abs((double) (value - lastLong)) <= deadband)) {
+      lastLong = value;
+      Logger.recordOutput(key, value);
+    }
+  }
+
+  public void record(boolean value) {
+    if (due(value == lastBoolean)) {
+      lastBoolean = value;
+      Logger.recordOutput(key, value);
+    }
+  }
+
+  public void record(String value) {
+    if (due(value.equals(lastReference))) {
+      lastReference = value;
+      Logger.recordOutput(key, value);
+    }
+  }
+
+  public <E extends Enum<E>> void record(E value) {
+    if (due(value == lastReference)) {
+      lastReference = value;
+      Logger.recordOutput(key, value);
+    }
+  }
+
+  /** Records an array; the last one sent is copied, reusing the copy while the length holds. */
+  public void record(int[] value) {
+    if (due(Arrays.equals(value, lastInts))) {
+      if (lastInts.length != value.length) {
+        lastInts = new int[value.length];
+      }
+      System.arraycopy(value, 0, lastInts, 0, value.length);
+      Logger.recordOutput(key, value);
+    }
+  }
+
+  /** Whether to record now, given whether the value is unchanged (within the deadband). */
+  private boolean due(boolean unchanged) {
+    long now = Logger.getTimestamp();
+    if (sent) {
+      if (changeOnly && unchanged) {
+        return false;
+      }
+      if (now - lastSentMicros < minPeriodMicros) {
+        return false;
+      }
+    }
+    sent = true;
+    lastSentMicros = now;
+    return true;
+  }
+}
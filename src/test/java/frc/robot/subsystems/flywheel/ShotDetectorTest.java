@@ -0,0 +1,116 @@
+package frc.robot.subsystems.flywheel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.hal.HAL;
+import frc.robot.util.MotorGroupInputs;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ShotDetectorTest {
+  private static final double EPSILON = 1e-9;
+  private static final double SETPOINT_RPM = 3000.0;
+  private static final double IDLE_AMPS = 10.0;
+  private static final long LOOP_MICROS = 20_000;
+  private static final int MOTORS = 2;
+
+  private ShotDetector detector;
+  private MotorGroupInputs motors;
+  private long now;
+
+  @BeforeAll
+  static void initHal() {
+    // The detector reads the DriverStation state for its match summary
+    assertTrue(HAL.initialize(500, 0));
+  }
+
+  @BeforeEach
+  void setup() {
+    detector = new ShotDetector();
+    motors = new MotorGroupInputs();
+    motors.velocityRps = new double[MOTORS];
+    motors.statorCurrentAmps = new double[MOTORS];
+    now = 1_000_000;
+  }
+
+  /** Runs one 20 ms loop with every motor at the given speed and stator current. */
+  private void step(double rpm, double amps) {
+    Arrays.fill(motors.velocityRps, rpm / 60.0);
+    Arrays.fill(motors.statorCurrentAmps, amps);
+    detector.update(motors, SETPOINT_RPM, now);
+    now += LOOP_MICROS;
+  }
+
+  /** One second spun up at the setpoint, long enough to learn the baseline current. */
+  private void spinUp() {
+    for (int i = 0; i < 50; i++) {
+      step(SETPOINT_RPM, IDLE_AMPS);
+    }
+  }
+
+  @Test
+  void detectsShotAndTimesRecovery() {
+    spinUp();
+    step(2700.0, 40.0); // Detected here
+    step(2650.0, 35.0); // Deepest point of the dip
+    step(2750.0, 20.0);
+    step(2850.0, 12.0); // Back within the spin-up threshold, three loops later
+
+    assertEquals(1, detector.getShotCount());
+    assertEquals(1, detector.getRecoveredCount());
+    assertEquals(350.0, detector.getAverageRpmDrop(), EPSILON);
+    assertEquals(3 * LOOP_MICROS * 1e-6, detector.getAverageRecoverySeconds(), EPSILON);
+  }
+
+  @Test
+  void ignoresCurrentWithoutDip() {
+    spinUp();
+    for (int i = 0; i < 10; i++) {
+      step(SETPOINT_RPM, 40.0);
+    }
+    assertEquals(0, detector.getShotCount());
+  }
+
+  @Test
+  void ignoresDipWithoutCurrent() {
+    spinUp();
+    for (int i = 0; i < 10; i++) {
+      step(2700.0, IDLE_AMPS);
+    }
+    assertEquals(0, detector.getShotCount());
+  }
+
+  @Test
+  void countsOverlappedShotWithoutTimingIt() {
+    spinUp();
+    step(2700.0, 40.0); // First shot
+    for (int i = 0; i < 4; i++) {
+      step(2700.0, 20.0); // Still recovering, current back under the spike threshold
+    }
+    step(2700.0, 40.0); // Second shot, five loops after the first
+    step(2850.0, 12.0);
+
+    assertEquals(2, detector.getShotCount());
+    assertEquals(1, detector.getRecoveredCount());
+    assertEquals(300.0, detector.getAverageRpmDrop(), EPSILON);
+    assertEquals(LOOP_MICROS * 1e-6, detector.getAverageRecoverySeconds(), EPSILON);
+    assertEquals(1.0 / (5 * LOOP_MICROS * 1e-6), detector.getSustainedShotsPerSecond(), 1e-6);
+  }
+
+  @Test
+  void givesUpOnRecoveryAfterMaxTime() {
+    spinUp();
+    step(2700.0, 40.0);
+    int loops = (int) (FlywheelConstants.ShotDetection.MAX_RECOVERY_SECONDS * 1e6 / LOOP_MICROS);
+    for (int i = 0; i <= loops; i++) {
+      step(2700.0, 20.0);
+    }
+    step(SETPOINT_RPM, IDLE_AMPS);
+
+    assertEquals(1, detector.getShotCount());
+    assertEquals(0, detector.getRecoveredCount());
+  }
+}
@@ -0,0 +1,106 @@
+package frc.robot.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.wpi.first.math.interpolation.InterpolatingDoubleTreeMap;
+import edu.wpi.first.math.util.Units;
+import org.junit.jupiter.api.Test;
+
+class DenseLookupTableTest {
+  private static final double EPSILON = 1e-9;
+
+  // Uneven spacing and slope changes of both signs, like the shot maps
+  private static final double[][] POINTS = {
+    {1.0, 10.0},
+    {1.5, 14.0},
+    {2.5, 15.0},
+    {3.0, 12.0},
+    {4.0, 20.0},
+  };
+
+  private static InterpolatingDoubleTreeMap treeMap(double[][] points) {
+    InterpolatingDoubleTreeMap map = new InterpolatingDoubleTreeMap();
+    for (double[] point : points) {
+      map.put(point[0], point[1]);
+    }
+    return map;
+  }
+
+  /** Largest change in slope between neighbouring segments. */
+  private static double maxSlopeChange(double[][] points) {
+    double max = 0.0;
+    for (int i = 1; i < points.length - 1; i++) {
+      double before = (points[i][1] - points[i - 1][1]) / (points[i][0] - points[i - 1][0]);
+      double after = (points[i + 1][1] - points[i][1]) / (points[i + 1][0] - points[i][0]);
+      max = Math.max(max, Math.abs(after - before));
+    }
+    return max;
+  }
+
+  @Test
+  void matchesTreeMapWhenPointsLandOnSamples() {
+    InterpolatingDoubleTreeMap map = treeMap(POINTS);
+    DenseLookupTable table = new DenseLookupTable(map, 1.0, 4.0, 0.5);
+    for (double x = 1.0; x <= 4.0; x += 0.001) {
+      assertEquals(map.get(x), table.get(x), EPSILON, "x = " + x);
+    }
+  }
+
+  @Test
+  void staysWithinOneStepOfSmoothingElsewhere() {
+    double step = 0.07;
+    InterpolatingDoubleTreeMap map = treeMap(POINTS);
+    DenseLookupTable table = new DenseLookupTable(map, 1.0, 4.0, step);
+    double tolerance = maxSlopeChange(POINTS) * step + EPSILON;
+    for (double x = 1.0; x <= 4.0; x += 0.001) {
+      assertEquals(map.get(x), table.get(x), tolerance, "x = " + x);
+    }
+  }
+
+  @Test
+  void hitsEndpointsExactly() {
+    DenseLookupTable table = new DenseLookupTable(treeMap(POINTS), 1.0, 4.0, 0.07);
+    assertEquals(10.0, table.get(1.0), 0.0);
+    assertEquals(20.0, table.get(4.0), 0.0);
+  }
+
+  @Test
+  void clampsOutsideRangeLikeTreeMap() {
+    InterpolatingDoubleTreeMap map = treeMap(POINTS);
+    DenseLookupTable table = new DenseLookupTable(map, 1.0, 4.0, 0.07);
+    for (double x : new double[] {-100.0, 0.0, 0.999, 4.001, 5.0, 1e9}) {
+      assertEquals(map.get(x), table.get(x), 0.0, "x = " + x);
+    }
+    assertEquals(10.0, table.get(Double.NaN), 0.0);
+  }
+
+  @Test
+  void pointsConstructorTakesRangeFromPoints() {
+    double[][] inches = {
+      {75.0, 1450.0},
+      {110.0, 1625.0},
+      {190.0, 1975.0},
+    };
+    DenseLookupTable table = new DenseLookupTable(inches, Units::inchesToMeters, 0.005);
+    assertEquals(Units.inchesToMeters(75.0), table.getMinX(), EPSILON);
+    assertEquals(Units.inchesToMeters(190.0), table.getMaxX(), EPSILON);
+
+    InterpolatingDoubleTreeMap map = new InterpolatingDoubleTreeMap();
+    for (double[] point : inches) {
+      map.put(Units.inchesToMeters(point[0]), point[1]);
+    }
+    double tolerance = maxSlopeChange(inches) / Units.inchesToMeters(1.0) * 0.005 + EPSILON;
+    for (double x = 1.5; x <= 5.5; x += 0.001) {
+      assertEquals(map.get(x), table.get(x), tolerance, "x = " + x);
+    }
+  }
+
+  @Test
+  void rejectsEmptyRange() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new DenseLookupTable(treeMap(POINTS), 4.0, 1.0, 0.5));
+    assertThrows(
+        IllegalArgumentException.class, () -> new DenseLookupTable(1.0, 4.0, new double[] {1.0}));
+  }
+}